@@ -1,19 +1,59 @@
 package com.mst;
 
+import com.mst.cache.MSTCache;
+import com.mst.clustering.Dendrogram;
+import com.mst.clustering.Partition;
 import com.mst.io.*;
+import com.mst.monitoring.OutputWriteEvent;
+import com.mst.monitoring.SolveEvent;
+import com.mst.monitoring.ValidationEvent;
+import com.mst.pipeline.BatchPipeline;
+import com.mst.pipeline.VirtualThreadBatch;
 import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
 import com.mst.core.MSTResult;
+import com.mst.core.VertexReordering;
+import com.mst.algorithms.BottleneckSpanningTree;
+import com.mst.algorithms.CycleSparsifier;
 import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.ExternalKruskalMST;
 import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.SolverWorkspace;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class Main {
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long CACHE_MAX_EDGES = 5_000_000;
+
+    private static final int PIPELINE_QUEUE_CAPACITY = 16;
+    private static final int VIRTUAL_FILES_IN_FLIGHT = 256;
+    private static final String[] DEFAULT_INPUT_FILES = {
+            "datasets/ass_3_input.json",
+            "datasets/small_dataset.json",
+            "datasets/medium_dataset.json",
+            "datasets/large_dataset.json",
+            "datasets/extra_large_dataset.json"
+    };
+
+    private static final PrimMST prim = new PrimMST();
+    private static KruskalMST kruskal = new KruskalMST();
+    private static MSTCache cache = new MSTCache(CACHE_MAX_EDGES);
+    private static boolean canonicalOutput = false;
+    private static VertexReordering.Strategy reorderStrategy = null;
+    private static CycleSparsifier sparsifier = null;
+    private static boolean sparsifyBaseline = false;
+    private static final EdgeListReader edgeListReader = new EdgeListReader();
+    private static final MultiGraphJsonReader jsonReader = new MultiGraphJsonReader();
+    private static BottleneckSpanningTree bottleneckSolver = null;
+    private static int[] zoneCounts = null;
 
     static {
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
@@ -23,14 +63,88 @@ public class Main {
         System.out.println("🚀 MST Algorithms - City Transportation Network Optimization");
         System.out.println("============================================================\n");
 
-        String[] inputFiles = {
-                "datasets/ass_3_input.json",
-                "datasets/small_dataset.json",
-                "datasets/medium_dataset.json",
-                "datasets/large_dataset.json",
-                "datasets/extra_large_dataset.json"
-        };
+        List<String> inputFiles = new ArrayList<>();
+        boolean pipeline = false;
+        boolean virtualThreads = false;
+        int workers = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cache":
+                    cache = new MSTCache(CACHE_MAX_EDGES, new File(MSTCache.DEFAULT_DIRECTORY));
+                    System.out.println("🗄️  Persistent result cache: " + MSTCache.DEFAULT_DIRECTORY);
+                    break;
+                case "--pipeline":
+                    pipeline = true;
+                    break;
+                case "--virtual-threads":
+                    virtualThreads = true;
+                    break;
+                case "--external-sort":
+                    kruskal = new ExternalKruskalMST();
+                    System.out.println("💽 Kruskal edge ordering: external sort, "
+                            + ExternalKruskalMST.DEFAULT_RUN_RECORDS + " records per run");
+                    break;
+                case "--canonical":
+                    canonicalOutput = true;
+                    break;
+                case "--reorder":
+                    reorderStrategy = VertexReordering.Strategy.valueOf(args[++i].toUpperCase());
+                    if (reorderStrategy == VertexReordering.Strategy.HILBERT) {
+                        throw new IllegalArgumentException("--reorder supports bfs or rcm; input has no coordinates");
+                    }
+                    System.out.println("🧭 Vertex reordering: " + reorderStrategy);
+                    break;
+                case "--sparsify":
+                    sparsifier = new CycleSparsifier();
+                    System.out.println("✂️  Cycle-property sparsification before solving");
+                    break;
+                case "--sparsify-baseline":
+                    // Extra full-graph solves per graph, so only when asked for
+                    sparsifyBaseline = true;
+                    System.out.println("⏲️  Timing full-graph solves to report sparsification savings");
+                    break;
+                case "--bottleneck":
+                    bottleneckSolver = new BottleneckSpanningTree();
+                    System.out.println("🪢 Bottleneck spanning trees (Camerini) alongside the MSTs");
+                    break;
+                case "--zones":
+                    zoneCounts = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                    if (Arrays.stream(zoneCounts).anyMatch(k -> k < 1)) {
+                        throw new IllegalArgumentException("--zones takes positive zone counts, e.g. 2,3,5");
+                    }
+                    System.out.println("🗺️  Single-linkage service zones for k = " + Arrays.toString(zoneCounts));
+                    break;
+                case "--workers":
+                    workers = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    inputFiles.addAll(expandInput(args[i]));
+            }
+        }
+        if (sparsifyBaseline && sparsifier == null) {
+            throw new IllegalArgumentException("--sparsify-baseline only applies together with --sparsify");
+        }
+        if (inputFiles.isEmpty()) {
+            inputFiles.addAll(Arrays.asList(DEFAULT_INPUT_FILES));
+        }
+
+        List<PerformanceRecord> allRecords = virtualThreads ? processFilesOnVirtualThreads(inputFiles, workers)
+                : pipeline ? processFilesPipelined(inputFiles, workers)
+                : processFilesSequentially(inputFiles);
 
+        System.out.printf("%n🗄️  Cache: %d hits, %d disk hits, %d misses, %d evictions%n",
+                cache.getHits(), cache.getDiskHits(), cache.getMisses(), cache.getEvictions());
+
+        try {
+            generatePerformanceReport(allRecords);
+            System.out.println("\n✅ All datasets processed successfully!");
+            System.out.println("📊 Performance report: analysis/performance_comparison.csv");
+        } catch (Exception e) {
+            System.err.println("❌ Error generating report: " + e.getMessage());
+        }
+    }
+
+    private static List<PerformanceRecord> processFilesSequentially(List<String> inputFiles) {
         List<PerformanceRecord> allRecords = new ArrayList<>();
 
         for (String inputFile : inputFiles) {
@@ -46,99 +160,321 @@ public class Main {
                 System.out.println("❌ Error processing " + inputFile + ": " + e.getMessage());
             }
         }
+        return allRecords;
+    }
+
+    private static List<PerformanceRecord> processFilesPipelined(List<String> inputFiles, int workers) {
+        System.out.println("🔀 Pipelined run: " + inputFiles.size() + " files, " + workers + " solver threads");
+        List<PerformanceRecord> allRecords = Collections.synchronizedList(new ArrayList<>());
+
+        BatchPipeline<GraphOutcome> pipeline = new BatchPipeline<>(
+                Main::streamGraphs,
+                Main::solveGraph,
+                (file, outcomes) -> {
+                    writeResults(file, outcomes);
+                    for (GraphOutcome outcome : outcomes) allRecords.add(outcome.record);
+                },
+                workers, PIPELINE_QUEUE_CAPACITY);
 
         try {
-            generatePerformanceReport(allRecords);
-            System.out.println("\n✅ All datasets processed successfully!");
-            System.out.println("📊 Performance report: analysis/performance_comparison.csv");
-        } catch (Exception e) {
-            System.err.println("❌ Error generating report: " + e.getMessage());
+            pipeline.run(inputFiles);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        for (String failure : pipeline.getFailures()) {
+            System.out.println("❌ Error processing " + failure);
+        }
+        pipeline.printMetrics();
+        return allRecords;
     }
 
-    public static List<PerformanceRecord> processFile(String inputFile) throws Exception {
-        InputData inputData = JsonUtils.readInput(inputFile);
-        List<Graph> graphs = JsonUtils.convertToGraphs(inputData);
+    private static List<PerformanceRecord> processFilesOnVirtualThreads(List<String> inputFiles, int workers) {
+        if (!VirtualThreadBatch.virtualThreadsAvailable()) {
+            System.out.println("⚠️  Virtual threads need Java 21; running file jobs on platform threads");
+        }
+        System.out.println("🧵 Virtual-thread run: " + inputFiles.size() + " files, " + workers + " solver threads");
+        List<PerformanceRecord> allRecords = Collections.synchronizedList(new ArrayList<>());
+
+        VirtualThreadBatch<GraphOutcome> batch = new VirtualThreadBatch<>(
+                Main::streamGraphs,
+                Main::solveGraph,
+                (file, outcomes) -> {
+                    writeResults(file, outcomes);
+                    for (GraphOutcome outcome : outcomes) allRecords.add(outcome.record);
+                },
+                workers, VIRTUAL_FILES_IN_FLIGHT);
 
-        System.out.println("📁 Loaded " + graphs.size() + " graphs");
+        try {
+            batch.run(inputFiles);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (String failure : batch.getFailures()) {
+            System.out.println("❌ Error processing " + failure);
+        }
+        batch.printMetrics();
+        return allRecords;
+    }
 
-        List<GraphResult> results = new ArrayList<>();
+    // CSV, DIMACS and METIS edge lists hold one graph each; anything else is the JSON document
+    // format, whose graphs are parsed in parallel and passed on in file order as they complete
+    private static void streamGraphs(String inputFile, Consumer<IndexedGraph> sink) throws Exception {
+        if (EdgeListReader.supports(inputFile)) {
+            sink.accept(edgeListReader.read(inputFile));
+        } else {
+            jsonReader.read(inputFile, sink);
+        }
+    }
+
+    // A directory argument stands for every dataset file directly inside it, in name order
+    private static List<String> expandInput(String path) {
+        File file = new File(path);
+        if (!file.isDirectory()) return Collections.singletonList(path);
+        File[] datasets = file.listFiles((dir, name) -> {
+            String plain = CompressedIO.stripGzip(name);
+            return !plain.endsWith("_output.json") && (plain.endsWith(".json") || EdgeListReader.supports(plain));
+        });
+        if (datasets == null) return Collections.emptyList();
+        Arrays.sort(datasets);
+        List<String> paths = new ArrayList<>(datasets.length);
+        for (File dataset : datasets) paths.add(dataset.getPath());
+        return paths;
+    }
+
+    // Dataset path without ".gz" and the format extension
+    private static String datasetBase(String inputFile) {
+        return CompressedIO.stripGzip(inputFile).replaceFirst("\\.[^./\\\\]+$", "");
+    }
+
+    public static List<PerformanceRecord> processFile(String inputFile) throws Exception {
+        List<GraphOutcome> outcomes = new ArrayList<>();
         List<PerformanceRecord> records = new ArrayList<>();
-        PrimMST prim = new PrimMST();
-        KruskalMST kruskal = new KruskalMST();
-
-        for (Graph graph : graphs) {
-            int vertices = graph.getVertexCount();
-            int edges = graph.getEdgeCount();
-            int maxPossibleEdges = vertices * (vertices - 1) / 2;
-            double density = maxPossibleEdges > 0 ? (edges * 100.0) / maxPossibleEdges : 0;
-
-            System.out.printf("\n--- Graph %d: %d vertices, %d edges (Density: %.1f%%) ---%n",
-                    graph.getId(), vertices, edges, density);
-
-            MSTResult primResult = prim.findMST(graph);
-            MSTResult kruskalResult = kruskal.findMST(graph);
-
-            if (primResult.getTotalCost() != kruskalResult.getTotalCost()) {
-                System.err.println("❌ COST MISMATCH! Prim: " + primResult.getTotalCost() +
-                        ", Kruskal: " + kruskalResult.getTotalCost());
-            } else {
-                System.out.println("✅ Algorithms agree on MST cost: " + primResult.getTotalCost());
+        // Each graph is solved as the reader hands it over, so the file is never held as a list of graphs
+        streamGraphs(inputFile, graph -> {
+            GraphOutcome outcome = solveGraph(inputFile, graph);
+            outcomes.add(outcome);
+            records.add(outcome.record);
+        });
+
+        System.out.println("📁 Solved " + outcomes.size() + " graphs");
+
+        writeResults(inputFile, outcomes);
+        return records;
+    }
+
+    private static GraphOutcome solveGraph(String inputFile, IndexedGraph graph) {
+        int vertices = graph.getVertexCount();
+        int edges = graph.getEdgeCount();
+        long maxPossibleEdges = (long) vertices * (vertices - 1) / 2;
+        double density = maxPossibleEdges > 0 ? (edges * 100.0) / maxPossibleEdges : 0;
+
+        // Build the log as one block so concurrent solver threads don't interleave lines
+        StringBuilder log = new StringBuilder();
+        log.append(String.format("\n--- Graph %d: %d vertices, %d edges (Density: %.1f%%) ---%n",
+                graph.getId(), vertices, edges, density));
+
+        // The sparsified graph and its reordering are built on the first cache miss and shared by
+        // both solvers; cache hits never pay for either
+        CycleSparsifier.Result[] sparsifiedOnce = new CycleSparsifier.Result[1];
+        Supplier<CycleSparsifier.Result> sparsify = sparsifier == null ? null : () -> {
+            if (sparsifiedOnce[0] == null) sparsifiedOnce[0] = sparsifier.sparsify(graph);
+            return sparsifiedOnce[0];
+        };
+        VertexReordering[] reordering = new VertexReordering[1];
+        Supplier<VertexReordering> reorder = reorderStrategy == null ? null : () -> {
+            if (reordering[0] == null) {
+                IndexedGraph solved = sparsify != null ? sparsify.get().getGraph() : graph;
+                reordering[0] = VertexReordering.of(reorderStrategy, solved);
             }
+            return reordering[0];
+        };
+        MSTResult primResult = solveWith("prim", graph, sparsify, reorder, prim::findMST);
+        MSTResult kruskalResult = solveWith("kruskal", graph, sparsify, reorder, kruskal::findMST);
+        CycleSparsifier.Result sparsified = sparsifiedOnce[0];
+
+        ValidationEvent validation = new ValidationEvent();
+        validation.begin();
+        boolean valid = primResult.hasSameCost(kruskalResult)
+                && primResult.getEdgeCount() == kruskalResult.getEdgeCount();
+        if (validation.shouldCommit()) {
+            validation.describe(graph, "prim+kruskal");
+            validation.setPassed(valid);
+            validation.commit();
+        }
+        if (!valid) {
+            log.append("❌ COST MISMATCH! Prim: ").append(primResult.getTotalCostValue())
+                    .append(", Kruskal: ").append(kruskalResult.getTotalCostValue()).append('\n');
+        } else {
+            log.append("✅ Algorithms agree on MST cost: ").append(primResult.getTotalCostValue()).append('\n');
+        }
 
-            System.out.printf("Prim:    cost=%-6d time=%-8.3fms ops=%-8d%n",
-                    primResult.getTotalCost(),
-                    primResult.getExecutionTime() / 1_000_000.0,
-                    primResult.getOperationsCount());
+        log.append(String.format("Prim:    cost=%-6s time=%-10s ops=%-8d%n",
+                primResult.getTotalCostValue(), solveTime(primResult), primResult.getOperationsCount()));
+
+        log.append(String.format("Kruskal: cost=%-6s time=%-10s ops=%-8d%n",
+                kruskalResult.getTotalCostValue(), solveTime(kruskalResult), kruskalResult.getOperationsCount()));
+        // A cached tree was not solved now, so it has no time to compare or subtract
+        boolean timed = !primResult.isCacheHit() && !kruskalResult.isCacheHit();
+
+        int edgesRemoved = 0;
+        long sparsifyTime = 0;
+        long timeSaved = 0;
+        if (sparsified != null && sparsified.getEdgesRemoved() > 0) {
+            edgesRemoved = sparsified.getEdgesRemoved();
+            sparsifyTime = sparsified.getElapsedTime();
+            log.append(String.format("Sparsify: removed=%d of %d edges in %d rounds, time=%.3fms",
+                    edgesRemoved, edges, sparsified.getRounds(), sparsifyTime / 1_000_000.0));
+            if (sparsifyBaseline && timed) {
+                // Uncached full-graph solves are the baseline the pre-pass has to beat
+                long fullTime = prim.findMST(graph, SolverWorkspace.current()).getExecutionTime()
+                        + kruskal.findMST(graph, SolverWorkspace.current()).getExecutionTime();
+                timeSaved = fullTime - sparsifyTime - primResult.getExecutionTime() - kruskalResult.getExecutionTime();
+                log.append(String.format(", saved=%.3fms", timeSaved / 1_000_000.0));
+            }
+            log.append('\n');
+        }
 
-            System.out.printf("Kruskal: cost=%-6d time=%-8.3fms ops=%-8d%n",
-                    kruskalResult.getTotalCost(),
-                    kruskalResult.getExecutionTime() / 1_000_000.0,
-                    kruskalResult.getOperationsCount());
+        MSTResult bottleneckResult = null;
+        if (bottleneckSolver != null) {
+            bottleneckResult = bottleneckSolver.findTree(graph, SolverWorkspace.current());
+            // Every MST is also a minimum bottleneck tree, so the two bottlenecks must match
+            Number expected = kruskalResult.getBottleneckWeight();
+            Number bottleneck = bottleneckResult.getBottleneckWeight();
+            boolean agrees = sameWeight(expected, bottleneck)
+                    && bottleneckResult.getEdgeCount() == kruskalResult.getEdgeCount();
+            log.append(agrees ? "✅ " : "❌ BOTTLENECK MISMATCH! ")
+                    .append(String.format("Bottleneck: weight=%s (MST max edge %s) time=%.3fms ops=%d%n",
+                            bottleneck, expected, bottleneckResult.getExecutionTimeMs(),
+                            bottleneckResult.getOperationsCount()));
+        }
 
+        List<ZoneOutput> zones = null;
+        if (zoneCounts != null) {
+            // One dendrogram from the Kruskal tree answers every k; k above V is skipped
+            long zoneStart = System.nanoTime();
+            Dendrogram dendrogram = kruskalResult.hasEdgeIndices() && kruskalResult.getGraph() == graph
+                    ? Dendrogram.fromSpanningTree(graph, kruskalResult)
+                    : Dendrogram.build(graph);
+            int[] ks = Arrays.stream(zoneCounts).filter(k -> k <= vertices).toArray();
+            List<Partition> partitions = dendrogram.cutAll(ks);
+            zones = new ArrayList<>();
+            for (int i = 0; i < ks.length; i++) {
+                Partition partition = partitions.get(i);
+                double separation = partition.getSeparation();
+                zones.add(new ZoneOutput(ks[i], partition.getClusterCount(),
+                        Double.isInfinite(separation) ? null : separation, partition.getClusters()));
+            }
+            log.append(String.format("Zones:   k=%s from one dendrogram in %.3fms%n",
+                    Arrays.toString(ks), (System.nanoTime() - zoneStart) / 1_000_000.0));
+        }
+
+        if (timed) {
             double timeRatio = kruskalResult.getExecutionTime() > 0 ?
                     (double) primResult.getExecutionTime() / kruskalResult.getExecutionTime() : 0;
-            System.out.printf("Time Ratio (Prim/Kruskal): %.3f%n", timeRatio);
-
-            InputStats stats = new InputStats(vertices, edges);
-            MSTOutput primOutput = convertToMSTOutput(primResult);
-            MSTOutput kruskalOutput = convertToMSTOutput(kruskalResult);
-
-            results.add(new GraphResult(graph.getId(), stats, primOutput, kruskalOutput));
-
-            records.add(new PerformanceRecord(
-                    inputFile.replace("datasets/", "").replace(".json", ""),
-                    graph.getId(),
-                    vertices,
-                    edges,
-                    density,
-                    primResult.getTotalCost(),
-                    kruskalResult.getTotalCost(),
-                    primResult.getExecutionTime(),
-                    kruskalResult.getExecutionTime(),
-                    primResult.getOperationsCount(),
-                    kruskalResult.getOperationsCount()
-            ));
-        }
-
-        String outputFile = inputFile.replace("datasets/", "output/").replace(".json", "_output.json");
+            log.append(String.format("Time Ratio (Prim/Kruskal): %.3f%n", timeRatio));
+        }
+        System.out.print(log);
+
+        InputStats stats = new InputStats(vertices, edges);
+        MSTOutput primOutput = convertToMSTOutput(primResult);
+        MSTOutput kruskalOutput = convertToMSTOutput(kruskalResult);
+
+        GraphResult result = new GraphResult(graph.getId(), stats, primOutput, kruskalOutput);
+        if (bottleneckResult != null) {
+            result.setBottleneck(new BottleneckOutput(bottleneckResult.getBottleneckWeight(),
+                    convertToMSTOutput(bottleneckResult)));
+        }
+        result.setZones(zones);
+
+        PerformanceRecord record = new PerformanceRecord(
+                datasetBase(inputFile).replace("datasets/", ""),
+                graph.getId(),
+                vertices,
+                edges,
+                density,
+                primResult.getTotalCostValue(),
+                kruskalResult.getTotalCostValue(),
+                primResult.getExecutionTime(),
+                kruskalResult.getExecutionTime(),
+                primResult.getOperationsCount(),
+                kruskalResult.getOperationsCount(),
+                edgesRemoved,
+                sparsifyTime,
+                timeSaved,
+                bottleneckResult != null ? bottleneckResult.getBottleneckWeight() : null,
+                bottleneckResult != null ? bottleneckResult.getExecutionTime() : 0,
+                primResult.isCacheHit(),
+                kruskalResult.isCacheHit()
+        );
+        return new GraphOutcome(result, record);
+    }
+
+    // Sparsified and reordered solves return the same tree, mapped back to the input's edge indices
+    private static MSTResult solveWith(String algorithm, IndexedGraph graph, Supplier<CycleSparsifier.Result> sparsify,
+                                       Supplier<VertexReordering> reorder,
+                                       BiFunction<IndexedGraph, SolverWorkspace, MSTResult> solver) {
+        Supplier<MSTResult> solve = () -> {
+            CycleSparsifier.Result sparsified = sparsify != null ? sparsify.get() : null;
+            VertexReordering reordering = reorder != null ? reorder.get() : null;
+            IndexedGraph target = reordering != null ? reordering.getReordered()
+                    : sparsified != null ? sparsified.getGraph() : graph;
+            MSTResult result = solver.apply(target, SolverWorkspace.current());
+            if (reordering != null) result = reordering.mapBack(result);
+            return sparsified != null ? sparsified.mapBack(result) : result;
+        };
+
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        // Only integer-weighted graphs keep a Graph source, which is what the cache keys on
+        Graph source = graph.getSource();
+        MSTResult result = source != null ? cache.getOrCompute(algorithm, source, g -> solve.get()) : solve.get();
+        if (event.shouldCommit()) {
+            event.describe(graph, algorithm);
+            event.setCacheHit(result.isCacheHit());
+            event.setTotalCost(result.getTotalCostValue());
+            event.commit();
+        }
+        return result;
+    }
+
+    private static String solveTime(MSTResult result) {
+        return result.isCacheHit() ? "cached" : String.format("%.3fms", result.getExecutionTimeMs());
+    }
+
+    // Cached results may carry Integer weights where fresh ones carry Long
+    private static boolean sameWeight(Number a, Number b) {
+        if (a == null || b == null) return a == b;
+        if (a instanceof Double || b instanceof Double) return a.doubleValue() == b.doubleValue();
+        return a.longValue() == b.longValue();
+    }
+
+    private static void writeResults(String inputFile, List<GraphOutcome> outcomes) throws Exception {
+        List<GraphResult> results = new ArrayList<>();
+        for (GraphOutcome outcome : outcomes) {
+            results.add(outcome.result);
+        }
+
+        // Compressed datasets get compressed results
+        String outputFile = datasetBase(inputFile).replace("datasets/", "output/") + "_output.json"
+                + (CompressedIO.isGzip(inputFile) ? CompressedIO.GZIP_SUFFIX : "");
         File outputDir = new File("output");
         if (!outputDir.exists()) outputDir.mkdirs();
 
+        OutputWriteEvent event = new OutputWriteEvent();
+        event.begin();
         OutputData outputData = new OutputData(results);
         JsonUtils.writeOutput(outputFile, outputData);
+        if (event.shouldCommit()) {
+            event.describe(outputFile, results.size());
+            event.commit();
+        }
 
         System.out.println("💾 Results written to: " + outputFile);
-        return records;
     }
 
     private static MSTOutput convertToMSTOutput(MSTResult result) {
-        List<EdgeOutput> edgeOutputs = new ArrayList<>();
-        for (com.mst.core.Edge edge : result.getMstEdges()) {
-            edgeOutputs.add(new EdgeOutput(edge.getFrom(), edge.getTo(), edge.getWeight()));
-        }
-        return new MSTOutput(edgeOutputs, result.getTotalCost(),
-                result.getOperationsCount(), result.getExecutionTime() / 1_000_000.0);
+        MSTOutput output = JsonUtils.convertToMSTOutput(result);
+        return canonicalOutput ? output.canonical() : output;
     }
 
     public static void generatePerformanceReport(List<PerformanceRecord> records) throws Exception {
@@ -146,17 +482,25 @@ public class Main {
         if (!analysisDir.exists()) analysisDir.mkdirs();
 
         FileWriter writer = new FileWriter("analysis/performance_comparison.csv");
-        writer.write("Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,Prim_Operations,Kruskal_Operations,Time_Ratio,Operations_Ratio\n");
+        writer.write("Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,Prim_Operations,Kruskal_Operations,Time_Ratio,Operations_Ratio,Sparsify_Edges_Removed,Sparsify_Time_ms,Time_Saved_ms,Bottleneck_Weight,Bottleneck_Time_ms,Prim_Cached,Kruskal_Cached\n");
 
+        // Cached trees were not solved in this run, so their time cells are left empty
         for (PerformanceRecord record : records) {
-            double timeRatio = record.kruskalTime > 0 ? (double) record.primTime / record.kruskalTime : 0;
+            boolean timed = record.isTimed();
+            String timeRatio = timed ? String.format("%.3f",
+                    record.kruskalTime > 0 ? (double) record.primTime / record.kruskalTime : 0) : "";
             double opsRatio = record.kruskalOperations > 0 ? (double) record.primOperations / record.kruskalOperations : 0;
 
-            writer.write(String.format("%s,%d,%d,%d,%.1f,%d,%d,%.3f,%.3f,%d,%d,%.3f,%.3f\n",
+            writer.write(String.format("%s,%d,%d,%d,%.1f,%s,%s,%s,%s,%d,%d,%s,%.3f,%d,%.3f,%s,%s,%.3f,%b,%b\n",
                     record.dataset, record.graphId, record.vertices, record.edges, record.density,
                     record.primCost, record.kruskalCost,
-                    record.primTime / 1_000_000.0, record.kruskalTime / 1_000_000.0,
-                    record.primOperations, record.kruskalOperations, timeRatio, opsRatio));
+                    record.primCached ? "" : String.format("%.3f", record.primTime / 1_000_000.0),
+                    record.kruskalCached ? "" : String.format("%.3f", record.kruskalTime / 1_000_000.0),
+                    record.primOperations, record.kruskalOperations, timeRatio, opsRatio,
+                    record.edgesRemoved, record.sparsifyTime / 1_000_000.0,
+                    timed ? String.format("%.3f", record.timeSaved / 1_000_000.0) : "",
+                    record.bottleneckWeight != null ? record.bottleneckWeight : "", record.bottleneckTime / 1_000_000.0,
+                    record.primCached, record.kruskalCached));
         }
 
         writer.close();
@@ -182,17 +526,36 @@ public class Main {
             System.out.printf("\n%s (%d graphs):%n", dataset.toUpperCase(), datasetRecords.size());
             System.out.println("-".repeat(60));
 
-            double avgPrimTime = datasetRecords.stream().mapToLong(r -> r.primTime).average().orElse(0) / 1_000_000.0;
-            double avgKruskalTime = datasetRecords.stream().mapToLong(r -> r.kruskalTime).average().orElse(0) / 1_000_000.0;
+            // Averages cover the trees solved in this run, not those served from the cache
+            OptionalDouble avgPrimTime = datasetRecords.stream().filter(r -> !r.primCached)
+                    .mapToLong(r -> r.primTime).average();
+            OptionalDouble avgKruskalTime = datasetRecords.stream().filter(r -> !r.kruskalCached)
+                    .mapToLong(r -> r.kruskalTime).average();
             double avgPrimOps = datasetRecords.stream().mapToInt(r -> r.primOperations).average().orElse(0);
             double avgKruskalOps = datasetRecords.stream().mapToInt(r -> r.kruskalOperations).average().orElse(0);
 
-            System.out.printf("Prim's Algorithm:     Avg Time: %.3f ms, Avg Operations: %.0f%n",
-                    avgPrimTime, avgPrimOps);
-            System.out.printf("Kruskal's Algorithm:  Avg Time: %.3f ms, Avg Operations: %.0f%n",
-                    avgKruskalTime, avgKruskalOps);
-            System.out.printf("Performance Ratio:    Time: %.3f (Prim/Kruskal), Operations: %.3f (Prim/Kruskal)%n",
-                    avgPrimTime / avgKruskalTime, avgPrimOps / avgKruskalOps);
+            System.out.printf("Prim's Algorithm:     Avg Time: %s, Avg Operations: %.0f%n",
+                    averageTime(avgPrimTime), avgPrimOps);
+            System.out.printf("Kruskal's Algorithm:  Avg Time: %s, Avg Operations: %.0f%n",
+                    averageTime(avgKruskalTime), avgKruskalOps);
+            String timeRatio = avgPrimTime.isPresent() && avgKruskalTime.isPresent()
+                    ? String.format("%.3f", avgPrimTime.getAsDouble() / avgKruskalTime.getAsDouble()) : "n/a";
+            System.out.printf("Performance Ratio:    Time: %s (Prim/Kruskal), Operations: %.3f (Prim/Kruskal)%n",
+                    timeRatio, avgPrimOps / avgKruskalOps);
+        }
+    }
+
+    private static String averageTime(OptionalDouble nanos) {
+        return nanos.isPresent() ? String.format("%.3f ms", nanos.getAsDouble() / 1_000_000.0) : "all cached";
+    }
+
+    static class GraphOutcome {
+        final GraphResult result;
+        final PerformanceRecord record;
+
+        GraphOutcome(GraphResult result, PerformanceRecord record) {
+            this.result = result;
+            this.record = record;
         }
     }
 
@@ -202,16 +565,26 @@ public class Main {
         int vertices;
         int edges;
         double density;
-        int primCost;
-        int kruskalCost;
+        Number primCost;
+        Number kruskalCost;
         long primTime;
         long kruskalTime;
         int primOperations;
         int kruskalOperations;
+        int edgesRemoved;
+        long sparsifyTime;
+        long timeSaved;
+        Number bottleneckWeight;
+        long bottleneckTime;
+        boolean primCached;
+        boolean kruskalCached;
 
         public PerformanceRecord(String dataset, int graphId, int vertices, int edges, double density,
-                                 int primCost, int kruskalCost, long primTime, long kruskalTime,
-                                 int primOperations, int kruskalOperations) {
+                                 Number primCost, Number kruskalCost, long primTime, long kruskalTime,
+                                 int primOperations, int kruskalOperations,
+                                 int edgesRemoved, long sparsifyTime, long timeSaved,
+                                 Number bottleneckWeight, long bottleneckTime,
+                                 boolean primCached, boolean kruskalCached) {
             this.dataset = dataset;
             this.graphId = graphId;
             this.vertices = vertices;
@@ -223,6 +596,18 @@ public class Main {
             this.kruskalTime = kruskalTime;
             this.primOperations = primOperations;
             this.kruskalOperations = kruskalOperations;
+            this.edgesRemoved = edgesRemoved;
+            this.sparsifyTime = sparsifyTime;
+            this.timeSaved = timeSaved;
+            this.bottleneckWeight = bottleneckWeight;
+            this.bottleneckTime = bottleneckTime;
+            this.primCached = primCached;
+            this.kruskalCached = kruskalCached;
+        }
+
+        /** Both trees were solved in this run, so their times can be compared. */
+        boolean isTimed() {
+            return !primCached && !kruskalCached;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.mst.algorithms;
+
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Minimum bottleneck spanning tree (forest) by Camerini's algorithm, expected O(E).
+ *
+ * Each round quickselects the median edge of the remaining list and checks whether the lower
+ * half alone connects everything the whole graph connects. If it does, the upper half can't
+ * hold the bottleneck and is dropped. If not, a spanning forest of the lower half is kept, its
+ * components are contracted, and the search continues in the upper half. The list halves every
+ * round, so the total work is linear; no full sort is ever done.
+ *
+ * The result is a valid spanning tree whose heaviest edge is as light as possible; its total
+ * cost is generally higher than the MST's. Edges are compared by weight and then tie rank, so
+ * the tree is deterministic.
+ */
+public class BottleneckSpanningTree {
+    private static final int BASE_CASE_EDGES = 16;
+
+    public MSTResult findTree(Graph graph) {
+        return findTree(graph.toIndexed(), SolverWorkspace.current());
+    }
+
+    public MSTResult findTree(IndexedGraph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        boolean wide = graph.getWeightType() != WeightType.INT;
+        int[] tieRanks = graph.tieRanks();
+
+        long[] weightKey = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            weightKey[e] = wide ? SolverWorkspace.wideWeightKey(graph, e) : graph.getWeight(e);
+        }
+
+        // Working list: original edge ids with their endpoints in the current contracted labelling
+        int[] edges = new int[edgeCount];
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int size = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (graph.getFrom(e) == graph.getTo(e)) continue;
+            edges[size] = e;
+            from[size] = graph.getFrom(e);
+            to[size] = graph.getTo(e);
+            size++;
+        }
+
+        // Labels cover only vertices that still have list edges, so isolated and fully contracted
+        // vertices drop out and every round costs O(size) rather than O(V)
+        int[] parent = new int[vertexCount];
+        int[] label = new int[vertexCount];
+        int[] labelled = new int[Math.min(vertexCount, 2 * size)];
+        Arrays.fill(label, -1);
+        int labels = relabel(label, labelled, from, to, size);
+        // Unions a spanning forest of the list makes; the lower half must match it to be enough
+        int targetUnions = unions(parent, labels, from, to, size);
+        operations += vertexCount + 2L * size;
+
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+        SplittableRandom random = new SplittableRandom(edgeCount);
+
+        while (size > BASE_CASE_EDGES) {
+            int lowerSize = (size + 1) / 2;
+            select(edges, from, to, 0, size - 1, lowerSize - 1, weightKey, tieRanks, random);
+            operations += 2L * size;
+
+            int lowerUnions = unions(parent, labels, from, to, lowerSize);
+            operations += lowerSize;
+            if (lowerUnions == targetUnions) {
+                size = lowerSize;
+                labels = relabel(label, labelled, from, to, size);
+                operations += size;
+                continue;
+            }
+
+            // Keep a spanning forest of the lower half and contract it
+            for (int v = 0; v < labels; v++) parent[v] = v;
+            for (int i = 0; i < lowerSize; i++) {
+                int a = find(parent, from[i]);
+                int b = find(parent, to[i]);
+                if (a != b) {
+                    parent[a] = b;
+                    workspace.resultAdd(edges[i]);
+                }
+            }
+            int kept = 0;
+            for (int i = lowerSize; i < size; i++) {
+                int a = find(parent, from[i]);
+                int b = find(parent, to[i]);
+                if (a == b) continue;
+                edges[kept] = edges[i];
+                from[kept] = a;
+                to[kept] = b;
+                kept++;
+            }
+            operations += 3L * size + labels;
+            size = kept;
+            labels = relabel(label, labelled, from, to, size);
+            targetUnions -= lowerUnions;
+        }
+
+        // Finish the last few edges with Kruskal
+        sortSmall(edges, from, to, size, weightKey, tieRanks);
+        for (int v = 0; v < labels; v++) parent[v] = v;
+        for (int i = 0; i < size; i++) {
+            int a = find(parent, from[i]);
+            int b = find(parent, to[i]);
+            if (a != b) {
+                parent[a] = b;
+                workspace.resultAdd(edges[i]);
+            }
+        }
+        operations += 4L * size;
+
+        int[] tree = workspace.resultToArray();
+        long executionTime = System.nanoTime() - startTime;
+        int ops = (int) Math.min(Integer.MAX_VALUE, operations);
+        if (graph.getWeightType() == WeightType.DOUBLE) {
+            CostSum cost = workspace.costSum();
+            cost.reset();
+            for (int edge : tree) cost.add(graph.getDoubleWeight(edge));
+            return MSTResult.withDoubleCost(graph, tree, cost.doubleValue(), ops, executionTime);
+        }
+        long cost = 0;
+        for (int edge : tree) {
+            cost = wide ? Math.addExact(cost, graph.getLongWeight(edge)) : cost + graph.getWeight(edge);
+        }
+        return new MSTResult(graph, tree, cost, ops, executionTime);
+    }
+
+    // Successful unions (V minus components) over labels 0..labels-1 under the first `size` list edges
+    private static int unions(int[] parent, int labels, int[] from, int[] to, int size) {
+        for (int v = 0; v < labels; v++) parent[v] = v;
+        int unions = 0;
+        for (int i = 0; i < size; i++) {
+            int a = find(parent, from[i]);
+            int b = find(parent, to[i]);
+            if (a != b) {
+                parent[a] = b;
+                unions++;
+            }
+        }
+        return unions;
+    }
+
+    // Renumbers the endpoints of the first `size` list edges densely from 0 and returns the label count.
+    // label must be all -1 on entry and is left that way.
+    private static int relabel(int[] label, int[] labelled, int[] from, int[] to, int size) {
+        int labels = 0;
+        for (int i = 0; i < size; i++) {
+            int a = from[i];
+            if (label[a] < 0) {
+                labelled[labels] = a;
+                label[a] = labels++;
+            }
+            from[i] = label[a];
+            int b = to[i];
+            if (label[b] < 0) {
+                labelled[labels] = b;
+                label[b] = labels++;
+            }
+            to[i] = label[b];
+        }
+        for (int l = 0; l < labels; l++) label[labelled[l]] = -1;
+        return labels;
+    }
+
+    private static boolean less(int a, int b, long[] weightKey, int[] tieRanks) {
+        if (weightKey[a] != weightKey[b]) return weightKey[a] < weightKey[b];
+        return tieRanks[a] < tieRanks[b];
+    }
+
+    // Quickselect: afterwards position k holds the k-th smallest edge, smaller ones sit before it
+    private static void select(int[] edges, int[] from, int[] to, int low, int high, int k,
+                               long[] weightKey, int[] tieRanks, SplittableRandom random) {
+        while (high > low) {
+            swap(edges, from, to, low + random.nextInt(high - low + 1), high);
+            int pivot = edges[high];
+            int store = low;
+            for (int i = low; i < high; i++) {
+                if (less(edges[i], pivot, weightKey, tieRanks)) swap(edges, from, to, i, store++);
+            }
+            swap(edges, from, to, store, high);
+            if (store == k) return;
+            if (store < k) low = store + 1;
+            else high = store - 1;
+        }
+    }
+
+    private static void sortSmall(int[] edges, int[] from, int[] to, int size, long[] weightKey, int[] tieRanks) {
+        for (int i = 1; i < size; i++) {
+            for (int j = i; j > 0 && less(edges[j], edges[j - 1], weightKey, tieRanks); j--) {
+                swap(edges, from, to, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(int[] edges, int[] from, int[] to, int i, int j) {
+        int t = edges[i]; edges[i] = edges[j]; edges[j] = t;
+        t = from[i]; from[i] = from[j]; from[j] = t;
+        t = to[i]; to[i] = to[j]; to[j] = t;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
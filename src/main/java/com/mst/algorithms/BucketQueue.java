@@ -0,0 +1,108 @@
+package com.mst.algorithms;
+
+import com.mst.core.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue of edges for Prim over a narrow integer weight range.
+ *
+ * Every edge owns a fixed slot: a counting sort puts the edges into one bucket per weight, in tie
+ * rank order inside each bucket, so slot order is exactly the (weight, tie rank) order of the
+ * packed heap keys and Prim picks the same edges as with the heap. Queued slots are bits in a
+ * bitset with 64-way summary levels above it. Push sets a bit and extract-min follows the lowest
+ * set bit down from the one-word top level; both are one word operation per level (four levels
+ * cover 16M edges) however many edges are queued.
+ *
+ * Extract-min does not assume keys come out in increasing order. Prim's do not: a vertex that just
+ * joined the tree can bring in an edge lighter than the one that brought it in.
+ */
+final class BucketQueue {
+    private int[] slotOf = new int[16];
+    private int[] edgeAt = new int[16];
+    private int[] bucketNext = new int[16];
+    private long[][] levels = new long[0][];
+    private int[] levelWords = new int[0];
+    private int size;
+
+    /** Assigns slots for graph's edges, whose weights all lie in [minWeight, minWeight + range). */
+    void layout(IndexedGraph graph, int minWeight, int range) {
+        int m = graph.getEdgeCount();
+        if (slotOf.length < m) {
+            slotOf = new int[Math.max(m, slotOf.length + (slotOf.length >> 1))];
+            edgeAt = new int[slotOf.length];
+        }
+        if (bucketNext.length < range) bucketNext = new int[Math.max(range, bucketNext.length + (bucketNext.length >> 1))];
+
+        Arrays.fill(bucketNext, 0, range, 0);
+        for (int e = 0; e < m; e++) bucketNext[graph.getWeight(e) - minWeight]++;
+        int start = 0;
+        for (int b = 0; b < range; b++) {
+            int count = bucketNext[b];
+            bucketNext[b] = start;
+            start += count;
+        }
+        int[] edgesByRank = graph.edgesByTieRank();
+        for (int r = 0; r < m; r++) {
+            int e = edgesByRank[r];
+            int slot = bucketNext[graph.getWeight(e) - minWeight]++;
+            slotOf[e] = slot;
+            edgeAt[slot] = e;
+        }
+
+        sizeLevels(m);
+        clear();
+    }
+
+    private void sizeLevels(int slots) {
+        int depth = 1;
+        for (int words = (slots + 63) >>> 6; words > 1; words = (words + 63) >>> 6) depth++;
+        if (levels.length != depth) {
+            levels = Arrays.copyOf(levels, depth);
+            levelWords = new int[depth];
+        }
+        int words = Math.max((slots + 63) >>> 6, 1);
+        for (int l = 0; l < depth; l++) {
+            if (levels[l] == null || levels[l].length < words) levels[l] = new long[words];
+            levelWords[l] = words;
+            words = (words + 63) >>> 6;
+        }
+    }
+
+    void clear() {
+        for (int l = 0; l < levels.length; l++) Arrays.fill(levels[l], 0, levelWords[l], 0L);
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int edge) {
+        int index = slotOf[edge];
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            boolean wasEmpty = level[word] == 0;
+            level[word] |= 1L << index;
+            if (!wasEmpty) break;
+            index = word;
+        }
+        size++;
+    }
+
+    int pop() {
+        int index = 0;
+        for (int l = levels.length - 1; l >= 0; l--) {
+            index = (index << 6) | Long.numberOfTrailingZeros(levels[l][index]);
+        }
+        int slot = index;
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            level[word] &= ~(1L << index);
+            if (level[word] != 0) break;
+            index = word;
+        }
+        size--;
+        return edgeAt[slot];
+    }
+}
@@ -0,0 +1,98 @@
+package com.mst.algorithms;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set forest over vertices 0..n-1, safe for any mix of concurrent
+ * {@link #find}, {@link #union} and {@link #sameSet} calls.
+ *
+ * Roots are linked by a fixed random priority per element (ties broken by index), so the
+ * link direction never depends on thread timing and trees stay logarithmic in expectation.
+ * A union is a single CAS on the losing root's parent slot and retries only when another
+ * thread linked one of the two roots first. Finds compress with path splitting, also via
+ * CAS; a failed compression CAS is simply skipped, so find never waits on other threads.
+ */
+public final class ConcurrentUnionFind {
+    private static final long DEFAULT_SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicIntegerArray parent;
+    private final int[] priority;
+
+    public ConcurrentUnionFind(int n) {
+        this(n, DEFAULT_SEED);
+    }
+
+    public ConcurrentUnionFind(int n, long seed) {
+        parent = new AtomicIntegerArray(n);
+        priority = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+            priority[i] = (int) mix(seed + i);
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (grandparent != p) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = p;
+        }
+    }
+
+    /** Returns true if this call merged two different sets. */
+    public boolean union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) return false;
+            if (outranks(a, b)) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            // a is the lower-priority root; hang it under b unless someone re-parented it first
+            if (parent.compareAndSet(a, a, b)) return true;
+        }
+    }
+
+    /** Linearizable connectivity check: retries while a root it saw is being linked away. */
+    public boolean sameSet(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) return true;
+            if (parent.get(a) == a) return false;
+        }
+    }
+
+    public boolean isRoot(int x) {
+        return parent.get(x) == x;
+    }
+
+    /** Number of sets; only exact when no union runs concurrently. */
+    public int countSets() {
+        int count = 0;
+        for (int i = 0; i < parent.length(); i++) {
+            if (parent.get(i) == i) count++;
+        }
+        return count;
+    }
+
+    private boolean outranks(int a, int b) {
+        return priority[a] > priority[b] || (priority[a] == priority[b] && a > b);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mst.algorithms;
+
+/**
+ * Overflow-safe MST cost accumulator: exact long addition that fails loudly on overflow,
+ * and Neumaier-compensated summation for fractional weights.
+ */
+final class CostSum {
+    private long exact;
+    private double sum;
+    private double compensation;
+
+    void reset() {
+        exact = 0;
+        sum = 0;
+        compensation = 0;
+    }
+
+    void add(long weight) {
+        try {
+            exact = Math.addExact(exact, weight);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("MST cost overflows a 64-bit integer");
+        }
+    }
+
+    void add(double weight) {
+        double t = sum + weight;
+        if (Math.abs(sum) >= Math.abs(weight)) {
+            compensation += (sum - t) + weight;
+        } else {
+            compensation += (weight - t) + sum;
+        }
+        sum = t;
+    }
+
+    long longValue() {
+        return exact;
+    }
+
+    double doubleValue() {
+        return sum + compensation;
+    }
+}
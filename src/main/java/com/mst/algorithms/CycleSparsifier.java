@@ -0,0 +1,182 @@
+package com.mst.algorithms;
+
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pre-pass that discards edges of dense graphs which cannot be in the MST.
+ *
+ * The edge list is cut into chunks of about chunkFactor * V edges and the minimum spanning
+ * forest of every chunk is computed in parallel. An edge left out of its chunk's forest is the
+ * heaviest edge of some cycle under the (weight, tie rank) order, so by the cycle property it is
+ * not in the MST of the whole graph either. The union of the chunk forests is kept and the round
+ * repeats until at most stopFactor * V edges remain; the solvers then run on O(V) edges instead
+ * of O(V^2).
+ *
+ * Kept edges stay in input order, so their tie ranks in the sparse graph keep the same relative
+ * order and every solver picks exactly the tree it would pick on the full graph.
+ */
+public class CycleSparsifier {
+    public static final int DEFAULT_CHUNK_FACTOR = 4;
+    public static final int DEFAULT_STOP_FACTOR = 8;
+
+    private final ForkJoinPool pool;
+    private final int chunkFactor;
+    private final int stopFactor;
+
+    public CycleSparsifier() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_FACTOR, DEFAULT_STOP_FACTOR);
+    }
+
+    public CycleSparsifier(ForkJoinPool pool, int chunkFactor, int stopFactor) {
+        if (chunkFactor < 1 || stopFactor <= chunkFactor) {
+            throw new IllegalArgumentException("Need 1 <= chunkFactor < stopFactor");
+        }
+        this.pool = pool;
+        this.chunkFactor = chunkFactor;
+        this.stopFactor = stopFactor;
+    }
+
+    /** Graphs that are not INT-weighted or already sparse come back unchanged. */
+    public Result sparsify(IndexedGraph graph) {
+        long startTime = System.nanoTime();
+        int vertexCount = graph.getVertexCount();
+        int[] originalEdge = null;
+        IndexedGraph current = graph;
+        int rounds = 0;
+        String[] names = null;
+
+        if (graph.getWeightType() == WeightType.INT) {
+            while ((long) current.getEdgeCount() > (long) stopFactor * vertexCount) {
+                IndexedGraph round = current;
+                boolean[] keep = new boolean[round.getEdgeCount()];
+                int chunkEdges = chunkFactor * Math.max(vertexCount, 1);
+                int chunks = (round.getEdgeCount() + chunkEdges - 1) / chunkEdges;
+                pool.submit(() -> new ForestTask(round, keep, chunkEdges, 0, chunks).invoke()).join();
+
+                int kept = 0;
+                for (boolean k : keep) if (k) kept++;
+                int[] from = new int[kept];
+                int[] to = new int[kept];
+                int[] weights = new int[kept];
+                int[] mapping = new int[kept];
+                int next = 0;
+                for (int e = 0; e < keep.length; e++) {
+                    if (!keep[e]) continue;
+                    from[next] = round.getFrom(e);
+                    to[next] = round.getTo(e);
+                    weights[next] = round.getWeight(e);
+                    mapping[next++] = originalEdge != null ? originalEdge[e] : e;
+                }
+                if (names == null) names = vertexNames(graph);
+                current = new IndexedGraph(graph.getId(), names, from, to, weights);
+                originalEdge = mapping;
+                rounds++;
+            }
+        }
+        return new Result(graph, current, originalEdge, rounds, System.nanoTime() - startTime);
+    }
+
+    private static String[] vertexNames(IndexedGraph graph) {
+        String[] names = new String[graph.getVertexCount()];
+        for (int v = 0; v < names.length; v++) names[v] = graph.getVertexName(v);
+        return names;
+    }
+
+    public static final class Result {
+        private final IndexedGraph original;
+        private final IndexedGraph sparse;
+        private final int[] originalEdge;
+        private final int rounds;
+        private final long elapsedTime;
+
+        Result(IndexedGraph original, IndexedGraph sparse, int[] originalEdge, int rounds, long elapsedTime) {
+            this.original = original;
+            this.sparse = sparse;
+            this.originalEdge = originalEdge;
+            this.rounds = rounds;
+            this.elapsedTime = elapsedTime;
+        }
+
+        public IndexedGraph getOriginal() { return original; }
+        public IndexedGraph getGraph() { return sparse; }
+        public int getRounds() { return rounds; }
+        public long getElapsedTime() { return elapsedTime; }
+
+        public int getEdgesRemoved() {
+            return original.getEdgeCount() - sparse.getEdgeCount();
+        }
+
+        /** Re-expresses a result computed on the sparse graph in the original graph's edge indices. */
+        public MSTResult mapBack(MSTResult result) {
+            return originalEdge != null ? result.remapTo(original, originalEdge) : result;
+        }
+    }
+
+    // Marks the minimum spanning forest of each chunk of consecutive edges
+    private static class ForestTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph graph;
+        private final boolean[] keep;
+        private final int chunkEdges;
+        private final int firstChunk;
+        private final int lastChunk;
+
+        ForestTask(IndexedGraph graph, boolean[] keep, int chunkEdges, int firstChunk, int lastChunk) {
+            this.graph = graph;
+            this.keep = keep;
+            this.chunkEdges = chunkEdges;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastChunk - firstChunk > 1) {
+                int mid = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new ForestTask(graph, keep, chunkEdges, firstChunk, mid),
+                        new ForestTask(graph, keep, chunkEdges, mid, lastChunk));
+                return;
+            }
+            int start = firstChunk * chunkEdges;
+            int end = Math.min(graph.getEdgeCount(), start + chunkEdges);
+            int[] tieRanks = graph.tieRanks();
+            int[] edgesByRank = graph.edgesByTieRank();
+
+            long[] keys = new long[end - start];
+            for (int e = start; e < end; e++) {
+                keys[e - start] = SolverWorkspace.packKey(graph.getWeight(e), tieRanks[e]);
+            }
+            Arrays.sort(keys);
+
+            int vertexCount = graph.getVertexCount();
+            int[] parent = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) parent[v] = v;
+            int forestEdges = 0;
+            for (int i = 0; i < keys.length && forestEdges < vertexCount - 1; i++) {
+                int edge = edgesByRank[SolverWorkspace.unpackTieRank(keys[i])];
+                int a = find(parent, graph.getFrom(edge));
+                int b = find(parent, graph.getTo(edge));
+                if (a != b) {
+                    parent[a] = b;
+                    keep[edge] = true;
+                    forestEdges++;
+                }
+            }
+        }
+
+        private static int find(int[] parent, int v) {
+            while (parent[v] != v) {
+                parent[v] = parent[parent[v]];
+                v = parent[v];
+            }
+            return v;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.mst.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Out-of-core sort of 20-byte edge records (long sort key, long tie, int edge), ascending by key,
+ * then tie, then the order the records were added in.
+ *
+ * Records are buffered in memory up to a fixed run size; each full run is radix sorted and
+ * spilled to its own temp file through a FileChannel and a direct buffer. {@link #sort()}
+ * then returns a cursor that k-way merges the runs lazily, reading each run one block at a
+ * time, so a consumer that stops early never reads the tail of the runs. When everything
+ * fits in a single run nothing touches the disk.
+ *
+ * The run arrays and I/O blocks are borrowed from a {@link SolverWorkspace}, so repeated sorts on
+ * one thread reuse them instead of allocating a run's worth of arrays and fresh direct memory each time.
+ */
+public final class ExternalEdgeSorter implements Closeable {
+    static final int RECORD_BYTES = 20;
+    private static final int BLOCK_BYTES = 64 * 1024;
+
+    private final int runRecords;
+    private final Path tempDirectory;
+
+    private final SolverWorkspace workspace;
+    private final long[] runKeys;
+    private final long[] runTies;
+    private final int[] runEdges;
+    private final long[] sortedKeys;
+    private final int[] order;
+    private int buffered;
+    private boolean tiesAscending = true;
+
+    private final List<Path> runFiles = new ArrayList<>();
+    private long bytesSpilled;
+    private long recordsRead;
+
+    public ExternalEdgeSorter(int runRecords, Path tempDirectory, SolverWorkspace workspace) {
+        if (runRecords < 1) throw new IllegalArgumentException("Run size must be positive");
+        this.runRecords = runRecords;
+        this.tempDirectory = tempDirectory;
+        this.workspace = workspace;
+        this.runKeys = workspace.runKeys(runRecords);
+        this.runTies = workspace.runTies(runRecords);
+        this.runEdges = workspace.runEdges(runRecords);
+        this.sortedKeys = workspace.sortKeys(runRecords);
+        this.order = workspace.sortValues(runRecords);
+    }
+
+    public void add(long key, long tie, int edge) {
+        if (buffered == runRecords) spill();
+        if (buffered > 0 && tie < runTies[buffered - 1]) tiesAscending = false;
+        runKeys[buffered] = key;
+        runTies[buffered] = tie;
+        runEdges[buffered] = edge;
+        buffered++;
+    }
+
+    /** Ends the input and returns the merged, ascending record stream. */
+    public Cursor sort() {
+        sortRun();
+        if (runFiles.isEmpty()) {
+            return new MemoryCursor();
+        }
+        if (buffered > 0) writeSortedRun();
+        return new MergeCursor();
+    }
+
+    public int getRunCount() {
+        return Math.max(runFiles.size(), buffered > 0 ? 1 : 0);
+    }
+
+    public long getBytesSpilled() {
+        return bytesSpilled;
+    }
+
+    /** Records handed out by the cursor so far. */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    @Override
+    public void close() {
+        for (Path file : runFiles) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Temp files are best effort; the OS temp cleaner gets the rest
+            }
+        }
+        runFiles.clear();
+    }
+
+    // Both passes are stable: by tie first (skipped when ties arrived in order), then by key
+    private void sortRun() {
+        for (int i = 0; i < buffered; i++) order[i] = i;
+        if (!tiesAscending) {
+            System.arraycopy(runTies, 0, sortedKeys, 0, buffered);
+            workspace.sortPairs(sortedKeys, order, buffered);
+        }
+        for (int i = 0; i < buffered; i++) sortedKeys[i] = runKeys[order[i]];
+        workspace.sortPairs(sortedKeys, order, buffered);
+    }
+
+    private void spill() {
+        sortRun();
+        writeSortedRun();
+    }
+
+    private void writeSortedRun() {
+        ByteBuffer block = workspace.ioBlock(0, BLOCK_BYTES);
+        try {
+            Path file = Files.createTempFile(tempDirectory, "mst-run-", ".bin");
+            runFiles.add(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                for (int i = 0; i < buffered; i++) {
+                    if (block.remaining() < RECORD_BYTES) {
+                        drain(block, channel);
+                    }
+                    block.putLong(sortedKeys[i]);
+                    block.putLong(runTies[order[i]]);
+                    block.putInt(runEdges[order[i]]);
+                }
+                drain(block, channel);
+            }
+            bytesSpilled += (long) buffered * RECORD_BYTES;
+            buffered = 0;
+            tiesAscending = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill sorted run", e);
+        }
+    }
+
+    private static void drain(ByteBuffer block, FileChannel channel) throws IOException {
+        block.flip();
+        while (block.hasRemaining()) channel.write(block);
+        block.clear();
+    }
+
+    public abstract class Cursor implements Closeable {
+        long key;
+        long tie;
+        int edge;
+
+        /** Advances to the next record; false once the stream is exhausted. */
+        public abstract boolean next();
+
+        public long key() { return key; }
+        public long tie() { return tie; }
+        public int edge() { return edge; }
+
+        @Override
+        public void close() {
+            ExternalEdgeSorter.this.close();
+        }
+    }
+
+    private final class MemoryCursor extends Cursor {
+        private int index;
+
+        @Override
+        public boolean next() {
+            if (index == buffered) return false;
+            key = sortedKeys[index];
+            tie = runTies[order[index]];
+            edge = runEdges[order[index]];
+            index++;
+            recordsRead++;
+            return true;
+        }
+    }
+
+    private final class MergeCursor extends Cursor {
+        private final RunReader[] readers;
+        // Binary min-heap of reader indices ordered by their current (key, tie), then by run
+        private final int[] heap;
+        private int heapSize;
+
+        MergeCursor() {
+            readers = new RunReader[runFiles.size()];
+            heap = new int[readers.length];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new RunReader(runFiles.get(r), workspace.ioBlock(r, BLOCK_BYTES));
+                if (readers[r].advance()) push(r);
+            }
+        }
+
+        @Override
+        public boolean next() {
+            if (heapSize == 0) return false;
+            int top = heap[0];
+            RunReader reader = readers[top];
+            key = reader.key;
+            tie = reader.tie;
+            edge = reader.edge;
+            recordsRead++;
+
+            if (reader.advance()) {
+                siftDown(top);
+            } else {
+                int last = heap[--heapSize];
+                if (heapSize > 0) siftDown(last);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            for (RunReader reader : readers) reader.close();
+            super.close();
+        }
+
+        // Earlier runs hold earlier input, so the run index keeps equal records in input order
+        private boolean before(int a, int b) {
+            RunReader x = readers[a];
+            RunReader y = readers[b];
+            if (x.key != y.key) return x.key < y.key;
+            if (x.tie != y.tie) return x.tie < y.tie;
+            return a < b;
+        }
+
+        private void push(int reader) {
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (before(heap[parent], reader)) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = reader;
+        }
+
+        // Places reader at the root position and restores the heap order
+        private void siftDown(int reader) {
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) child++;
+                if (before(reader, heap[child])) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = reader;
+        }
+    }
+
+    private static final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        long key;
+        long tie;
+        int edge;
+
+        RunReader(Path file, ByteBuffer buffer) {
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open sorted run " + file, e);
+            }
+            this.buffer = buffer;
+            buffer.limit(0);
+        }
+
+        boolean advance() {
+            try {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    buffer.compact();
+                    while (buffer.position() < RECORD_BYTES) {
+                        if (channel.read(buffer) < 0) {
+                            buffer.flip();
+                            return false;
+                        }
+                    }
+                    buffer.flip();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read sorted run", e);
+            }
+            key = buffer.getLong();
+            tie = buffer.getLong();
+            edge = buffer.getInt();
+            return true;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Read-only channel, nothing to flush
+            }
+        }
+    }
+}
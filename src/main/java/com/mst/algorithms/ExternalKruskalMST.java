@@ -0,0 +1,233 @@
+package com.mst.algorithms;
+
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+import com.mst.io.EdgeListReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Kruskal whose edge ordering runs through {@link ExternalEdgeSorter} instead of one E-sized
+ * sort. Sorted runs of (weight, tie, edge) records are spilled to temp files and merged straight
+ * into the union-find scan, which stops pulling records once V-1 tree edges are found.
+ *
+ * {@link #findMST(String, EdgeListReader, SolverWorkspace)} never builds the graph: the tie order
+ * only needs each vertex's name rank, so edges go from the reader into the runs keyed by
+ * (weight, lower name rank, higher name rank) and file order breaks what is left. Memory is then
+ * the vertex names, their ranks and union-find, plus one run of records from the workspace.
+ *
+ * Produces the same tree as {@link KruskalMST} on the same input: records are ordered by
+ * weight and the graph's (name ranks, edge index) tie order.
+ */
+public class ExternalKruskalMST extends KruskalMST {
+    public static final int DEFAULT_RUN_RECORDS = 1 << 20;
+
+    private final int runRecords;
+    private final Path tempDirectory;
+    private volatile int lastRunCount;
+    private volatile long lastRecordsRead;
+    private volatile int[] lastInputEdges;
+
+    public ExternalKruskalMST() {
+        this(DEFAULT_RUN_RECORDS, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalKruskalMST(int runRecords, Path tempDirectory) {
+        this.runRecords = runRecords;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public MSTResult findMST(IndexedGraph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        int operations = 0;
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        WeightType weightType = graph.getWeightType();
+        CostSum cost = workspace.costSum();
+        int[] edgesByRank = graph.edgesByTieRank();
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+        workspace.unionFindReset(vertexCount);
+
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(Math.min(runRecords, Math.max(edgeCount, 1)),
+                tempDirectory, workspace)) {
+            // Added in tie order, so each run needs only the sort by weight
+            for (int r = 0; r < edgeCount; r++) {
+                int e = edgesByRank[r];
+                long key = weightType == WeightType.INT ? graph.getWeight(e) : SolverWorkspace.wideWeightKey(graph, e);
+                sorter.add(key, r, e);
+            }
+            operations += (int) (edgeCount * Math.log(edgeCount));
+
+            try (ExternalEdgeSorter.Cursor cursor = sorter.sort()) {
+                while (workspace.resultSize() < vertexCount - 1 && cursor.next()) {
+                    operations++;
+                    int edge = cursor.edge();
+                    int root1 = workspace.find(graph.getFrom(edge));
+                    int root2 = workspace.find(graph.getTo(edge));
+                    operations += 2;
+
+                    if (root1 != root2) {
+                        workspace.resultAdd(edge);
+                        if (weightType == WeightType.DOUBLE) cost.add(graph.getDoubleWeight(edge));
+                        else cost.add(graph.getLongWeight(edge));
+                        workspace.union(root1, root2);
+                        operations += 3;
+                    }
+                }
+                lastRunCount = sorter.getRunCount();
+                lastRecordsRead = sorter.getRecordsRead();
+            }
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        if (weightType == WeightType.DOUBLE) {
+            return MSTResult.withDoubleCost(graph, workspace.resultToArray(), cost.doubleValue(),
+                    operations, executionTime);
+        }
+        return new MSTResult(graph, workspace.resultToArray(), cost.longValue(), operations, executionTime);
+    }
+
+    /**
+     * Solves an edge-list file without materialising its graph. The result lives on a graph of
+     * all the file's vertices and only the tree edges, in the order they were accepted, each
+     * running from its lower-ranked name to its higher one; {@link #getLastInputEdges()} maps them
+     * back to edge indices in the file. Execution time covers reading the file, since the runs are
+     * formed while it is parsed.
+     */
+    public MSTResult findMST(String path, EdgeListReader reader, SolverWorkspace workspace) throws IOException {
+        long startTime = System.nanoTime();
+        RunWriter runs = new RunWriter(workspace);
+        try {
+            reader.stream(path, runs);
+            if (runs.sorter == null) throw new IllegalArgumentException("Not an edge-list file: " + path);
+            return runs.solve(startTime);
+        } finally {
+            if (runs.sorter != null) runs.sorter.close();
+        }
+    }
+
+    /** Sorted runs produced by the most recent solve on this instance. */
+    public int getLastRunCount() {
+        return lastRunCount;
+    }
+
+    /** Merged records consumed by the most recent solve before the scan stopped. */
+    public long getLastRecordsRead() {
+        return lastRecordsRead;
+    }
+
+    /** Input edge index of each tree edge from the most recent streamed solve. */
+    public int[] getLastInputEdges() {
+        return lastInputEdges;
+    }
+
+    // Turns streamed edges into run records; vertices are handled by name rank throughout
+    private final class RunWriter implements EdgeListReader.EdgeSink {
+        private final SolverWorkspace workspace;
+        private String[] names;
+        private int[] nameRank;
+        private WeightType weightType;
+        private ExternalEdgeSorter sorter;
+        private int edgeCount;
+        private int nextEdge;
+
+        RunWriter(SolverWorkspace workspace) {
+            this.workspace = workspace;
+        }
+
+        @Override
+        public void begin(String[] names, WeightType weightType, int edgeCount) {
+            this.names = names;
+            this.nameRank = IndexedGraph.nameRanks(names);
+            this.weightType = weightType;
+            this.edgeCount = edgeCount;
+            sorter = new ExternalEdgeSorter(Math.min(runRecords, Math.max(edgeCount, 1)), tempDirectory, workspace);
+        }
+
+        @Override
+        public void edge(int from, int to, long weight) {
+            int a = nameRank[from];
+            int b = nameRank[to];
+            long tie = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            long key = weightType == WeightType.DOUBLE
+                    ? RadixSort.sortableBits(Double.longBitsToDouble(weight))
+                    : weight;
+            sorter.add(key, tie, nextEdge++);
+        }
+
+        MSTResult solve(long startTime) {
+            int vertexCount = names.length;
+            int operations = (int) (edgeCount * Math.log(edgeCount));
+            int treeSize = Math.max(vertexCount - 1, 0);
+            int[] vertexByRank = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) vertexByRank[nameRank[v]] = v;
+
+            int[] from = new int[treeSize];
+            int[] to = new int[treeSize];
+            long[] keys = new long[treeSize];
+            int[] inputEdges = new int[treeSize];
+            int size = 0;
+            CostSum cost = workspace.costSum();
+            workspace.unionFindReset(vertexCount);
+
+            try (ExternalEdgeSorter.Cursor cursor = sorter.sort()) {
+                while (size < treeSize && cursor.next()) {
+                    operations++;
+                    int low = (int) (cursor.tie() >>> 32);
+                    int high = (int) cursor.tie();
+                    int root1 = workspace.find(low);
+                    int root2 = workspace.find(high);
+                    operations += 2;
+
+                    if (root1 != root2) {
+                        from[size] = vertexByRank[low];
+                        to[size] = vertexByRank[high];
+                        keys[size] = cursor.key();
+                        inputEdges[size] = cursor.edge();
+                        if (weightType == WeightType.DOUBLE) cost.add(RadixSort.fromSortableBits(cursor.key()));
+                        else cost.add(cursor.key());
+                        size++;
+                        workspace.union(root1, root2);
+                        operations += 3;
+                    }
+                }
+                lastRunCount = sorter.getRunCount();
+                lastRecordsRead = sorter.getRecordsRead();
+            }
+
+            IndexedGraph tree = treeGraph(from, to, keys, size);
+            int[] treeEdges = new int[size];
+            for (int i = 0; i < size; i++) treeEdges[i] = i;
+            lastInputEdges = size == treeSize ? inputEdges : Arrays.copyOf(inputEdges, size);
+
+            long executionTime = System.nanoTime() - startTime;
+            if (weightType == WeightType.DOUBLE) {
+                return MSTResult.withDoubleCost(tree, treeEdges, cost.doubleValue(), operations, executionTime);
+            }
+            return new MSTResult(tree, treeEdges, cost.longValue(), operations, executionTime);
+        }
+
+        private IndexedGraph treeGraph(int[] from, int[] to, long[] keys, int size) {
+            int[] treeFrom = size == from.length ? from : Arrays.copyOf(from, size);
+            int[] treeTo = size == to.length ? to : Arrays.copyOf(to, size);
+            switch (weightType) {
+                case INT:
+                    int[] intWeights = new int[size];
+                    for (int i = 0; i < size; i++) intWeights[i] = (int) keys[i];
+                    return new IndexedGraph(1, names, treeFrom, treeTo, intWeights);
+                case LONG:
+                    return IndexedGraph.withLongWeights(1, names, treeFrom, treeTo, Arrays.copyOf(keys, size));
+                default:
+                    double[] doubleWeights = new double[size];
+                    for (int i = 0; i < size; i++) doubleWeights[i] = RadixSort.fromSortableBits(keys[i]);
+                    return IndexedGraph.withDoubleWeights(1, names, treeFrom, treeTo, doubleWeights);
+            }
+        }
+    }
+}
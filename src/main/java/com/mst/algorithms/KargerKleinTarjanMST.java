@@ -0,0 +1,427 @@
+package com.mst.algorithms;
+
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Karger-Klein-Tarjan randomized minimum spanning forest, expected O(E) up to the verifier.
+ *
+ * Each level of the recursion
+ * 1. runs two Boruvka steps, keeping the chosen edges and contracting them (V drops 4x),
+ * 2. samples every remaining edge with probability 1/2 and recursively finds the sample's
+ *    minimum spanning forest F,
+ * 3. drops every F-heavy edge (heavier than the heaviest edge on its F path: by the cycle
+ *    property it is not in the MST), leaving about 2V' edges in expectation,
+ * 4. recurses on the F-light edges.
+ * Small subproblems fall through to a radix-sorted Kruskal.
+ *
+ * The F-heavy test answers all path-maximum queries in one DFS over F with Tarjan's offline
+ * LCA, where the LCA union-find doubles as a compressed link-eval forest carrying path maxima.
+ * That is O(E log V) in the worst case rather than the Komlos/King linear verifier, but it
+ * runs in a single pass over flat arrays.
+ *
+ * Edges are ordered by the (weight, tie rank) key of {@link KruskalMST}, so all keys are
+ * distinct, the tree is unique and identical to Kruskal's; the seed only changes the work
+ * done, never the result. Wide-weight graphs are handed to {@link KruskalMST}.
+ */
+public class KargerKleinTarjanMST {
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+    private static final int BASE_CASE_EDGES = 1_024;
+
+    private final long seed;
+    private final KruskalMST fallback = new KruskalMST();
+
+    public KargerKleinTarjanMST() {
+        this(DEFAULT_SEED);
+    }
+
+    public KargerKleinTarjanMST(long seed) {
+        this.seed = seed;
+    }
+
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toIndexed(), SolverWorkspace.current());
+    }
+
+    public MSTResult findMST(IndexedGraph graph, SolverWorkspace workspace) {
+        if (graph.getWeightType() != WeightType.INT) {
+            return fallback.findMST(graph, workspace);
+        }
+        long startTime = System.nanoTime();
+        Solver solver = new Solver(new SplittableRandom(seed));
+
+        int edgeCount = graph.getEdgeCount();
+        int[] tieRanks = graph.tieRanks();
+        EdgeList all = new EdgeList(edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int u = graph.getFrom(e);
+            int v = graph.getTo(e);
+            if (u != v) all.add(u, v, SolverWorkspace.packKey(graph.getWeight(e), tieRanks[e]), e);
+        }
+        IntList forest = solver.spanningForest(graph.getVertexCount(), all);
+
+        // Report tree edges in key order, as KruskalMST does
+        int size = forest.size;
+        long[] keys = new long[size];
+        int[] edges = new int[size];
+        for (int i = 0; i < size; i++) {
+            int local = forest.values[i];
+            keys[i] = all.key[local];
+            edges[i] = all.origin[local];
+        }
+        RadixSort.sort(keys, edges, size, new long[size], new int[size], new int[RadixSort.COUNTS_LENGTH]);
+
+        long totalCost = 0;
+        for (int edge : edges) totalCost += graph.getWeight(edge);
+        solver.operations += size;
+
+        long executionTime = System.nanoTime() - startTime;
+        return new MSTResult(graph, edges, totalCost, (int) Math.min(Integer.MAX_VALUE, solver.operations),
+                executionTime);
+    }
+
+    private static final class Solver {
+        private final SplittableRandom random;
+        long operations;
+
+        Solver(SplittableRandom random) {
+            this.random = random;
+        }
+
+        /** Indices into edges of its minimum spanning forest; vertices are 0..vertexCount-1. */
+        IntList spanningForest(int vertexCount, EdgeList edges) {
+            IntList result = new IntList(Math.min(edges.size, vertexCount));
+            if (edges.size <= BASE_CASE_EDGES) {
+                kruskal(vertexCount, edges, result);
+                return result;
+            }
+
+            // Two Boruvka steps; `contracted` keeps origin indices into `edges`
+            Contraction first = boruvka(vertexCount, edges, result, null);
+            Contraction second = boruvka(first.vertexCount, first.edges, result, first.edges.origin);
+            EdgeList reduced = second.edges;
+            if (reduced.size == 0) return result;
+            int reducedVertices = second.vertexCount;
+
+            // Minimum spanning forest of a random half, then discard edges heavy for it
+            EdgeList sample = new EdgeList(reduced.size / 2 + 16);
+            long bits = 0;
+            for (int i = 0; i < reduced.size; i++) {
+                if ((i & 63) == 0) bits = random.nextLong();
+                if ((bits & 1) != 0) sample.add(reduced.u[i], reduced.v[i], reduced.key[i], i);
+                bits >>>= 1;
+            }
+            operations += reduced.size;
+            IntList sampleForest = spanningForest(reducedVertices, sample);
+
+            EdgeList light = lightEdges(reducedVertices, reduced, sample, sampleForest);
+            IntList lightForest = spanningForest(reducedVertices, light);
+            for (int i = 0; i < lightForest.size; i++) {
+                result.add(reduced.origin[light.origin[lightForest.values[i]]]);
+            }
+            return result;
+        }
+
+        private void kruskal(int vertexCount, EdgeList edges, IntList result) {
+            int m = edges.size;
+            long[] keys = new long[m];
+            int[] order = new int[m];
+            for (int i = 0; i < m; i++) {
+                keys[i] = edges.key[i];
+                order[i] = i;
+            }
+            RadixSort.sort(keys, order, m, new long[m], new int[m], new int[RadixSort.COUNTS_LENGTH]);
+
+            int[] parent = identity(vertexCount);
+            for (int i = 0; i < m && result.size < vertexCount - 1; i++) {
+                int e = order[i];
+                int a = find(parent, edges.u[e]);
+                int b = find(parent, edges.v[e]);
+                if (a != b) {
+                    parent[a] = b;
+                    result.add(e);
+                }
+            }
+            operations += 3L * m;
+        }
+
+        /**
+         * Adds every vertex's lightest edge to result (as an index into the list that
+         * originOf maps to, or into edges when originOf is null), contracts them, and returns
+         * the surviving edges relabelled onto the components that still have edges.
+         */
+        private Contraction boruvka(int vertexCount, EdgeList edges, IntList result, int[] originOf) {
+            int[] lightest = new int[vertexCount];
+            Arrays.fill(lightest, -1);
+            for (int e = 0; e < edges.size; e++) {
+                long key = edges.key[e];
+                int u = edges.u[e];
+                int v = edges.v[e];
+                if (lightest[u] < 0 || key < edges.key[lightest[u]]) lightest[u] = e;
+                if (lightest[v] < 0 || key < edges.key[lightest[v]]) lightest[v] = e;
+            }
+
+            int[] parent = identity(vertexCount);
+            for (int x = 0; x < vertexCount; x++) {
+                int e = lightest[x];
+                if (e < 0) continue;
+                int a = find(parent, edges.u[e]);
+                int b = find(parent, edges.v[e]);
+                // An edge picked from both ends is taken once: the second union finds one component
+                if (a != b) {
+                    parent[a] = b;
+                    result.add(originOf != null ? originOf[e] : e);
+                }
+            }
+
+            int[] label = new int[vertexCount];
+            Arrays.fill(label, -1);
+            int labels = 0;
+            EdgeList contracted = new EdgeList(edges.size);
+            for (int e = 0; e < edges.size; e++) {
+                int a = find(parent, edges.u[e]);
+                int b = find(parent, edges.v[e]);
+                if (a == b) continue;
+                if (label[a] < 0) label[a] = labels++;
+                if (label[b] < 0) label[b] = labels++;
+                contracted.add(label[a], label[b], edges.key[e], originOf != null ? originOf[e] : e);
+            }
+            operations += 4L * edges.size + vertexCount;
+            return new Contraction(labels, contracted);
+        }
+
+        // Edges of `edges` that are not heavier than the maximum on their path in the sample forest
+        private EdgeList lightEdges(int vertexCount, EdgeList edges, EdgeList sample, IntList sampleForest) {
+            int forestSize = sampleForest.size;
+            int[] degree = new int[vertexCount + 1];
+            for (int i = 0; i < forestSize; i++) {
+                int e = sampleForest.values[i];
+                degree[sample.u[e] + 1]++;
+                degree[sample.v[e] + 1]++;
+            }
+            for (int x = 0; x < vertexCount; x++) degree[x + 1] += degree[x];
+            int[] treeStart = degree;
+            int[] fill = new int[vertexCount];
+            int[] treeNeighbour = new int[2 * forestSize];
+            long[] treeKey = new long[2 * forestSize];
+            for (int i = 0; i < forestSize; i++) {
+                int e = sampleForest.values[i];
+                int u = sample.u[e];
+                int v = sample.v[e];
+                int at = treeStart[u] + fill[u]++;
+                treeNeighbour[at] = v;
+                treeKey[at] = sample.key[e];
+                at = treeStart[v] + fill[v]++;
+                treeNeighbour[at] = u;
+                treeKey[at] = sample.key[e];
+            }
+
+            // Query lists: every edge is a path-maximum query between its endpoints
+            int[] queryStart = new int[vertexCount + 1];
+            for (int e = 0; e < edges.size; e++) {
+                queryStart[edges.u[e] + 1]++;
+                queryStart[edges.v[e] + 1]++;
+            }
+            for (int x = 0; x < vertexCount; x++) queryStart[x + 1] += queryStart[x];
+            int[] queryFill = new int[vertexCount];
+            int[] queryEdge = new int[2 * edges.size];
+            for (int e = 0; e < edges.size; e++) {
+                queryEdge[queryStart[edges.u[e]] + queryFill[edges.u[e]]++] = e;
+                queryEdge[queryStart[edges.v[e]] + queryFill[edges.v[e]]++] = e;
+            }
+
+            PathMaxima maxima = new PathMaxima(vertexCount);
+            boolean[] heavy = new boolean[edges.size];
+            int[] bucketHead = new int[vertexCount];
+            Arrays.fill(bucketHead, -1);
+            int[] bucketNext = new int[edges.size];
+            int[] tree = new int[vertexCount];
+            int[] state = new int[vertexCount]; // 0 unseen, 1 open, 2 finished
+            int[] stackVertex = new int[vertexCount];
+            int[] stackCursor = new int[vertexCount];
+            int[] parent = new int[vertexCount];
+            long[] parentKey = new long[vertexCount];
+
+            for (int root = 0; root < vertexCount; root++) {
+                if (state[root] != 0) continue;
+                int depth = 0;
+                stackVertex[0] = root;
+                stackCursor[0] = treeStart[root];
+                parent[root] = -1;
+                enter(root, root, state, tree, queryStart, queryEdge, edges, maxima, bucketHead, bucketNext);
+
+                while (depth >= 0) {
+                    int x = stackVertex[depth];
+                    if (stackCursor[depth] < treeStart[x + 1]) {
+                        int at = stackCursor[depth]++;
+                        int y = treeNeighbour[at];
+                        if (y == parent[x]) continue;
+                        parent[y] = x;
+                        parentKey[y] = treeKey[at];
+                        depth++;
+                        stackVertex[depth] = y;
+                        stackCursor[depth] = treeStart[y];
+                        enter(y, root, state, tree, queryStart, queryEdge, edges, maxima, bucketHead, bucketNext);
+                        continue;
+                    }
+
+                    // x finished: both endpoints of every query bucketed here now hang below x
+                    for (int q = bucketHead[x]; q >= 0; q = bucketNext[q]) {
+                        long pathMax = Math.max(maxima.eval(edges.u[q]), maxima.eval(edges.v[q]));
+                        heavy[q] = edges.key[q] > pathMax;
+                    }
+                    state[x] = 2;
+                    if (parent[x] >= 0) maxima.link(x, parent[x], parentKey[x]);
+                    depth--;
+                }
+            }
+
+            EdgeList light = new EdgeList(Math.min(edges.size, 2 * vertexCount + 16));
+            for (int e = 0; e < edges.size; e++) {
+                if (!heavy[e]) light.add(edges.u[e], edges.v[e], edges.key[e], e);
+            }
+            operations += 6L * edges.size + 4L * vertexCount;
+            return light;
+        }
+
+        // Marks x open and files each query whose other endpoint was already reached in this tree
+        // under their LCA: the lowest still-open ancestor of that endpoint
+        private static void enter(int x, int root, int[] state, int[] tree, int[] queryStart, int[] queryEdge,
+                                  EdgeList edges, PathMaxima maxima, int[] bucketHead, int[] bucketNext) {
+            state[x] = 1;
+            tree[x] = root;
+            for (int i = queryStart[x]; i < queryStart[x + 1]; i++) {
+                int q = queryEdge[i];
+                int other = edges.u[q] == x ? edges.v[q] : edges.u[q];
+                if (state[other] == 0 || tree[other] != root) continue;
+                int lca = maxima.root(other);
+                bucketNext[q] = bucketHead[lca];
+                bucketHead[lca] = q;
+            }
+        }
+    }
+
+    /**
+     * Link-eval forest: link(child, parent, key) hangs a finished DFS subtree under its parent,
+     * eval(x) is the maximum key on the path from x to the root of its tree. Path compression
+     * keeps both operations near constant amortized.
+     */
+    private static final class PathMaxima {
+        private final int[] up;
+        private final long[] max;
+        private final int[] path;
+
+        PathMaxima(int n) {
+            up = identity(n);
+            max = new long[n];
+            Arrays.fill(max, Long.MIN_VALUE);
+            path = new int[n];
+        }
+
+        void link(int child, int parent, long key) {
+            up[child] = parent;
+            max[child] = key;
+        }
+
+        int root(int x) {
+            compress(x);
+            return up[x];
+        }
+
+        long eval(int x) {
+            compress(x);
+            return up[x] == x ? Long.MIN_VALUE : max[x];
+        }
+
+        private void compress(int x) {
+            int length = 0;
+            int y = x;
+            while (up[y] != y) {
+                path[length++] = y;
+                y = up[y];
+            }
+            int root = y;
+            for (int i = length - 2; i >= 0; i--) {
+                int node = path[i];
+                int next = path[i + 1];
+                max[node] = Math.max(max[node], max[next]);
+                up[node] = root;
+            }
+        }
+    }
+
+    private static final class Contraction {
+        final int vertexCount;
+        final EdgeList edges;
+
+        Contraction(int vertexCount, EdgeList edges) {
+            this.vertexCount = vertexCount;
+            this.edges = edges;
+        }
+    }
+
+    // Growable structure-of-arrays edge list; origin is the index in the list it was derived from
+    private static final class EdgeList {
+        int[] u;
+        int[] v;
+        long[] key;
+        int[] origin;
+        int size;
+
+        EdgeList(int capacity) {
+            capacity = Math.max(capacity, 4);
+            u = new int[capacity];
+            v = new int[capacity];
+            key = new long[capacity];
+            origin = new int[capacity];
+        }
+
+        void add(int from, int to, long edgeKey, int originIndex) {
+            if (size == u.length) {
+                int capacity = size * 2;
+                u = Arrays.copyOf(u, capacity);
+                v = Arrays.copyOf(v, capacity);
+                key = Arrays.copyOf(key, capacity);
+                origin = Arrays.copyOf(origin, capacity);
+            }
+            u[size] = from;
+            v[size] = to;
+            key[size] = edgeKey;
+            origin[size] = originIndex;
+            size++;
+        }
+    }
+
+    private static final class IntList {
+        int[] values;
+        int size;
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = i;
+        return values;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
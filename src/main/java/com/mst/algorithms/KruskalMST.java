@@ -1,82 +1,111 @@
 package com.mst.algorithms;
 
 import com.mst.core.Graph;
-import com.mst.core.Edge;
+import com.mst.core.IndexedGraph;
 import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
 
-import java.util.*;
+import java.util.Arrays;
 
 public class KruskalMST {
 
     public MSTResult findMST(Graph graph) {
-        long startTime = System.nanoTime();
-        int operations = 0;
+        return findMST(graph.toIndexed(), SolverWorkspace.current());
+    }
 
-        List<Edge> mstEdges = new ArrayList<>();
-        int totalCost = 0;
+    public MSTResult findMST(IndexedGraph graph, SolverWorkspace workspace) {
+        if (graph.getWeightType() != WeightType.INT) {
+            return findWideMST(graph, workspace);
+        }
 
-        // Sort all edges by weight
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
-        Collections.sort(sortedEdges);
-        operations += (int) (sortedEdges.size() * Math.log(sortedEdges.size()));
+        long startTime = System.nanoTime();
+        int operations = 0;
+        long totalCost = 0;
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+
+        // Sort all edges by weight, ties by the graph's endpoint-name tie rank
+        int[] tieRanks = graph.tieRanks();
+        int[] edgesByRank = graph.edgesByTieRank();
+        long[] sortedEdges = workspace.sortKeys(edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            sortedEdges[e] = SolverWorkspace.packKey(graph.getWeight(e), tieRanks[e]);
+        }
+        Arrays.sort(sortedEdges, 0, edgeCount);
+        operations += (int) (edgeCount * Math.log(edgeCount));
 
-        UnionFind uf = new UnionFind(graph.getVertices());
+        workspace.unionFindReset(vertexCount);
 
-        for (Edge edge : sortedEdges) {
+        for (int i = 0; i < edgeCount; i++) {
             operations++;
-            if (mstEdges.size() == graph.getVertexCount() - 1) break;
+            if (workspace.resultSize() == vertexCount - 1) break;
 
-            String root1 = uf.find(edge.getFrom());
-            String root2 = uf.find(edge.getTo());
+            int edge = edgesByRank[SolverWorkspace.unpackTieRank(sortedEdges[i])];
+            int root1 = workspace.find(graph.getFrom(edge));
+            int root2 = workspace.find(graph.getTo(edge));
             operations += 2;
 
-            if (!root1.equals(root2)) {
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
-                uf.union(edge.getFrom(), edge.getTo());
+            if (root1 != root2) {
+                workspace.resultAdd(edge);
+                totalCost += graph.getWeight(edge);
+                workspace.union(root1, root2);
                 operations += 3;
             }
         }
 
         long executionTime = System.nanoTime() - startTime;
-        return new MSTResult(mstEdges, totalCost, operations, executionTime);
+        return new MSTResult(graph, workspace.resultToArray(), totalCost, operations, executionTime);
     }
 
-    private static class UnionFind {
-        private final Map<String, String> parent;
-        private final Map<String, Integer> rank;
-
-        public UnionFind(List<String> vertices) {
-            parent = new HashMap<>();
-            rank = new HashMap<>();
+    // LONG and DOUBLE weights: stable radix sort of order-preserving long keys laid out in tie-rank
+    // order, so equal weights stay in tie order, then the same scan
+    private MSTResult findWideMST(IndexedGraph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        int operations = 0;
 
-            for (String vertex : vertices) {
-                parent.put(vertex, vertex);
-                rank.put(vertex, 0);
-            }
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        CostSum cost = workspace.costSum();
+        boolean fractional = graph.getWeightType() == WeightType.DOUBLE;
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+
+        int[] edgesByRank = graph.edgesByTieRank();
+        long[] keys = workspace.sortKeys(edgeCount);
+        int[] sortedEdges = workspace.sortValues(edgeCount);
+        for (int r = 0; r < edgeCount; r++) {
+            sortedEdges[r] = edgesByRank[r];
+            keys[r] = SolverWorkspace.wideWeightKey(graph, edgesByRank[r]);
         }
+        workspace.sortPairs(keys, sortedEdges, edgeCount);
+        operations += (int) (edgeCount * Math.log(edgeCount));
 
-        public String find(String x) {
-            if (!parent.get(x).equals(x)) {
-                parent.put(x, find(parent.get(x)));
-            }
-            return parent.get(x);
-        }
+        workspace.unionFindReset(vertexCount);
 
-        public void union(String x, String y) {
-            String rootX = find(x);
-            String rootY = find(y);
+        for (int i = 0; i < edgeCount; i++) {
+            operations++;
+            if (workspace.resultSize() == vertexCount - 1) break;
 
-            if (rootX.equals(rootY)) return;
+            int edge = sortedEdges[i];
+            int root1 = workspace.find(graph.getFrom(edge));
+            int root2 = workspace.find(graph.getTo(edge));
+            operations += 2;
 
-            if (rank.get(rootX) < rank.get(rootY)) {
-                parent.put(rootX, rootY);
-            } else if (rank.get(rootX) > rank.get(rootY)) {
-                parent.put(rootY, rootX);
-            } else {
-                parent.put(rootY, rootX);
-                rank.put(rootX, rank.get(rootX) + 1);
+            if (root1 != root2) {
+                workspace.resultAdd(edge);
+                if (fractional) cost.add(graph.getDoubleWeight(edge));
+                else cost.add(graph.getLongWeight(edge));
+                workspace.union(root1, root2);
+                operations += 3;
             }
         }
+
+        long executionTime = System.nanoTime() - startTime;
+        if (fractional) {
+            return MSTResult.withDoubleCost(graph, workspace.resultToArray(), cost.doubleValue(),
+                    operations, executionTime);
+        }
+        return new MSTResult(graph, workspace.resultToArray(), cost.longValue(), operations, executionTime);
     }
-}
\ No newline at end of file
+}
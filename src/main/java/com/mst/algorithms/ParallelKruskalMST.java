@@ -0,0 +1,215 @@
+package com.mst.algorithms;
+
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Kruskal with a parallel edge sort and parallel filtering of cycle edges.
+ *
+ * Edges are packed into (weight, tie rank) long keys and sorted with Arrays.parallelSort.
+ * The sorted keys are then consumed in geometrically growing chunks: before a chunk is
+ * scanned, worker threads drop every edge whose endpoints are already connected by the
+ * forest built so far (read-only finds on a {@link ConcurrentUnionFind}), and only the
+ * survivors go through the sequential union scan, in sorted order.
+ *
+ * Tie-breaking: edges are ordered by weight, then by {@link IndexedGraph#tieRanks()}, exactly
+ * like {@link KruskalMST}. Filtering only removes edges that the sequential scan would also
+ * reject, so both return the same edges in the same order.
+ */
+public class ParallelKruskalMST implements AutoCloseable {
+    private static final int DEFAULT_MIN_PARALLEL_EDGES = 20_000;
+    private static final int FILTER_BLOCK = 4_096;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int minParallelEdges;
+    private final KruskalMST sequential = new KruskalMST();
+
+    public ParallelKruskalMST() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_PARALLEL_EDGES);
+    }
+
+    public ParallelKruskalMST(int parallelism) {
+        this(parallelism, DEFAULT_MIN_PARALLEL_EDGES);
+    }
+
+    /** Runs on a pool of its own, which {@link #close()} shuts down. */
+    public ParallelKruskalMST(int parallelism, int minParallelEdges) {
+        this(new ForkJoinPool(parallelism), true, minParallelEdges);
+    }
+
+    /**
+     * Graphs with fewer than minParallelEdges edges are handed to the sequential solver.
+     * The pool stays the caller's: {@link #close()} leaves it running.
+     */
+    public ParallelKruskalMST(ForkJoinPool pool, int minParallelEdges) {
+        this(pool, false, minParallelEdges);
+    }
+
+    private ParallelKruskalMST(ForkJoinPool pool, boolean ownsPool, int minParallelEdges) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.minParallelEdges = minParallelEdges;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toIndexed(), SolverWorkspace.current());
+    }
+
+    public MSTResult findMST(IndexedGraph graph, SolverWorkspace workspace) {
+        if (graph.getWeightType() != WeightType.INT || graph.getEdgeCount() < minParallelEdges) {
+            return sequential.findMST(graph, workspace);
+        }
+        // Run inside the pool so parallelSort and the filter tasks fork onto its workers
+        return pool.submit(() -> solve(graph, workspace)).join();
+    }
+
+    private MSTResult solve(IndexedGraph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long operations = 0;
+        long totalCost = 0;
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+
+        long[] keys = workspace.sortKeys(edgeCount);
+        int[] edgesByRank = graph.edgesByTieRank();
+        new PackTask(graph, graph.tieRanks(), keys, 0, edgeCount).invoke();
+        Arrays.parallelSort(keys, 0, edgeCount);
+        operations += (long) (edgeCount * Math.log(edgeCount));
+
+        ConcurrentUnionFind forest = new ConcurrentUnionFind(vertexCount);
+        int[] survivors = new int[(edgeCount + FILTER_BLOCK - 1) / FILTER_BLOCK];
+
+        // The first chunk is scanned unfiltered; later chunks are mostly cycle edges
+        int chunk = Math.max(vertexCount, FILTER_BLOCK);
+        int position = 0;
+        while (position < edgeCount && workspace.resultSize() < vertexCount - 1) {
+            int end = (int) Math.min(edgeCount, (long) position + chunk);
+            int blocks = (end - position + FILTER_BLOCK - 1) / FILTER_BLOCK;
+            if (position == 0) {
+                for (int b = 0; b < blocks; b++) {
+                    survivors[b] = Math.min(FILTER_BLOCK, end - b * FILTER_BLOCK);
+                }
+            } else {
+                new FilterTask(graph, forest, keys, survivors, position, end, 0, blocks).invoke();
+                operations += 2L * (end - position);
+            }
+
+            for (int b = 0; b < blocks && workspace.resultSize() < vertexCount - 1; b++) {
+                int blockStart = position + b * FILTER_BLOCK;
+                for (int i = blockStart; i < blockStart + survivors[b]; i++) {
+                    operations++;
+                    int edge = edgesByRank[SolverWorkspace.unpackTieRank(keys[i])];
+                    operations += 2;
+                    if (forest.union(graph.getFrom(edge), graph.getTo(edge))) {
+                        workspace.resultAdd(edge);
+                        totalCost += graph.getWeight(edge);
+                        operations += 3;
+                        if (workspace.resultSize() == vertexCount - 1) break;
+                    }
+                }
+            }
+
+            position = end;
+            chunk = (int) Math.min(Integer.MAX_VALUE, 2L * chunk);
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        return new MSTResult(graph, workspace.resultToArray(), totalCost,
+                (int) Math.min(Integer.MAX_VALUE, operations), executionTime);
+    }
+
+    private static class PackTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph graph;
+        private final int[] tieRanks;
+        private final long[] keys;
+        private final int from;
+        private final int to;
+
+        PackTask(IndexedGraph graph, int[] tieRanks, long[] keys, int from, int to) {
+            this.graph = graph;
+            this.tieRanks = tieRanks;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FILTER_BLOCK * 4) {
+                for (int e = from; e < to; e++) {
+                    keys[e] = SolverWorkspace.packKey(graph.getWeight(e), tieRanks[e]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PackTask(graph, tieRanks, keys, from, mid), new PackTask(graph, tieRanks, keys, mid, to));
+        }
+    }
+
+    // Compacts each block's non-cycle edges to the front of the block, keeping their order
+    private static class FilterTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph graph;
+        private final ConcurrentUnionFind forest;
+        private final long[] keys;
+        private final int[] survivors;
+        private final int chunkStart;
+        private final int chunkEnd;
+        private final int firstBlock;
+        private final int lastBlock;
+
+        FilterTask(IndexedGraph graph, ConcurrentUnionFind forest, long[] keys, int[] survivors,
+                   int chunkStart, int chunkEnd, int firstBlock, int lastBlock) {
+            this.graph = graph;
+            this.forest = forest;
+            this.keys = keys;
+            this.survivors = survivors;
+            this.chunkStart = chunkStart;
+            this.chunkEnd = chunkEnd;
+            this.firstBlock = firstBlock;
+            this.lastBlock = lastBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastBlock - firstBlock == 1) {
+                int start = chunkStart + firstBlock * FILTER_BLOCK;
+                int end = Math.min(chunkEnd, start + FILTER_BLOCK);
+                int[] edgesByRank = graph.edgesByTieRank();
+                int kept = start;
+                for (int i = start; i < end; i++) {
+                    int edge = edgesByRank[SolverWorkspace.unpackTieRank(keys[i])];
+                    if (forest.find(graph.getFrom(edge)) != forest.find(graph.getTo(edge))) {
+                        keys[kept++] = keys[i];
+                    }
+                }
+                survivors[firstBlock] = kept - start;
+                return;
+            }
+            int mid = (firstBlock + lastBlock) >>> 1;
+            invokeAll(new FilterTask(graph, forest, keys, survivors, chunkStart, chunkEnd, firstBlock, mid),
+                    new FilterTask(graph, forest, keys, survivors, chunkStart, chunkEnd, mid, lastBlock));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mst.algorithms;
+
+import com.mst.core.IndexedGraph;
+import com.mst.core.WeightType;
+
+import java.util.Arrays;
+
+/**
+ * Minimum spanning forest of one edge partition, for solvers that split a graph's edges across
+ * workers. By the cycle property the union of the partition forests still contains the global MST.
+ *
+ * Partitions are described by primitive arrays only, so they can travel over a socket. Edges must
+ * arrive in the graph's tie-rank order; a stable sort by weight key then reproduces the global
+ * (weight, tie rank) order without shipping vertex names.
+ */
+public final class PartitionForest {
+
+    private PartitionForest() {}
+
+    /** Order-preserving long key of edge e's weight, for any weight type. */
+    public static long weightKey(IndexedGraph graph, int e) {
+        return SolverWorkspace.wideWeightKey(graph, e);
+    }
+
+    /** Same key for a weight as a streamed edge list delivers it: the value, or its raw bits for DOUBLE. */
+    public static long weightKey(WeightType weightType, long weight) {
+        return weightType == WeightType.DOUBLE ? RadixSort.sortableBits(Double.longBitsToDouble(weight)) : weight;
+    }
+
+    /**
+     * Sorts the first n tie keys in place, stably, and returns the original position of each,
+     * for partitions gathered in input order rather than tie-rank order.
+     */
+    public static int[] tieOrder(long[] ties, int n, SolverWorkspace workspace) {
+        int[] order = workspace.sortValues(n);
+        for (int i = 0; i < n; i++) order[i] = i;
+        workspace.sortPairs(ties, order, n);
+        return Arrays.copyOf(order, n);
+    }
+
+    /**
+     * Positions (ascending in key order) of the forest edges among the first n entries.
+     * keys is reordered in place.
+     */
+    public static int[] compute(int vertexCount, int[] from, int[] to, long[] keys, int n, SolverWorkspace workspace) {
+        int[] positions = workspace.sortValues(n);
+        for (int i = 0; i < n; i++) positions[i] = i;
+        workspace.sortPairs(keys, positions, n);
+
+        workspace.unionFindReset(vertexCount);
+        workspace.resultClear(Math.max(Math.min(vertexCount - 1, n), 0));
+        for (int i = 0; i < n && workspace.resultSize() < vertexCount - 1; i++) {
+            int position = positions[i];
+            int root1 = workspace.find(from[position]);
+            int root2 = workspace.find(to[position]);
+            if (root1 != root2) {
+                workspace.union(root1, root2);
+                workspace.resultAdd(position);
+            }
+        }
+        return workspace.resultToArray();
+    }
+}
@@ -1,71 +1,239 @@
 package com.mst.algorithms;
 
 import com.mst.core.Graph;
-import com.mst.core.Edge;
+import com.mst.core.IndexedGraph;
 import com.mst.core.MSTResult;
-
-import java.util.*;
+import com.mst.core.WeightType;
 
 public class PrimMST {
+    /** Widest INT weight range (max - min + 1) solved with the bucket queue instead of the heap. */
+    public static final int DEFAULT_MAX_BUCKET_RANGE = 1 << 16;
+
+    private final int maxBucketRange;
+
+    public PrimMST() {
+        this(DEFAULT_MAX_BUCKET_RANGE);
+    }
+
+    /** maxBucketRange 0 always uses the binary heap. */
+    public PrimMST(int maxBucketRange) {
+        this.maxBucketRange = maxBucketRange;
+    }
 
     public MSTResult findMST(Graph graph) {
+        return findMST(graph.toIndexed(), SolverWorkspace.current());
+    }
+
+    public MSTResult findMST(IndexedGraph graph, SolverWorkspace workspace) {
+        if (graph.getWeightType() != WeightType.INT) {
+            return findWideMST(graph, workspace);
+        }
+        if (maxBucketRange > 0 && graph.getEdgeCount() > 0) {
+            // Buckets pay off when there are no more of them than edges
+            long startTime = System.nanoTime();
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                int weight = graph.getWeight(e);
+                if (weight < min) min = weight;
+                if (weight > max) max = weight;
+            }
+            long range = (long) max - min + 1;
+            if (range <= maxBucketRange && range <= graph.getEdgeCount()) {
+                return findBucketMST(graph, workspace, min, (int) range, startTime);
+            }
+        }
+
         long startTime = System.nanoTime();
         int operations = 0;
+        long totalCost = 0;
+
+        int vertexCount = graph.getVertexCount();
+        int[] tieRanks = graph.tieRanks();
+        int[] edgesByRank = graph.edgesByTieRank();
+        workspace.visitedReset(vertexCount);
+        workspace.heapClear(graph.getEdgeCount());
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+
+        int visitedCount = 0;
+
+        // Grow a tree from every unvisited vertex so disconnected graphs yield a spanning forest
+        for (int startVertex = 0; startVertex < vertexCount; startVertex++) {
+            if (workspace.isVisited(startVertex)) continue;
+
+            workspace.markVisited(startVertex);
+            visitedCount++;
+            operations++;
+            operations += pushIncidentEdges(graph, workspace, tieRanks, startVertex);
+
+            while (!workspace.heapIsEmpty() && visitedCount < vertexCount) {
+                int edge = edgesByRank[SolverWorkspace.unpackTieRank(workspace.heapPop())];
+                operations++;
+
+                int nextVertex = findUnvisitedVertex(graph, workspace, edge);
+
+                if (nextVertex >= 0) {
+                    workspace.markVisited(nextVertex);
+                    visitedCount++;
+                    workspace.resultAdd(edge);
+                    totalCost += graph.getWeight(edge);
+                    operations += 3;
+
+                    // Add edges from the newly visited vertex
+                    operations += pushIncidentEdges(graph, workspace, tieRanks, nextVertex);
+                }
+            }
+            workspace.heapClear(0);
+        }
+
+        long executionTime = System.nanoTime() - startTime;
+        return new MSTResult(graph, workspace.resultToArray(), totalCost, operations, executionTime);
+    }
+
+    // Narrow INT weight range: same lazy Prim with the heap swapped for a bucket queue whose slot
+    // order equals the heap's key order, so the tree is identical
+    private MSTResult findBucketMST(IndexedGraph graph, SolverWorkspace workspace, int minWeight, int range,
+                                    long startTime) {
+        int operations = graph.getEdgeCount() + range;
+        long totalCost = 0;
+
+        int vertexCount = graph.getVertexCount();
+        BucketQueue queue = workspace.bucketQueue();
+        queue.layout(graph, minWeight, range);
+        workspace.visitedReset(vertexCount);
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
+
+        int visitedCount = 0;
+
+        for (int startVertex = 0; startVertex < vertexCount; startVertex++) {
+            if (workspace.isVisited(startVertex)) continue;
 
-        List<Edge> mstEdges = new ArrayList<>();
-        int totalCost = 0;
+            workspace.markVisited(startVertex);
+            visitedCount++;
+            operations++;
+            operations += pushIncidentEdges(graph, workspace, queue, startVertex);
+
+            while (!queue.isEmpty() && visitedCount < vertexCount) {
+                int edge = queue.pop();
+                operations++;
+
+                int nextVertex = findUnvisitedVertex(graph, workspace, edge);
+
+                if (nextVertex >= 0) {
+                    workspace.markVisited(nextVertex);
+                    visitedCount++;
+                    workspace.resultAdd(edge);
+                    totalCost += graph.getWeight(edge);
+                    operations += 3;
 
-        if (graph.getVertexCount() == 0) {
-            return new MSTResult(mstEdges, totalCost, operations, 0);
+                    operations += pushIncidentEdges(graph, workspace, queue, nextVertex);
+                }
+            }
+            // Empty here unless every vertex is visited; layout clears leftovers before the next solve
         }
 
-        Set<String> visited = new HashSet<>();
-        PriorityQueue<Edge> edgeQueue = new PriorityQueue<>();
-        Map<String, List<Edge>> adjList = graph.getAdjacencyList();
+        long executionTime = System.nanoTime() - startTime;
+        return new MSTResult(graph, workspace.resultToArray(), totalCost, operations, executionTime);
+    }
+
+    // LONG and DOUBLE weights: same lazy Prim over precomputed order-preserving long keys
+    private MSTResult findWideMST(IndexedGraph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        int operations = 0;
+
+        int vertexCount = graph.getVertexCount();
+        int[] tieRanks = graph.tieRanks();
+        int[] edgesByRank = graph.edgesByTieRank();
+        long[] keys = workspace.wideWeightKeys(graph);
+        CostSum cost = workspace.costSum();
+        boolean fractional = graph.getWeightType() == WeightType.DOUBLE;
+        workspace.visitedReset(vertexCount);
+        workspace.pairHeapClear(graph.getEdgeCount());
+        workspace.resultClear(Math.max(vertexCount - 1, 0));
 
-        // Start with first vertex
-        String startVertex = graph.getVertices().get(0);
-        visited.add(startVertex);
-        operations++;
+        int visitedCount = 0;
 
-        // Add all edges from start vertex
-        edgeQueue.addAll(adjList.get(startVertex));
-        operations += adjList.get(startVertex).size();
+        for (int startVertex = 0; startVertex < vertexCount; startVertex++) {
+            if (workspace.isVisited(startVertex)) continue;
 
-        while (!edgeQueue.isEmpty() && visited.size() < graph.getVertexCount()) {
-            Edge currentEdge = edgeQueue.poll();
+            workspace.markVisited(startVertex);
+            visitedCount++;
             operations++;
+            operations += pushIncidentEdges(graph, workspace, keys, tieRanks, startVertex);
 
-            String nextVertex = findUnvisitedVertex(currentEdge, visited);
-
-            if (nextVertex != null) {
-                visited.add(nextVertex);
-                mstEdges.add(currentEdge);
-                totalCost += currentEdge.getWeight();
-                operations += 3;
-
-                // Add edges from the newly visited vertex
-                for (Edge edge : adjList.get(nextVertex)) {
-                    operations++;
-                    if (!visited.contains(edge.getTo())) {
-                        edgeQueue.add(edge);
-                        operations++;
-                    }
+            while (!workspace.heapIsEmpty() && visitedCount < vertexCount) {
+                int edge = edgesByRank[workspace.pairHeapPop()];
+                operations++;
+
+                int nextVertex = findUnvisitedVertex(graph, workspace, edge);
+
+                if (nextVertex >= 0) {
+                    workspace.markVisited(nextVertex);
+                    visitedCount++;
+                    workspace.resultAdd(edge);
+                    if (fractional) cost.add(graph.getDoubleWeight(edge));
+                    else cost.add(graph.getLongWeight(edge));
+                    operations += 3;
+
+                    operations += pushIncidentEdges(graph, workspace, keys, tieRanks, nextVertex);
                 }
             }
+            workspace.pairHeapClear(0);
         }
 
         long executionTime = System.nanoTime() - startTime;
-        return new MSTResult(mstEdges, totalCost, operations, executionTime);
+        if (fractional) {
+            return MSTResult.withDoubleCost(graph, workspace.resultToArray(), cost.doubleValue(),
+                    operations, executionTime);
+        }
+        return new MSTResult(graph, workspace.resultToArray(), cost.longValue(), operations, executionTime);
     }
 
-    private String findUnvisitedVertex(Edge edge, Set<String> visited) {
-        if (visited.contains(edge.getFrom()) && !visited.contains(edge.getTo())) {
-            return edge.getTo();
+    private int pushIncidentEdges(IndexedGraph graph, SolverWorkspace workspace, long[] keys, int[] tieRanks,
+                                  int vertex) {
+        int operations = 0;
+        for (int i = graph.adjacencyStart(vertex); i < graph.adjacencyEnd(vertex); i++) {
+            int edge = graph.adjacentEdge(i);
+            operations++;
+            if (!workspace.isVisited(graph.getOther(edge, vertex))) {
+                workspace.pairHeapPush(keys[edge], tieRanks[edge]);
+                operations++;
+            }
+        }
+        return operations;
+    }
+
+    private int pushIncidentEdges(IndexedGraph graph, SolverWorkspace workspace, BucketQueue queue, int vertex) {
+        int operations = 0;
+        for (int i = graph.adjacencyStart(vertex); i < graph.adjacencyEnd(vertex); i++) {
+            int edge = graph.adjacentEdge(i);
+            operations++;
+            if (!workspace.isVisited(graph.getOther(edge, vertex))) {
+                queue.push(edge);
+                operations++;
+            }
         }
-        if (visited.contains(edge.getTo()) && !visited.contains(edge.getFrom())) {
-            return edge.getFrom();
+        return operations;
+    }
+
+    private int pushIncidentEdges(IndexedGraph graph, SolverWorkspace workspace, int[] tieRanks, int vertex) {
+        int operations = 0;
+        for (int i = graph.adjacencyStart(vertex); i < graph.adjacencyEnd(vertex); i++) {
+            int edge = graph.adjacentEdge(i);
+            operations++;
+            if (!workspace.isVisited(graph.getOther(edge, vertex))) {
+                workspace.heapPush(SolverWorkspace.packKey(graph.getWeight(edge), tieRanks[edge]));
+                operations++;
+            }
         }
-        return null;
+        return operations;
+    }
+
+    private int findUnvisitedVertex(IndexedGraph graph, SolverWorkspace workspace, int edge) {
+        boolean fromVisited = workspace.isVisited(graph.getFrom(edge));
+        boolean toVisited = workspace.isVisited(graph.getTo(edge));
+        if (fromVisited && !toVisited) return graph.getTo(edge);
+        if (toVisited && !fromVisited) return graph.getFrom(edge);
+        return -1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.mst.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Stable LSD radix sort of (long key, int value) pairs, 8 bits per pass.
+ * Passes where every key shares the same byte are skipped, so small weight ranges cost one or two passes.
+ */
+final class RadixSort {
+
+    private RadixSort() {}
+
+    // Order-preserving mapping of doubles onto signed longs (NaN is rejected by IndexedGraph)
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value + 0.0);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    // The mapping leaves the sign bit alone, so applying it again undoes it
+    static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    static final int COUNTS_LENGTH = 8 * 256;
+
+    static void sort(long[] keys, int[] values, int n, long[] keyBuffer, int[] valueBuffer, int[] counts) {
+        Arrays.fill(counts, 0, COUNTS_LENGTH, 0);
+        for (int i = 0; i < n; i++) {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass * 256 + ((int) (key >>> (pass * 8)) & 0xFF)]++;
+            }
+        }
+
+        long[] srcKeys = keys;
+        int[] srcValues = values;
+        long[] dstKeys = keyBuffer;
+        int[] dstValues = valueBuffer;
+
+        for (int pass = 0; pass < 8; pass++) {
+            int base = pass * 256;
+            int shift = pass * 8;
+            if (n == 0 || counts[base + ((int) ((srcKeys[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == n) continue;
+
+            int offset = 0;
+            for (int b = base; b < base + 256; b++) {
+                int c = counts[b];
+                counts[b] = offset;
+                offset += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long key = srcKeys[i];
+                int bucket = (int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+                int position = counts[base + bucket]++;
+                dstKeys[position] = key;
+                dstValues[position] = srcValues[i];
+            }
+
+            long[] tmpKeys = srcKeys; srcKeys = dstKeys; dstKeys = tmpKeys;
+            int[] tmpValues = srcValues; srcValues = dstValues; dstValues = tmpValues;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+}
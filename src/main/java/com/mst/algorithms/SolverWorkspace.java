@@ -0,0 +1,306 @@
+package com.mst.algorithms;
+
+import com.mst.core.IndexedGraph;
+import com.mst.core.WeightType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grow-only scratch arrays shared by the indexed solvers: a binary min-heap of packed
+ * long keys, a bucket queue, union-find parent/rank, a visited bitset, a sort buffer, the
+ * external sort's run arrays and direct I/O blocks, and the result edge list. Arrays are only
+ * reallocated when a larger graph arrives, and each graph's tie order is built with the graph
+ * rather than on its first solve, so solving a stream of similarly sized graphs allocates nothing
+ * beyond the returned result.
+ *
+ * A workspace is not thread-safe; use {@link #current()} or pass one per thread.
+ */
+public final class SolverWorkspace {
+    private static final ThreadLocal<SolverWorkspace> CURRENT = ThreadLocal.withInitial(SolverWorkspace::new);
+
+    private long[] heap = new long[16];
+    private int[] heapValues = new int[16];
+    private int heapSize;
+
+    private int[] parent = new int[16];
+    private int[] rank = new int[16];
+
+    private long[] visited = new long[1];
+
+    private long[] sortKeys = new long[16];
+    private int[] sortValues = new int[16];
+    private long[] sortKeyBuffer = new long[16];
+    private int[] sortValueBuffer = new int[16];
+    private final int[] radixCounts = new int[RadixSort.COUNTS_LENGTH];
+
+    private long[] runKeys = new long[16];
+    private long[] runTies = new long[16];
+    private int[] runEdges = new int[16];
+    // Direct memory is only freed by GC, so the blocks are kept for the next external sort
+    private final List<ByteBuffer> ioBlocks = new ArrayList<>();
+
+    private final CostSum costSum = new CostSum();
+    private final BucketQueue bucketQueue = new BucketQueue();
+
+    private int[] resultEdges = new int[16];
+    private int resultSize;
+
+    public static SolverWorkspace current() {
+        return CURRENT.get();
+    }
+
+    // Weight in the high half keeps signed ordering, the edge's tie rank in the low half breaks ties
+    static long packKey(int weight, int tieRank) {
+        return ((long) weight << 32) | (tieRank & 0xFFFFFFFFL);
+    }
+
+    static int unpackTieRank(long key) {
+        return (int) key;
+    }
+
+    // ---- binary min-heap of packed keys ----
+
+    void heapClear(int capacity) {
+        if (heap.length < capacity) heap = new long[grow(heap.length, capacity)];
+        heapSize = 0;
+    }
+
+    boolean heapIsEmpty() {
+        return heapSize == 0;
+    }
+
+    void heapPush(long key) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= key) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = key;
+    }
+
+    long heapPop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    // ---- binary min-heap of (long key, int value) pairs for wide weights ----
+
+    void pairHeapClear(int capacity) {
+        if (heap.length < capacity) heap = new long[grow(heap.length, capacity)];
+        if (heapValues.length < heap.length) heapValues = new int[heap.length];
+        heapSize = 0;
+    }
+
+    void pairHeapPush(long key, int value) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+            heapValues = Arrays.copyOf(heapValues, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] < key || (heap[p] == key && heapValues[p] <= value)) break;
+            heap[i] = heap[p];
+            heapValues[i] = heapValues[p];
+            i = p;
+        }
+        heap[i] = key;
+        heapValues[i] = value;
+    }
+
+    int pairHeapPop() {
+        int top = heapValues[0];
+        long lastKey = heap[--heapSize];
+        int lastValue = heapValues[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heapSize && (heap[right] < heap[child]
+                    || (heap[right] == heap[child] && heapValues[right] < heapValues[child]))) {
+                child = right;
+            }
+            if (lastKey < heap[child] || (lastKey == heap[child] && lastValue <= heapValues[child])) break;
+            heap[i] = heap[child];
+            heapValues[i] = heapValues[child];
+            i = child;
+        }
+        heap[i] = lastKey;
+        heapValues[i] = lastValue;
+        return top;
+    }
+
+    // ---- union-find with path halving and union by rank ----
+
+    void unionFindReset(int n) {
+        if (parent.length < n) {
+            parent = new int[grow(parent.length, n)];
+            rank = new int[parent.length];
+        }
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        return true;
+    }
+
+    // ---- visited bitset ----
+
+    void visitedReset(int n) {
+        int words = (n + 63) >>> 6;
+        if (visited.length < words) {
+            visited = new long[grow(visited.length, words)];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+        }
+    }
+
+    boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    void markVisited(int v) {
+        visited[v >>> 6] |= 1L << v;
+    }
+
+    // ---- sort buffer ----
+
+    long[] sortKeys(int capacity) {
+        if (sortKeys.length < capacity) sortKeys = new long[grow(sortKeys.length, capacity)];
+        return sortKeys;
+    }
+
+    // Order-preserving long key of an edge weight, for LONG and DOUBLE graphs
+    static long wideWeightKey(IndexedGraph graph, int edge) {
+        return graph.getWeightType() == WeightType.DOUBLE
+                ? RadixSort.sortableBits(graph.getDoubleWeight(edge))
+                : graph.getLongWeight(edge);
+    }
+
+    long[] wideWeightKeys(IndexedGraph graph) {
+        int m = graph.getEdgeCount();
+        long[] keys = sortKeys(m);
+        for (int e = 0; e < m; e++) keys[e] = wideWeightKey(graph, e);
+        return keys;
+    }
+
+    // Sorts keys[0..n) with values[0..n) stably; values come from sortValues(n)
+    void sortPairs(long[] keys, int[] values, int n) {
+        if (sortKeyBuffer.length < n) {
+            sortKeyBuffer = new long[grow(sortKeyBuffer.length, n)];
+            sortValueBuffer = new int[sortKeyBuffer.length];
+        }
+        RadixSort.sort(keys, values, n, sortKeyBuffer, sortValueBuffer, radixCounts);
+    }
+
+    int[] sortValues(int capacity) {
+        if (sortValues.length < capacity) sortValues = new int[grow(sortValues.length, capacity)];
+        return sortValues;
+    }
+
+    // ---- external sort runs ----
+
+    long[] runKeys(int capacity) {
+        if (runKeys.length < capacity) runKeys = new long[grow(runKeys.length, capacity)];
+        return runKeys;
+    }
+
+    long[] runTies(int capacity) {
+        if (runTies.length < capacity) runTies = new long[grow(runTies.length, capacity)];
+        return runTies;
+    }
+
+    int[] runEdges(int capacity) {
+        if (runEdges.length < capacity) runEdges = new int[grow(runEdges.length, capacity)];
+        return runEdges;
+    }
+
+    // Native-order direct block number index, cleared; one per run file being written or merged
+    ByteBuffer ioBlock(int index, int bytes) {
+        while (ioBlocks.size() <= index) ioBlocks.add(null);
+        ByteBuffer block = ioBlocks.get(index);
+        if (block == null || block.capacity() < bytes) {
+            block = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+            ioBlocks.set(index, block);
+        }
+        block.clear();
+        return block;
+    }
+
+    BucketQueue bucketQueue() {
+        return bucketQueue;
+    }
+
+    CostSum costSum() {
+        costSum.reset();
+        return costSum;
+    }
+
+    // ---- result edges ----
+
+    void resultClear(int capacity) {
+        if (resultEdges.length < capacity) resultEdges = new int[grow(resultEdges.length, capacity)];
+        resultSize = 0;
+    }
+
+    void resultAdd(int edge) {
+        resultEdges[resultSize++] = edge;
+    }
+
+    int resultSize() {
+        return resultSize;
+    }
+
+    int resultEdge(int i) {
+        return resultEdges[i];
+    }
+
+    int[] resultToArray() {
+        return Arrays.copyOf(resultEdges, resultSize);
+    }
+
+    private static int grow(int current, int required) {
+        return Math.max(required, current + (current >> 1));
+    }
+}
@@ -0,0 +1,155 @@
+package com.mst.analysis;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Empirical complexity of one algorithm across graphs of different V, E and density.
+ *
+ * Every candidate curve t = c * f(V, E) is fitted in log space (c is the geometric mean of
+ * t / f) and ranked by the RMS of its log residuals, so a 2x miss counts the same on a small
+ * graph as on a large one. Independently, log t = a + b log V + k log E is fitted by least
+ * squares; b and k are the measured exponents (density is 2E / V^2, so its effect is already
+ * folded into them). Times are floored at {@link #TIME_FLOOR_MS} so timer jitter on tiny
+ * graphs doesn't dominate the fit.
+ */
+public final class ComplexityFit {
+    public static final double TIME_FLOOR_MS = 0.001;
+
+    public enum Model {
+        LINEAR("E"),
+        E_LOG_V("E log V"),
+        E_LOG_E("E log E"),
+        V_SQUARED("V^2"),
+        E_TIMES_V("E*V");
+
+        private final String label;
+
+        Model(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        double evaluate(double v, double e) {
+            switch (this) {
+                case LINEAR: return e;
+                case E_LOG_V: return e * log2(v);
+                case E_LOG_E: return e * log2(e);
+                case V_SQUARED: return v * v;
+                default: return e * v;
+            }
+        }
+
+        private static double log2(double x) {
+            return Math.max(1.0, Math.log(x) / Math.log(2));
+        }
+    }
+
+    private final String algorithm;
+    private final int samples;
+    private final Map<Model, Double> constants = new EnumMap<>(Model.class);
+    private final Map<Model, Double> residuals = new EnumMap<>(Model.class);
+    private Model bestModel;
+    private double vertexExponent = Double.NaN;
+    private double edgeExponent = Double.NaN;
+
+    private ComplexityFit(String algorithm, int samples) {
+        this.algorithm = algorithm;
+        this.samples = samples;
+    }
+
+    /** Fits times (ms) measured on graphs with the given vertex and edge counts. */
+    public static ComplexityFit fit(String algorithm, double[] vertices, double[] edges, double[] timesMs) {
+        int n = timesMs.length;
+        ComplexityFit fit = new ComplexityFit(algorithm, n);
+        if (n == 0) return fit;
+
+        double[] logTime = new double[n];
+        for (int i = 0; i < n; i++) logTime[i] = Math.log(Math.max(timesMs[i], TIME_FLOOR_MS));
+
+        double bestResidual = Double.POSITIVE_INFINITY;
+        for (Model model : Model.values()) {
+            double[] logRatio = new double[n];
+            double mean = 0;
+            for (int i = 0; i < n; i++) {
+                logRatio[i] = logTime[i] - Math.log(model.evaluate(vertices[i], edges[i]));
+                mean += logRatio[i];
+            }
+            mean /= n;
+            double squares = 0;
+            for (int i = 0; i < n; i++) squares += (logRatio[i] - mean) * (logRatio[i] - mean);
+            double rms = Math.sqrt(squares / n);
+            fit.constants.put(model, Math.exp(mean));
+            fit.residuals.put(model, rms);
+            if (rms < bestResidual) {
+                bestResidual = rms;
+                fit.bestModel = model;
+            }
+        }
+
+        fit.fitExponents(vertices, edges, logTime);
+        return fit;
+    }
+
+    // Least squares for log t = a + b log V + k log E via the 3x3 normal equations
+    private void fitExponents(double[] vertices, double[] edges, double[] logTime) {
+        double[][] normal = new double[3][4];
+        for (int i = 0; i < logTime.length; i++) {
+            double[] x = {1, Math.log(Math.max(vertices[i], 1)), Math.log(Math.max(edges[i], 1))};
+            for (int r = 0; r < 3; r++) {
+                for (int c = 0; c < 3; c++) normal[r][c] += x[r] * x[c];
+                normal[r][3] += x[r] * logTime[i];
+            }
+        }
+        double[] solution = solve(normal);
+        if (solution != null) {
+            vertexExponent = solution[1];
+            edgeExponent = solution[2];
+        }
+    }
+
+    // Gaussian elimination with partial pivoting; null when V and E are collinear in the sample
+    private static double[] solve(double[][] m) {
+        int n = m.length;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(m[r][col]) > Math.abs(m[pivot][col])) pivot = r;
+            }
+            if (Math.abs(m[pivot][col]) < 1e-9) return null;
+            double[] t = m[col];
+            m[col] = m[pivot];
+            m[pivot] = t;
+            for (int r = 0; r < n; r++) {
+                if (r == col) continue;
+                double factor = m[r][col] / m[col][col];
+                for (int c = col; c <= n; c++) m[r][c] -= factor * m[col][c];
+            }
+        }
+        double[] x = new double[n];
+        for (int r = 0; r < n; r++) x[r] = m[r][n] / m[r][r];
+        return x;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public int getSamples() { return samples; }
+    public Model getBestModel() { return bestModel; }
+    public double getConstant(Model model) { return constants.getOrDefault(model, Double.NaN); }
+    public double getResidual(Model model) { return residuals.getOrDefault(model, Double.NaN); }
+
+    /** Measured exponent of V with E held fixed; NaN when V and E could not be separated. */
+    public double getVertexExponent() { return vertexExponent; }
+
+    /** Measured exponent of E with V held fixed; NaN when V and E could not be separated. */
+    public double getEdgeExponent() { return edgeExponent; }
+
+    public String summary() {
+        if (bestModel == null) return String.format("%-8s no samples", algorithm);
+        return String.format("%-8s best fit O(%s) (rms log error %.2f, O(E log V) %.2f), t ~ V^%.2f * E^%.2f, n=%d",
+                algorithm, bestModel.getLabel(), getResidual(bestModel), getResidual(Model.E_LOG_V),
+                vertexExponent, edgeExponent, samples);
+    }
+}
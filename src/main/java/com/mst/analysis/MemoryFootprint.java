@@ -0,0 +1,171 @@
+package com.mst.analysis;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memory measurements for the performance report.
+ *
+ * {@link #retainedBytes} walks the object graph under a root and sums estimated object sizes
+ * for a 64-bit JVM with compressed oops (12-byte headers, 4-byte references, 8-byte alignment).
+ * Project classes are walked field by field; JDK strings, boxes, lists and maps are sized from
+ * their public state because their fields are closed to reflection. Objects reachable from
+ * several places are counted once. Classes listed as boundaries are neither counted nor
+ * entered, which keeps e.g. a Graph's cached IndexedGraph out of the Graph's size.
+ */
+public final class MemoryFootprint {
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static {
+        if (THREADS.isThreadAllocatedMemorySupported()) THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private MemoryFootprint() {
+    }
+
+    /** Bytes allocated so far by the calling thread, or -1 when the JVM can't tell. */
+    public static long threadAllocatedBytes() {
+        if (!THREADS.isThreadAllocatedMemorySupported()) return -1;
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Bytes the calling thread allocates while running task; -1 when unsupported. */
+    public static long allocatedBytes(Runnable task) {
+        long before = threadAllocatedBytes();
+        task.run();
+        long after = threadAllocatedBytes();
+        return before < 0 ? -1 : after - before;
+    }
+
+    /** Total collections and collection time (ms) over all collectors since JVM start. */
+    public static long[] gcTotals() {
+        long count = 0;
+        long timeMs = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+            timeMs += Math.max(collector.getCollectionTime(), 0);
+        }
+        return new long[]{count, timeMs};
+    }
+
+    public static long retainedBytes(Object root, Class<?>... boundaries) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        seen.add(root);
+        long total = 0;
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            Class<?> type = object.getClass();
+
+            if (type.isArray()) {
+                int length = Array.getLength(object);
+                Class<?> component = type.getComponentType();
+                total += align(ARRAY_HEADER + (long) length * slotSize(component));
+                if (!component.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        visit(Array.get(object, i), seen, pending, boundaries);
+                    }
+                }
+            } else if (object instanceof String) {
+                String text = (String) object;
+                total += align(HEADER + 12) + align(ARRAY_HEADER + (long) text.length() * (isLatin1(text) ? 1 : 2));
+            } else if (object instanceof Map && isJdkClass(type)) {
+                Map<?, ?> map = (Map<?, ?>) object;
+                // HashMap: the map object, a power-of-two bucket table at 0.75 load and one node per entry
+                total += 48 + align(ARRAY_HEADER + (long) REFERENCE * tableCapacity(map.size())) + 32L * map.size();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    visit(entry.getKey(), seen, pending, boundaries);
+                    visit(entry.getValue(), seen, pending, boundaries);
+                }
+            } else if (object instanceof Collection && isJdkClass(type)) {
+                Collection<?> collection = (Collection<?>) object;
+                // ArrayList-like: the list object plus a backing array sized to the elements
+                total += 24 + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+                for (Object element : collection) {
+                    visit(element, seen, pending, boundaries);
+                }
+            } else {
+                total += shallowSize(type);
+                if (!isJdkClass(type)) {
+                    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) continue;
+                            field.setAccessible(true);
+                            try {
+                                visit(field.get(object), seen, pending, boundaries);
+                            } catch (IllegalAccessException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static void visit(Object child, Set<Object> seen, Deque<Object> pending, Class<?>[] boundaries) {
+        if (child == null || child instanceof Enum || child instanceof Class) return;
+        for (Class<?> boundary : boundaries) {
+            if (boundary.isInstance(child)) return;
+        }
+        if (seen.add(child)) pending.push(child);
+    }
+
+    private static long shallowSize(Class<?> type) {
+        long size = HEADER;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) size += slotSize(field.getType());
+            }
+        }
+        return align(size);
+    }
+
+    private static int slotSize(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        if (type == byte.class || type == boolean.class) return 1;
+        return REFERENCE;
+    }
+
+    private static long tableCapacity(int size) {
+        long capacity = 16;
+        while (capacity * 3 / 4 < size) capacity <<= 1;
+        return capacity;
+    }
+
+    private static boolean isLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.ParallelKruskalMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.io.JsonUtils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Speedup of {@link ParallelKruskalMST} over {@link KruskalMST} for 1..N worker threads on the
+ * large datasets (run GraphDatasetGenerator first). Every parallel tree is checked against the
+ * sequential one before its time is reported.
+ *
+ * Usage: ParallelKruskalBenchmark [dataset.json ...]
+ */
+public class ParallelKruskalBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        List<String> datasets = args.length > 0 ? Arrays.asList(args)
+                : Arrays.asList("datasets/large_dataset.json", "datasets/extra_large_dataset.json");
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("🔍 Parallel Kruskal speedup, " + cores + " cores available");
+
+        List<String> rows = new ArrayList<>();
+        for (String dataset : datasets) {
+            if (!new File(dataset).exists()) {
+                System.out.println("⚠️  Skipping missing dataset: " + dataset);
+                continue;
+            }
+            System.out.println("\n📊 " + dataset);
+            String name = dataset.replace("datasets/", "").replace("_dataset.json", "").replace(".json", "");
+            for (IndexedGraph graph : JsonUtils.convertToIndexedGraphs(JsonUtils.readInput(dataset))) {
+                benchmarkGraph(name, graph, Math.max(cores, 1), rows);
+            }
+        }
+
+        new File("analysis").mkdirs();
+        try (FileWriter writer = new FileWriter("analysis/parallel_kruskal_speedup.csv")) {
+            writer.write("Dataset,GraphID,Vertices,Edges,Threads,Sequential_ms,Parallel_ms,Speedup\n");
+            for (String row : rows) writer.write(row + "\n");
+        }
+        System.out.println("\n📈 Speedup report saved to: analysis/parallel_kruskal_speedup.csv");
+    }
+
+    private static void benchmarkGraph(String dataset, IndexedGraph graph, int maxThreads, List<String> rows) {
+        SolverWorkspace workspace = new SolverWorkspace();
+        KruskalMST sequential = new KruskalMST();
+        MSTResult expected = sequential.findMST(graph, workspace);
+        double sequentialMs = bestTimeMs(() -> sequential.findMST(graph, workspace));
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double parallelMs;
+            try (ParallelKruskalMST parallel = new ParallelKruskalMST(threads, 0)) {
+                MSTResult actual = parallel.findMST(graph, workspace);
+                if (!Arrays.equals(expected.getEdgeIndices(), actual.getEdgeIndices())) {
+                    throw new IllegalStateException("Parallel Kruskal diverged on graph " + graph.getId());
+                }
+                parallelMs = bestTimeMs(() -> parallel.findMST(graph, workspace));
+            }
+
+            double speedup = parallelMs > 0 ? sequentialMs / parallelMs : 0;
+            System.out.printf("Graph %-3d V=%-5d E=%-8d threads=%-3d seq=%-8.3fms par=%-8.3fms speedup=%.2f%n",
+                    graph.getId(), graph.getVertexCount(), graph.getEdgeCount(), threads,
+                    sequentialMs, parallelMs, speedup);
+            rows.add(String.format("%s,%d,%d,%d,%d,%.3f,%.3f,%.3f", dataset, graph.getId(),
+                    graph.getVertexCount(), graph.getEdgeCount(), threads, sequentialMs, parallelMs, speedup));
+        }
+    }
+
+    private static double bestTimeMs(Runnable solve) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) solve.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            solve.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
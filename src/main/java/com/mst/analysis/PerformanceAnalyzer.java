@@ -1,28 +1,76 @@
 package com.mst.analysis;
 
+import com.mst.algorithms.BottleneckSpanningTree;
 import com.mst.algorithms.PrimMST;
 import com.mst.algorithms.KruskalMST;
 import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
 import com.mst.core.MSTResult;
 import com.mst.io.InputData;
 import com.mst.io.JsonUtils;
 
 import java.io.FileWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class PerformanceAnalyzer {
-
+    private static final String[] DEFAULT_DATASETS = {
+            "datasets/small_dataset.json",
+            "datasets/medium_dataset.json",
+            "datasets/large_dataset.json",
+            "datasets/extra_large_dataset.json"
+    };
+    private static final int EXIT_REGRESSION = 2;
+    private static final int EXIT_UNPAIRED_BASELINE = 3;
+
+    private static int repeats = 5;
+    private static boolean bottleneckMode = false;
+
+    /**
+     * Usage: PerformanceAnalyzer [--baseline previous.csv] [--repeats N] [--alpha A] [--tolerance T]
+     *                            [--bottleneck] [dataset...]
+     *
+     * The baseline must be an earlier report of this analyzer; Main's report is refused, since its
+     * times are single cold solves. With a baseline the run exits with status 2 when a dataset/algorithm group is significantly slower,
+     * and with status 3 when no graph of this run pairs with a baseline row, so nothing was tested.
+     * --bottleneck also times the linear-time bottleneck spanning tree against Kruskal.
+     */
     public static void main(String[] args) throws Exception {
         System.out.println("🔍 Starting MST Performance Analysis...");
 
-        List<PerformanceRecord> allRecords = new ArrayList<>();
-        String[] datasets = {
-                "datasets/small_dataset.json",
-                "datasets/medium_dataset.json",
-                "datasets/large_dataset.json",
-                "datasets/extra_large_dataset.json"
-        };
+        Path baselinePath = null;
+        double alpha = RegressionGate.DEFAULT_ALPHA;
+        double tolerance = RegressionGate.DEFAULT_TOLERANCE;
+        List<String> datasets = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline":
+                    baselinePath = Paths.get(args[++i]);
+                    break;
+                case "--repeats":
+                    repeats = Integer.parseInt(args[++i]);
+                    break;
+                case "--alpha":
+                    alpha = Double.parseDouble(args[++i]);
+                    break;
+                case "--tolerance":
+                    tolerance = Double.parseDouble(args[++i]);
+                    break;
+                case "--bottleneck":
+                    bottleneckMode = true;
+                    break;
+                default:
+                    datasets.add(args[i]);
+            }
+        }
+        if (datasets.isEmpty()) datasets.addAll(Arrays.asList(DEFAULT_DATASETS));
+
+        // Read the baseline first: it may be the very file this run is about to overwrite
+        Map<String, double[]> baseline = baselinePath != null ? RegressionGate.loadBaseline(baselinePath) : null;
 
+        List<PerformanceRecord> allRecords = new ArrayList<>();
         for (String dataset : datasets) {
             System.out.println("\n📊 Analyzing: " + dataset);
             List<PerformanceRecord> records = analyzeDataset(dataset);
@@ -31,9 +79,20 @@ public class PerformanceAnalyzer {
 
         generatePerformanceReport(allRecords);
         generateSummaryStatistics(allRecords);
+        if (bottleneckMode) generateBottleneckReport(allRecords);
+        boolean regressed = generateRegressionReport(allRecords, baseline, alpha, tolerance);
 
         System.out.println("\n✅ Performance analysis completed!");
         System.out.println("📁 Reports saved to: analysis/");
+        if (baseline != null && allRecords.stream()
+                .noneMatch(r -> baseline.containsKey(RegressionGate.key(r.dataset, r.graphId)))) {
+            System.out.println("❌ No graph of this run pairs with a row of " + baselinePath);
+            System.exit(EXIT_UNPAIRED_BASELINE);
+        }
+        if (regressed) {
+            System.out.println("❌ Significant slowdown against " + baselinePath);
+            System.exit(EXIT_REGRESSION);
+        }
     }
 
     private static List<PerformanceRecord> analyzeDataset(String datasetFile) throws Exception {
@@ -43,22 +102,44 @@ public class PerformanceAnalyzer {
 
         PrimMST prim = new PrimMST();
         KruskalMST kruskal = new KruskalMST();
+        BottleneckSpanningTree bottleneck = new BottleneckSpanningTree();
 
         for (com.mst.core.Graph graph : graphs) {
             MSTResult primResult = prim.findMST(graph);
             MSTResult kruskalResult = kruskal.findMST(graph);
 
 
-            if (primResult.getTotalCost() != kruskalResult.getTotalCost()) {
+            if (primResult.getTotalCostAsLong() != kruskalResult.getTotalCostAsLong()) {
                 System.err.println("⚠️  Cost mismatch in graph " + graph.getId());
             }
 
             double density = calculateDensity(graph);
-            String datasetName = datasetFile.replace("datasets/", "").replace("_dataset.json", "");
-
-
-            double primTimeMs = primResult.getExecutionTime() / 1_000_000.0;
-            double kruskalTimeMs = kruskalResult.getExecutionTime() / 1_000_000.0;
+            String datasetName = RegressionGate.datasetName(datasetFile);
+
+            // The runs above double as warm-up; report the median of the measured repeats
+            long[] gcBefore = MemoryFootprint.gcTotals();
+            double primTimeMs = medianTimeMs(() -> prim.findMST(graph));
+            double kruskalTimeMs = medianTimeMs(() -> kruskal.findMST(graph));
+            long[] gcAfter = MemoryFootprint.gcTotals();
+
+            MemoryStats memory = new MemoryStats(
+                    MemoryFootprint.allocatedBytes(() -> prim.findMST(graph)),
+                    MemoryFootprint.allocatedBytes(() -> kruskal.findMST(graph)),
+                    MemoryFootprint.retainedBytes(graph, IndexedGraph.class),
+                    MemoryFootprint.retainedBytes(graph.toIndexed(), Graph.class),
+                    gcAfter[0] - gcBefore[0],
+                    gcAfter[1] - gcBefore[1]);
+
+            BottleneckStats bottleneckStats = null;
+            if (bottleneckMode) {
+                MSTResult tree = bottleneck.findTree(graph);
+                Number expected = kruskalResult.getBottleneckWeight();
+                if (expected != null && tree.getBottleneckWeight().longValue() != expected.longValue()) {
+                    System.err.println("⚠️  Bottleneck mismatch in graph " + graph.getId());
+                }
+                bottleneckStats = new BottleneckStats(tree.getBottleneckWeight(),
+                        medianTimeMs(() -> bottleneck.findTree(graph)), tree.getOperationsCount());
+            }
 
             records.add(new PerformanceRecord(
                     datasetName,
@@ -66,23 +147,34 @@ public class PerformanceAnalyzer {
                     graph.getVertexCount(),
                     graph.getEdgeCount(),
                     density,
-                    primResult.getTotalCost(),
-                    kruskalResult.getTotalCost(),
+                    primResult.getTotalCostAsLong(),
+                    kruskalResult.getTotalCostAsLong(),
                     primTimeMs,
                     kruskalTimeMs,
                     primResult.getOperationsCount(),
-                    kruskalResult.getOperationsCount()
+                    kruskalResult.getOperationsCount(),
+                    memory,
+                    bottleneckStats
             ));
         }
 
         return records;
     }
 
+    private static double medianTimeMs(Supplier<MSTResult> solve) {
+        double[] times = new double[Math.max(repeats, 1)];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = solve.get().getExecutionTime() / 1_000_000.0;
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
     private static double calculateDensity(com.mst.core.Graph graph) {
         int vertexCount = graph.getVertexCount();
         if (vertexCount <= 1) return 0.0;
 
-        int maxPossibleEdges = vertexCount * (vertexCount - 1) / 2;
+        long maxPossibleEdges = (long) vertexCount * (vertexCount - 1) / 2;
         return (double) graph.getEdgeCount() / maxPossibleEdges * 100;
     }
 
@@ -94,13 +186,17 @@ public class PerformanceAnalyzer {
 
         FileWriter writer = new FileWriter("analysis/performance_comparison.csv");
 
-        writer.write("Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,Prim_Operations,Kruskal_Operations\n");
+        writer.write("Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,Prim_Operations,Kruskal_Operations,"
+                + "Prim_Alloc_Bytes,Kruskal_Alloc_Bytes,Graph_Retained_Bytes,Indexed_Retained_Bytes,GC_Count,GC_Time_ms\n");
 
         for (PerformanceRecord record : records) {
-            writer.write(String.format("%s,%d,%d,%d,%.2f,%d,%d,%.3f,%.3f,%d,%d\n",
+            MemoryStats memory = record.memory;
+            writer.write(String.format("%s,%d,%d,%d,%.2f,%d,%d,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d\n",
                     record.dataset, record.graphId, record.vertices, record.edges, record.density,
                     record.primCost, record.kruskalCost, record.primTime, record.kruskalTime,
-                    record.primOperations, record.kruskalOperations));
+                    record.primOperations, record.kruskalOperations,
+                    memory.primAllocated, memory.kruskalAllocated, memory.graphRetained, memory.indexedRetained,
+                    memory.gcCount, memory.gcTimeMs));
         }
 
         writer.close();
@@ -139,30 +235,127 @@ public class PerformanceAnalyzer {
             double timeRatio = avgKruskalTime > 0 ? avgPrimTime / avgKruskalTime : 0;
             double opsRatio = avgKruskalOps > 0 ? avgPrimOps / avgKruskalOps : 0;
 
-            writer.write(String.format("Performance Ratio:    Time: %.3f (Prim/Kruskal), Operations: %.3f (Prim/Kruskal)\n\n",
+            writer.write(String.format("Performance Ratio:    Time: %.3f (Prim/Kruskal), Operations: %.3f (Prim/Kruskal)\n",
                     timeRatio, opsRatio));
+
+            double avgPrimAlloc = datasetRecords.stream().mapToLong(r -> r.memory.primAllocated).average().orElse(0);
+            double avgKruskalAlloc = datasetRecords.stream().mapToLong(r -> r.memory.kruskalAllocated).average().orElse(0);
+            long edgeTotal = Math.max(1, datasetRecords.stream().mapToLong(r -> r.edges).sum());
+            double graphBytesPerEdge = datasetRecords.stream().mapToLong(r -> r.memory.graphRetained).sum() / (double) edgeTotal;
+            double indexedBytesPerEdge = datasetRecords.stream().mapToLong(r -> r.memory.indexedRetained).sum() / (double) edgeTotal;
+            writer.write(String.format("Allocation per Solve: Prim: %.1f KB, Kruskal: %.1f KB\n",
+                    avgPrimAlloc / 1024, avgKruskalAlloc / 1024));
+            writer.write(String.format("Retained per Edge:    Graph: %.1f B, IndexedGraph: %.1f B\n",
+                    graphBytesPerEdge, indexedBytesPerEdge));
+            writer.write(String.format("Garbage Collection:   %d collections, %d ms paused\n\n",
+                    datasetRecords.stream().mapToLong(r -> r.memory.gcCount).sum(),
+                    datasetRecords.stream().mapToLong(r -> r.memory.gcTimeMs).sum()));
         }
 
         writer.close();
         System.out.println("✓ Generated summary_statistics.txt");
     }
 
+    private static void generateBottleneckReport(List<PerformanceRecord> records) throws Exception {
+        try (FileWriter writer = new FileWriter("analysis/bottleneck_comparison.csv")) {
+            writer.write("Dataset,GraphID,Vertices,Edges,Bottleneck_Weight,Bottleneck_Time_ms,Kruskal_Time_ms,"
+                    + "Speedup,Bottleneck_Operations,Kruskal_Operations\n");
+            for (PerformanceRecord record : records) {
+                BottleneckStats stats = record.bottleneck;
+                writer.write(String.format("%s,%d,%d,%d,%s,%.3f,%.3f,%.2f,%d,%d\n",
+                        record.dataset, record.graphId, record.vertices, record.edges, stats.weight,
+                        stats.timeMs, record.kruskalTime,
+                        stats.timeMs > 0 ? record.kruskalTime / stats.timeMs : 0,
+                        stats.operations, record.kruskalOperations));
+            }
+        }
+        double bottleneckTotal = records.stream().mapToDouble(r -> r.bottleneck.timeMs).sum();
+        double kruskalTotal = records.stream().mapToDouble(r -> r.kruskalTime).sum();
+        System.out.printf("Bottleneck tree: %.3f ms total vs Kruskal %.3f ms (%.2fx)%n",
+                bottleneckTotal, kruskalTotal, bottleneckTotal > 0 ? kruskalTotal / bottleneckTotal : 0);
+        System.out.println("✓ Generated bottleneck_comparison.csv");
+    }
+
+    // Complexity fits per algorithm, plus per-group baseline verdicts when a baseline is given
+    private static boolean generateRegressionReport(List<PerformanceRecord> records, Map<String, double[]> baseline,
+                                                    double alpha, double tolerance) throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add("COMPLEXITY FITS");
+        double[] vertices = records.stream().mapToDouble(r -> r.vertices).toArray();
+        double[] edges = records.stream().mapToDouble(r -> r.edges).toArray();
+        lines.add(ComplexityFit.fit("Prim", vertices, edges,
+                records.stream().mapToDouble(r -> r.primTime).toArray()).summary());
+        lines.add(ComplexityFit.fit("Kruskal", vertices, edges,
+                records.stream().mapToDouble(r -> r.kruskalTime).toArray()).summary());
+        if (bottleneckMode) {
+            lines.add(ComplexityFit.fit("Bottleneck", vertices, edges,
+                    records.stream().mapToDouble(r -> r.bottleneck.timeMs).toArray()).summary());
+        }
+
+        boolean regressed = false;
+        if (baseline != null) {
+            Map<String, List<PerformanceRecord>> byDataset = new TreeMap<>();
+            List<PerformanceRecord> paired = new ArrayList<>();
+            for (PerformanceRecord record : records) {
+                if (baseline.containsKey(RegressionGate.key(record.dataset, record.graphId))) {
+                    byDataset.computeIfAbsent(record.dataset, k -> new ArrayList<>()).add(record);
+                    paired.add(record);
+                }
+            }
+            byDataset.put("all", paired);
+
+            // Bonferroni: every dataset/algorithm group is a separate test
+            RegressionGate gate = new RegressionGate(alpha / (2 * byDataset.size()), tolerance);
+            lines.add("");
+            lines.add(String.format("BASELINE COMPARISON (alpha=%.4f per group, tolerance=%.0f%%)",
+                    gate.getAlpha(), gate.getTolerance() * 100));
+
+            for (Map.Entry<String, List<PerformanceRecord>> entry : byDataset.entrySet()) {
+                List<PerformanceRecord> group = entry.getValue();
+                for (int algorithm = 0; algorithm < 2; algorithm++) {
+                    double[] before = new double[group.size()];
+                    double[] after = new double[group.size()];
+                    for (int i = 0; i < group.size(); i++) {
+                        PerformanceRecord record = group.get(i);
+                        before[i] = baseline.get(RegressionGate.key(record.dataset, record.graphId))[algorithm];
+                        after[i] = algorithm == 0 ? record.primTime : record.kruskalTime;
+                    }
+                    RegressionGate.Verdict verdict = gate.compare(
+                            entry.getKey() + "/" + (algorithm == 0 ? "prim" : "kruskal"), before, after);
+                    lines.add(verdict.summary());
+                    regressed |= verdict.isRegression();
+                }
+            }
+        }
+
+        try (FileWriter writer = new FileWriter("analysis/regression_report.txt")) {
+            for (String line : lines) writer.write(line + "\n");
+        }
+        System.out.println();
+        lines.forEach(System.out::println);
+        System.out.println("✓ Generated regression_report.txt");
+        return regressed;
+    }
+
     static class PerformanceRecord {
         final String dataset;
         final int graphId;
         final int vertices;
         final int edges;
         final double density;
-        final int primCost;
-        final int kruskalCost;
+        final long primCost;
+        final long kruskalCost;
         final double primTime;
         final double kruskalTime;
         final int primOperations;
         final int kruskalOperations;
+        final MemoryStats memory;
+        final BottleneckStats bottleneck;
 
         PerformanceRecord(String dataset, int graphId, int vertices, int edges, double density,
-                          int primCost, int kruskalCost, double primTime, double kruskalTime,
-                          int primOperations, int kruskalOperations) {
+                          long primCost, long kruskalCost, double primTime, double kruskalTime,
+                          int primOperations, int kruskalOperations, MemoryStats memory,
+                          BottleneckStats bottleneck) {
             this.dataset = dataset;
             this.graphId = graphId;
             this.vertices = vertices;
@@ -174,6 +367,42 @@ public class PerformanceAnalyzer {
             this.kruskalTime = kruskalTime;
             this.primOperations = primOperations;
             this.kruskalOperations = kruskalOperations;
+            this.memory = memory;
+            this.bottleneck = bottleneck;
+        }
+    }
+
+    // Only filled in --bottleneck mode
+    static class BottleneckStats {
+        final Number weight;
+        final double timeMs;
+        final int operations;
+
+        BottleneckStats(Number weight, double timeMs, int operations) {
+            this.weight = weight;
+            this.timeMs = timeMs;
+            this.operations = operations;
+        }
+    }
+
+    // Bytes allocated by one warm solve, estimated retained size of each representation, and GC
+    // activity while the graph's timed repeats ran
+    static class MemoryStats {
+        final long primAllocated;
+        final long kruskalAllocated;
+        final long graphRetained;
+        final long indexedRetained;
+        final long gcCount;
+        final long gcTimeMs;
+
+        MemoryStats(long primAllocated, long kruskalAllocated, long graphRetained, long indexedRetained,
+                    long gcCount, long gcTimeMs) {
+            this.primAllocated = primAllocated;
+            this.kruskalAllocated = kruskalAllocated;
+            this.graphRetained = graphRetained;
+            this.indexedRetained = indexedRetained;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prim with the binary heap against Prim with the bucket queue, on one random graph shape with
+ * weights drawn from 1..W for a series of ranges W. Both must return the same edges.
+ *
+ * Usage: PrimQueueBenchmark [vertices] [edges] [weightRange...]
+ */
+public class PrimQueueBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 3_000_000;
+        List<Integer> ranges = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) ranges.add(Integer.parseInt(args[i]));
+        if (ranges.isEmpty()) ranges.addAll(Arrays.asList(4, 100, 10_000, PrimMST.DEFAULT_MAX_BUCKET_RANGE));
+
+        System.out.printf("🔍 Prim queue comparison: %d vertices, %d edges%n", vertices, edges);
+        PrimMST heap = new PrimMST(0);
+        PrimMST bucket = new PrimMST(Integer.MAX_VALUE);
+
+        List<String> rows = new ArrayList<>();
+        for (int range : ranges) {
+            IndexedGraph graph = randomGraph(vertices, edges, range);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                MSTResult expected = heap.findMST(graph, SolverWorkspace.current());
+                MSTResult actual = bucket.findMST(graph, SolverWorkspace.current());
+                if (!Arrays.equals(expected.getEdgeIndices(), actual.getEdgeIndices())) {
+                    throw new IllegalStateException("Bucket queue picked different edges for W=" + range);
+                }
+            }
+            long heapBest = Long.MAX_VALUE;
+            long bucketBest = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                heapBest = Math.min(heapBest, heap.findMST(graph, SolverWorkspace.current()).getExecutionTime());
+                bucketBest = Math.min(bucketBest, bucket.findMST(graph, SolverWorkspace.current()).getExecutionTime());
+            }
+
+            double heapMs = heapBest / 1_000_000.0;
+            double bucketMs = bucketBest / 1_000_000.0;
+            System.out.printf("W=%-8d heap=%-9.3fms bucket=%-9.3fms speedup=%.2f%n",
+                    range, heapMs, bucketMs, heapMs / bucketMs);
+            rows.add(String.format("%d,%d,%d,%.3f,%.3f,%.3f", range, vertices, edges, heapMs, bucketMs, heapMs / bucketMs));
+        }
+
+        new File("analysis").mkdirs();
+        try (FileWriter writer = new FileWriter("analysis/prim_queue_comparison.csv")) {
+            writer.write("Weight_Range,Vertices,Edges,Heap_ms,Bucket_ms,Speedup\n");
+            for (String row : rows) writer.write(row + "\n");
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot write analysis/prim_queue_comparison.csv", e);
+        }
+        System.out.println("📈 Report saved to: analysis/prim_queue_comparison.csv");
+    }
+
+    // A random spanning tree plus uniform extra edges, so the graph is connected
+    private static IndexedGraph randomGraph(int vertices, int edges, int range) {
+        Random random = new Random(42);
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) names[v] = "V" + v;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            if (e < vertices - 1) {
+                from[e] = e + 1;
+                to[e] = random.nextInt(e + 1);
+            } else {
+                from[e] = random.nextInt(vertices);
+                to[e] = random.nextInt(vertices);
+            }
+            weights[e] = 1 + random.nextInt(range);
+        }
+        return new IndexedGraph(1, names, from, to, weights);
+    }
+}
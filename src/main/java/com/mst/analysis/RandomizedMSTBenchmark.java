@@ -0,0 +1,99 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.KargerKleinTarjanMST;
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Karger-Klein-Tarjan against Prim and Kruskal on growing sparse random graphs, to find the
+ * size where the randomized solver starts to pay off.
+ *
+ * Usage: RandomizedMSTBenchmark [maxVertices] [edgesPerVertex]
+ */
+public class RandomizedMSTBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int maxVertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int edgesPerVertex = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        PrimMST prim = new PrimMST();
+        KruskalMST kruskal = new KruskalMST();
+        KargerKleinTarjanMST kkt = new KargerKleinTarjanMST();
+        SolverWorkspace workspace = new SolverWorkspace();
+
+        System.out.printf("🔍 KKT vs Prim/Kruskal, E = %d V%n", edgesPerVertex);
+        List<String> rows = new ArrayList<>();
+        int crossover = -1;
+        for (int vertices = 1_000; vertices <= maxVertices; vertices *= 10) {
+            for (int step : new int[]{1, 3}) {
+                int n = vertices * step;
+                if (n > maxVertices) break;
+                IndexedGraph graph = randomGraph(n, n * edgesPerVertex, new Random(n));
+
+                MSTResult reference = kruskal.findMST(graph, workspace);
+                MSTResult randomized = kkt.findMST(graph, workspace);
+                if (!Arrays.equals(reference.getEdgeIndices(), randomized.getEdgeIndices())) {
+                    throw new IllegalStateException("KKT tree differs from Kruskal at V=" + n);
+                }
+
+                double primMs = bestTimeMs(() -> prim.findMST(graph, workspace));
+                double kruskalMs = bestTimeMs(() -> kruskal.findMST(graph, workspace));
+                double kktMs = bestTimeMs(() -> kkt.findMST(graph, workspace));
+                boolean fastest = kktMs < primMs && kktMs < kruskalMs;
+                if (fastest && crossover < 0) crossover = n;
+
+                System.out.printf("V=%-8d E=%-9d prim=%-9.3fms kruskal=%-9.3fms kkt=%-9.3fms%s%n",
+                        n, graph.getEdgeCount(), primMs, kruskalMs, kktMs, fastest ? "  ← KKT fastest" : "");
+                rows.add(String.format("%d,%d,%.3f,%.3f,%.3f,%d", n, graph.getEdgeCount(), primMs, kruskalMs, kktMs,
+                        randomized.getOperationsCount()));
+            }
+        }
+        System.out.println(crossover > 0
+                ? "📌 KKT first beats both at V=" + crossover
+                : "📌 No crossover up to V=" + maxVertices);
+
+        new File("analysis").mkdirs();
+        try (FileWriter writer = new FileWriter("analysis/kkt_crossover.csv")) {
+            writer.write("Vertices,Edges,Prim_ms,Kruskal_ms,KKT_ms,KKT_Operations\n");
+            for (String row : rows) writer.write(row + "\n");
+        }
+        System.out.println("📈 Report saved to: analysis/kkt_crossover.csv");
+    }
+
+    // Random spanning tree plus uniformly random extra edges
+    private static IndexedGraph randomGraph(int vertices, int edges, Random random) {
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) names[v] = "V" + v;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            from[e] = e < vertices - 1 ? e + 1 : random.nextInt(vertices);
+            to[e] = e < vertices - 1 ? random.nextInt(e + 1) : random.nextInt(vertices);
+            weights[e] = 1 + random.nextInt(1_000_000);
+        }
+        return new IndexedGraph(1, names, from, to, weights);
+    }
+
+    private static double bestTimeMs(Supplier<MSTResult> solve) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) solve.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            best = Math.min(best, solve.get().getExecutionTime());
+        }
+        return best / 1_000_000.0;
+    }
+}
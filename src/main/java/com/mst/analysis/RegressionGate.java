@@ -0,0 +1,201 @@
+package com.mst.analysis;
+
+import com.mst.io.CompressedIO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares solve times against a baseline performance_comparison.csv.
+ *
+ * Graphs are paired by (dataset, graph id), with the dataset reduced by {@link #datasetName}. Only
+ * PerformanceAnalyzer's CSV is accepted as a baseline: its times are warm medians, while Main's are
+ * single cold solves (or empty for cached trees) and would not compare. Each pair contributes the log
+ * of its time ratio, which makes the test scale-free. A group regresses when a one-sided paired
+ * t-test rejects "no slowdown" at level alpha AND the geometric-mean slowdown exceeds the
+ * tolerance, so a tiny but consistent change and a large but noisy one are both let through.
+ */
+public final class RegressionGate {
+    public static final double DEFAULT_ALPHA = 0.01;
+    public static final double DEFAULT_TOLERANCE = 0.10;
+    private static final String ANALYZER_COLUMN = "Prim_Alloc_Bytes";
+
+    private final double alpha;
+    private final double tolerance;
+
+    public RegressionGate(double alpha, double tolerance) {
+        this.alpha = alpha;
+        this.tolerance = tolerance;
+    }
+
+    public double getAlpha() { return alpha; }
+    public double getTolerance() { return tolerance; }
+
+    /** Baseline times keyed by {@link #key(String, int)}: [prim ms, kruskal ms]. */
+    public static Map<String, double[]> loadBaseline(Path csv) throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            String header = reader.readLine();
+            if (header == null) return baseline;
+            List<String> columns = Arrays.asList(header.split(","));
+            // The allocation columns only exist in the analyzer's schema
+            if (!columns.contains(ANALYZER_COLUMN)) {
+                throw new IOException("Baseline " + csv + " has no " + ANALYZER_COLUMN + " column; only a"
+                        + " PerformanceAnalyzer report has comparable timings, not Main's single cold solves");
+            }
+            int dataset = requireColumn(columns, "Dataset");
+            int graphId = requireColumn(columns, "GraphID");
+            int prim = requireColumn(columns, "Prim_Time_ms");
+            int kruskal = requireColumn(columns, "Kruskal_Time_ms");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] cells = line.split(",");
+                baseline.put(key(cells[dataset], Integer.parseInt(cells[graphId])),
+                        new double[]{Double.parseDouble(cells[prim]), Double.parseDouble(cells[kruskal])});
+            }
+        }
+        return baseline;
+    }
+
+    private static int requireColumn(List<String> columns, String name) throws IOException {
+        int index = columns.indexOf(name);
+        if (index < 0) throw new IOException("Baseline CSV has no " + name + " column");
+        return index;
+    }
+
+    public static String key(String dataset, int graphId) {
+        return datasetName(dataset) + "#" + graphId;
+    }
+
+    /** "datasets/small_dataset.json.gz", "small_dataset" and "small" all name dataset "small". */
+    public static String datasetName(String dataset) {
+        String name = CompressedIO.stripGzip(dataset.substring(Math.max(dataset.lastIndexOf('/'), dataset.lastIndexOf('\\')) + 1));
+        name = name.replaceFirst("\\.[A-Za-z0-9]+$", "");
+        return name.endsWith("_dataset") ? name.substring(0, name.length() - "_dataset".length()) : name;
+    }
+
+    /** Paired comparison of one group of graphs; the arrays hold times in ms, index-aligned. */
+    public Verdict compare(String group, double[] baselineMs, double[] currentMs) {
+        int n = baselineMs.length;
+        double mean = 0;
+        double[] logRatio = new double[n];
+        for (int i = 0; i < n; i++) {
+            logRatio[i] = Math.log(Math.max(currentMs[i], ComplexityFit.TIME_FLOOR_MS)
+                    / Math.max(baselineMs[i], ComplexityFit.TIME_FLOOR_MS));
+            mean += logRatio[i];
+        }
+        mean = n > 0 ? mean / n : 0;
+
+        double pValue = 1.0;
+        if (n >= 2) {
+            double squares = 0;
+            for (double r : logRatio) squares += (r - mean) * (r - mean);
+            double standardError = Math.sqrt(squares / (n - 1) / n);
+            if (standardError > 0) {
+                pValue = studentTUpperTail(mean / standardError, n - 1);
+            } else if (mean > 0) {
+                pValue = 0;
+            }
+        }
+        double slowdown = Math.exp(mean) - 1;
+        boolean regression = n >= 2 && pValue < alpha && slowdown > tolerance;
+        return new Verdict(group, n, slowdown, pValue, regression);
+    }
+
+    public static final class Verdict {
+        private final String group;
+        private final int pairs;
+        private final double slowdown;
+        private final double pValue;
+        private final boolean regression;
+
+        Verdict(String group, int pairs, double slowdown, double pValue, boolean regression) {
+            this.group = group;
+            this.pairs = pairs;
+            this.slowdown = slowdown;
+            this.pValue = pValue;
+            this.regression = regression;
+        }
+
+        public String getGroup() { return group; }
+        public int getPairs() { return pairs; }
+        /** Geometric-mean time ratio minus one: 0.25 means 25% slower than the baseline. */
+        public double getSlowdown() { return slowdown; }
+        public double getPValue() { return pValue; }
+        public boolean isRegression() { return regression; }
+
+        public String summary() {
+            return String.format("%-22s %+7.1f%%  p=%-7.4f n=%-4d %s", group, slowdown * 100, pValue, pairs,
+                    regression ? "REGRESSION" : pairs < 2 ? "too few pairs" : "ok");
+        }
+    }
+
+    // P(T > t) for Student's t with df degrees of freedom
+    static double studentTUpperTail(double t, int df) {
+        double tail = 0.5 * regularizedBeta(df / (df + t * t), df / 2.0, 0.5);
+        return t > 0 ? tail : 1 - tail;
+    }
+
+    private static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaContinuedFraction(x, a, b) / a;
+        }
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    // Lentz's method for the incomplete beta continued fraction
+    private static double betaContinuedFraction(double x, double a, double b) {
+        double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double result = d;
+        for (int m = 1; m <= 200; m++) {
+            int m2 = 2 * m;
+            double numerator = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 / nonZero(1 + numerator * d, tiny);
+            c = nonZero(1 + numerator / c, tiny);
+            result *= d * c;
+
+            numerator = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 / nonZero(1 + numerator * d, tiny);
+            c = nonZero(1 + numerator / c, tiny);
+            double delta = d * c;
+            result *= delta;
+            if (Math.abs(delta - 1) < 1e-12) break;
+        }
+        return result;
+    }
+
+    private static double nonZero(double value, double tiny) {
+        return Math.abs(value) < tiny ? tiny : value;
+    }
+
+    // Lanczos approximation, g = 7
+    private static double logGamma(double x) {
+        double[] coefficients = {
+                0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+                -176.61502916214059, 12.507343278686905, -0.13857109526572012,
+                9.9843695780195716e-6, 1.5056327351493116e-7
+        };
+        if (x < 0.5) {
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = coefficients[0];
+        for (int i = 1; i < coefficients.length; i++) sum += coefficients[i] / (x + i);
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
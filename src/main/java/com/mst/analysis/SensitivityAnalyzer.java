@@ -0,0 +1,275 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.core.Edge;
+import com.mst.core.Graph;
+import com.mst.core.MSTResult;
+import com.mst.io.EdgeOutput;
+import com.mst.io.EdgeSensitivityOutput;
+import com.mst.io.JsonUtils;
+import com.mst.io.SensitivityData;
+import com.mst.io.SensitivityOutput;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Offline sensitivity analysis of a minimum spanning forest.
+ * For every tree edge it finds the cheapest non-tree edge that reconnects the tree if the edge fails,
+ * for every non-tree edge the heaviest tree edge on the cycle it closes (how far its cost must drop).
+ * Path maxima use binary lifting, replacements use a union-find that skips already covered tree edges,
+ * so the whole pass is O(E log V) instead of one Kruskal run per removed edge.
+ */
+public class SensitivityAnalyzer {
+
+    public static void main(String[] args) throws Exception {
+        String[] inputFiles = args.length > 0 ? args : new String[]{"datasets/ass_3_input.json"};
+        KruskalMST kruskal = new KruskalMST();
+
+        File outputDir = new File("output");
+        if (!outputDir.exists()) outputDir.mkdirs();
+
+        for (String inputFile : inputFiles) {
+            System.out.println("🔍 Sensitivity analysis: " + inputFile);
+            List<Graph> graphs = JsonUtils.convertToGraphs(JsonUtils.readInput(inputFile));
+            List<SensitivityOutput> results = new ArrayList<>();
+
+            for (Graph graph : graphs) {
+                long start = System.nanoTime();
+                SensitivityOutput output = analyze(graph, kruskal.findMST(graph));
+                System.out.printf("Graph %d: %d edges analyzed in %.3f ms%n",
+                        graph.getId(), graph.getEdgeCount(), (System.nanoTime() - start) / 1_000_000.0);
+                results.add(output);
+            }
+
+            String outputFile = inputFile.replace("datasets/", "output/").replace(".json", "_sensitivity.json");
+            JsonUtils.writeJson(outputFile, new SensitivityData(results));
+            System.out.println("💾 Results written to: " + outputFile);
+        }
+    }
+
+    public static SensitivityOutput analyze(Graph graph, MSTResult mst) {
+        List<String> vertices = graph.getVertices();
+        List<Edge> edges = graph.getEdges();
+        int n = vertices.size();
+        int m = edges.size();
+
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = index.get(edges.get(e).getFrom());
+            to[e] = index.get(edges.get(e).getTo());
+        }
+
+        boolean[] inTree = markTreeEdges(graph, mst);
+
+        // Root every tree of the forest and record parent edges and depths
+        int[] treeAdjStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            if (inTree[e]) {
+                treeAdjStart[from[e] + 1]++;
+                treeAdjStart[to[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            treeAdjStart[v + 1] += treeAdjStart[v];
+        }
+        int[] treeAdj = new int[treeAdjStart[n]];
+        int[] fill = Arrays.copyOf(treeAdjStart, n);
+        for (int e = 0; e < m; e++) {
+            if (inTree[e]) {
+                treeAdj[fill[from[e]]++] = e;
+                treeAdj[fill[to[e]]++] = e;
+            }
+        }
+
+        int[] parent = new int[n];
+        int[] parentEdge = new int[n];
+        int[] depth = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(parentEdge, -1);
+        boolean[] seen = new boolean[n];
+        int[] queue = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (seen[root]) continue;
+            seen[root] = true;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            parent[root] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = treeAdjStart[v]; i < treeAdjStart[v + 1]; i++) {
+                    int e = treeAdj[i];
+                    int u = from[e] == v ? to[e] : from[e];
+                    if (!seen[u]) {
+                        seen[u] = true;
+                        parent[u] = v;
+                        parentEdge[u] = e;
+                        depth[u] = depth[v] + 1;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+
+        int[] pathMaxEdge = computePathMaxima(edges, from, to, inTree, parent, parentEdge, depth);
+        int[] replacement = computeReplacements(edges, graph.toIndexed().tieRanks(), from, to, inTree,
+                parent, parentEdge, depth);
+
+        List<EdgeSensitivityOutput> outputs = new ArrayList<>(m);
+        for (int e = 0; e < m; e++) {
+            Edge edge = edges.get(e);
+            if (inTree[e]) {
+                int r = replacement[e];
+                outputs.add(new EdgeSensitivityOutput(edge.getFrom(), edge.getTo(), edge.getWeight(), true,
+                        r >= 0 ? toOutput(edges.get(r)) : null, null,
+                        r >= 0 ? (long) edges.get(r).getWeight() - edge.getWeight() : null));
+            } else {
+                int p = pathMaxEdge[e];
+                outputs.add(new EdgeSensitivityOutput(edge.getFrom(), edge.getTo(), edge.getWeight(), false,
+                        null, p >= 0 ? toOutput(edges.get(p)) : null,
+                        p >= 0 ? (long) edge.getWeight() - edges.get(p).getWeight() : null));
+            }
+        }
+        return new SensitivityOutput(graph.getId(), mst.getTotalCostAsLong(), outputs);
+    }
+
+    private static boolean[] markTreeEdges(Graph graph, MSTResult mst) {
+        List<Edge> edges = graph.getEdges();
+        boolean[] inTree = new boolean[edges.size()];
+        if (mst.hasEdgeIndices() && mst.getGraph().getSource() == graph) {
+            for (int e : mst.getEdgeIndices()) {
+                inTree[e] = true;
+            }
+            return inTree;
+        }
+
+        // Results built from edge lists are matched by undirected equality
+        Map<Edge, Integer> pending = new HashMap<>();
+        for (Edge edge : mst.getMstEdges()) {
+            pending.merge(edge, 1, Integer::sum);
+        }
+        for (int e = 0; e < edges.size(); e++) {
+            Integer count = pending.get(edges.get(e));
+            if (count != null && count > 0) {
+                inTree[e] = true;
+                pending.put(edges.get(e), count - 1);
+            }
+        }
+        return inTree;
+    }
+
+    private static int[] computePathMaxima(List<Edge> edges, int[] from, int[] to, boolean[] inTree,
+                                           int[] parent, int[] parentEdge, int[] depth) {
+        int n = parent.length;
+        int levels = 1;
+        while ((1 << levels) < n) levels++;
+
+        int[][] up = new int[levels][n];
+        int[][] maxEdge = new int[levels][n];
+        for (int v = 0; v < n; v++) {
+            up[0][v] = parent[v];
+            maxEdge[0][v] = parentEdge[v];
+        }
+        for (int k = 1; k < levels; k++) {
+            for (int v = 0; v < n; v++) {
+                int mid = up[k - 1][v];
+                up[k][v] = up[k - 1][mid];
+                maxEdge[k][v] = heavier(edges, maxEdge[k - 1][v], maxEdge[k - 1][mid]);
+            }
+        }
+
+        int[] result = new int[edges.size()];
+        Arrays.fill(result, -1);
+        for (int e = 0; e < edges.size(); e++) {
+            if (inTree[e] || from[e] == to[e]) continue;
+
+            int u = from[e];
+            int v = to[e];
+            int best = -1;
+            if (depth[u] < depth[v]) {
+                int tmp = u; u = v; v = tmp;
+            }
+            for (int k = levels - 1; k >= 0; k--) {
+                if (depth[u] - (1 << k) >= depth[v]) {
+                    best = heavier(edges, best, maxEdge[k][u]);
+                    u = up[k][u];
+                }
+            }
+            if (u != v) {
+                for (int k = levels - 1; k >= 0; k--) {
+                    if (up[k][u] != up[k][v]) {
+                        best = heavier(edges, best, maxEdge[k][u]);
+                        best = heavier(edges, best, maxEdge[k][v]);
+                        u = up[k][u];
+                        v = up[k][v];
+                    }
+                }
+                best = heavier(edges, best, parentEdge[u]);
+                best = heavier(edges, best, parentEdge[v]);
+                // Endpoints in different trees: the edge would join two components, nothing to replace
+                if (parent[u] != parent[v] || parent[u] == u) best = -1;
+            }
+            result[e] = best;
+        }
+        return result;
+    }
+
+    private static int[] computeReplacements(List<Edge> edges, int[] tieRanks, int[] from, int[] to,
+                                             boolean[] inTree, int[] parent, int[] parentEdge, int[] depth) {
+        int n = parent.length;
+        int[] replacement = new int[edges.size()];
+        Arrays.fill(replacement, -1);
+
+        List<Integer> nonTree = new ArrayList<>();
+        for (int e = 0; e < edges.size(); e++) {
+            if (!inTree[e] && from[e] != to[e]) nonTree.add(e);
+        }
+        // Same (weight, tie rank) order the solvers use, so replacements agree with what they would pick
+        nonTree.sort(Comparator.comparingInt((Integer e) -> edges.get(e).getWeight()).thenComparingInt(e -> tieRanks[e]));
+
+        // jump[v] points at the deepest ancestor of v whose parent edge has no replacement yet
+        int[] jump = new int[n];
+        for (int v = 0; v < n; v++) jump[v] = v;
+
+        for (int e : nonTree) {
+            int u = find(jump, from[e]);
+            int v = find(jump, to[e]);
+            while (u != v) {
+                if (depth[u] < depth[v]) {
+                    int tmp = u; u = v; v = tmp;
+                }
+                if (parent[u] == u) break;
+                replacement[parentEdge[u]] = e;
+                jump[u] = parent[u];
+                u = find(jump, u);
+            }
+        }
+        return replacement;
+    }
+
+    private static int find(int[] jump, int v) {
+        int root = v;
+        while (jump[root] != root) root = jump[root];
+        while (jump[v] != root) {
+            int next = jump[v];
+            jump[v] = root;
+            v = next;
+        }
+        return root;
+    }
+
+    private static int heavier(List<Edge> edges, int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return edges.get(b).getWeight() > edges.get(a).getWeight() ? b : a;
+    }
+
+    private static EdgeOutput toOutput(Edge edge) {
+        return new EdgeOutput(edge.getFrom(), edge.getTo(), edge.getWeight());
+    }
+}
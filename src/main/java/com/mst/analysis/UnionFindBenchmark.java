@@ -0,0 +1,101 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.ConcurrentUnionFind;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Throughput of {@link ConcurrentUnionFind} as the thread count grows. Each run unions the
+ * same random edge list, split round-robin across threads, then answers connectivity queries.
+ *
+ * Usage: UnionFindBenchmark [vertices] [edges] [maxThreads]
+ */
+public class UnionFindBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 4_000_000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+                : Math.max(8, Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("🔍 Union-find scaling: %d vertices, %d edges, %d cores available%n",
+                vertices, edges, Runtime.getRuntime().availableProcessors());
+
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            from[i] = random.nextInt(vertices);
+            to[i] = random.nextInt(vertices);
+        }
+
+        List<String> rows = new ArrayList<>();
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) run(vertices, from, to, threads);
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) best = Math.min(best, run(vertices, from, to, threads));
+
+            double ms = best / 1_000_000.0;
+            if (threads == 1) baseline = ms;
+            double speedup = baseline / ms;
+            double opsPerSecond = 2.0 * edges / (best / 1_000_000_000.0);
+            System.out.printf("threads=%-3d time=%-9.3fms speedup=%-6.2f ops/s=%.3e%n",
+                    threads, ms, speedup, opsPerSecond);
+            rows.add(String.format("%d,%d,%d,%.3f,%.3f,%.0f", threads, vertices, edges, ms, speedup, opsPerSecond));
+        }
+
+        new File("analysis").mkdirs();
+        try (FileWriter writer = new FileWriter("analysis/union_find_scaling.csv")) {
+            writer.write("Threads,Vertices,Edges,Time_ms,Speedup,Ops_per_s\n");
+            for (String row : rows) writer.write(row + "\n");
+        }
+        System.out.println("📈 Scaling report saved to: analysis/union_find_scaling.csv");
+    }
+
+    // One union pass plus one sameSet pass over the edge list; returns wall time in nanoseconds
+    private static long run(int vertices, int[] from, int[] to, int threads) throws Exception {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(vertices);
+        CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+        CyclicBarrier unionsDone = new CyclicBarrier(threads);
+        int[] connected = new int[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    barrier.await();
+                    for (int i = thread; i < from.length; i += threads) sets.union(from[i], to[i]);
+                    unionsDone.await();
+                    for (int i = thread; i < from.length; i += threads) {
+                        if (sets.sameSet(from[i], to[i])) connected[thread]++;
+                    }
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            workers[t].start();
+        }
+
+        barrier.await();
+        long start = System.nanoTime();
+        barrier.await();
+        long elapsed = System.nanoTime() - start;
+        for (Thread worker : workers) worker.join();
+
+        int total = 0;
+        for (int count : connected) total += count;
+        if (total != from.length) {
+            throw new IllegalStateException("Edge endpoints left disconnected: " + (from.length - total));
+        }
+        return elapsed;
+    }
+}
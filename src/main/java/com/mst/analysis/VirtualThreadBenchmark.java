@@ -0,0 +1,125 @@
+package com.mst.analysis;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.io.EdgeInput;
+import com.mst.io.GraphInput;
+import com.mst.io.InputData;
+import com.mst.io.InputStats;
+import com.mst.io.JsonUtils;
+import com.mst.pipeline.BatchPipeline;
+import com.mst.pipeline.VirtualThreadBatch;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Throughput of the sequential file loop, the three-stage pipeline and the virtual-thread batch
+ * over a directory of many small dataset files. An optional per-file read delay stands in for
+ * slow storage, which is where per-file virtual threads should pull ahead.
+ *
+ * Usage: VirtualThreadBenchmark [files] [graphsPerFile] [readLatencyMs...]
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int graphsPerFile = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        List<Integer> latencies = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) latencies.add(Integer.parseInt(args[i]));
+        if (latencies.isEmpty()) latencies.addAll(List.of(0, 5));
+        int solverThreads = Runtime.getRuntime().availableProcessors();
+
+        Path directory = Files.createTempDirectory("mst-vt-bench");
+        List<String> files = writeDatasets(directory, fileCount, graphsPerFile);
+        System.out.printf("🔍 %d files × %d graphs in %s, %d solver threads, virtual threads %s%n",
+                fileCount, graphsPerFile, directory, solverThreads,
+                VirtualThreadBatch.virtualThreadsAvailable() ? "available" : "unavailable (platform fallback)");
+
+        PrimMST prim = new PrimMST();
+        KruskalMST kruskal = new KruskalMST();
+        BatchPipeline.Solver<InputStats> solver = (file, graph) -> {
+            prim.findMST(graph, SolverWorkspace.current());
+            kruskal.findMST(graph, SolverWorkspace.current());
+            return new InputStats(graph.getVertexCount(), graph.getEdgeCount());
+        };
+        BatchPipeline.Writer<InputStats> writer = (file, results) ->
+                JsonUtils.writeJson(file.replace(".json", "_output.json"), Collections.singletonMap("results", results));
+
+        List<String> rows = new ArrayList<>();
+        for (int latency : latencies) {
+            BatchPipeline.Parser parser = (file, sink) -> {
+                if (latency > 0) Thread.sleep(latency);
+                JsonUtils.convertToIndexedGraphs(JsonUtils.readInput(file)).forEach(sink);
+            };
+
+            long start = System.nanoTime();
+            for (String file : files) {
+                List<IndexedGraph> graphs = new ArrayList<>();
+                parser.parse(file, graphs::add);
+                List<InputStats> results = new ArrayList<>();
+                for (IndexedGraph graph : graphs) results.add(solver.solve(file, graph));
+                writer.write(file, results);
+            }
+            rows.add(row("sequential", files.size(), latency, System.nanoTime() - start));
+
+            BatchPipeline<InputStats> pipeline = new BatchPipeline<>(parser, solver, writer, solverThreads, 16);
+            pipeline.run(files);
+            rows.add(row("pipeline", files.size(), latency, pipeline.getWallNanos()));
+
+            VirtualThreadBatch<InputStats> batch = new VirtualThreadBatch<>(parser, solver, writer, solverThreads, 256);
+            batch.run(files);
+            rows.add(row(batch.usesVirtualThreads() ? "virtual" : "platform-per-file", files.size(), latency,
+                    batch.getWallNanos()));
+        }
+
+        new File("analysis").mkdirs();
+        try (FileWriter out = new FileWriter("analysis/virtual_thread_throughput.csv")) {
+            out.write("Mode,Files,Read_Latency_ms,Wall_ms,Files_per_s\n");
+            for (String row : rows) out.write(row + "\n");
+        }
+        System.out.println("📈 Report saved to: analysis/virtual_thread_throughput.csv");
+    }
+
+    private static String row(String mode, int files, int latency, long wallNanos) {
+        double wallMs = wallNanos / 1_000_000.0;
+        double throughput = files / (wallNanos / 1_000_000_000.0);
+        System.out.printf("%-18s latency=%-3dms wall=%-10.1fms %.1f files/s%n", mode, latency, wallMs, throughput);
+        return String.format("%s,%d,%d,%.1f,%.1f", mode, files, latency, wallMs, throughput);
+    }
+
+    private static List<String> writeDatasets(Path directory, int fileCount, int graphsPerFile) throws Exception {
+        Random random = new Random(42);
+        List<String> files = new ArrayList<>(fileCount);
+        for (int f = 0; f < fileCount; f++) {
+            List<GraphInput> graphs = new ArrayList<>();
+            for (int g = 0; g < graphsPerFile; g++) {
+                int vertices = 10 + random.nextInt(30);
+                List<String> nodes = new ArrayList<>();
+                for (int v = 0; v < vertices; v++) nodes.add("N" + v);
+                List<EdgeInput> edges = new ArrayList<>();
+                for (int v = 1; v < vertices; v++) {
+                    edges.add(new EdgeInput(nodes.get(v), nodes.get(random.nextInt(v)), 1 + random.nextInt(100)));
+                }
+                for (int e = 0; e < vertices * 2; e++) {
+                    int a = random.nextInt(vertices);
+                    int b = random.nextInt(vertices);
+                    if (a != b) edges.add(new EdgeInput(nodes.get(a), nodes.get(b), 1 + random.nextInt(100)));
+                }
+                graphs.add(new GraphInput(g + 1, nodes, edges));
+            }
+            String file = directory.resolve(String.format("graphs_%05d.json", f)).toString();
+            JsonUtils.writeJson(file, new InputData(graphs));
+            files.add(file);
+        }
+        return files;
+    }
+}
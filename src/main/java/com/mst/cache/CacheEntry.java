@@ -0,0 +1,27 @@
+package com.mst.cache;
+
+import com.mst.io.MSTOutput;
+
+/** On-disk form of a cached tree, with the size of the graph it was solved for. */
+public class CacheEntry {
+    private int vertex_count;
+    private int edge_count;
+    private MSTOutput mst;
+
+    public CacheEntry() {}
+
+    public CacheEntry(int vertex_count, int edge_count, MSTOutput mst) {
+        this.vertex_count = vertex_count;
+        this.edge_count = edge_count;
+        this.mst = mst;
+    }
+
+    public int getVertex_count() { return vertex_count; }
+    public void setVertex_count(int vertex_count) { this.vertex_count = vertex_count; }
+
+    public int getEdge_count() { return edge_count; }
+    public void setEdge_count(int edge_count) { this.edge_count = edge_count; }
+
+    public MSTOutput getMst() { return mst; }
+    public void setMst(MSTOutput mst) { this.mst = mst; }
+}
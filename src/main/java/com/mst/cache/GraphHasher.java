@@ -0,0 +1,54 @@
+package com.mst.cache;
+
+import com.mst.core.Edge;
+import com.mst.core.Graph;
+
+/**
+ * Canonical content hash of a graph: independent of vertex and edge order and of the
+ * direction an edge is written in, so re-ordered but otherwise unchanged inputs share a key.
+ */
+public final class GraphHasher {
+
+    private GraphHasher() {}
+
+    public static String hash(Graph graph) {
+        long vertexLane1 = 0;
+        long vertexLane2 = 0;
+        for (String vertex : graph.getVertices()) {
+            long h = hashString(vertex);
+            vertexLane1 += mix(h);
+            vertexLane2 += mix(h ^ 0x9E3779B97F4A7C15L);
+        }
+
+        long edgeLane1 = 0;
+        long edgeLane2 = 0;
+        for (Edge edge : graph.getEdges()) {
+            long a = hashString(edge.getFrom());
+            long b = hashString(edge.getTo());
+            long lo = Math.min(a, b);
+            long hi = Math.max(a, b);
+            long h = mix(lo * 31 + mix(hi) + edge.getWeight());
+            edgeLane1 += h;
+            edgeLane2 += mix(h ^ 0xC2B2AE3D27D4EB4FL);
+        }
+
+        return String.format("%x-%x-%016x%016x-%016x%016x",
+                graph.getVertexCount(), graph.getEdgeCount(),
+                vertexLane1, vertexLane2, edgeLane1, edgeLane2);
+    }
+
+    private static long hashString(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,187 @@
+package com.mst.cache;
+
+import com.mst.core.Edge;
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.io.EdgeOutput;
+import com.mst.io.JsonUtils;
+import com.mst.io.MSTOutput;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * MST results keyed by algorithm and {@link GraphHasher} content hash.
+ * Keeps an LRU set in memory and optionally persists every solved result as JSON under a
+ * cache directory. Hits come back as {@link MSTResult#asCacheHit()} copies, so they never report
+ * a solve time they did not spend, and a stored entry is only used if its graph size and tree edges
+ * match the requesting graph, since the 64-bit hash alone could collide. The in-memory bound counts tree edges plus, once per graph, the edges of
+ * every graph an index-backed result keeps alive, since that graph is what the entry really holds.
+ */
+public class MSTCache {
+    public static final String DEFAULT_DIRECTORY = "output/mst-cache";
+    // Bumped whenever the solvers' edge order or the entry format changes, so older entries are not reused
+    private static final String ENTRY_VERSION = "t2";
+
+    private final long maxCachedEdges;
+    private final File directory;
+    private final LinkedHashMap<String, MSTResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedEdges;
+    // Graphs pinned by index-backed entries, with the number of entries sharing each
+    private final IdentityHashMap<IndexedGraph, Integer> pinnedGraphs = new IdentityHashMap<>();
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+
+    public MSTCache(long maxCachedEdges) {
+        this(maxCachedEdges, null);
+    }
+
+    public MSTCache(long maxCachedEdges, File directory) {
+        this.maxCachedEdges = maxCachedEdges;
+        this.directory = directory;
+        if (directory != null && !directory.exists()) directory.mkdirs();
+    }
+
+    public MSTResult getOrCompute(String algorithm, Graph graph, Function<Graph, MSTResult> solver) {
+        String key = algorithm + "-" + ENTRY_VERSION + "-" + GraphHasher.hash(graph);
+
+        synchronized (this) {
+            MSTResult cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.asCacheHit();
+            }
+        }
+
+        MSTResult stored = readFromDisk(key, graph);
+        if (stored != null) {
+            synchronized (this) {
+                diskHits++;
+                put(key, stored);
+            }
+            return stored.asCacheHit();
+        }
+
+        MSTResult result = solver.apply(graph);
+        synchronized (this) {
+            misses++;
+            put(key, result);
+        }
+        writeToDisk(key, graph, result);
+        return result;
+    }
+
+    private void put(String key, MSTResult result) {
+        MSTResult previous = entries.put(key, result);
+        if (previous != null) release(previous);
+        retain(result);
+
+        Iterator<Map.Entry<String, MSTResult>> eldest = entries.entrySet().iterator();
+        while (cachedEdges > maxCachedEdges && entries.size() > 1 && eldest.hasNext()) {
+            MSTResult evicted = eldest.next().getValue();
+            eldest.remove();
+            release(evicted);
+            evictions++;
+        }
+    }
+
+    private void retain(MSTResult result) {
+        cachedEdges += result.getEdgeCount();
+        IndexedGraph graph = result.getGraph();
+        if (graph == null) return;
+        int sharing = pinnedGraphs.getOrDefault(graph, 0);
+        if (sharing == 0) cachedEdges += graph.getEdgeCount();
+        pinnedGraphs.put(graph, sharing + 1);
+    }
+
+    private void release(MSTResult result) {
+        cachedEdges -= result.getEdgeCount();
+        IndexedGraph graph = result.getGraph();
+        if (graph == null) return;
+        int sharing = pinnedGraphs.get(graph) - 1;
+        if (sharing > 0) {
+            pinnedGraphs.put(graph, sharing);
+        } else {
+            pinnedGraphs.remove(graph);
+            cachedEdges -= graph.getEdgeCount();
+        }
+    }
+
+    private MSTResult readFromDisk(String key, Graph graph) {
+        if (directory == null) return null;
+        File file = new File(directory, key + ".json");
+        if (!file.exists()) return null;
+
+        CacheEntry entry;
+        try {
+            entry = JsonUtils.readJson(file, CacheEntry.class);
+        } catch (IOException e) {
+            System.err.println("⚠️  Ignoring unreadable cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+        if (!matches(entry, graph)) {
+            System.err.println("⚠️  Ignoring cache entry " + file + " that does not fit the requested graph");
+            return null;
+        }
+        return JsonUtils.convertToMSTResult(entry.getMst());
+    }
+
+    // Same vertex and edge counts, at most V-1 tree edges, and every tree edge present in the graph
+    private static boolean matches(CacheEntry entry, Graph graph) {
+        MSTOutput mst = entry.getMst();
+        if (mst == null || mst.getMst_edges() == null || mst.getTotal_cost() == null) return false;
+        if (entry.getVertex_count() != graph.getVertexCount() || entry.getEdge_count() != graph.getEdgeCount()) {
+            return false;
+        }
+        List<EdgeOutput> tree = mst.getMst_edges();
+        if (tree.size() > Math.max(graph.getVertexCount() - 1, 0)) return false;
+
+        Set<Edge> edges = new HashSet<>(graph.getEdges());
+        for (EdgeOutput edge : tree) {
+            Number weight = edge.getWeight();
+            if (edge.getFrom() == null || edge.getTo() == null || weight == null) return false;
+            if (weight.doubleValue() != weight.intValue()) return false;
+            if (!edges.contains(new Edge(edge.getFrom(), edge.getTo(), weight.intValue()))) return false;
+        }
+        return true;
+    }
+
+    private void writeToDisk(String key, Graph graph, MSTResult result) {
+        if (directory == null) return;
+        File target = new File(directory, key + ".json");
+        File temp = new File(directory, key + ".json.tmp");
+        try {
+            JsonUtils.writeJson(temp.getPath(), new CacheEntry(graph.getVertexCount(), graph.getEdgeCount(),
+                    JsonUtils.convertToMSTOutput(result)));
+            if (!temp.renameTo(target)) temp.delete();
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not persist cache entry " + target + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getDiskHits() { return diskHits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized int size() { return entries.size(); }
+    /** Current charge against the bound: tree edges plus the edges of every pinned graph. */
+    public synchronized long getCachedEdges() { return cachedEdges; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("MSTCache{entries=%d, hits=%d, diskHits=%d, misses=%d, evictions=%d}",
+                entries.size(), hits, diskHits, misses, evictions);
+    }
+}
@@ -0,0 +1,219 @@
+package com.mst.clustering;
+
+import com.mst.algorithms.PartitionForest;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Single-linkage dendrogram: the order in which Kruskal's union-find merges clusters.
+ *
+ * Merge m joins two clusters with the edge {@link #getMergeEdge(int)}; clusters are numbered
+ * SciPy-style, vertices 0..V-1 and merge m's cluster V+m. Merge weights never decrease, so
+ * keeping the first V-k merges gives the k-clustering with maximum spacing, and a distance
+ * threshold keeps every merge at or below it.
+ *
+ * Building also lays the vertices out so that every cluster of every cut is one contiguous run,
+ * recording for each pair of neighbours the merge that first joins them. A cut is then a single
+ * O(V) scan over that layout, with no union-find and no re-solve, so {@link #cutAll} can answer
+ * many k values in parallel from one build. A disconnected graph never merges its components:
+ * cuts below the component count return the components.
+ */
+public final class Dendrogram {
+    private final IndexedGraph graph;
+    private final int vertexCount;
+    private final int[] mergeEdges;
+    private final int[] left;
+    private final int[] right;
+    private final int[] sizes;
+    private final int[] leafOrder;
+    // Merge that first joins leafOrder[i] and leafOrder[i + 1]; MAX_VALUE across components
+    private final int[] boundaryMerge;
+
+    /** Runs Kruskal over the whole graph and records its merges. */
+    public static Dendrogram build(IndexedGraph graph) {
+        return fromEdges(graph, graph.edgesByTieRank());
+    }
+
+    /** Reuses a spanning tree or forest already solved for graph, e.g. a Kruskal or Prim result. */
+    public static Dendrogram fromSpanningTree(IndexedGraph graph, MSTResult tree) {
+        if (!tree.hasEdgeIndices() || tree.getGraph() != graph) {
+            throw new IllegalArgumentException("Spanning tree was not solved on this graph");
+        }
+        // Tie-rank order, so equal weights merge in the same order as Kruskal
+        int[] tieRanks = graph.tieRanks();
+        int[] byRank = new int[tree.getEdgeCount()];
+        for (int i = 0; i < byRank.length; i++) byRank[i] = tieRanks[tree.getEdgeIndex(i)];
+        Arrays.sort(byRank);
+        int[] edgesByRank = graph.edgesByTieRank();
+        for (int i = 0; i < byRank.length; i++) byRank[i] = edgesByRank[byRank[i]];
+        return fromEdges(graph, byRank);
+    }
+
+    private static Dendrogram fromEdges(IndexedGraph graph, int[] edgesInTieOrder) {
+        int n = edgesInTieOrder.length;
+        int[] from = new int[n];
+        int[] to = new int[n];
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int e = edgesInTieOrder[i];
+            from[i] = graph.getFrom(e);
+            to[i] = graph.getTo(e);
+            keys[i] = PartitionForest.weightKey(graph, e);
+        }
+        int[] positions = PartitionForest.compute(graph.getVertexCount(), from, to, keys, n, SolverWorkspace.current());
+        int[] merges = new int[positions.length];
+        for (int m = 0; m < merges.length; m++) merges[m] = edgesInTieOrder[positions[m]];
+        return new Dendrogram(graph, merges);
+    }
+
+    private Dendrogram(IndexedGraph graph, int[] mergeEdges) {
+        this.graph = graph;
+        this.vertexCount = graph.getVertexCount();
+        this.mergeEdges = mergeEdges;
+        int merges = mergeEdges.length;
+        this.left = new int[merges];
+        this.right = new int[merges];
+        this.sizes = new int[merges];
+
+        // Replay the merges, tracking which dendrogram cluster each union-find root stands for
+        int[] parent = new int[vertexCount];
+        int[] rootSize = new int[vertexCount];
+        int[] clusterOf = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            parent[v] = v;
+            rootSize[v] = 1;
+            clusterOf[v] = v;
+        }
+        for (int m = 0; m < merges; m++) {
+            int a = find(parent, graph.getFrom(mergeEdges[m]));
+            int b = find(parent, graph.getTo(mergeEdges[m]));
+            left[m] = clusterOf[a];
+            right[m] = clusterOf[b];
+            if (rootSize[a] < rootSize[b]) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            parent[b] = a;
+            rootSize[a] += rootSize[b];
+            clusterOf[a] = vertexCount + m;
+            sizes[m] = rootSize[a];
+        }
+
+        this.leafOrder = new int[vertexCount];
+        this.boundaryMerge = new int[Math.max(vertexCount - 1, 0)];
+        layOut(parent, clusterOf);
+    }
+
+    // In-order walk of each component's tree, components taken by their lowest vertex
+    private void layOut(int[] parent, int[] clusterOf) {
+        boolean[] placed = new boolean[vertexCount];
+        int[] stack = new int[2 * vertexCount + 1];
+        int position = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int root = find(parent, v);
+            if (placed[root]) continue;
+            placed[root] = true;
+            int pending = Integer.MAX_VALUE;
+            int top = 0;
+            stack[top++] = clusterOf[root];
+            while (top > 0) {
+                int node = stack[--top];
+                if (node < 0) {
+                    // Marker between merge m's left and right subtrees
+                    pending = -node - 1;
+                } else if (node < vertexCount) {
+                    if (position > 0) boundaryMerge[position - 1] = pending;
+                    leafOrder[position++] = node;
+                } else {
+                    int m = node - vertexCount;
+                    stack[top++] = right[m];
+                    stack[top++] = -m - 1;
+                    stack[top++] = left[m];
+                }
+            }
+        }
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public IndexedGraph getGraph() { return graph; }
+    public int getVertexCount() { return vertexCount; }
+    public int getMergeCount() { return mergeEdges.length; }
+    public int getComponentCount() { return vertexCount - mergeEdges.length; }
+
+    public int getMergeEdge(int m) { return mergeEdges[m]; }
+    public int getLeft(int m) { return left[m]; }
+    public int getRight(int m) { return right[m]; }
+    public int getSize(int m) { return sizes[m]; }
+
+    public double getMergeHeight(int m) {
+        return graph.getDoubleWeight(mergeEdges[m]);
+    }
+
+    /** Vertices in dendrogram order: every cluster of every cut is a contiguous run. */
+    public int[] getLeafOrder() {
+        return leafOrder.clone();
+    }
+
+    /** The k-clustering (or the components, if there are more than k). */
+    public Partition cut(int k) {
+        if (k < 1 || k > Math.max(vertexCount, 1)) {
+            throw new IllegalArgumentException("k must be between 1 and " + vertexCount + ", got " + k);
+        }
+        return partition(Math.max(0, Math.min(vertexCount - k, mergeEdges.length)));
+    }
+
+    /** Clusters joined by every merge of weight at most threshold. */
+    public Partition cutAtDistance(double threshold) {
+        int low = 0;
+        int high = mergeEdges.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getMergeHeight(mid) <= threshold) low = mid + 1;
+            else high = mid;
+        }
+        return partition(low);
+    }
+
+    /** One cut per k, evaluated in parallel; results are in the order of ks. */
+    public List<Partition> cutAll(int... ks) {
+        return Arrays.stream(ks).parallel().mapToObj(this::cut).collect(Collectors.toList());
+    }
+
+    private Partition partition(int applied) {
+        // Runs of the layout are clusters; number them by their lowest vertex
+        int[] run = new int[vertexCount];
+        int runs = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            if (i > 0 && boundaryMerge[i - 1] >= applied) runs++;
+            run[leafOrder[i]] = runs;
+        }
+        int clusterCount = vertexCount == 0 ? 0 : runs + 1;
+        int[] label = new int[clusterCount];
+        Arrays.fill(label, -1);
+        int[] labels = new int[vertexCount];
+        int[] clusterSizes = new int[clusterCount];
+        int next = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int r = run[v];
+            if (label[r] < 0) label[r] = next++;
+            labels[v] = label[r];
+            clusterSizes[labels[v]]++;
+        }
+        double height = applied > 0 ? getMergeHeight(applied - 1) : Double.NaN;
+        double separation = applied < mergeEdges.length ? getMergeHeight(applied) : Double.POSITIVE_INFINITY;
+        return new Partition(graph, labels, clusterSizes, applied, height, separation);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mst.clustering;
+
+import com.mst.core.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One cut of a {@link Dendrogram}. Cluster labels run 0..k-1 in order of each cluster's lowest
+ * vertex index.
+ */
+public final class Partition {
+    private final IndexedGraph graph;
+    private final int[] labels;
+    private final int[] clusterSizes;
+    private final int mergesApplied;
+    private final double mergeHeight;
+    private final double separation;
+
+    Partition(IndexedGraph graph, int[] labels, int[] clusterSizes, int mergesApplied,
+              double mergeHeight, double separation) {
+        this.graph = graph;
+        this.labels = labels;
+        this.clusterSizes = clusterSizes;
+        this.mergesApplied = mergesApplied;
+        this.mergeHeight = mergeHeight;
+        this.separation = separation;
+    }
+
+    public int getClusterCount() { return clusterSizes.length; }
+    public int getLabel(int vertex) { return labels[vertex]; }
+    public int[] getLabels() { return labels; }
+    public int[] getClusterSizes() { return clusterSizes; }
+    public int getMergesApplied() { return mergesApplied; }
+
+    /** Weight of the last merge inside the cut, NaN when every vertex is on its own. */
+    public double getMergeHeight() { return mergeHeight; }
+
+    /** Smallest edge weight between two clusters (single-linkage spacing); infinite across components. */
+    public double getSeparation() { return separation; }
+
+    /** Vertex names grouped by cluster label. */
+    public List<List<String>> getClusters() {
+        List<List<String>> clusters = new ArrayList<>(clusterSizes.length);
+        for (int size : clusterSizes) clusters.add(new ArrayList<>(size));
+        for (int v = 0; v < labels.length; v++) clusters.get(labels[v]).add(graph.getVertexName(v));
+        return clusters;
+    }
+}
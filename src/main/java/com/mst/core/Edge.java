@@ -6,20 +6,65 @@ public class Edge implements Comparable<Edge> {
     private final String from;
     private final String to;
     private final int weight;
+    // Weight of an edge from a LONG or DOUBLE graph that does not fit the int field; null otherwise
+    private final Number wideWeight;
 
     public Edge(String from, String to, int weight) {
         this.from = from;
         this.to = to;
         this.weight = weight;
+        this.wideWeight = null;
+    }
+
+    /** Edge with a weight of any width; whole values that fit an int are stored as one. */
+    public Edge(String from, String to, Number weight) {
+        this.from = from;
+        this.to = to;
+        boolean integral = !(weight instanceof Double || weight instanceof Float);
+        boolean fitsInt = integral && weight.longValue() == weight.intValue();
+        this.weight = fitsInt ? weight.intValue() : 0;
+        this.wideWeight = fitsInt ? null : integral ? (Number) weight.longValue() : (Number) weight.doubleValue();
     }
 
     public String getFrom() { return from; }
     public String getTo() { return to; }
-    public int getWeight() { return weight; }
+
+    public int getWeight() {
+        if (wideWeight != null) {
+            throw new IllegalStateException("Edge weight " + wideWeight + " does not fit an int; use getWeightValue");
+        }
+        return weight;
+    }
+
+    /** The weight as an Integer, or a Long or Double when it does not fit one. */
+    public Number getWeightValue() {
+        return wideWeight != null ? wideWeight : (Number) weight;
+    }
 
     @Override
     public int compareTo(Edge other) {
-        return Integer.compare(this.weight, other.weight);
+        int byWeight = compareWeights(other);
+        if (byWeight != 0) return byWeight;
+        int byLow = lowEndpoint().compareTo(other.lowEndpoint());
+        if (byLow != 0) return byLow;
+        return highEndpoint().compareTo(other.highEndpoint());
+    }
+
+    // Endpoints in name order, so the tie-break ignores edge direction
+    public String lowEndpoint() {
+        return from.compareTo(to) <= 0 ? from : to;
+    }
+
+    public String highEndpoint() {
+        return from.compareTo(to) <= 0 ? to : from;
+    }
+
+    private int compareWeights(Edge other) {
+        if (wideWeight == null && other.wideWeight == null) return Integer.compare(weight, other.weight);
+        Number a = getWeightValue();
+        Number b = other.getWeightValue();
+        if (a instanceof Double || b instanceof Double) return Double.compare(a.doubleValue(), b.doubleValue());
+        return Long.compare(a.longValue(), b.longValue());
     }
 
     @Override
@@ -27,20 +72,22 @@ public class Edge implements Comparable<Edge> {
         if (this == obj) return true;
         if (!(obj instanceof Edge)) return false;
         Edge other = (Edge) obj;
-        return weight == other.weight &&
+        return compareWeights(other) == 0 &&
                 ((from.equals(other.from) && to.equals(other.to)) ||
                         (from.equals(other.to) && to.equals(other.from)));
     }
 
     @Override
     public int hashCode() {
+        // Hashed as a double, so an int, long and double weight that compare equal hash alike
+        int weightHash = Double.hashCode(wideWeight != null ? wideWeight.doubleValue() : weight);
         return Objects.hash(Math.min(from.hashCode(), to.hashCode()),
-                Math.max(from.hashCode(), to.hashCode()), weight);
+                Math.max(from.hashCode(), to.hashCode()), weightHash);
     }
 
     @Override
     public String toString() {
-        return String.format("Edge{from='%s', to='%s', weight=%d}", from, to, weight);
+        return String.format("Edge{from='%s', to='%s', weight=%s}", from, to, getWeightValue());
     }
 
     // Новые методы для работы с вершинами
@@ -6,6 +6,7 @@ public class Graph {
     private final int id;
     private final List<String> vertices;
     private final List<Edge> edges;
+    private volatile IndexedGraph indexed;
 
     public Graph(int id, List<String> vertices, List<Edge> edges) {
         this.id = id;
@@ -19,6 +20,15 @@ public class Graph {
     public int getVertexCount() { return vertices.size(); }
     public int getEdgeCount() { return edges.size(); }
 
+    public IndexedGraph toIndexed() {
+        IndexedGraph result = indexed;
+        if (result == null) {
+            result = IndexedGraph.from(this);
+            indexed = result;
+        }
+        return result;
+    }
+
     public Map<String, List<Edge>> getAdjacencyList() {
         Map<String, List<Edge>> adjList = new HashMap<>();
 
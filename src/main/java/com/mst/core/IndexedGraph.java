@@ -0,0 +1,235 @@
+package com.mst.core;
+
+import java.util.*;
+
+/**
+ * Int-indexed, array-backed view of a graph for the allocation-free solvers.
+ * Vertices are numbered 0..V-1 and edges 0..E-1 in input order; adjacency is stored in
+ * compressed sparse row form, every edge appearing once in the list of each endpoint.
+ * Weights are held in exactly one primitive array whose type is given by {@link #getWeightType()}.
+ *
+ * All solvers order edges by weight, then by the tie rank from {@link #tieRanks()}, which
+ * makes the MST unique and independent of algorithm, thread count and input order.
+ */
+public class IndexedGraph {
+    private final int id;
+    private final String[] vertexNames;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final WeightType weightType;
+    private final int[] edgeWeight;
+    private final long[] longWeight;
+    private final double[] doubleWeight;
+    private final int[] adjacencyOffsets;
+    private final int[] adjacencyEdges;
+    private final Graph source;
+    private final int[] tieRanks;
+    private final int[] edgesByTieRank;
+
+    public IndexedGraph(int id, String[] vertexNames, int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        this(id, vertexNames, edgeFrom, edgeTo, WeightType.INT, edgeWeight, null, null, null);
+    }
+
+    public static IndexedGraph withLongWeights(int id, String[] vertexNames, int[] edgeFrom, int[] edgeTo,
+                                              long[] edgeWeight) {
+        return new IndexedGraph(id, vertexNames, edgeFrom, edgeTo, WeightType.LONG, null, edgeWeight, null, null);
+    }
+
+    public static IndexedGraph withDoubleWeights(int id, String[] vertexNames, int[] edgeFrom, int[] edgeTo,
+                                                 double[] edgeWeight) {
+        for (double weight : edgeWeight) {
+            if (Double.isNaN(weight)) throw new IllegalArgumentException("Edge weight must not be NaN");
+        }
+        return new IndexedGraph(id, vertexNames, edgeFrom, edgeTo, WeightType.DOUBLE, null, null, edgeWeight, null);
+    }
+
+    private IndexedGraph(int id, String[] vertexNames, int[] edgeFrom, int[] edgeTo, WeightType weightType,
+                         int[] edgeWeight, long[] longWeight, double[] doubleWeight, Graph source) {
+        int weightCount = edgeWeight != null ? edgeWeight.length
+                : longWeight != null ? longWeight.length : doubleWeight.length;
+        if (edgeFrom.length != edgeTo.length || edgeFrom.length != weightCount) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        this.id = id;
+        this.vertexNames = vertexNames;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.weightType = weightType;
+        this.edgeWeight = edgeWeight;
+        this.longWeight = longWeight;
+        this.doubleWeight = doubleWeight;
+        this.source = source;
+
+        int n = vertexNames.length;
+        int m = edgeFrom.length;
+        adjacencyOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            adjacencyOffsets[edgeFrom[e] + 1]++;
+            adjacencyOffsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjacencyOffsets[v + 1] += adjacencyOffsets[v];
+        }
+        adjacencyEdges = new int[adjacencyOffsets[n]];
+        int[] fill = Arrays.copyOf(adjacencyOffsets, n);
+        for (int e = 0; e < m; e++) {
+            adjacencyEdges[fill[edgeFrom[e]]++] = e;
+            adjacencyEdges[fill[edgeTo[e]]++] = e;
+        }
+
+        // Built with the graph so no solver pays for it inside its timed, allocation-free region
+        edgesByTieRank = tieOrder(nameRanks(vertexNames), edgeFrom, edgeTo);
+        tieRanks = new int[m];
+        for (int r = 0; r < m; r++) tieRanks[edgesByTieRank[r]] = r;
+    }
+
+    public static IndexedGraph from(Graph graph) {
+        List<String> vertices = graph.getVertices();
+        List<Edge> edges = graph.getEdges();
+
+        Map<String, Integer> index = new HashMap<>(vertices.size() * 2);
+        String[] names = new String[vertices.size()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = vertices.get(v);
+            index.put(names[v], v);
+        }
+
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] weight = new int[edges.size()];
+        for (int e = 0; e < from.length; e++) {
+            Edge edge = edges.get(e);
+            from[e] = vertexIndex(index, edge.getFrom());
+            to[e] = vertexIndex(index, edge.getTo());
+            weight[e] = edge.getWeight();
+        }
+        return new IndexedGraph(graph.getId(), names, from, to, WeightType.INT, weight, null, null, graph);
+    }
+
+    private static int vertexIndex(Map<String, Integer> index, String vertex) {
+        Integer v = index.get(vertex);
+        if (v == null) {
+            throw new IllegalArgumentException("Edge references unknown vertex: " + vertex);
+        }
+        return v;
+    }
+
+    public int getId() { return id; }
+    public int getVertexCount() { return vertexNames.length; }
+    public int getEdgeCount() { return edgeFrom.length; }
+
+    public String getVertexName(int v) { return vertexNames[v]; }
+    public int getFrom(int e) { return edgeFrom[e]; }
+    public int getTo(int e) { return edgeTo[e]; }
+    public WeightType getWeightType() { return weightType; }
+
+    public int getWeight(int e) {
+        if (edgeWeight == null) {
+            throw new IllegalStateException("Graph has " + weightType + " weights; use the wide weight accessors");
+        }
+        return edgeWeight[e];
+    }
+
+    public long getLongWeight(int e) {
+        if (edgeWeight != null) return edgeWeight[e];
+        if (longWeight != null) return longWeight[e];
+        throw new IllegalStateException("Graph has DOUBLE weights");
+    }
+
+    public double getDoubleWeight(int e) {
+        if (edgeWeight != null) return edgeWeight[e];
+        if (longWeight != null) return longWeight[e];
+        return doubleWeight[e];
+    }
+
+    public Number getWeightValue(int e) {
+        switch (weightType) {
+            case INT: return edgeWeight[e];
+            case LONG: return longWeight[e];
+            default: return doubleWeight[e];
+        }
+    }
+
+    public int getOther(int e, int v) {
+        return edgeFrom[e] == v ? edgeTo[e] : edgeFrom[e];
+    }
+
+    public int adjacencyStart(int v) { return adjacencyOffsets[v]; }
+    public int adjacencyEnd(int v) { return adjacencyOffsets[v + 1]; }
+    public int adjacentEdge(int i) { return adjacencyEdges[i]; }
+
+    public Graph getSource() { return source; }
+
+    /**
+     * Rank of every edge under (smaller endpoint name, larger endpoint name, edge index),
+     * the tie-break applied between equal weights. Computed with the graph; do not modify.
+     */
+    public int[] tieRanks() {
+        return tieRanks;
+    }
+
+    /** Inverse of {@link #tieRanks()}: the edge holding each rank. */
+    public int[] edgesByTieRank() {
+        return edgesByTieRank;
+    }
+
+    /**
+     * Rank of every vertex name in String order, ties by vertex index. Readers that never build
+     * the whole graph key edges with (weight, min rank, max rank) to reproduce the same tie-break.
+     */
+    public static int[] nameRanks(String[] names) {
+        int n = names.length;
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) order[v] = v;
+        // Bottom-up merge sort of vertex ids by name: stable and free of boxing
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width <<= 1) {
+            for (int low = 0; low < n; low += width << 1) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + (width << 1), n);
+                int i = low, j = mid, k = low;
+                while (i < mid && j < high) {
+                    buffer[k++] = names[order[j]].compareTo(names[order[i]]) < 0 ? order[j++] : order[i++];
+                }
+                while (i < mid) buffer[k++] = order[i++];
+                while (j < high) buffer[k++] = order[j++];
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        int[] ranks = buffer;
+        for (int i = 0; i < n; i++) ranks[order[i]] = i;
+        return ranks;
+    }
+
+    // Edges counting-sorted by (min, then max) endpoint name rank; ties keep edge index order
+    private static int[] tieOrder(int[] nameRank, int[] edgeFrom, int[] edgeTo) {
+        int n = nameRank.length;
+        int m = edgeFrom.length;
+        int[] start = new int[n + 1];
+        for (int e = 0; e < m; e++) start[Math.max(nameRank[edgeFrom[e]], nameRank[edgeTo[e]]) + 1]++;
+        for (int k = 0; k < n; k++) start[k + 1] += start[k];
+        int[] byHigh = new int[m];
+        for (int e = 0; e < m; e++) byHigh[start[Math.max(nameRank[edgeFrom[e]], nameRank[edgeTo[e]])]++] = e;
+
+        Arrays.fill(start, 0);
+        for (int e = 0; e < m; e++) start[Math.min(nameRank[edgeFrom[e]], nameRank[edgeTo[e]]) + 1]++;
+        for (int k = 0; k < n; k++) start[k + 1] += start[k];
+        int[] edges = new int[m];
+        for (int e : byHigh) edges[start[Math.min(nameRank[edgeFrom[e]], nameRank[edgeTo[e]])]++] = e;
+        return edges;
+    }
+
+    public Edge getEdge(int e) {
+        if (source != null) return source.getEdges().get(e);
+        String from = vertexNames[edgeFrom[e]];
+        String to = vertexNames[edgeTo[e]];
+        return weightType == WeightType.INT ? new Edge(from, to, edgeWeight[e]) : new Edge(from, to, getWeightValue(e));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndexedGraph{id=%d, vertices=%d, edges=%d}", id, vertexNames.length, edgeFrom.length);
+    }
+}
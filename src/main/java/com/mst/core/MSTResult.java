@@ -1,24 +1,145 @@
 package com.mst.core;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class MSTResult {
     private List<Edge> mstEdges;
-    private int totalCost;
+    private IndexedGraph graph;
+    private int[] edgeIndices;
+    private WeightType weightType = WeightType.INT;
+    private long totalCost;
+    private double totalCostDouble;
     private int operationsCount;
     private long executionTime;
+    private boolean cacheHit;
 
-    public MSTResult(List<Edge> mstEdges, int totalCost, int operationsCount, long executionTime) {
+    public MSTResult(List<Edge> mstEdges, long totalCost, int operationsCount, long executionTime) {
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
         this.operationsCount = operationsCount;
         this.executionTime = executionTime;
     }
 
-    public List<Edge> getMstEdges() { return mstEdges; }
-    public int getTotalCost() { return totalCost; }
+    // Compact form: the tree is stored as indices into the graph's edge arrays (4 bytes per edge)
+    public MSTResult(IndexedGraph graph, int[] edgeIndices, long totalCost, int operationsCount, long executionTime) {
+        if (graph.getWeightType() == WeightType.DOUBLE) {
+            throw new IllegalArgumentException("Use withDoubleCost for DOUBLE-weighted graphs");
+        }
+        this.graph = graph;
+        this.edgeIndices = edgeIndices;
+        this.weightType = graph.getWeightType();
+        this.totalCost = totalCost;
+        this.operationsCount = operationsCount;
+        this.executionTime = executionTime;
+    }
+
+    public static MSTResult withDoubleCost(IndexedGraph graph, int[] edgeIndices, double totalCost,
+                                           int operationsCount, long executionTime) {
+        MSTResult result = new MSTResult(null, 0, operationsCount, executionTime);
+        result.graph = graph;
+        result.edgeIndices = edgeIndices;
+        result.weightType = WeightType.DOUBLE;
+        result.totalCostDouble = totalCost;
+        return result;
+    }
+
+    /** The same tree expressed on another graph: edge e of this result's graph is edgeMap[e] there. */
+    public MSTResult remapTo(IndexedGraph target, int[] edgeMap) {
+        int[] edges = new int[edgeIndices.length];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = edgeMap[edgeIndices[i]];
+        }
+        if (weightType == WeightType.DOUBLE) {
+            return withDoubleCost(target, edges, totalCostDouble, operationsCount, executionTime);
+        }
+        return new MSTResult(target, edges, totalCost, operationsCount, executionTime);
+    }
+
+    /** This tree as served from a cache: nothing was solved, so it reports no execution time. */
+    public MSTResult asCacheHit() {
+        MSTResult hit = new MSTResult(mstEdges, totalCost, operationsCount, 0);
+        hit.graph = graph;
+        hit.edgeIndices = edgeIndices;
+        hit.weightType = weightType;
+        hit.totalCostDouble = totalCostDouble;
+        hit.cacheHit = true;
+        return hit;
+    }
+
+    public List<Edge> getMstEdges() {
+        if (mstEdges != null) return mstEdges;
+        return new EdgeView(graph, edgeIndices);
+    }
+
+    public int getEdgeCount() {
+        return mstEdges != null ? mstEdges.size() : edgeIndices.length;
+    }
+
+    public boolean hasEdgeIndices() { return edgeIndices != null; }
+    public IndexedGraph getGraph() { return graph; }
+    public int getEdgeIndex(int i) { return edgeIndices[i]; }
+    // Shared backing array, not a copy
+    public int[] getEdgeIndices() { return edgeIndices; }
+
+    public WeightType getWeightType() { return weightType; }
+
+    /**
+     * Throws instead of silently wrapping when the cost no longer fits an int.
+     * @deprecated costs of LONG graphs, and of large INT graphs, overflow an int; use
+     * {@link #getTotalCostAsLong()} or {@link #getTotalCostValue()}
+     */
+    @Deprecated
+    public int getTotalCost() { return Math.toIntExact(getTotalCostAsLong()); }
+
+    public long getTotalCostAsLong() {
+        if (weightType == WeightType.DOUBLE) {
+            throw new IllegalStateException("MST of a DOUBLE-weighted graph has a fractional cost");
+        }
+        return totalCost;
+    }
+
+    public double getTotalCostAsDouble() {
+        return weightType == WeightType.DOUBLE ? totalCostDouble : totalCost;
+    }
+
+    public Number getTotalCostValue() {
+        if (weightType == WeightType.DOUBLE) return totalCostDouble;
+        return totalCost;
+    }
+
+    /** Weight of the heaviest tree edge, or null for an empty tree. */
+    public Number getBottleneckWeight() {
+        if (getEdgeCount() == 0) return null;
+        if (mstEdges != null) {
+            int max = Integer.MIN_VALUE;
+            for (Edge edge : mstEdges) max = Math.max(max, edge.getWeight());
+            return max;
+        }
+        if (weightType == WeightType.DOUBLE) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int edge : edgeIndices) max = Math.max(max, graph.getDoubleWeight(edge));
+            return max;
+        }
+        long max = Long.MIN_VALUE;
+        for (int edge : edgeIndices) max = Math.max(max, graph.getLongWeight(edge));
+        return max;
+    }
+
+    public boolean hasSameCost(MSTResult other) {
+        if (weightType != WeightType.DOUBLE && other.weightType != WeightType.DOUBLE) {
+            return totalCost == other.totalCost;
+        }
+        // Summation order differs between algorithms, so compare fractional costs with a relative tolerance
+        double a = getTotalCostAsDouble();
+        double b = other.getTotalCostAsDouble();
+        return Math.abs(a - b) <= 1e-9 * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
     public int getOperationsCount() { return operationsCount; }
     public long getExecutionTime() { return executionTime; }
+    public boolean isCacheHit() { return cacheHit; }
 
     // Добавим полезные методы
     public double getExecutionTimeMs() {
@@ -26,6 +147,26 @@ public class MSTResult {
     }
 
     public boolean isValidMST(int vertexCount) {
-        return mstEdges.size() == vertexCount - 1 && totalCost >= 0;
+        return getEdgeCount() == vertexCount - 1 && getTotalCostAsDouble() >= 0;
+    }
+
+    private static class EdgeView extends AbstractList<Edge> implements RandomAccess {
+        private final IndexedGraph graph;
+        private final int[] edgeIndices;
+
+        EdgeView(IndexedGraph graph, int[] edgeIndices) {
+            this.graph = graph;
+            this.edgeIndices = edgeIndices;
+        }
+
+        @Override
+        public Edge get(int index) {
+            return graph.getEdge(edgeIndices[index]);
+        }
+
+        @Override
+        public int size() {
+            return edgeIndices.length;
+        }
     }
-}
\ No newline at end of file
+}
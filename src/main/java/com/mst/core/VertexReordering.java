@@ -0,0 +1,268 @@
+package com.mst.core;
+
+import java.util.Arrays;
+
+/**
+ * Renumbers the vertices of an {@link IndexedGraph} so that neighbours get nearby ids, then
+ * renumbers the edges by their smaller new endpoint. CSR scans in the solvers then walk the
+ * visited bitset, heap keys and edge arrays mostly sequentially instead of at random.
+ *
+ * Vertex names travel with their vertices and tie ranks are name-based, so solving the
+ * reordered graph yields the same tree; {@link #mapBack(MSTResult)} translates its edge
+ * indices back to the original graph.
+ */
+public final class VertexReordering {
+
+    public enum Strategy {
+        BFS,
+        RCM,
+        HILBERT
+    }
+
+    private final IndexedGraph original;
+    private final IndexedGraph reordered;
+    private final int[] originalVertex;
+    private final int[] originalEdge;
+
+    private VertexReordering(IndexedGraph original, int[] order) {
+        int n = original.getVertexCount();
+        int m = original.getEdgeCount();
+        this.original = original;
+        this.originalVertex = order;
+
+        int[] newId = new int[n];
+        for (int v = 0; v < n; v++) newId[order[v]] = v;
+
+        // Counting sort of edges by their smaller new endpoint, stable in original edge order
+        int[] start = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            start[Math.min(newId[original.getFrom(e)], newId[original.getTo(e)]) + 1]++;
+        }
+        for (int v = 0; v < n; v++) start[v + 1] += start[v];
+        originalEdge = new int[m];
+        for (int e = 0; e < m; e++) {
+            originalEdge[start[Math.min(newId[original.getFrom(e)], newId[original.getTo(e)])]++] = e;
+        }
+
+        String[] names = new String[n];
+        for (int v = 0; v < n; v++) names[v] = original.getVertexName(order[v]);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = newId[original.getFrom(originalEdge[e])];
+            to[e] = newId[original.getTo(originalEdge[e])];
+        }
+        this.reordered = copyWeights(names, from, to);
+    }
+
+    public static VertexReordering of(Strategy strategy, IndexedGraph graph) {
+        switch (strategy) {
+            case BFS: return bfs(graph);
+            case RCM: return reverseCuthillMcKee(graph);
+            default: throw new IllegalArgumentException("HILBERT ordering needs vertex coordinates");
+        }
+    }
+
+    /** order[newId] = oldId; must be a permutation of 0..V-1. */
+    public static VertexReordering of(IndexedGraph graph, int[] order) {
+        return new VertexReordering(graph, order);
+    }
+
+    /** Breadth-first order, each component started from its lowest-numbered vertex. */
+    public static VertexReordering bfs(IndexedGraph graph) {
+        int n = graph.getVertexCount();
+        int[] order = new int[n];
+        boolean[] seen = new boolean[n];
+        int size = 0;
+        for (int root = 0; root < n; root++) {
+            if (seen[root]) continue;
+            seen[root] = true;
+            order[size++] = root;
+            for (int head = size - 1; head < size; head++) {
+                int v = order[head];
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    int w = graph.getOther(graph.adjacentEdge(i), v);
+                    if (!seen[w]) {
+                        seen[w] = true;
+                        order[size++] = w;
+                    }
+                }
+            }
+        }
+        return new VertexReordering(graph, order);
+    }
+
+    /**
+     * Reverse Cuthill-McKee: BFS from a pseudo-peripheral vertex of each component, visiting
+     * neighbours by increasing degree, with the final order reversed. Minimises bandwidth,
+     * so an edge's endpoints end up close together.
+     */
+    public static VertexReordering reverseCuthillMcKee(IndexedGraph graph) {
+        int n = graph.getVertexCount();
+        int[] order = new int[n];
+        boolean[] seen = new boolean[n];
+        int[] levelMark = new int[n];
+        int[] queue = new int[n];
+        int[] level = new int[n];
+        long[] neighbours = new long[16];
+        int size = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (seen[root]) continue;
+            int start = peripheralVertex(graph, root, levelMark, queue, level);
+
+            seen[start] = true;
+            order[size++] = start;
+            for (int head = size - 1; head < size; head++) {
+                int v = order[head];
+                int count = 0;
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    int w = graph.getOther(graph.adjacentEdge(i), v);
+                    if (seen[w]) continue;
+                    seen[w] = true;
+                    if (count == neighbours.length) neighbours = Arrays.copyOf(neighbours, count * 2);
+                    neighbours[count++] = ((long) degree(graph, w) << 32) | w;
+                }
+                Arrays.sort(neighbours, 0, count);
+                for (int i = 0; i < count; i++) order[size++] = (int) neighbours[i];
+            }
+        }
+
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return new VertexReordering(graph, order);
+    }
+
+    /** Orders vertices along a Hilbert curve through their (x, y) coordinates. */
+    public static VertexReordering hilbert(IndexedGraph graph, double[] x, double[] y) {
+        int n = graph.getVertexCount();
+        if (x.length != n || y.length != n) {
+            throw new IllegalArgumentException("Need one coordinate pair per vertex");
+        }
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, x[v]);
+            maxX = Math.max(maxX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        int side = 1 << 15;
+        double scaleX = maxX > minX ? (side - 1) / (maxX - minX) : 0;
+        double scaleY = maxY > minY ? (side - 1) / (maxY - minY) : 0;
+
+        long[] keyed = new long[n];
+        for (int v = 0; v < n; v++) {
+            int cellX = (int) ((x[v] - minX) * scaleX);
+            int cellY = (int) ((y[v] - minY) * scaleY);
+            keyed[v] = (hilbertIndex(side, cellX, cellY) << 32) | v;
+        }
+        Arrays.sort(keyed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = (int) keyed[i];
+        return new VertexReordering(graph, order);
+    }
+
+    public IndexedGraph getOriginal() { return original; }
+    public IndexedGraph getReordered() { return reordered; }
+    public int originalVertex(int v) { return originalVertex[v]; }
+    public int originalEdge(int e) { return originalEdge[e]; }
+
+    /** Re-expresses a result computed on the reordered graph in the original graph's edge indices. */
+    public MSTResult mapBack(MSTResult result) {
+        return result.remapTo(original, originalEdge);
+    }
+
+    /** Mean |id(u) - id(v)| over all edges: a cheap proxy for how local the CSR scans are. */
+    public static double averageEdgeSpan(IndexedGraph graph) {
+        long total = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            total += Math.abs(graph.getFrom(e) - graph.getTo(e));
+        }
+        return graph.getEdgeCount() > 0 ? (double) total / graph.getEdgeCount() : 0;
+    }
+
+    private static int degree(IndexedGraph graph, int v) {
+        return graph.adjacencyEnd(v) - graph.adjacencyStart(v);
+    }
+
+    // George-Liu heuristic: repeatedly jump to a minimum-degree vertex of the last BFS level
+    private static int peripheralVertex(IndexedGraph graph, int root, int[] levelMark, int[] queue, int[] level) {
+        int best = root;
+        int bestEccentricity = -1;
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int stamp = root * 4 + attempt + 1;
+            int size = 0;
+            queue[size++] = best;
+            levelMark[best] = stamp;
+            level[best] = 0;
+            int lastLevelStart = 0;
+            for (int head = 0; head < size; head++) {
+                int v = queue[head];
+                if (level[v] > level[queue[lastLevelStart]]) lastLevelStart = head;
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    int w = graph.getOther(graph.adjacentEdge(i), v);
+                    if (levelMark[w] != stamp) {
+                        levelMark[w] = stamp;
+                        level[w] = level[v] + 1;
+                        queue[size++] = w;
+                    }
+                }
+            }
+            int eccentricity = level[queue[size - 1]];
+            if (eccentricity <= bestEccentricity) break;
+            bestEccentricity = eccentricity;
+
+            int candidate = queue[lastLevelStart];
+            for (int i = lastLevelStart; i < size; i++) {
+                if (degree(graph, queue[i]) < degree(graph, candidate)) candidate = queue[i];
+            }
+            if (attempt < 3) best = candidate;
+        }
+        return best;
+    }
+
+    private static long hilbertIndex(int side, int x, int y) {
+        long d = 0;
+        for (int s = side / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    private IndexedGraph copyWeights(String[] names, int[] from, int[] to) {
+        int m = from.length;
+        int id = original.getId();
+        switch (original.getWeightType()) {
+            case INT: {
+                int[] weights = new int[m];
+                for (int e = 0; e < m; e++) weights[e] = original.getWeight(originalEdge[e]);
+                return new IndexedGraph(id, names, from, to, weights);
+            }
+            case LONG: {
+                long[] weights = new long[m];
+                for (int e = 0; e < m; e++) weights[e] = original.getLongWeight(originalEdge[e]);
+                return IndexedGraph.withLongWeights(id, names, from, to, weights);
+            }
+            default: {
+                double[] weights = new double[m];
+                for (int e = 0; e < m; e++) weights[e] = original.getDoubleWeight(originalEdge[e]);
+                return IndexedGraph.withDoubleWeights(id, names, from, to, weights);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mst.core;
+
+import java.math.BigInteger;
+
+public enum WeightType {
+    INT,
+    LONG,
+    DOUBLE;
+
+    public static WeightType widest(WeightType a, WeightType b) {
+        return a.ordinal() >= b.ordinal() ? a : b;
+    }
+
+    public static WeightType of(Number weight) {
+        if (weight instanceof Integer || weight instanceof Short || weight instanceof Byte) return INT;
+        // An integer too wide for a long keeps its magnitude as a double instead of losing its high bits
+        if (weight instanceof BigInteger && ((BigInteger) weight).bitLength() > 63) return DOUBLE;
+        if (weight instanceof Long || weight instanceof BigInteger) {
+            long value = weight.longValue();
+            return value == (int) value ? INT : LONG;
+        }
+        return DOUBLE;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mst.distributed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts PartitionWorker JVMs on this machine, each with its own heap, and stops them on close.
+ */
+public class LocalWorkerPool implements AutoCloseable {
+    private final List<Process> processes = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    /** maxHeap is passed through as -Xmx (e.g. "512m"); null keeps the JVM default. */
+    public LocalWorkerPool(int count, String maxHeap) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        try {
+            for (int i = 0; i < count; i++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                if (maxHeap != null) command.add("-Xmx" + maxHeap);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(PartitionWorker.class.getName());
+                command.add("0");
+
+                Process process = new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                processes.add(process);
+                addresses.add(new InetSocketAddress("127.0.0.1", awaitPort(process)));
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public List<InetSocketAddress> getAddresses() {
+        return Collections.unmodifiableList(addresses);
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) process.destroy();
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    // The worker announces its ephemeral port as its first line of output
+    private static int awaitPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith("READY ")) {
+            throw new IOException("Worker exited before it was ready" + (line != null ? ": " + line : ""));
+        }
+        return Integer.parseInt(line.substring("READY ".length()).trim());
+    }
+}
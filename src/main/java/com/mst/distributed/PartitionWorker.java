@@ -0,0 +1,138 @@
+package com.mst.distributed;
+
+import com.mst.algorithms.PartitionForest;
+import com.mst.algorithms.SolverWorkspace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Worker side of the partitioned solver: answers each edge partition with its minimum spanning forest.
+ *
+ * Wire format, big-endian, any number of requests per connection:
+ *   request   MAGIC, vertexCount, n, then n × (int from, int to, long weightKey) in tie-rank order
+ *   response  count, then count × int positions of the forest edges within the request
+ *
+ * Requests whose arrays would not fit the worker's memory budget (by default its max heap) are
+ * refused by closing the connection before anything is allocated.
+ *
+ * Usage: PartitionWorker [port] [bindAddress]   (port 0 picks a free one; bind 0.0.0.0 for remote coordinators)
+ * Prints "READY <port>" once it accepts connections.
+ */
+public class PartitionWorker implements AutoCloseable {
+    static final int MAGIC = 0x4D535450;
+    private static final int BUFFER_BYTES = 1 << 16;
+    // Request arrays plus sort scratch per edge; union-find and result per vertex
+    private static final int BYTES_PER_EDGE = 32;
+    private static final int BYTES_PER_VERTEX = 12;
+
+    private final ServerSocket serverSocket;
+    private final int maxEdges;
+    private final int maxVertices;
+    private final ExecutorService connections = Executors.newCachedThreadPool();
+    private final Thread acceptor;
+
+    public PartitionWorker(int port, String bindAddress) throws IOException {
+        this(port, bindAddress, Runtime.getRuntime().maxMemory());
+    }
+
+    public PartitionWorker(int port, String bindAddress, long memoryBudget) throws IOException {
+        this.maxEdges = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / BYTES_PER_EDGE);
+        this.maxVertices = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / BYTES_PER_VERTEX);
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+        this.acceptor = new Thread(this::acceptLoop, "partition-worker-accept");
+        acceptor.setDaemon(true);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        String bindAddress = args.length > 1 ? args[1] : "127.0.0.1";
+
+        PartitionWorker worker = new PartitionWorker(port, bindAddress);
+        Runtime.getRuntime().addShutdownHook(new Thread(worker::close));
+        worker.start();
+        System.out.println("READY " + worker.getPort());
+        System.out.flush();
+        worker.acceptor.join();
+    }
+
+    public void start() {
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("❌ Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), BUFFER_BYTES));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream(), BUFFER_BYTES))) {
+            while (true) {
+                int magic;
+                try {
+                    magic = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (magic != MAGIC) throw new IOException("Unexpected request header " + Integer.toHexString(magic));
+
+                int vertexCount = in.readInt();
+                int n = in.readInt();
+                if (vertexCount < 0 || vertexCount > maxVertices) {
+                    throw new IOException("Vertex count " + vertexCount + " outside this worker's limit of " + maxVertices);
+                }
+                if (n < 0 || n > maxEdges) {
+                    throw new IOException("Partition of " + n + " edges outside this worker's limit of " + maxEdges);
+                }
+                int[] from = new int[n];
+                int[] to = new int[n];
+                long[] keys = new long[n];
+                for (int i = 0; i < n; i++) {
+                    from[i] = in.readInt();
+                    to[i] = in.readInt();
+                    keys[i] = in.readLong();
+                }
+
+                int[] forest = PartitionForest.compute(vertexCount, from, to, keys, n, SolverWorkspace.current());
+                out.writeInt(forest.length);
+                for (int position : forest) out.writeInt(position);
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Partition request from " + socket.getRemoteSocketAddress() + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.mst.distributed;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PartitionForest;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+import com.mst.io.EdgeListReader;
+import com.mst.io.MultiGraphJsonReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Coordinator of the partitioned solver. The edges, in tie-rank order, are cut into one contiguous
+ * block per worker; every worker returns the minimum spanning forest of its block, and the union of
+ * those forests (at most workers × (V - 1) edges) is solved locally with Kruskal. The tree is the
+ * same one Kruskal finds on the whole graph.
+ *
+ * Workers are addressed by host and port, so they can be local processes ({@link LocalWorkerPool})
+ * or PartitionWorkers on other machines. The per-edge sort and union-find work happens in the
+ * workers' heaps. Edge-list files are streamed straight into the workers' blocks, so the coordinator
+ * never builds their graph; JSON datasets are solved one graph at a time as they are parsed.
+ *
+ * Usage: PartitionedMST [--workers N] [--worker-heap 512m] [--connect host:port,...] [--verify] [dataset...]
+ * --verify also solves every graph with an in-process Kruskal and checks the trees match.
+ */
+public class PartitionedMST implements AutoCloseable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    public static final int DEFAULT_READ_TIMEOUT_MS = 300_000;
+
+    private final List<InetSocketAddress> workers;
+    private final int readTimeoutMs;
+    private final ExecutorService senders;
+    private final KruskalMST kruskal = new KruskalMST();
+
+    private int lastMergedEdges;
+    private int lastEdgeCount;
+    private int[] lastInputEdges;
+
+    public PartitionedMST(List<InetSocketAddress> workers) {
+        this(workers, DEFAULT_READ_TIMEOUT_MS);
+    }
+
+    /** readTimeoutMs bounds each wait on a worker's socket, so a hung worker fails the solve instead of stalling it. */
+    public PartitionedMST(List<InetSocketAddress> workers, int readTimeoutMs) {
+        if (workers.isEmpty()) throw new IllegalArgumentException("At least one worker is required");
+        this.workers = new ArrayList<>(workers);
+        this.readTimeoutMs = readTimeoutMs;
+        this.senders = Executors.newFixedThreadPool(workers.size());
+    }
+
+    public static void main(String[] args) throws Exception {
+        int workerCount = 2;
+        String workerHeap = null;
+        boolean verify = false;
+        List<InetSocketAddress> remote = new ArrayList<>();
+        List<String> datasets = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--workers":
+                    workerCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--worker-heap":
+                    workerHeap = args[++i];
+                    break;
+                case "--connect":
+                    for (String address : args[++i].split(",")) {
+                        int colon = address.lastIndexOf(':');
+                        remote.add(new InetSocketAddress(address.substring(0, colon),
+                                Integer.parseInt(address.substring(colon + 1))));
+                    }
+                    break;
+                case "--verify":
+                    verify = true;
+                    break;
+                default:
+                    datasets.add(args[i]);
+            }
+        }
+        if (datasets.isEmpty()) datasets.add("datasets/large_dataset.json");
+
+        LocalWorkerPool pool = remote.isEmpty() ? new LocalWorkerPool(workerCount, workerHeap) : null;
+        List<InetSocketAddress> addresses = pool != null ? pool.getAddresses() : remote;
+        System.out.println("🛰️  Partitioned MST over " + addresses.size() + " workers: " + addresses);
+
+        EdgeListReader edgeListReader = new EdgeListReader();
+        MultiGraphJsonReader jsonReader = new MultiGraphJsonReader();
+        try (PartitionedMST solver = new PartitionedMST(addresses)) {
+            for (String dataset : datasets) {
+                System.out.println("\n📊 " + dataset);
+                if (EdgeListReader.supports(dataset)) {
+                    MSTResult partitioned = solver.findMST(dataset, edgeListReader);
+                    MSTResult reference = verify
+                            ? new KruskalMST().findMST(edgeListReader.read(dataset), SolverWorkspace.current())
+                            : null;
+                    report(solver, partitioned, solver.getLastInputEdges(), reference);
+                } else {
+                    boolean check = verify;
+                    jsonReader.read(dataset, graph -> {
+                        MSTResult partitioned = solver.findMST(graph);
+                        MSTResult reference = check ? new KruskalMST().findMST(graph, SolverWorkspace.current()) : null;
+                        report(solver, partitioned, partitioned.getEdgeIndices(), reference);
+                    });
+                }
+            }
+        } finally {
+            if (pool != null) pool.close();
+        }
+    }
+
+    // treeEdges are input edge indices, comparable with the reference's when there is one
+    private static void report(PartitionedMST solver, MSTResult partitioned, int[] treeEdges, MSTResult reference) {
+        String line = String.format("Graph %d: V=%d E=%d merged=%d cost=%s partitioned=%.3fms",
+                partitioned.getGraph().getId(), partitioned.getGraph().getVertexCount(), solver.getLastEdgeCount(),
+                solver.getLastMergedEdges(), partitioned.getTotalCostValue(), partitioned.getExecutionTimeMs());
+        if (reference == null) {
+            System.out.println("🧩 " + line);
+            return;
+        }
+        boolean same = Arrays.equals(sortedCopy(treeEdges), sortedCopy(reference.getEdgeIndices()));
+        System.out.printf("%s %s kruskal=%.3fms%n", same ? "✅" : "❌", line, reference.getExecutionTimeMs());
+    }
+
+    public MSTResult findMST(IndexedGraph graph) {
+        long startTime = System.nanoTime();
+        int edgeCount = graph.getEdgeCount();
+        int[] edgesByRank = graph.edgesByTieRank();
+        int block = Math.max(1, (edgeCount + workers.size() - 1) / workers.size());
+
+        List<Future<int[]>> replies = new ArrayList<>();
+        for (int w = 0; w < workers.size(); w++) {
+            InetSocketAddress worker = workers.get(w);
+            int first = Math.min(edgeCount, w * block);
+            int last = Math.min(edgeCount, first + block);
+            replies.add(senders.submit(() -> solvePartition(worker, graph.getVertexCount(), last - first, (out, i) -> {
+                int edge = edgesByRank[first + i];
+                out.writeInt(graph.getFrom(edge));
+                out.writeInt(graph.getTo(edge));
+                out.writeLong(PartitionForest.weightKey(graph, edge));
+            })));
+        }
+
+        boolean[] keep = new boolean[edgeCount];
+        for (int w = 0; w < replies.size(); w++) {
+            int first = Math.min(edgeCount, w * block);
+            for (int position : await(replies.get(w), workers.get(w))) {
+                keep[edgesByRank[first + position]] = true;
+            }
+        }
+
+        // Kept edges stay in input order, so the merged graph breaks ties exactly like the original
+        IndexedGraph merged = mergedGraph(graph, keep);
+        MSTResult local = kruskal.findMST(merged, SolverWorkspace.current());
+        int[] edgeMap = new int[merged.getEdgeCount()];
+        for (int e = 0, next = 0; e < edgeCount; e++) {
+            if (keep[e]) edgeMap[next++] = e;
+        }
+        lastMergedEdges = merged.getEdgeCount();
+        lastEdgeCount = edgeCount;
+        lastInputEdges = null;
+
+        MSTResult result = local.remapTo(graph, edgeMap);
+        long executionTime = System.nanoTime() - startTime;
+        if (graph.getWeightType() == WeightType.DOUBLE) {
+            return MSTResult.withDoubleCost(graph, result.getEdgeIndices(), result.getTotalCostAsDouble(),
+                    result.getOperationsCount(), executionTime);
+        }
+        return new MSTResult(graph, result.getEdgeIndices(), result.getTotalCostAsLong(),
+                result.getOperationsCount(), executionTime);
+    }
+
+    /**
+     * Solves an edge-list file without materialising its graph. Edges go from the reader into
+     * one block per worker in file order, keyed by weight and the lower and higher name rank of
+     * their ends, and each block is sent as soon as it is full; the worker sees it sorted by those
+     * ranks, so its stable sort by weight keeps the graph's tie order. The coordinator holds the
+     * vertex names, their ranks and the blocks not yet answered.
+     *
+     * The result lives on a graph of all the file's vertices and only the merged forest edges,
+     * each running from its lower-ranked name to its higher one; {@link #getLastInputEdges()} maps
+     * them back to edge indices in the file.
+     */
+    public MSTResult findMST(String path, EdgeListReader reader) throws IOException {
+        long startTime = System.nanoTime();
+        PartitionWriter partitions = new PartitionWriter();
+        try {
+            reader.stream(path, partitions);
+        } catch (IOException | RuntimeException e) {
+            partitions.replies.forEach(reply -> reply.cancel(true));
+            throw e;
+        }
+        if (partitions.names == null) throw new IllegalArgumentException("Not an edge-list file: " + path);
+        partitions.flush();
+
+        List<Forest> forests = new ArrayList<>();
+        int kept = 0;
+        for (int w = 0; w < partitions.replies.size(); w++) {
+            Forest forest = await(partitions.replies.get(w), workers.get(w));
+            forests.add(forest);
+            kept += forest.size;
+        }
+
+        // Blocks are in file order and each forest is too, so the merged graph keeps the file's tie order
+        String[] names = partitions.names;
+        int[] vertexByRank = new int[names.length];
+        for (int v = 0; v < names.length; v++) vertexByRank[partitions.nameRank[v]] = v;
+        int[] from = new int[kept];
+        int[] to = new int[kept];
+        long[] weights = new long[kept];
+        int[] inputEdges = new int[kept];
+        int next = 0;
+        for (Forest forest : forests) {
+            for (int i = 0; i < forest.size; i++, next++) {
+                from[next] = vertexByRank[(int) (forest.ties[i] >>> 32)];
+                to[next] = vertexByRank[(int) forest.ties[i]];
+                weights[next] = forest.weights[i];
+                inputEdges[next] = forest.inputEdges[i];
+            }
+        }
+        IndexedGraph merged = graphOf(names, from, to, weights, partitions.weightType);
+        MSTResult local = kruskal.findMST(merged, SolverWorkspace.current());
+        lastMergedEdges = kept;
+        lastEdgeCount = partitions.edgeCount;
+        int[] treeInputEdges = new int[local.getEdgeCount()];
+        for (int i = 0; i < treeInputEdges.length; i++) treeInputEdges[i] = inputEdges[local.getEdgeIndex(i)];
+        lastInputEdges = treeInputEdges;
+
+        long executionTime = System.nanoTime() - startTime;
+        if (merged.getWeightType() == WeightType.DOUBLE) {
+            return MSTResult.withDoubleCost(merged, local.getEdgeIndices(), local.getTotalCostAsDouble(),
+                    local.getOperationsCount(), executionTime);
+        }
+        return new MSTResult(merged, local.getEdgeIndices(), local.getTotalCostAsLong(),
+                local.getOperationsCount(), executionTime);
+    }
+
+    /** Edges the workers' forests left for the coordinator in the last solve. */
+    public int getLastMergedEdges() {
+        return lastMergedEdges;
+    }
+
+    /** Edges of the graph or file solved last. */
+    public int getLastEdgeCount() {
+        return lastEdgeCount;
+    }
+
+    /** File edge index of each tree edge from the most recent streamed solve, null after a graph solve. */
+    public int[] getLastInputEdges() {
+        return lastInputEdges;
+    }
+
+    @Override
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    private int[] solvePartition(InetSocketAddress worker, int vertexCount, int n, PartitionEdges edges)
+            throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, CONNECT_TIMEOUT_MS);
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(readTimeoutMs);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_BYTES));
+            out.writeInt(PartitionWorker.MAGIC);
+            out.writeInt(vertexCount);
+            out.writeInt(n);
+            for (int i = 0; i < n; i++) edges.write(out, i);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_BYTES));
+            int count = in.readInt();
+            if (count < 0 || count > n) {
+                throw new IOException("Worker replied with " + count + " forest edges for " + n);
+            }
+            int[] positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = in.readInt();
+                if (positions[i] < 0 || positions[i] >= n) {
+                    throw new IOException("Worker replied with position " + positions[i] + " outside its partition");
+                }
+            }
+            return positions;
+        }
+    }
+
+    // Sorts a streamed block into tie order, has the worker solve it and keeps its forest in file order
+    private Forest solveBlock(InetSocketAddress worker, int vertexCount, WeightType weightType, Block block)
+            throws IOException {
+        int[] order = PartitionForest.tieOrder(block.ties, block.size, SolverWorkspace.current());
+        int[] positions = solvePartition(worker, vertexCount, block.size, (out, i) -> {
+            out.writeInt((int) (block.ties[i] >>> 32));
+            out.writeInt((int) block.ties[i]);
+            out.writeLong(PartitionForest.weightKey(weightType, block.weights[order[i]]));
+        });
+
+        // Block position in the high half, tie-order position in the low half
+        long[] byPosition = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            byPosition[i] = ((long) order[positions[i]] << 32) | positions[i];
+        }
+        Arrays.sort(byPosition);
+        Forest forest = new Forest(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            int position = (int) (byPosition[i] >>> 32);
+            forest.ties[i] = block.ties[(int) byPosition[i]];
+            forest.weights[i] = block.weights[position];
+            forest.inputEdges[i] = block.first + position;
+        }
+        return forest;
+    }
+
+    private static <T> T await(Future<T> reply, InetSocketAddress worker) {
+        try {
+            return reply.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException("Worker " + worker + " failed: " + cause.getMessage(), (IOException) cause);
+            }
+            throw new IllegalStateException("Worker " + worker + " failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for worker " + worker, e);
+        }
+    }
+
+    private static IndexedGraph graphOf(String[] names, int[] from, int[] to, long[] weights, WeightType weightType) {
+        switch (weightType) {
+            case INT: {
+                int[] intWeights = new int[weights.length];
+                for (int i = 0; i < weights.length; i++) intWeights[i] = (int) weights[i];
+                return new IndexedGraph(1, names, from, to, intWeights);
+            }
+            case LONG:
+                return IndexedGraph.withLongWeights(1, names, from, to, weights);
+            default: {
+                double[] doubleWeights = new double[weights.length];
+                for (int i = 0; i < weights.length; i++) doubleWeights[i] = Double.longBitsToDouble(weights[i]);
+                return IndexedGraph.withDoubleWeights(1, names, from, to, doubleWeights);
+            }
+        }
+    }
+
+    private static IndexedGraph mergedGraph(IndexedGraph graph, boolean[] keep) {
+        int kept = 0;
+        for (boolean k : keep) if (k) kept++;
+        String[] names = new String[graph.getVertexCount()];
+        for (int v = 0; v < names.length; v++) names[v] = graph.getVertexName(v);
+        int[] from = new int[kept];
+        int[] to = new int[kept];
+        int next = 0;
+        for (int e = 0; e < keep.length; e++) {
+            if (!keep[e]) continue;
+            from[next] = graph.getFrom(e);
+            to[next++] = graph.getTo(e);
+        }
+
+        switch (graph.getWeightType()) {
+            case LONG: {
+                long[] weights = new long[kept];
+                for (int e = 0, i = 0; e < keep.length; e++) if (keep[e]) weights[i++] = graph.getLongWeight(e);
+                return IndexedGraph.withLongWeights(graph.getId(), names, from, to, weights);
+            }
+            case DOUBLE: {
+                double[] weights = new double[kept];
+                for (int e = 0, i = 0; e < keep.length; e++) if (keep[e]) weights[i++] = graph.getDoubleWeight(e);
+                return IndexedGraph.withDoubleWeights(graph.getId(), names, from, to, weights);
+            }
+            default: {
+                int[] weights = new int[kept];
+                for (int e = 0, i = 0; e < keep.length; e++) if (keep[e]) weights[i++] = graph.getWeight(e);
+                return new IndexedGraph(graph.getId(), names, from, to, weights);
+            }
+        }
+    }
+
+    private static int[] sortedCopy(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private interface PartitionEdges {
+        void write(DataOutputStream out, int i) throws IOException;
+    }
+
+    // Turns streamed edges into file-order blocks, one per worker, sent off as each fills
+    private final class PartitionWriter implements EdgeListReader.EdgeSink {
+        private final List<Future<Forest>> replies = new ArrayList<>();
+        private String[] names;
+        private int[] nameRank;
+        private WeightType weightType;
+        private int edgeCount;
+        private int blockSize;
+        private Block current;
+
+        @Override
+        public void begin(String[] names, WeightType weightType, int edgeCount) {
+            this.names = names;
+            this.nameRank = IndexedGraph.nameRanks(names);
+            this.weightType = weightType;
+            this.edgeCount = edgeCount;
+            this.blockSize = Math.max(1, (edgeCount + workers.size() - 1) / workers.size());
+        }
+
+        @Override
+        public void edge(int from, int to, long weight) {
+            if (current == null) {
+                int first = replies.size() * blockSize;
+                current = new Block(first, Math.min(blockSize, edgeCount - first));
+            }
+            int a = nameRank[from];
+            int b = nameRank[to];
+            current.ties[current.size] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            current.weights[current.size++] = weight;
+            if (current.size == current.ties.length) flush();
+        }
+
+        void flush() {
+            if (current == null) return;
+            Block block = current;
+            current = null;
+            InetSocketAddress worker = workers.get(replies.size());
+            int vertexCount = names.length;
+            replies.add(senders.submit(() -> solveBlock(worker, vertexCount, weightType, block)));
+        }
+    }
+
+    // Streamed edges of one worker: tie key (lower rank, higher rank) and weight as the reader gave it
+    private static final class Block {
+        final int first;
+        final long[] ties;
+        final long[] weights;
+        int size;
+
+        Block(int first, int capacity) {
+            this.first = first;
+            this.ties = new long[capacity];
+            this.weights = new long[capacity];
+        }
+    }
+
+    // A worker's forest edges from a streamed block, in file order
+    private static final class Forest {
+        final int size;
+        final long[] ties;
+        final long[] weights;
+        final int[] inputEdges;
+
+        Forest(int size) {
+            this.size = size;
+            this.ties = new long[size];
+            this.weights = new long[size];
+            this.inputEdges = new int[size];
+        }
+    }
+}
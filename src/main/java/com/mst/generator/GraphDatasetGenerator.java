@@ -1,18 +1,23 @@
 package com.mst.generator;
 
+import com.mst.io.CompressedIO;
 import com.mst.io.GraphInput;
 import com.mst.io.EdgeInput;
 import com.mst.io.InputData;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.util.*;
 
 public class GraphDatasetGenerator {
     private static final ObjectMapper mapper = new ObjectMapper();
     private static final Random random = new Random(42);
+    // --gzip writes datasets/*.json.gz as BGZF
+    private static boolean gzip;
 
     public static void main(String[] args) throws Exception {
+        gzip = Arrays.asList(args).contains("--gzip");
         System.out.println("🚀 Generating MST test datasets...");
 
         generateSmallDataset();
@@ -144,7 +149,9 @@ public class GraphDatasetGenerator {
         File outputDir = new File("datasets");
         if (!outputDir.exists()) outputDir.mkdirs();
 
-        mapper.writerWithDefaultPrettyPrinter()
-                .writeValue(new File(outputDir, filename), data);
+        String path = new File(outputDir, filename).getPath() + (gzip ? CompressedIO.GZIP_SUFFIX : "");
+        try (OutputStream out = CompressedIO.openOutput(path)) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(out, data);
+        }
     }
 }
\ No newline at end of file
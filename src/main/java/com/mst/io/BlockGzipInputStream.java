@@ -0,0 +1,179 @@
+package com.mst.io;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads BGZF (see {@link BlockGzipOutputStream}) with the inflating spread over a pool.
+ *
+ * The calling thread only reads raw bytes: each member's header gives its compressed size, so
+ * whole members are read without decoding and grouped into batches that worker threads inflate.
+ * A window of batches is kept in flight ahead of the consumer, and output is returned strictly in
+ * file order. Every block's CRC32 and length are checked.
+ */
+public class BlockGzipInputStream extends InputStream {
+    private static final int BATCH_BLOCKS = 16;
+
+    private final DataInputStream in;
+    private final ForkJoinPool pool;
+    private final int maxPending;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+    private boolean sourceDone;
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean closed;
+
+    public BlockGzipInputStream(InputStream in) {
+        this(in, ForkJoinPool.commonPool());
+    }
+
+    public BlockGzipInputStream(InputStream in, ForkJoinPool pool) {
+        this.in = new DataInputStream(in);
+        this.pool = pool;
+        this.maxPending = Math.max(2, 2 * pool.getParallelism());
+    }
+
+    /** True when the bytes start with a gzip member carrying a BGZF "BC" block-size field. */
+    public static boolean isBlockGzip(byte[] head, int length) {
+        return length >= BlockGzipOutputStream.HEADER_BYTES
+                && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b && head[2] == 8
+                && head[3] == 4 && head[10] == 6 && head[11] == 0
+                && head[12] == 'B' && head[13] == 'C' && head[14] == 2 && head[15] == 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) return -1;
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!fill()) return -1;
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        while (position == current.length) {
+            while (!sourceDone && pending.size() < maxPending) submitBatch();
+            if (pending.isEmpty()) return false;
+            try {
+                current = pending.poll().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while decompressing", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Corrupt BGZF block: " + e.getCause().getMessage(), e.getCause());
+            }
+            position = 0;
+        }
+        return true;
+    }
+
+    private void submitBatch() throws IOException {
+        List<byte[]> blocks = new ArrayList<>(BATCH_BLOCKS);
+        while (blocks.size() < BATCH_BLOCKS) {
+            byte[] block = readBlock();
+            if (block == null) {
+                sourceDone = true;
+                break;
+            }
+            blocks.add(block);
+        }
+        if (!blocks.isEmpty()) pending.add(pool.submit(() -> inflateBatch(blocks)));
+    }
+
+    // One whole member, still compressed, or null at a clean end of input
+    private byte[] readBlock() throws IOException {
+        byte[] header = new byte[BlockGzipOutputStream.HEADER_BYTES];
+        int first = in.read(header);
+        if (first < 0) return null;
+        try {
+            in.readFully(header, first, header.length - first);
+        } catch (EOFException e) {
+            throw new IOException("Truncated BGZF block header", e);
+        }
+        if (!isBlockGzip(header, header.length)) throw new IOException("Not a BGZF block");
+        int blockSize = ((header[16] & 0xff) | (header[17] & 0xff) << 8) + 1;
+        if (blockSize < header.length + BlockGzipOutputStream.FOOTER_BYTES) {
+            throw new IOException("Invalid BGZF block size " + blockSize);
+        }
+        byte[] block = new byte[blockSize];
+        System.arraycopy(header, 0, block, 0, header.length);
+        try {
+            in.readFully(block, header.length, blockSize - header.length);
+        } catch (EOFException e) {
+            throw new IOException("Truncated BGZF block", e);
+        }
+        int size = intAt(block, blockSize - 4);
+        if (size < 0 || size > BlockGzipOutputStream.MAX_BLOCK) throw new IOException("Invalid BGZF block length " + size);
+        return block;
+    }
+
+    private static byte[] inflateBatch(List<byte[]> blocks) throws DataFormatException {
+        int total = 0;
+        for (byte[] block : blocks) total += intAt(block, block.length - 4);
+        byte[] output = new byte[total];
+        int written = 0;
+        Inflater inflater = new Inflater(true);
+        CRC32 crc = new CRC32();
+        try {
+            for (byte[] block : blocks) {
+                int size = intAt(block, block.length - 4);
+                int body = block.length - BlockGzipOutputStream.HEADER_BYTES - BlockGzipOutputStream.FOOTER_BYTES;
+                inflater.reset();
+                inflater.setInput(block, BlockGzipOutputStream.HEADER_BYTES, body);
+                int n = 0;
+                while (n < size) {
+                    int got = inflater.inflate(output, written + n, size - n);
+                    if (got == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) break;
+                    n += got;
+                }
+                if (n != size) throw new DataFormatException("block inflated to " + n + " bytes, expected " + size);
+                crc.reset();
+                crc.update(output, written, size);
+                if ((int) crc.getValue() != intAt(block, block.length - 8)) {
+                    throw new DataFormatException("CRC32 mismatch");
+                }
+                written += size;
+            }
+        } finally {
+            inflater.end();
+        }
+        return output;
+    }
+
+    private static int intAt(byte[] b, int at) {
+        return (b[at] & 0xff) | (b[at + 1] & 0xff) << 8 | (b[at + 2] & 0xff) << 16 | (b[at + 3] & 0xff) << 24;
+    }
+}
@@ -0,0 +1,166 @@
+package com.mst.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes BGZF: gzip as a series of independent members of at most 64 KiB, each carrying its own
+ * compressed size in a "BC" extra field.
+ *
+ * Any gzip tool reads the result as one concatenated stream, while {@link BlockGzipInputStream}
+ * can use the sizes to hand whole members to worker threads. Compression runs in parallel too:
+ * the buffered input is cut into batches of blocks, deflated on the pool, and written back in
+ * order. The stream ends with the standard empty BGZF block as an end-of-file marker.
+ */
+public class BlockGzipOutputStream extends OutputStream {
+    /** Uncompressed bytes per block; leaves room for deflate's worst case inside the 64 KiB limit. */
+    static final int BLOCK_DATA = 0xff00;
+    static final int MAX_BLOCK = 1 << 16;
+    static final int HEADER_BYTES = 18;
+    static final int FOOTER_BYTES = 8;
+    private static final int BATCH_BLOCKS = 16;
+    private static final byte[] EOF_BLOCK = {
+            0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+            0x1b, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private final OutputStream out;
+    private final ForkJoinPool pool;
+    private final int level;
+    private final int maxPending;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] batch = new byte[BLOCK_DATA * BATCH_BLOCKS];
+    private int batchSize;
+    private boolean closed;
+
+    public BlockGzipOutputStream(OutputStream out) {
+        this(out, ForkJoinPool.commonPool(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public BlockGzipOutputStream(OutputStream out, ForkJoinPool pool, int level) {
+        this.out = out;
+        this.pool = pool;
+        this.level = level;
+        this.maxPending = Math.max(2, 2 * pool.getParallelism());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (batchSize == batch.length) submitBatch();
+        batch[batchSize++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (batchSize == batch.length) submitBatch();
+            int n = Math.min(len, batch.length - batchSize);
+            System.arraycopy(b, off, batch, batchSize, n);
+            batchSize += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /** Ends the current block early so everything written so far reaches the underlying stream. */
+    @Override
+    public void flush() throws IOException {
+        if (batchSize > 0) submitBatch();
+        while (!pending.isEmpty()) writeNext();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flush();
+            out.write(EOF_BLOCK);
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+            out.close();
+        }
+    }
+
+    private void submitBatch() throws IOException {
+        byte[] data = batch;
+        int size = batchSize;
+        pending.add(pool.submit(() -> compressBatch(data, size, level)));
+        batch = new byte[BLOCK_DATA * BATCH_BLOCKS];
+        batchSize = 0;
+        while (pending.size() > maxPending) writeNext();
+    }
+
+    private void writeNext() throws IOException {
+        try {
+            out.write(pending.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block compression failed", e.getCause());
+        }
+    }
+
+    private static byte[] compressBatch(byte[] data, int size, int level) {
+        int blocks = (size + BLOCK_DATA - 1) / BLOCK_DATA;
+        byte[] output = new byte[blocks * MAX_BLOCK];
+        int written = 0;
+        Deflater deflater = new Deflater(level, true);
+        CRC32 crc = new CRC32();
+        try {
+            for (int start = 0; start < size; start += BLOCK_DATA) {
+                int length = Math.min(BLOCK_DATA, size - start);
+                deflater.reset();
+                deflater.setInput(data, start, length);
+                deflater.finish();
+                int body = deflater.deflate(output, written + HEADER_BYTES, MAX_BLOCK - HEADER_BYTES - FOOTER_BYTES);
+                if (!deflater.finished()) throw new IllegalStateException("Deflated block exceeds 64 KiB");
+                crc.reset();
+                crc.update(data, start, length);
+                int blockSize = HEADER_BYTES + body + FOOTER_BYTES;
+                writeHeader(output, written, blockSize);
+                int footer = written + HEADER_BYTES + body;
+                putInt(output, footer, (int) crc.getValue());
+                putInt(output, footer + 4, length);
+                written += blockSize;
+            }
+        } finally {
+            deflater.end();
+        }
+        return written == output.length ? output : Arrays.copyOf(output, written);
+    }
+
+    private static void writeHeader(byte[] b, int at, int blockSize) {
+        b[at] = 0x1f;
+        b[at + 1] = (byte) 0x8b;
+        b[at + 2] = 8;               // deflate
+        b[at + 3] = 4;               // FEXTRA
+        b[at + 4] = b[at + 5] = b[at + 6] = b[at + 7] = 0;
+        b[at + 8] = 0;
+        b[at + 9] = (byte) 0xff;     // OS unknown
+        b[at + 10] = 6;              // XLEN
+        b[at + 11] = 0;
+        b[at + 12] = 'B';
+        b[at + 13] = 'C';
+        b[at + 14] = 2;
+        b[at + 15] = 0;
+        b[at + 16] = (byte) (blockSize - 1);
+        b[at + 17] = (byte) ((blockSize - 1) >>> 8);
+    }
+
+    private static void putInt(byte[] b, int at, int value) {
+        b[at] = (byte) value;
+        b[at + 1] = (byte) (value >>> 8);
+        b[at + 2] = (byte) (value >>> 16);
+        b[at + 3] = (byte) (value >>> 24);
+    }
+}
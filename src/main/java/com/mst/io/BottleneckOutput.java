@@ -0,0 +1,19 @@
+package com.mst.io;
+
+public class BottleneckOutput {
+    private Number bottleneck_weight;
+    private MSTOutput tree;
+
+    public BottleneckOutput() {}
+
+    public BottleneckOutput(Number bottleneck_weight, MSTOutput tree) {
+        this.bottleneck_weight = bottleneck_weight;
+        this.tree = tree;
+    }
+
+    public Number getBottleneck_weight() { return bottleneck_weight; }
+    public void setBottleneck_weight(Number bottleneck_weight) { this.bottleneck_weight = bottleneck_weight; }
+
+    public MSTOutput getTree() { return tree; }
+    public void setTree(MSTOutput tree) { this.tree = tree; }
+}
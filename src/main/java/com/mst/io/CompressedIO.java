@@ -0,0 +1,94 @@
+package com.mst.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens dataset and result files with gzip handled transparently.
+ *
+ * Reads sniff the content rather than trusting the name: BGZF input is inflated in parallel by
+ * {@link BlockGzipInputStream}, any other gzip (e.g. from the gzip command) goes through
+ * {@link GZIPInputStream}, and everything else is returned as-is. Writes to a ".gz" path produce
+ * BGZF, so files written here load in parallel later.
+ */
+public final class CompressedIO {
+    public static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_ARRAY_BYTES = Integer.MAX_VALUE - 8;
+
+    private CompressedIO() {
+    }
+
+    public static boolean isGzip(String path) {
+        return path.toLowerCase().endsWith(GZIP_SUFFIX);
+    }
+
+    /** The path without a trailing ".gz", so "roads.csv.gz" is recognised as CSV. */
+    public static String stripGzip(String path) {
+        return isGzip(path) ? path.substring(0, path.length() - GZIP_SUFFIX.length()) : path;
+    }
+
+    public static InputStream openInput(String path) throws IOException {
+        FileInputStream file = new FileInputStream(path);
+        try {
+            return decompress(file);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public static InputStream decompress(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER_BYTES);
+        byte[] head = new byte[BlockGzipOutputStream.HEADER_BYTES];
+        in.mark(head.length);
+        int length = 0;
+        while (length < head.length) {
+            int n = in.read(head, length, head.length - length);
+            if (n < 0) break;
+            length += n;
+        }
+        in.reset();
+        if (BlockGzipInputStream.isBlockGzip(head, length)) return new BlockGzipInputStream(in);
+        if (length >= 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b) {
+            return new GZIPInputStream(in, BUFFER_BYTES);
+        }
+        return in;
+    }
+
+    public static OutputStream openOutput(String path) throws IOException {
+        OutputStream file = new BufferedOutputStream(new FileOutputStream(path), BUFFER_BYTES);
+        return isGzip(path) ? new BlockGzipOutputStream(file) : file;
+    }
+
+    public static byte[] readAll(String path) throws IOException {
+        try (InputStream in = openInput(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /** The decompressed content, or null as soon as it turns out to be longer than limit bytes. */
+    public static byte[] readAll(String path, int limit) throws IOException {
+        limit = Math.min(limit, MAX_ARRAY_BYTES - 1);
+        try (InputStream in = openInput(path)) {
+            byte[] data = new byte[Math.min(limit, BUFFER_BYTES) + 1];
+            int length = 0;
+            while (true) {
+                if (length == data.length) {
+                    if (length > limit) return null;
+                    data = Arrays.copyOf(data, (int) Math.min((long) limit + 1, 2L * length));
+                }
+                int n = in.read(data, length, data.length - length);
+                if (n < 0) return Arrays.copyOf(data, length);
+                length += n;
+            }
+        }
+    }
+}
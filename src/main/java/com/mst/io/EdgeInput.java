@@ -3,11 +3,11 @@ package com.mst.io;
 public class EdgeInput {
     private String from;
     private String to;
-    private int weight;
+    private Number weight;
 
     public EdgeInput() {}
 
-    public EdgeInput(String from, String to, int weight) {
+    public EdgeInput(String from, String to, Number weight) {
         this.from = from;
         this.to = to;
         this.weight = weight;
@@ -19,6 +19,6 @@ public class EdgeInput {
     public String getTo() { return to; }
     public void setTo(String to) { this.to = to; }
 
-    public int getWeight() { return weight; }
-    public void setWeight(int weight) { this.weight = weight; }
+    public Number getWeight() { return weight; }
+    public void setWeight(Number weight) { this.weight = weight; }
 }
\ No newline at end of file
@@ -0,0 +1,869 @@
+package com.mst.io;
+
+import com.mst.core.IndexedGraph;
+import com.mst.core.WeightType;
+import com.mst.monitoring.GraphLoadEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel reader for plain-text edge lists, producing an {@link IndexedGraph} without the
+ * JSON object model in between.
+ *
+ * The file is split at line boundaries into chunks, each chunk is memory-mapped and parsed on its
+ * own into primitive arrays, and the chunks are concatenated in file order. CSV vertex names go
+ * through a shared {@link VertexInterner}, so vertex and edge order match a sequential read
+ * regardless of chunk size or thread count. Weights become INT, LONG or DOUBLE, whichever is the
+ * narrowest type that holds every value.
+ *
+ * Formats:
+ *   CSV     from,to,weight per line; optional header line, '#' comments, no quoting
+ *   DIMACS  shortest-path .gr: "p sp n m", then "a u v w" arcs with 1-based ids, 'c' comments;
+ *           each undirected edge is listed as two arcs and only the one from its lower id is kept
+ *   METIS   "n m [fmt [ncon]]", then one adjacency line per vertex, '%' comments; each
+ *           undirected edge is listed twice and kept once, unweighted edges weigh 1
+ *
+ * Any of these may be gzip-compressed with a ".gz" suffix. Those are inflated as a stream (in
+ * parallel when the file is BGZF, see {@link CompressedIO}) and cut at line boundaries as the text
+ * arrives; each chunk is parsed on the pool while the next one is inflated, so only the chunks in
+ * flight are ever held as text.
+ */
+public class EdgeListReader {
+    public static final int DEFAULT_CHUNK_BYTES = 8 << 20;
+    private static final int SCAN_BYTES = 1 << 16;
+    // A streamed chunk is buffered whole, so it stays well below the array limit whatever chunkBytes is
+    private static final int MAX_STREAM_CHUNK_BYTES = 64 << 20;
+
+    public enum Format {
+        CSV, DIMACS, METIS;
+
+        /** Format implied by the file extension, or null for anything else (e.g. JSON). */
+        public static Format of(String path) {
+            String name = CompressedIO.stripGzip(path).toLowerCase();
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".gr")) return DIMACS;
+            if (name.endsWith(".metis") || name.endsWith(".graph")) return METIS;
+            return null;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+    private final int maxChunksInFlight;
+
+    public EdgeListReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    public EdgeListReader(ForkJoinPool pool, int chunkBytes) {
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+        this.maxChunksInFlight = Math.max(2, 2 * pool.getParallelism());
+    }
+
+    public static boolean supports(String path) {
+        return Format.of(path) != null;
+    }
+
+    public IndexedGraph read(String path) throws IOException {
+        Format format = Format.of(path);
+        if (format == null) throw new IllegalArgumentException("Not an edge-list file: " + path);
+        if (CompressedIO.isGzip(path)) {
+            try (InputStream in = CompressedIO.openInput(path)) {
+                return read(in, format, 1, path);
+            }
+        }
+        return read(Paths.get(path), format, 1);
+    }
+
+    public IndexedGraph read(Path path, Format format, int graphId) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        IndexedGraph graph;
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            Header header = readHeader(channel, format, size);
+            long[] starts = chunkStarts(channel, header.dataStart, size);
+            int[] firstVertex = format == Format.METIS ? firstVertexPerChunk(channel, starts) : null;
+            VertexInterner interner = format == Format.CSV ? new VertexInterner() : null;
+
+            Chunk[] chunks = inPool(() -> IntStream.range(0, starts.length - 1).parallel()
+                    .mapToObj(i -> parseChunk(copy(channel, starts[i], starts[i + 1]), 0, starts[i], format,
+                            header, interner, i, firstVertex != null ? firstVertex[i] : 0))
+                    .toArray(Chunk[]::new));
+            graph = assemble(graphId, format, header, interner, chunks);
+        }
+        if (event.shouldCommit()) {
+            event.describe(path.toString(), size, 1);
+            event.commit();
+        }
+        return graph;
+    }
+
+    /** Parses an edge list already held in memory. */
+    public IndexedGraph read(byte[] data, Format format, int graphId, String name) throws IOException {
+        return read(new ByteArrayInputStream(data), format, graphId, name);
+    }
+
+    /**
+     * Parses an edge list from a stream, e.g. a decompressing one. Chunks are cut at line
+     * boundaries as the bytes arrive and parsed on the pool, at most a few ahead of the reader.
+     */
+    public IndexedGraph read(InputStream in, Format format, int graphId, String name) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        Header header = new Header();
+        VertexInterner interner = format == Format.CSV ? new VertexInterner() : null;
+        List<Chunk> chunks = new ArrayList<>();
+        long bytes = parse(in, format, header, interner, chunks::add);
+        IndexedGraph graph = assemble(graphId, format, header, interner, chunks.toArray(new Chunk[0]));
+        if (event.shouldCommit()) {
+            event.describe(name, bytes, 1);
+            event.commit();
+        }
+        return graph;
+    }
+
+    /** Receives a streamed edge list: the vertex names and weight type first, then every edge in file order. */
+    public interface EdgeSink {
+        void begin(String[] names, WeightType weightType, int edgeCount);
+
+        /** Weight is the value itself for INT and LONG, its raw long bits for DOUBLE. */
+        void edge(int from, int to, long weight);
+    }
+
+    /**
+     * Hands an edge list to a sink without building a graph. The file is parsed twice, once for
+     * the vertex names, edge count and weight type and once for the edges, so only the names and
+     * the chunks in flight are ever held in memory. Vertex ids, edge order and weight type are
+     * those {@link #read(String)} would produce.
+     */
+    public void stream(String path, EdgeSink sink) throws IOException {
+        Format format = Format.of(path);
+        if (format == null) throw new IllegalArgumentException("Not an edge-list file: " + path);
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        VertexInterner interner = format == Format.CSV ? new VertexInterner() : null;
+
+        long[] total = new long[1];
+        boolean[] fractional = new boolean[1];
+        boolean[] wide = new boolean[1];
+        Header header = new Header();
+        try (InputStream in = CompressedIO.openInput(path)) {
+            parse(in, format, header, interner, chunk -> {
+                total[0] += chunk.size;
+                fractional[0] |= chunk.fractional;
+                wide[0] |= chunk.wide;
+            });
+        }
+        int edgeCount = Math.toIntExact(total[0]);
+        checkEdgeCount(format, header, edgeCount);
+        WeightType weightType = fractional[0] ? WeightType.DOUBLE : wide[0] ? WeightType.LONG : WeightType.INT;
+
+        String[] names;
+        int[] remap = null;
+        if (interner != null) {
+            names = new String[interner.size()];
+            remap = interner.finish(names);
+        } else {
+            names = numberedNames(header.vertexCount);
+        }
+        sink.begin(names, weightType, edgeCount);
+
+        // Same chunking as the first pass, so the interner hands every name its provisional id again
+        int[] finalIds = remap;
+        long bytes;
+        try (InputStream in = CompressedIO.openInput(path)) {
+            bytes = parse(in, format, new Header(), interner, chunk -> {
+                for (int i = 0; i < chunk.size; i++) {
+                    long weight = chunk.weights[i];
+                    if (weightType == WeightType.DOUBLE && !chunk.fractional) {
+                        weight = Double.doubleToRawLongBits(weight);
+                    }
+                    sink.edge(finalIds != null ? finalIds[chunk.from[i]] : chunk.from[i],
+                            finalIds != null ? finalIds[chunk.to[i]] : chunk.to[i], weight);
+                }
+            });
+        }
+        if (event.shouldCommit()) {
+            event.describe(path, bytes, 1);
+            event.commit();
+        }
+    }
+
+    // Fills header, cuts the rest into chunks at line boundaries as the bytes arrive and hands the
+    // parsed chunks to sink in input order, parsing at most a few ahead on the pool; returns the input length
+    private long parse(InputStream in, Format format, Header header, VertexInterner interner,
+                       Consumer<Chunk> sink) throws IOException {
+        LineChunks text = new LineChunks(in, Math.min(chunkBytes, MAX_STREAM_CHUNK_BYTES));
+
+        // The header may sit behind any number of comment lines, so it can span chunks
+        byte[] block = text.next();
+        int dataFrom = -1;
+        while (block != null && dataFrom < 0) {
+            for (int pos = 0; pos < block.length; ) {
+                int end = lineEnd(block, pos);
+                int next = Math.min(block.length, end + 1);
+                String line = new String(block, pos, end - pos, StandardCharsets.UTF_8).trim();
+                if (headerLine(format, header, line, text.offset + pos, text.offset + next)) {
+                    dataFrom = (int) (header.dataStart - text.offset);
+                    break;
+                }
+                pos = next;
+            }
+            if (dataFrom < 0) block = text.next();
+        }
+
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try {
+            int vertex = 0;
+            for (int index = 0; block != null; index++) {
+                byte[] lines = block;
+                int from = dataFrom;
+                long offset = text.offset;
+                int chunkIndex = index;
+                int firstVertex = vertex;
+                if (format == Format.METIS) vertex += vertexLines(ByteBuffer.wrap(lines, from, lines.length - from));
+                if (pending.size() == maxChunksInFlight) sink.accept(join(pending.poll()));
+                pending.add(pool.submit(() -> parseChunk(lines, from, offset, format, header, interner,
+                        chunkIndex, firstVertex)));
+                block = text.next();
+                dataFrom = 0;
+            }
+            while (!pending.isEmpty()) sink.accept(join(pending.poll()));
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        return text.offset;
+    }
+
+    // ---- header and chunk boundaries ----
+
+    private static Header readHeader(FileChannel channel, Format format, long size) throws IOException {
+        Header header = new Header();
+        long position = 0;
+        while (position < size) {
+            byte[] line = readLine(channel, position, size);
+            long next = Math.min(size, position + line.length + 1);
+            if (headerLine(format, header, new String(line, StandardCharsets.UTF_8).trim(), position, next)) {
+                return header;
+            }
+            position = next;
+        }
+        header.dataStart = size;
+        return header;
+    }
+
+    // Takes one trimmed line at position (the following line starts at next); true once the header is complete
+    private static boolean headerLine(Format format, Header header, String text, long position, long next) {
+        switch (format) {
+            case CSV:
+                if (text.isEmpty() || text.startsWith("#")) return false;
+                String[] fields = text.split(",");
+                // A first line whose weight isn't a number is a column header
+                header.dataStart = fields.length >= 3 && isNumber(fields[2].trim()) ? position : next;
+                return true;
+            case DIMACS:
+                if (text.isEmpty() || text.startsWith("c")) return false;
+                if (!text.startsWith("p")) throw new IllegalArgumentException("DIMACS file has no 'p' line before arcs");
+                String[] problem = text.split("\\s+");
+                header.vertexCount = Integer.parseInt(problem[2]);
+                header.declaredEdges = Long.parseLong(problem[3]);
+                header.dataStart = next;
+                return true;
+            default:
+                if (text.startsWith("%")) return false;
+                String[] counts = text.split("\\s+");
+                header.vertexCount = Integer.parseInt(counts[0]);
+                header.declaredEdges = Long.parseLong(counts[1]);
+                String fmt = counts.length > 2 ? counts[2] : "0";
+                while (fmt.length() < 3) fmt = "0" + fmt;
+                header.vertexSizes = fmt.charAt(0) == '1';
+                header.vertexWeights = fmt.charAt(1) == '1' ? (counts.length > 3 ? Integer.parseInt(counts[3]) : 1) : 0;
+                header.edgeWeights = fmt.charAt(2) == '1';
+                header.dataStart = next;
+                return true;
+        }
+    }
+
+    private static byte[] readLine(FileChannel channel, long position, long size) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') return line.toByteArray();
+                line.write(b);
+            }
+            position += read;
+        }
+        return line.toByteArray();
+    }
+
+    // Nominal cut points moved forward to the start of the next line
+    private long[] chunkStarts(FileChannel channel, long dataStart, long size) throws IOException {
+        long span = size - dataStart;
+        int chunks = (int) Math.max(1, (span + chunkBytes - 1) / chunkBytes);
+        long[] starts = new long[chunks + 1];
+        starts[0] = dataStart;
+        starts[chunks] = size;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        for (int i = 1; i < chunks; i++) {
+            long position = Math.max(dataStart + (long) i * chunkBytes, starts[i - 1]);
+            starts[i] = size;
+            scan:
+            while (position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) break;
+                for (int j = 0; j < read; j++) {
+                    if (buffer.get(j) == '\n') {
+                        starts[i] = position + j + 1;
+                        break scan;
+                    }
+                }
+                position += read;
+            }
+        }
+        return starts;
+    }
+
+    // METIS lines are vertices, so every chunk needs the number of vertex lines before it
+    private int[] firstVertexPerChunk(FileChannel channel, long[] starts) {
+        int chunks = starts.length - 1;
+        int[] lines = inPool(() -> IntStream.range(0, chunks).parallel()
+                .map(i -> vertexLines(map(channel, starts[i], starts[i + 1])))
+                .toArray());
+        int[] first = new int[chunks];
+        for (int i = 1; i < chunks; i++) first[i] = first[i - 1] + lines[i - 1];
+        return first;
+    }
+
+    // Lines of a METIS chunk that are not '%' comments
+    private static int vertexLines(ByteBuffer buffer) {
+        int count = 0;
+        int limit = buffer.limit();
+        for (int pos = buffer.position(); pos < limit; ) {
+            if (buffer.get(pos) != '%') count++;
+            while (pos < limit && buffer.get(pos) != '\n') pos++;
+            pos++;
+        }
+        return count;
+    }
+
+    // ---- chunk parsing ----
+
+    // Lines from buffer[start] to the end of buffer; offset is where buffer[0] sits in the input
+    private static Chunk parseChunk(byte[] buffer, int start, long offset, Format format, Header header,
+                                    VertexInterner interner, int index, int firstVertex) {
+        Chunk chunk = new Chunk();
+        Cursor cursor = new Cursor(buffer);
+        NameCache local = interner != null ? new NameCache() : null;
+        int vertex = firstVertex;
+        int limit = buffer.length;
+
+        for (int pos = start; pos < limit; ) {
+            int end = pos;
+            while (end < limit && buffer[end] != '\n') end++;
+            int lineEnd = end > pos && buffer[end - 1] == '\r' ? end - 1 : end;
+            cursor.reset(pos, lineEnd);
+            try {
+                switch (format) {
+                    case CSV:
+                        parseCsvLine(cursor, chunk, interner, local, index);
+                        break;
+                    case DIMACS:
+                        parseDimacsLine(cursor, chunk, header);
+                        break;
+                    case METIS:
+                        if (cursor.peek() != '%') parseMetisLine(cursor, chunk, header, vertex++);
+                        break;
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed " + format + " line at byte "
+                        + (offset + pos) + ": " + e.getMessage(), e);
+            }
+            pos = end + 1;
+        }
+        return chunk;
+    }
+
+    private static void parseCsvLine(Cursor cursor, Chunk chunk, VertexInterner interner,
+                                     NameCache local, int chunkIndex) {
+        cursor.skipSpaces();
+        if (cursor.atEnd() || cursor.peek() == '#') return;
+        // Positions order names by (chunk, edge, side) so first appearances sort like a sequential read
+        long position = ((long) chunkIndex << 33) | ((long) chunk.size << 1);
+        int from = internField(cursor, position, interner, local);
+        int to = internField(cursor, position | 1, interner, local);
+        if (from < 0 || to < 0) throw new IllegalArgumentException("expected from,to,weight");
+        chunk.add(from, to, cursor);
+    }
+
+    // Names already seen in this chunk are matched on their bytes, without building a String
+    private static int internField(Cursor cursor, long position, VertexInterner interner, NameCache local) {
+        if (!cursor.field(',')) return -1;
+        int hash = cursor.fieldHash();
+        int id = local.get(cursor, hash);
+        if (id < 0) {
+            byte[] name = cursor.fieldBytes();
+            id = interner.intern(new String(name, StandardCharsets.UTF_8), position);
+            local.put(name, hash, id);
+        }
+        return id;
+    }
+
+    private static void parseDimacsLine(Cursor cursor, Chunk chunk, Header header) {
+        cursor.skipSpaces();
+        if (cursor.atEnd()) return;
+        byte kind = cursor.peek();
+        if (kind == 'c') return;
+        if (kind != 'a') throw new IllegalArgumentException("expected an 'a u v w' arc");
+        cursor.advance();
+        int from = vertexId(cursor.nextLong(), header);
+        int to = vertexId(cursor.nextLong(), header);
+        // The reverse arc is elsewhere in the file, as in METIS adjacency lists
+        if (from < to) chunk.add(from, to, cursor);
+    }
+
+    private static void parseMetisLine(Cursor cursor, Chunk chunk, Header header, int vertex) {
+        if (vertex >= header.vertexCount) {
+            cursor.skipSpaces();
+            if (cursor.atEnd()) return;
+            throw new IllegalArgumentException("more vertex lines than the declared " + header.vertexCount);
+        }
+        if (header.vertexSizes) cursor.nextLong();
+        for (int i = 0; i < header.vertexWeights; i++) cursor.nextLong();
+        while (true) {
+            cursor.skipSpaces();
+            if (cursor.atEnd()) return;
+            int neighbor = vertexId(cursor.nextLong(), header);
+            if (header.edgeWeights) {
+                // The reverse copy of the edge is on the neighbour's line
+                if (vertex < neighbor) chunk.add(vertex, neighbor, cursor);
+                else cursor.nextToken();
+            } else if (vertex < neighbor) {
+                chunk.add(vertex, neighbor, 1);
+            }
+        }
+    }
+
+    private static int vertexId(long oneBased, Header header) {
+        if (oneBased < 1 || oneBased > header.vertexCount) {
+            throw new IllegalArgumentException("vertex " + oneBased + " outside 1.." + header.vertexCount);
+        }
+        return (int) (oneBased - 1);
+    }
+
+    // ---- assembly ----
+
+    private static IndexedGraph assemble(int graphId, Format format, Header header, VertexInterner interner,
+                                         Chunk[] chunks) {
+        int total = 0;
+        boolean fractional = false;
+        boolean wide = false;
+        for (Chunk chunk : chunks) {
+            total = Math.addExact(total, chunk.size);
+            fractional |= chunk.fractional;
+            wide |= chunk.wide;
+        }
+        checkEdgeCount(format, header, total);
+
+        String[] names;
+        int[] remap = null;
+        if (interner != null) {
+            names = new String[interner.size()];
+            remap = interner.finish(names);
+        } else {
+            names = numberedNames(header.vertexCount);
+        }
+
+        int[] from = new int[total];
+        int[] to = new int[total];
+        int[] intWeights = !fractional && !wide ? new int[total] : null;
+        long[] longWeights = !fractional && wide ? new long[total] : null;
+        double[] doubleWeights = fractional ? new double[total] : null;
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                int e = offset + i;
+                from[e] = remap != null ? remap[chunk.from[i]] : chunk.from[i];
+                to[e] = remap != null ? remap[chunk.to[i]] : chunk.to[i];
+                long weight = chunk.weights[i];
+                if (intWeights != null) intWeights[e] = (int) weight;
+                else if (longWeights != null) longWeights[e] = weight;
+                else doubleWeights[e] = chunk.fractional ? Double.longBitsToDouble(weight) : weight;
+            }
+            offset += chunk.size;
+        }
+
+        if (intWeights != null) return new IndexedGraph(graphId, names, from, to, intWeights);
+        if (longWeights != null) return IndexedGraph.withLongWeights(graphId, names, from, to, longWeights);
+        return IndexedGraph.withDoubleWeights(graphId, names, from, to, doubleWeights);
+    }
+
+    private static void checkEdgeCount(Format format, Header header, int total) {
+        if (format == Format.METIS && total != header.declaredEdges) {
+            throw new IllegalArgumentException("METIS header declares " + header.declaredEdges
+                    + " edges but the adjacency lists hold " + total);
+        }
+    }
+
+    // DIMACS and METIS vertices are named by their 1-based ids
+    private static String[] numberedNames(int vertexCount) {
+        String[] names = new String[vertexCount];
+        for (int v = 0; v < names.length; v++) names[v] = String.valueOf(v + 1);
+        return names;
+    }
+
+    // ---- helpers ----
+
+    private static ByteBuffer map(FileChannel channel, long start, long end) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One bulk copy out of the mapping; byte-array access is what the tokenizer's loops want
+    private static byte[] copy(FileChannel channel, long start, long end) {
+        ByteBuffer mapped = map(channel, start, end);
+        byte[] buffer = new byte[mapped.limit()];
+        mapped.get(buffer);
+        return buffer;
+    }
+
+    private static int lineEnd(byte[] buffer, int pos) {
+        while (pos < buffer.length && buffer[pos] != '\n') pos++;
+        return pos;
+    }
+
+    // Cuts a stream into chunks of whole lines, each at least the target size unless the stream ends
+    private static final class LineChunks {
+        private final InputStream in;
+        private final int target;
+        private byte[] buffer = new byte[0];
+        private int length;
+        private boolean ended;
+        // Input offset of the chunk last returned by next(); the total length once it returns null
+        long offset;
+        private long consumed;
+
+        LineChunks(InputStream in, int target) {
+            this.in = in;
+            this.target = Math.max(target, 1);
+        }
+
+        byte[] next() throws IOException {
+            int want = target;
+            int cut;
+            while (true) {
+                fill(want);
+                cut = length;
+                while (cut > 0 && buffer[cut - 1] != '\n') cut--;
+                if (cut > 0 || ended) break;
+                // A single line longer than the target: read on until it ends
+                want = length * 2;
+            }
+            // Only the last line of the input may lack its newline
+            if (cut == 0) cut = length;
+            offset = consumed;
+            if (cut == 0) return null;
+            byte[] chunk = Arrays.copyOf(buffer, cut);
+            System.arraycopy(buffer, cut, buffer, 0, length - cut);
+            length -= cut;
+            consumed += cut;
+            return chunk;
+        }
+
+        private void fill(int want) throws IOException {
+            if (buffer.length < want) buffer = Arrays.copyOf(buffer, want);
+            while (!ended && length < want) {
+                int n = in.read(buffer, length, want - length);
+                if (n < 0) ended = true;
+                else length += n;
+            }
+        }
+    }
+
+    private <T> T inPool(Callable<T> task) {
+        return join(pool.submit(task));
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static boolean isNumber(String text) {
+        try {
+            Double.parseDouble(text);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static final class Header {
+        long dataStart;
+        int vertexCount;
+        long declaredEdges;
+        boolean vertexSizes;
+        int vertexWeights;
+        boolean edgeWeights;
+    }
+
+    // Edges of one chunk; weights are longs, or raw double bits once a fractional weight shows up
+    private static final class Chunk {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        long[] weights = new long[1024];
+        int size;
+        boolean fractional;
+        boolean wide;
+
+        void add(int u, int v, Cursor cursor) {
+            if (cursor.tryLong()) {
+                add(u, v, cursor.lastLong);
+                return;
+            }
+            String token = cursor.nextToken();
+            if (token == null) throw new IllegalArgumentException("missing weight");
+            double weight = Double.parseDouble(token);
+            if (Double.isNaN(weight)) throw new IllegalArgumentException("NaN weight");
+            if (!fractional) {
+                for (int i = 0; i < size; i++) weights[i] = Double.doubleToRawLongBits(weights[i]);
+                fractional = true;
+            }
+            grow();
+            from[size] = u;
+            to[size] = v;
+            weights[size++] = Double.doubleToRawLongBits(weight);
+        }
+
+        void add(int u, int v, long weight) {
+            grow();
+            from[size] = u;
+            to[size] = v;
+            weights[size++] = fractional ? Double.doubleToRawLongBits(weight) : weight;
+            wide |= weight != (int) weight;
+        }
+
+        private void grow() {
+            if (size == from.length) {
+                int capacity = from.length * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+        }
+    }
+
+    // Open-addressing map from name bytes to interned id, private to one chunk
+    private static final class NameCache {
+        private int[] slots = new int[1 << 10];
+        private int[] hashes = new int[512];
+        private byte[][] keys = new byte[512][];
+        private int[] ids = new int[512];
+        private int size;
+
+        int get(Cursor cursor, int hash) {
+            int mask = slots.length - 1;
+            for (int slot = slot(hash); slots[slot] != 0; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (hashes[entry] == hash && cursor.fieldEquals(keys[entry])) return ids[entry];
+            }
+            return -1;
+        }
+
+        void put(byte[] key, int hash, int id) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            hashes[size] = hash;
+            keys[size] = key;
+            ids[size] = id;
+            size++;
+            if (size * 2 > slots.length) {
+                slots = new int[slots.length * 2];
+                for (int entry = 0; entry < size; entry++) insert(entry);
+            } else {
+                insert(size - 1);
+            }
+        }
+
+        private void insert(int entry) {
+            int mask = slots.length - 1;
+            int slot = slot(hashes[entry]);
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = entry + 1;
+        }
+
+        // Names like n1, n2, n3 hash to neighbouring values; scatter them before linear probing
+        private int slot(int hash) {
+            return (hash * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(slots.length));
+        }
+    }
+
+    // Byte-level tokenizer over one line of a chunk
+    private static final class Cursor {
+        private final byte[] buffer;
+        private int pos;
+        private int end;
+        private int fieldStart;
+        private int fieldEnd;
+        private long lastLong;
+
+        Cursor(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        void reset(int start, int end) {
+            this.pos = start;
+            this.end = end;
+        }
+
+        boolean atEnd() {
+            return pos >= end;
+        }
+
+        byte peek() {
+            return pos < end ? buffer[pos] : 0;
+        }
+
+        void advance() {
+            pos++;
+        }
+
+        void skipSpaces() {
+            while (pos < end && isSpace(buffer[pos])) pos++;
+        }
+
+        /** Whitespace-separated token, or null at the end of the line. */
+        String nextToken() {
+            skipSpaces();
+            if (pos >= end) return null;
+            int start = pos;
+            while (pos < end && !isSpace(buffer[pos]) && buffer[pos] != ',') pos++;
+            String token = text(start, pos);
+            skipSpaces();
+            if (pos < end && buffer[pos] == ',') pos++;
+            return token;
+        }
+
+        long nextLong() {
+            skipSpaces();
+            if (pos >= end) throw new IllegalArgumentException("missing number");
+            boolean negative = buffer[pos] == '-';
+            if (negative) pos++;
+            long value = 0;
+            int digits = 0;
+            while (pos < end && buffer[pos] >= '0' && buffer[pos] <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), buffer[pos++] - '0');
+                digits++;
+            }
+            if (digits == 0) throw new IllegalArgumentException("expected a number");
+            return negative ? -value : value;
+        }
+
+        /** Moves over the next field and its separator; false at the end of the line. */
+        boolean field(char separator) {
+            skipSpaces();
+            if (pos >= end) return false;
+            fieldStart = pos;
+            while (pos < end && buffer[pos] != separator) pos++;
+            fieldEnd = pos;
+            while (fieldEnd > fieldStart && isSpace(buffer[fieldEnd - 1])) fieldEnd--;
+            if (pos < end) pos++;
+            return true;
+        }
+
+        int fieldHash() {
+            int hash = 0;
+            for (int i = fieldStart; i < fieldEnd; i++) hash = 31 * hash + buffer[i];
+            return hash ^ (hash >>> 16);
+        }
+
+        boolean fieldEquals(byte[] key) {
+            if (key.length != fieldEnd - fieldStart) return false;
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer[fieldStart + i]) return false;
+            }
+            return true;
+        }
+
+        byte[] fieldBytes() {
+            return Arrays.copyOfRange(buffer, fieldStart, fieldEnd);
+        }
+
+        /** Parses a plain integer token in place; leaves the cursor untouched and returns false otherwise. */
+        boolean tryLong() {
+            skipSpaces();
+            int start = pos;
+            int i = pos;
+            boolean negative = i < end && buffer[i] == '-';
+            if (negative || (i < end && buffer[i] == '+')) i++;
+            long value = 0;
+            int digits = 0;
+            while (i < end && digits <= 18) {
+                byte b = buffer[i];
+                if (b < '0' || b > '9') break;
+                value = value * 10 + (b - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 18 || (i < end && !isSpace(buffer[i]) && buffer[i] != ',')) {
+                pos = start;
+                return false;
+            }
+            pos = i;
+            skipSpaces();
+            if (pos < end && buffer[pos] == ',') pos++;
+            lastLong = negative ? -value : value;
+            return true;
+        }
+
+        private String text(int start, int stop) {
+            return new String(buffer, start, stop - start, StandardCharsets.UTF_8);
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t';
+        }
+    }
+}
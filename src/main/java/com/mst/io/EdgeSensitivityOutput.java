@@ -0,0 +1,46 @@
+package com.mst.io;
+
+public class EdgeSensitivityOutput {
+    private String from;
+    private String to;
+    private int weight;
+    private boolean in_mst;
+    private EdgeOutput replacement_edge;
+    private EdgeOutput path_max_edge;
+    // Difference of two int weights, which can exceed the int range
+    private Long cost_margin;
+
+    public EdgeSensitivityOutput() {}
+
+    public EdgeSensitivityOutput(String from, String to, int weight, boolean in_mst,
+                                 EdgeOutput replacement_edge, EdgeOutput path_max_edge, Long cost_margin) {
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.in_mst = in_mst;
+        this.replacement_edge = replacement_edge;
+        this.path_max_edge = path_max_edge;
+        this.cost_margin = cost_margin;
+    }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public int getWeight() { return weight; }
+    public void setWeight(int weight) { this.weight = weight; }
+
+    public boolean isIn_mst() { return in_mst; }
+    public void setIn_mst(boolean in_mst) { this.in_mst = in_mst; }
+
+    public EdgeOutput getReplacement_edge() { return replacement_edge; }
+    public void setReplacement_edge(EdgeOutput replacement_edge) { this.replacement_edge = replacement_edge; }
+
+    public EdgeOutput getPath_max_edge() { return path_max_edge; }
+    public void setPath_max_edge(EdgeOutput path_max_edge) { this.path_max_edge = path_max_edge; }
+
+    public Long getCost_margin() { return cost_margin; }
+    public void setCost_margin(Long cost_margin) { this.cost_margin = cost_margin; }
+}
@@ -1,10 +1,20 @@
 package com.mst.io;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
 public class GraphResult {
     private int graph_id;
     private InputStats input_stats;
     private MSTOutput prim;
     private MSTOutput kruskal;
+    // Only present when the run asked for bottleneck trees
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BottleneckOutput bottleneck;
+    // Only present when the run asked for service zones
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ZoneOutput> zones;
 
     public GraphResult(int graph_id, InputStats input_stats, MSTOutput prim, MSTOutput kruskal) {
         this.graph_id = graph_id;
@@ -24,4 +34,10 @@ public class GraphResult {
 
     public MSTOutput getKruskal() { return kruskal; }
     public void setKruskal(MSTOutput kruskal) { this.kruskal = kruskal; }
-}
\ No newline at end of file
+
+    public BottleneckOutput getBottleneck() { return bottleneck; }
+    public void setBottleneck(BottleneckOutput bottleneck) { this.bottleneck = bottleneck; }
+
+    public List<ZoneOutput> getZones() { return zones; }
+    public void setZones(List<ZoneOutput> zones) { this.zones = zones; }
+}
@@ -0,0 +1,70 @@
+package com.mst.io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mst.core.IndexedGraph;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of MST edges backed by edge indices into an {@link IndexedGraph}.
+ * The serializer writes each edge straight from the graph arrays without building EdgeOutput objects.
+ */
+@JsonSerialize(using = IndexedEdgeOutputs.Serializer.class)
+public class IndexedEdgeOutputs extends AbstractList<EdgeOutput> implements RandomAccess {
+    private final IndexedGraph graph;
+    private final int[] edgeIndices;
+
+    public IndexedEdgeOutputs(IndexedGraph graph, int[] edgeIndices) {
+        this.graph = graph;
+        this.edgeIndices = edgeIndices;
+    }
+
+    @Override
+    public EdgeOutput get(int index) {
+        int e = edgeIndices[index];
+        return new EdgeOutput(graph.getVertexName(graph.getFrom(e)), graph.getVertexName(graph.getTo(e)),
+                graph.getWeightValue(e));
+    }
+
+    @Override
+    public int size() {
+        return edgeIndices.length;
+    }
+
+    static class Serializer extends StdSerializer<IndexedEdgeOutputs> {
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(IndexedEdgeOutputs.class);
+        }
+
+        @Override
+        public void serialize(IndexedEdgeOutputs edges, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            IndexedGraph graph = edges.graph;
+            gen.writeStartArray(edges, edges.edgeIndices.length);
+            for (int e : edges.edgeIndices) {
+                gen.writeStartObject();
+                gen.writeStringField("from", graph.getVertexName(graph.getFrom(e)));
+                gen.writeStringField("to", graph.getVertexName(graph.getTo(e)));
+                switch (graph.getWeightType()) {
+                    case INT:
+                        gen.writeNumberField("weight", graph.getWeight(e));
+                        break;
+                    case LONG:
+                        gen.writeNumberField("weight", graph.getLongWeight(e));
+                        break;
+                    default:
+                        gen.writeNumberField("weight", graph.getDoubleWeight(e));
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.mst.io;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.mst.core.Graph;
 import com.mst.core.Edge;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+import com.mst.monitoring.GraphConversionEvent;
+import com.mst.monitoring.GraphLoadEvent;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class JsonUtils {
     private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -18,22 +29,196 @@ public class JsonUtils {
     }
 
     public static InputData readInput(String filePath) throws IOException {
-        return objectMapper.readValue(new File(filePath), InputData.class);
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        File file = new File(filePath);
+        InputData inputData;
+        try (InputStream in = CompressedIO.openInput(filePath)) {
+            inputData = objectMapper.readValue(in, InputData.class);
+        }
+        if (event.shouldCommit()) {
+            event.describe(filePath, file.length(), inputData.getGraphs().size());
+            event.commit();
+        }
+        return inputData;
+    }
+
+    public static InputData readInput(InputStream in) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        // Accept either a full {"graphs": [...]} document or a single graph object
+        JsonNode root = objectMapper.readTree(in);
+        if (root == null || root.isMissingNode()) {
+            throw new IOException("Empty JSON document");
+        }
+        InputData inputData;
+        if (root.has("graphs")) {
+            inputData = objectMapper.treeToValue(root, InputData.class);
+        } else {
+            List<GraphInput> graphs = new ArrayList<>();
+            graphs.add(objectMapper.treeToValue(root, GraphInput.class));
+            inputData = new InputData(graphs);
+        }
+        if (event.shouldCommit()) {
+            // Stream sizes are unknown up front
+            event.describe("stream", 0, inputData.getGraphs().size());
+            event.commit();
+        }
+        return inputData;
     }
 
     public static List<Graph> convertToGraphs(InputData inputData) {
         List<Graph> graphs = new ArrayList<>();
         for (GraphInput graphInput : inputData.getGraphs()) {
-            List<Edge> edges = new ArrayList<>();
-            for (EdgeInput edgeInput : graphInput.getEdges()) {
-                edges.add(new Edge(edgeInput.getFrom(), edgeInput.getTo(), edgeInput.getWeight()));
+            GraphConversionEvent event = new GraphConversionEvent();
+            event.begin();
+            Graph graph = convertToGraph(graphInput);
+            if (event.shouldCommit()) {
+                event.describe(graph.getId(), graph.getVertices().size(), graph.getEdges().size(), null);
+                event.commit();
             }
-            graphs.add(new Graph(graphInput.getId(), graphInput.getNodes(), edges));
+            graphs.add(graph);
+        }
+        return graphs;
+    }
+
+    public static Graph convertToGraph(GraphInput graphInput) {
+        List<Edge> edges = new ArrayList<>();
+        for (EdgeInput edgeInput : graphInput.getEdges()) {
+            edges.add(new Edge(edgeInput.getFrom(), edgeInput.getTo(), toIntWeight(edgeInput.getWeight())));
+        }
+        return new Graph(graphInput.getId(), graphInput.getNodes(), edges);
+    }
+
+    // Integer-weighted graphs keep their Graph source (cacheable), wider ones go straight to primitive arrays
+    public static List<IndexedGraph> convertToIndexedGraphs(InputData inputData) {
+        List<IndexedGraph> graphs = new ArrayList<>();
+        for (GraphInput graphInput : inputData.getGraphs()) {
+            graphs.add(convertRecorded(graphInput));
         }
         return graphs;
     }
 
+    static IndexedGraph convertRecorded(GraphInput graphInput) {
+        GraphConversionEvent event = new GraphConversionEvent();
+        event.begin();
+        IndexedGraph graph = convertToIndexedGraph(graphInput);
+        if (event.shouldCommit()) {
+            event.describe(graph, null);
+            event.commit();
+        }
+        return graph;
+    }
+
+    // One element of a "graphs" array, located by MultiGraphJsonReader's structural scan
+    static GraphInput readGraph(byte[] data, int offset, int length) throws IOException {
+        return objectMapper.readValue(data, offset, length, GraphInput.class);
+    }
+
+    static JsonParser createParser(InputStream in) throws IOException {
+        return objectMapper.getFactory().createParser(in);
+    }
+
+    // The graph object the parser is positioned on, for MultiGraphJsonReader's streaming path
+    static GraphInput readGraph(JsonParser parser) throws IOException {
+        return objectMapper.readValue(parser, GraphInput.class);
+    }
+
+    public static IndexedGraph convertToIndexedGraph(GraphInput graphInput) {
+        WeightType weightType = WeightType.INT;
+        for (EdgeInput edgeInput : graphInput.getEdges()) {
+            weightType = WeightType.widest(weightType, WeightType.of(edgeInput.getWeight()));
+        }
+        if (weightType == WeightType.INT) {
+            return convertToGraph(graphInput).toIndexed();
+        }
+
+        List<String> nodes = graphInput.getNodes();
+        List<EdgeInput> edgeInputs = graphInput.getEdges();
+        Map<String, Integer> index = new HashMap<>(nodes.size() * 2);
+        String[] names = nodes.toArray(new String[0]);
+        for (int v = 0; v < names.length; v++) {
+            index.put(names[v], v);
+        }
+
+        int m = edgeInputs.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        long[] longWeights = weightType == WeightType.LONG ? new long[m] : null;
+        double[] doubleWeights = weightType == WeightType.DOUBLE ? new double[m] : null;
+        for (int e = 0; e < m; e++) {
+            EdgeInput edgeInput = edgeInputs.get(e);
+            from[e] = vertexIndex(index, edgeInput.getFrom());
+            to[e] = vertexIndex(index, edgeInput.getTo());
+            if (longWeights != null) {
+                longWeights[e] = edgeInput.getWeight().longValue();
+            } else {
+                doubleWeights[e] = edgeInput.getWeight().doubleValue();
+            }
+        }
+        return longWeights != null
+                ? IndexedGraph.withLongWeights(graphInput.getId(), names, from, to, longWeights)
+                : IndexedGraph.withDoubleWeights(graphInput.getId(), names, from, to, doubleWeights);
+    }
+
+    private static int vertexIndex(Map<String, Integer> index, String vertex) {
+        Integer v = index.get(vertex);
+        if (v == null) {
+            throw new IllegalArgumentException("Edge references unknown vertex: " + vertex);
+        }
+        return v;
+    }
+
+    private static int toIntWeight(Number weight) {
+        if (WeightType.of(weight) != WeightType.INT) {
+            throw new IllegalArgumentException("Weight " + weight + " is not a 32-bit integer; " +
+                    "use convertToIndexedGraphs for LONG/DOUBLE weights");
+        }
+        return weight.intValue();
+    }
+
+    public static MSTOutput convertToMSTOutput(MSTResult result) {
+        if (result.hasEdgeIndices()) {
+            return new MSTOutput(new IndexedEdgeOutputs(result.getGraph(), result.getEdgeIndices()),
+                    result.getTotalCostValue(),
+                    result.getOperationsCount(), result.getExecutionTime() / 1_000_000.0);
+        }
+
+        List<EdgeOutput> edgeOutputs = new ArrayList<>();
+        for (Edge edge : result.getMstEdges()) {
+            edgeOutputs.add(new EdgeOutput(edge.getFrom(), edge.getTo(), edge.getWeightValue()));
+        }
+        return new MSTOutput(edgeOutputs, result.getTotalCostValue(),
+                result.getOperationsCount(), result.getExecutionTime() / 1_000_000.0);
+    }
+
+    public static MSTResult convertToMSTResult(MSTOutput output) {
+        List<Edge> edges = new ArrayList<>();
+        for (EdgeOutput edgeOutput : output.getMst_edges()) {
+            edges.add(new Edge(edgeOutput.getFrom(), edgeOutput.getTo(), toIntWeight(edgeOutput.getWeight())));
+        }
+        return new MSTResult(edges, output.getTotal_cost().longValue(), output.getOperations_count(),
+                (long) (output.getExecution_time_ms() * 1_000_000));
+    }
+
+    public static <T> T readJson(File file, Class<T> type) throws IOException {
+        try (InputStream in = CompressedIO.openInput(file.getPath())) {
+            return objectMapper.readValue(in, type);
+        }
+    }
+
+    public static void writeJson(OutputStream out, Object data) throws IOException {
+        objectMapper.writeValue(out, data);
+    }
+
     public static void writeOutput(String filePath, OutputData outputData) throws IOException {
-        objectMapper.writeValue(new File(filePath), outputData);
+        writeJson(filePath, outputData);
+    }
+
+    // A ".gz" path is written as BGZF, which readInput inflates in parallel
+    public static void writeJson(String filePath, Object data) throws IOException {
+        try (OutputStream out = CompressedIO.openOutput(filePath)) {
+            objectMapper.writeValue(out, data);
+        }
     }
 }
\ No newline at end of file
@@ -1,27 +1,52 @@
 package com.mst.io;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class MSTOutput {
     private List<EdgeOutput> mst_edges;
-    private int total_cost;
+    private Number total_cost;
     private int operations_count;
     private double execution_time_ms;
 
     public MSTOutput() {}
 
-    public MSTOutput(List<EdgeOutput> mst_edges, int total_cost, int operations_count, double execution_time_ms) {
+    public MSTOutput(List<EdgeOutput> mst_edges, Number total_cost, int operations_count, double execution_time_ms) {
         this.mst_edges = mst_edges;
         this.total_cost = total_cost;
         this.operations_count = operations_count;
         this.execution_time_ms = execution_time_ms;
     }
 
+    /**
+     * Copy in canonical form: every edge written with the smaller vertex name first and the
+     * edges sorted by (weight, from, to). Two solutions of the same graph under the shared tie
+     * order then serialize to identical mst_edges, whichever algorithm produced them.
+     */
+    public MSTOutput canonical() {
+        List<EdgeOutput> edges = new ArrayList<>(mst_edges.size());
+        for (EdgeOutput edge : mst_edges) {
+            boolean ordered = edge.getFrom().compareTo(edge.getTo()) <= 0;
+            edges.add(ordered ? new EdgeOutput(edge.getFrom(), edge.getTo(), edge.getWeight())
+                    : new EdgeOutput(edge.getTo(), edge.getFrom(), edge.getWeight()));
+        }
+        edges.sort(Comparator.comparing(EdgeOutput::getWeight, MSTOutput::compareWeights)
+                .thenComparing(EdgeOutput::getFrom)
+                .thenComparing(EdgeOutput::getTo));
+        return new MSTOutput(edges, total_cost, operations_count, execution_time_ms);
+    }
+
+    private static int compareWeights(Number a, Number b) {
+        boolean integral = !(a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float);
+        return integral ? Long.compare(a.longValue(), b.longValue()) : Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
     public List<EdgeOutput> getMst_edges() { return mst_edges; }
     public void setMst_edges(List<EdgeOutput> mst_edges) { this.mst_edges = mst_edges; }
 
-    public int getTotal_cost() { return total_cost; }
-    public void setTotal_cost(int total_cost) { this.total_cost = total_cost; }
+    public Number getTotal_cost() { return total_cost; }
+    public void setTotal_cost(Number total_cost) { this.total_cost = total_cost; }
 
     public int getOperations_count() { return operations_count; }
     public void setOperations_count(int operations_count) { this.operations_count = operations_count; }
@@ -0,0 +1,279 @@
+package com.mst.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mst.core.IndexedGraph;
+import com.mst.monitoring.GraphLoadEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Loads a {"graphs": [...]} dataset with its graphs parsed in parallel.
+ *
+ * A single pass over the raw bytes tracks only strings, escapes and bracket depth, which is
+ * enough to find where each element of the top-level "graphs" array begins and ends. Each
+ * element is then parsed and converted to an {@link IndexedGraph} as its own pool task. Graphs
+ * are handed to the sink on the calling thread in file order, each as soon as it and the ones
+ * before it are ready, and only a window of graphs is parsed ahead of the sink so a blocking
+ * consumer (e.g. the pipeline's bounded queue) still caps memory. Other top-level keys are skipped.
+ *
+ * The scan needs the whole document in one array, so a file larger than {@code maxInMemoryBytes}
+ * (1 GiB by default, after decompression) is instead streamed through Jackson: graphs are then
+ * parsed one after another on the calling thread and only their conversion runs on the pool.
+ */
+public class MultiGraphJsonReader {
+    public static final int DEFAULT_MAX_IN_MEMORY_BYTES = 1 << 30;
+    private static final byte[] GRAPHS_KEY = "graphs".getBytes();
+
+    private final ForkJoinPool pool;
+    private final int maxPending;
+    private final int maxInMemoryBytes;
+
+    public MultiGraphJsonReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MultiGraphJsonReader(ForkJoinPool pool) {
+        this(pool, DEFAULT_MAX_IN_MEMORY_BYTES);
+    }
+
+    public MultiGraphJsonReader(ForkJoinPool pool, int maxInMemoryBytes) {
+        this.pool = pool;
+        this.maxPending = Math.max(2, 2 * pool.getParallelism());
+        this.maxInMemoryBytes = maxInMemoryBytes;
+    }
+
+    public List<IndexedGraph> read(String path) throws IOException {
+        List<IndexedGraph> graphs = new ArrayList<>();
+        read(path, graphs::add);
+        return graphs;
+    }
+
+    /** Streams the file's graphs into sink in file order and returns how many there were. */
+    public int read(String path, Consumer<IndexedGraph> sink) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        long fileBytes = Files.size(Paths.get(path));
+        byte[] data = null;
+        if (CompressedIO.isGzip(path)) {
+            data = CompressedIO.readAll(path, maxInMemoryBytes);
+        } else if (fileBytes <= maxInMemoryBytes) {
+            data = Files.readAllBytes(Paths.get(path));
+        }
+        int count = data != null ? read(data, sink) : stream(path, sink);
+        if (event.shouldCommit()) {
+            event.describe(path, data != null ? data.length : fileBytes, count);
+            event.commit();
+        }
+        return count;
+    }
+
+    public int read(byte[] data, Consumer<IndexedGraph> sink) throws IOException {
+        int[] ranges = graphRanges(data);
+        int count = ranges.length / 2;
+        ArrayDeque<Future<IndexedGraph>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (int delivered = 0; delivered < count; delivered++) {
+                while (next < count && pending.size() < maxPending) {
+                    int start = ranges[2 * next];
+                    int length = ranges[2 * next + 1] - start;
+                    pending.add(pool.submit(() -> JsonUtils.convertRecorded(JsonUtils.readGraph(data, start, length))));
+                    next++;
+                }
+                sink.accept(take(pending.poll(), delivered));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        return count;
+    }
+
+    // Too large for one array: Jackson walks the document, and each graph is converted on the pool
+    private int stream(String path, Consumer<IndexedGraph> sink) throws IOException {
+        ArrayDeque<Future<IndexedGraph>> pending = new ArrayDeque<>();
+        int count = 0;
+        int delivered = 0;
+        boolean found = false;
+        try (InputStream in = CompressedIO.openInput(path); JsonParser parser = JsonUtils.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new IOException("Expected '{' at the start of " + path);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean graphs = "graphs".equals(parser.getCurrentName());
+                JsonToken value = parser.nextToken();
+                if (!graphs) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) throw new IOException("\"graphs\" is not an array");
+                found = true;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    GraphInput input = JsonUtils.readGraph(parser);
+                    if (pending.size() == maxPending) sink.accept(take(pending.poll(), delivered++));
+                    pending.add(pool.submit(() -> JsonUtils.convertRecorded(input)));
+                    count++;
+                }
+            }
+            while (!pending.isEmpty()) sink.accept(take(pending.poll(), delivered++));
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        if (!found) throw new IOException("No top-level \"graphs\" array");
+        return count;
+    }
+
+    private static IndexedGraph take(Future<IndexedGraph> future, int element) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing graphs", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException("graphs[" + element + "]: " + cause.getMessage(), cause);
+        }
+    }
+
+    // ---- structural scan ----
+
+    /** Start and end offsets of every element of the top-level "graphs" array, flattened. */
+    static int[] graphRanges(byte[] data) throws IOException {
+        int pos = skipSpace(data, 0);
+        // UTF-8 byte order mark
+        if (pos + 2 < data.length && (data[pos] & 0xff) == 0xef && (data[pos + 1] & 0xff) == 0xbb
+                && (data[pos + 2] & 0xff) == 0xbf) {
+            pos = skipSpace(data, pos + 3);
+        }
+        pos = expect(data, pos, '{');
+        int[] ranges = null;
+        while (true) {
+            pos = skipSpace(data, pos);
+            if (at(data, pos) == '}') break;
+            int keyStart = pos;
+            pos = skipString(data, pos);
+            pos = expect(data, skipSpace(data, pos), ':');
+            pos = skipSpace(data, pos);
+            if (isKey(data, keyStart, pos, GRAPHS_KEY)) {
+                IntList found = new IntList();
+                pos = scanArray(data, pos, found);
+                ranges = found.toArray();
+            } else {
+                pos = skipValue(data, pos);
+            }
+            pos = skipSpace(data, pos);
+            if (at(data, pos) == ',') {
+                pos++;
+            } else {
+                expect(data, pos, '}');
+                break;
+            }
+        }
+        if (ranges == null) throw new IOException("No top-level \"graphs\" array");
+        return ranges;
+    }
+
+    private static int scanArray(byte[] data, int pos, IntList ranges) throws IOException {
+        pos = skipSpace(data, expect(data, pos, '['));
+        if (at(data, pos) == ']') return pos + 1;
+        while (true) {
+            int start = pos;
+            pos = skipValue(data, pos);
+            ranges.add(start);
+            ranges.add(pos);
+            pos = skipSpace(data, pos);
+            if (at(data, pos) == ']') return pos + 1;
+            pos = skipSpace(data, expect(data, pos, ','));
+        }
+    }
+
+    private static int skipValue(byte[] data, int pos) throws IOException {
+        int c = at(data, pos);
+        if (c == '"') return skipString(data, pos);
+        if (c != '{' && c != '[') {
+            // Number, true, false or null
+            while (pos < data.length && !isDelimiter(data[pos])) pos++;
+            return pos;
+        }
+        int depth = 0;
+        while (pos < data.length) {
+            byte b = data[pos];
+            if (b == '"') {
+                pos = skipString(data, pos);
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (--depth == 0) return pos + 1;
+            }
+            pos++;
+        }
+        throw new IOException("Unexpected end of JSON inside a value");
+    }
+
+    private static int skipString(byte[] data, int pos) throws IOException {
+        pos = expect(data, pos, '"');
+        while (pos < data.length) {
+            byte b = data[pos++];
+            if (b == '"') return pos;
+            if (b == '\\') pos++;
+        }
+        throw new IOException("Unterminated JSON string");
+    }
+
+    private static boolean isKey(byte[] data, int start, int end, byte[] key) {
+        // start is the opening quote; the key is followed by its closing quote and the colon
+        if (start + key.length + 1 >= end || data[start + key.length + 1] != '"') return false;
+        for (int i = 0; i < key.length; i++) {
+            if (data[start + 1 + i] != key[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static int skipSpace(byte[] data, int pos) {
+        while (pos < data.length && (data[pos] == ' ' || data[pos] == '\n' || data[pos] == '\r' || data[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int at(byte[] data, int pos) {
+        return pos < data.length ? data[pos] : -1;
+    }
+
+    private static int expect(byte[] data, int pos, char c) throws IOException {
+        if (at(data, pos) != c) {
+            throw new IOException("Expected '" + c + "' at byte " + pos + (pos < data.length ? "" : " (end of input)"));
+        }
+        return pos + 1;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
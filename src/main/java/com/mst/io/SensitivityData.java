@@ -0,0 +1,16 @@
+package com.mst.io;
+
+import java.util.List;
+
+public class SensitivityData {
+    private List<SensitivityOutput> results;
+
+    public SensitivityData() {}
+
+    public SensitivityData(List<SensitivityOutput> results) {
+        this.results = results;
+    }
+
+    public List<SensitivityOutput> getResults() { return results; }
+    public void setResults(List<SensitivityOutput> results) { this.results = results; }
+}
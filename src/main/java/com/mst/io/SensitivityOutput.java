@@ -0,0 +1,26 @@
+package com.mst.io;
+
+import java.util.List;
+
+public class SensitivityOutput {
+    private int graph_id;
+    private long total_cost;
+    private List<EdgeSensitivityOutput> edges;
+
+    public SensitivityOutput() {}
+
+    public SensitivityOutput(int graph_id, long total_cost, List<EdgeSensitivityOutput> edges) {
+        this.graph_id = graph_id;
+        this.total_cost = total_cost;
+        this.edges = edges;
+    }
+
+    public int getGraph_id() { return graph_id; }
+    public void setGraph_id(int graph_id) { this.graph_id = graph_id; }
+
+    public long getTotal_cost() { return total_cost; }
+    public void setTotal_cost(long total_cost) { this.total_cost = total_cost; }
+
+    public List<EdgeSensitivityOutput> getEdges() { return edges; }
+    public void setEdges(List<EdgeSensitivityOutput> edges) { this.edges = edges; }
+}
@@ -0,0 +1,57 @@
+package com.mst.io;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vertex-name interner shared by parallel chunk parsers.
+ *
+ * Ids handed out while parsing depend on thread timing, so every name also keeps the smallest
+ * input position it was seen at. {@link #finish} renumbers by that position, which yields the
+ * same vertex order as a single-threaded read of the file.
+ */
+final class VertexInterner {
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    int intern(String name, long position) {
+        Entry entry = entries.computeIfAbsent(name, k -> new Entry(nextId.getAndIncrement()));
+        if (position < entry.firstSeen.get()) entry.firstSeen.accumulateAndGet(position, Math::min);
+        return entry.id;
+    }
+
+    /** Fills names in first-appearance order and returns the provisional-id to final-id map. */
+    int[] finish(String[] names) {
+        int n = nextId.get();
+        long[] firstSeen = new long[n];
+        String[] byId = new String[n];
+        entries.forEach((name, entry) -> {
+            firstSeen[entry.id] = entry.firstSeen.get();
+            byId[entry.id] = name;
+        });
+        long[] order = firstSeen.clone();
+        Arrays.sort(order);
+
+        int[] remap = new int[n];
+        for (int id = 0; id < n; id++) {
+            remap[id] = Arrays.binarySearch(order, firstSeen[id]);
+            names[remap[id]] = byId[id];
+        }
+        return remap;
+    }
+
+    int size() {
+        return nextId.get();
+    }
+
+    private static final class Entry {
+        final int id;
+        final AtomicLong firstSeen = new AtomicLong(Long.MAX_VALUE);
+
+        Entry(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mst.io;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public class ZoneOutput {
+    private int k;
+    private int zone_count;
+    // Cheapest link between two zones; absent when the zones are disconnected components
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double separation;
+    private List<List<String>> zones;
+
+    public ZoneOutput() {}
+
+    public ZoneOutput(int k, int zone_count, Double separation, List<List<String>> zones) {
+        this.k = k;
+        this.zone_count = zone_count;
+        this.separation = separation;
+        this.zones = zones;
+    }
+
+    public int getK() { return k; }
+    public void setK(int k) { this.k = k; }
+
+    public int getZone_count() { return zone_count; }
+    public void setZone_count(int zone_count) { this.zone_count = zone_count; }
+
+    public Double getSeparation() { return separation; }
+    public void setSeparation(Double separation) { this.separation = separation; }
+
+    public List<List<String>> getZones() { return zones; }
+    public void setZones(List<List<String>> zones) { this.zones = zones; }
+}
@@ -0,0 +1,11 @@
+package com.mst.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.GraphConversion")
+@Label("Graph Conversion")
+@Description("Conversion of one parsed graph into the solver representation")
+public class GraphConversionEvent extends GraphPhaseEvent {
+}
@@ -0,0 +1,32 @@
+package com.mst.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.mst.GraphLoad")
+@Label("Graph Load")
+@Description("Parsing of one JSON input document")
+@Category({"MST", "I/O"})
+@StackTrace(false)
+public class GraphLoadEvent extends Event {
+    @Label("Source")
+    String source;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Graphs")
+    int graphCount;
+
+    public void describe(String source, long bytes, int graphCount) {
+        this.source = source;
+        this.bytes = bytes;
+        this.graphCount = graphCount;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mst.monitoring;
+
+import com.mst.core.IndexedGraph;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the per-graph JFR events, so a recording can be filtered by graph and
+ * algorithm. Fields are only filled in when the event will actually be committed.
+ *
+ * The events are cheap enough for a continuous recording in production, e.g.
+ * -XX:StartFlightRecording:maxage=1h,dumponexit=true,filename=mst.jfr, then
+ * jfr print --events com.mst.Solve mst.jfr.
+ */
+@Category({"MST", "Phases"})
+@StackTrace(false)
+public abstract class GraphPhaseEvent extends Event {
+    @Label("Graph Id")
+    int graphId;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Edges")
+    int edges;
+
+    @Label("Density")
+    @Percentage
+    double density;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    public void describe(IndexedGraph graph, String algorithm) {
+        describe(graph.getId(), graph.getVertexCount(), graph.getEdgeCount(), algorithm);
+    }
+
+    public void describe(int graphId, int vertices, int edges, String algorithm) {
+        long maxPossibleEdges = (long) vertices * (vertices - 1) / 2;
+        this.graphId = graphId;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.density = maxPossibleEdges > 0 ? (double) edges / maxPossibleEdges : 0;
+        this.algorithm = algorithm;
+    }
+}
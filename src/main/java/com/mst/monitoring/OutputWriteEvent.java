@@ -0,0 +1,26 @@
+package com.mst.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.mst.OutputWrite")
+@Label("Output Write")
+@Description("Serialization of one results file")
+@Category({"MST", "I/O"})
+@StackTrace(false)
+public class OutputWriteEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Graphs")
+    int graphCount;
+
+    public void describe(String path, int graphCount) {
+        this.path = path;
+        this.graphCount = graphCount;
+    }
+}
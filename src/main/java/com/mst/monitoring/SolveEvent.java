@@ -0,0 +1,24 @@
+package com.mst.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Solve")
+@Label("MST Solve")
+@Description("One findMST call, including the result cache lookup")
+public class SolveEvent extends GraphPhaseEvent {
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    @Label("Total Cost")
+    String totalCost;
+
+    public void setCacheHit(boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+
+    public void setTotalCost(Number totalCost) {
+        this.totalCost = String.valueOf(totalCost);
+    }
+}
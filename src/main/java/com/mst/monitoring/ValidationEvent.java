@@ -0,0 +1,17 @@
+package com.mst.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Validation")
+@Label("MST Validation")
+@Description("Cross-check of the Prim and Kruskal results for one graph")
+public class ValidationEvent extends GraphPhaseEvent {
+    @Label("Passed")
+    boolean passed;
+
+    public void setPassed(boolean passed) {
+        this.passed = passed;
+    }
+}
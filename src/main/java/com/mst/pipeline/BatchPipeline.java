@@ -0,0 +1,247 @@
+package com.mst.pipeline;
+
+import com.mst.core.IndexedGraph;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Three-stage read -> solve -> write pipeline over many dataset files.
+ *
+ * One parser thread feeds graphs into a bounded queue, a pool of solver threads drains it,
+ * and one writer thread reassembles each file's results in input order and writes them as
+ * soon as the file is complete. The bounded queues block the faster stage, which caps the
+ * number of parsed-but-unsolved graphs and unsolved-but-unwritten results held in memory.
+ */
+public class BatchPipeline<R> {
+
+    public interface Parser {
+        void parse(String file, Consumer<IndexedGraph> sink) throws Exception;
+    }
+
+    public interface Solver<R> {
+        R solve(String file, IndexedGraph graph) throws Exception;
+    }
+
+    public interface Writer<R> {
+        void write(String file, List<R> results) throws Exception;
+    }
+
+    private final Parser parser;
+    private final Solver<R> solver;
+    private final Writer<R> writer;
+    private final int solverThreads;
+    private final int queueCapacity;
+
+    private final StageMetrics parseMetrics = new StageMetrics("parse", 1);
+    private final StageMetrics solveMetrics;
+    private final StageMetrics writeMetrics = new StageMetrics("write", 1);
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private long wallNanos;
+
+    public BatchPipeline(Parser parser, Solver<R> solver, Writer<R> writer, int solverThreads, int queueCapacity) {
+        this.parser = parser;
+        this.solver = solver;
+        this.writer = writer;
+        this.solverThreads = solverThreads;
+        this.queueCapacity = queueCapacity;
+        this.solveMetrics = new StageMetrics("solve", solverThreads);
+    }
+
+    public void run(List<String> files) throws InterruptedException {
+        long start = System.nanoTime();
+        BlockingQueue<Message> solveQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Message> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Thread parserThread = new Thread(() -> parseAll(files, solveQueue, writeQueue), "pipeline-parse");
+        List<Thread> solverThreadList = new ArrayList<>();
+        for (int i = 0; i < solverThreads; i++) {
+            solverThreadList.add(new Thread(() -> solveLoop(files, solveQueue, writeQueue), "pipeline-solve-" + i));
+        }
+        Thread writerThread = new Thread(() -> writeLoop(files, writeQueue), "pipeline-write");
+
+        parserThread.start();
+        solverThreadList.forEach(Thread::start);
+        writerThread.start();
+
+        parserThread.join();
+        for (Thread thread : solverThreadList) thread.join();
+        put(writeQueue, Message.END, solveMetrics, writeMetrics);
+        writerThread.join();
+
+        wallNanos = System.nanoTime() - start;
+    }
+
+    public List<StageMetrics> getStageMetrics() {
+        return Arrays.asList(parseMetrics, solveMetrics, writeMetrics);
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public List<String> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    public void printMetrics() {
+        System.out.printf("%n⏱️  Pipeline wall time: %.3f ms%n", wallNanos / 1_000_000.0);
+        for (StageMetrics metrics : getStageMetrics()) {
+            System.out.println("   " + metrics.format(wallNanos));
+        }
+    }
+
+    private void parseAll(List<String> files, BlockingQueue<Message> solveQueue, BlockingQueue<Message> writeQueue) {
+        try {
+            for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+                String file = files.get(fileIndex);
+                int[] count = {0};
+                final int index = fileIndex;
+                long[] mark = {System.nanoTime()};
+                boolean failed = false;
+                try {
+                    parser.parse(file, graph -> {
+                        parseMetrics.recordItem(System.nanoTime() - mark[0]);
+                        putUnchecked(solveQueue, Message.graph(index, count[0]++, graph), parseMetrics, solveMetrics);
+                        mark[0] = System.nanoTime();
+                    });
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    failures.add(file + ": " + e.getMessage());
+                    failed = true;
+                }
+                put(writeQueue, Message.fileParsed(fileIndex, count[0], failed), parseMetrics, writeMetrics);
+            }
+            for (int i = 0; i < solverThreads; i++) {
+                put(solveQueue, Message.END, parseMetrics, solveMetrics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void solveLoop(List<String> files, BlockingQueue<Message> solveQueue, BlockingQueue<Message> writeQueue) {
+        try {
+            while (true) {
+                Message message = solveQueue.take();
+                if (message == Message.END) return;
+
+                long start = System.nanoTime();
+                Message solved;
+                try {
+                    R result = solver.solve(files.get(message.fileIndex), message.graph);
+                    solved = Message.solved(message.fileIndex, message.graphIndex, result);
+                } catch (Exception e) {
+                    failures.add("graph " + message.graph.getId() + ": " + e.getMessage());
+                    solved = Message.solved(message.fileIndex, message.graphIndex, null);
+                    solved.failed = true;
+                }
+                solveMetrics.recordItem(System.nanoTime() - start);
+                put(writeQueue, solved, solveMetrics, writeMetrics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeLoop(List<String> files, BlockingQueue<Message> writeQueue) {
+        Map<Integer, FileProgress> progress = new HashMap<>();
+        try {
+            while (true) {
+                Message message = writeQueue.take();
+                if (message == Message.END) break;
+
+                FileProgress file = progress.computeIfAbsent(message.fileIndex, k -> new FileProgress());
+                if (message.graph == null && message.graphIndex < 0) {
+                    file.expected = message.count;
+                    file.failed |= message.failed;
+                } else {
+                    file.results.put(message.graphIndex, (R) message.result);
+                    file.failed |= message.failed;
+                }
+
+                if (file.expected >= 0 && file.results.size() == file.expected) {
+                    progress.remove(message.fileIndex);
+                    String name = files.get(message.fileIndex);
+                    if (file.failed) {
+                        if (file.expected > 0) {
+                            failures.add(name + ": output not written because some graphs failed");
+                        }
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        writer.write(name, new ArrayList<>(file.results.values()));
+                    } catch (Exception e) {
+                        failures.add(name + ": " + e.getMessage());
+                    }
+                    writeMetrics.recordItem(System.nanoTime() - start);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Blocked time is charged to the producer (backpressure), queue depth to the consumer
+    private static void put(BlockingQueue<Message> queue, Message message,
+                            StageMetrics producer, StageMetrics consumer) throws InterruptedException {
+        long start = System.nanoTime();
+        queue.put(message);
+        producer.recordBlocked(System.nanoTime() - start);
+        consumer.recordQueueDepth(queue.size());
+    }
+
+    private static void putUnchecked(BlockingQueue<Message> queue, Message message,
+                                     StageMetrics producer, StageMetrics consumer) {
+        try {
+            put(queue, message, producer, consumer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline interrupted", e);
+        }
+    }
+
+    private class FileProgress {
+        int expected = -1;
+        boolean failed;
+        final TreeMap<Integer, R> results = new TreeMap<>();
+    }
+
+    private static class Message {
+        static final Message END = new Message(-1, -1, null, null);
+
+        final int fileIndex;
+        final int graphIndex;
+        final IndexedGraph graph;
+        final Object result;
+        int count;
+        boolean failed;
+
+        private Message(int fileIndex, int graphIndex, IndexedGraph graph, Object result) {
+            this.fileIndex = fileIndex;
+            this.graphIndex = graphIndex;
+            this.graph = graph;
+            this.result = result;
+        }
+
+        static Message graph(int fileIndex, int graphIndex, IndexedGraph graph) {
+            return new Message(fileIndex, graphIndex, graph, null);
+        }
+
+        static Message solved(int fileIndex, int graphIndex, Object result) {
+            return new Message(fileIndex, graphIndex, null, result);
+        }
+
+        static Message fileParsed(int fileIndex, int count, boolean failed) {
+            Message message = new Message(fileIndex, -1, null, null);
+            message.count = count;
+            message.failed = failed;
+            return message;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mst.pipeline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StageMetrics {
+    private final String name;
+    private final int threads;
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public StageMetrics(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+    }
+
+    void recordItem(long nanos) {
+        items.incrementAndGet();
+        busyNanos.addAndGet(nanos);
+    }
+
+    void recordBlocked(long nanos) {
+        blockedNanos.addAndGet(nanos);
+    }
+
+    void recordQueueDepth(int depth) {
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    public String getName() { return name; }
+    public long getItems() { return items.get(); }
+    public long getBusyNanos() { return busyNanos.get(); }
+    public long getBlockedNanos() { return blockedNanos.get(); }
+    public int getMaxQueueDepth() { return maxQueueDepth.get(); }
+
+    public String format(long wallNanos) {
+        double busyMs = busyNanos.get() / 1_000_000.0;
+        double utilization = wallNanos > 0 ? busyNanos.get() * 100.0 / ((double) wallNanos * threads) : 0;
+        double throughput = wallNanos > 0 ? items.get() / (wallNanos / 1_000_000_000.0) : 0;
+        return String.format("%-7s threads=%-2d items=%-6d busy=%-10.3fms util=%5.1f%% blocked=%-10.3fms " +
+                        "throughput=%.1f/s max_queue=%d",
+                name, threads, items.get(), busyMs, utilization, blockedNanos.get() / 1_000_000.0,
+                throughput, maxQueueDepth.get());
+    }
+}
@@ -0,0 +1,151 @@
+package com.mst.pipeline;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Batch runner that gives every file its own virtual thread for blocking reads and writes, while
+ * the CPU-bound solves go to a fixed pool of carrier-sized platform threads.
+ *
+ * Slow storage then overlaps across thousands of files without a thread per file costing a
+ * platform stack, and the solver pool still never runs more solves than there are cores. A
+ * semaphore caps the files held in memory at once. Virtual threads are looked up reflectively so
+ * the class still builds for Java 11; on older runtimes it falls back to a cached platform pool.
+ */
+public class VirtualThreadBatch<R> {
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = virtualExecutorFactory();
+
+    private final BatchPipeline.Parser parser;
+    private final BatchPipeline.Solver<R> solver;
+    private final BatchPipeline.Writer<R> writer;
+    private final int solverThreads;
+    private final Semaphore filesInFlight;
+    private final boolean virtual;
+
+    private final StageMetrics parseMetrics;
+    private final StageMetrics solveMetrics;
+    private final StageMetrics writeMetrics;
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private long wallNanos;
+
+    public VirtualThreadBatch(BatchPipeline.Parser parser, BatchPipeline.Solver<R> solver,
+                              BatchPipeline.Writer<R> writer, int solverThreads, int maxFilesInFlight) {
+        this.parser = parser;
+        this.solver = solver;
+        this.writer = writer;
+        this.solverThreads = solverThreads;
+        this.filesInFlight = new Semaphore(maxFilesInFlight);
+        this.virtual = virtualThreadsAvailable();
+        this.parseMetrics = new StageMetrics("parse", maxFilesInFlight);
+        this.solveMetrics = new StageMetrics("solve", solverThreads);
+        this.writeMetrics = new StageMetrics("write", maxFilesInFlight);
+    }
+
+    /** True when the JVM supports virtual threads (Java 21+). */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtual;
+    }
+
+    public void run(List<String> files) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService solvers = Executors.newFixedThreadPool(solverThreads);
+        ExecutorService fileThreads = virtual ? newVirtualExecutor() : Executors.newCachedThreadPool();
+        try {
+            for (String file : files) {
+                filesInFlight.acquire();
+                fileThreads.execute(() -> {
+                    try {
+                        processFile(file, solvers);
+                    } finally {
+                        filesInFlight.release();
+                    }
+                });
+            }
+            fileThreads.shutdown();
+            fileThreads.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            fileThreads.shutdownNow();
+            solvers.shutdownNow();
+        }
+        wallNanos = System.nanoTime() - start;
+    }
+
+    public List<StageMetrics> getStageMetrics() {
+        return Arrays.asList(parseMetrics, solveMetrics, writeMetrics);
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public List<String> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    public void printMetrics() {
+        System.out.printf("%n⏱️  %s wall time: %.3f ms%n",
+                virtual ? "Virtual-thread batch" : "Batch (platform threads)", wallNanos / 1_000_000.0);
+        for (StageMetrics metrics : getStageMetrics()) {
+            System.out.println("   " + metrics.format(wallNanos));
+        }
+    }
+
+    private void processFile(String file, ExecutorService solvers) {
+        List<Future<R>> pending = new ArrayList<>();
+        long mark = System.nanoTime();
+        try {
+            // Each graph goes to the solvers as soon as it is parsed, so solving overlaps the rest of the read
+            parser.parse(file, graph -> {
+                pending.add(solvers.submit(() -> {
+                    long solveStart = System.nanoTime();
+                    R result = solver.solve(file, graph);
+                    solveMetrics.recordItem(System.nanoTime() - solveStart);
+                    return result;
+                }));
+                solveMetrics.recordQueueDepth(pending.size());
+            });
+            parseMetrics.recordItem(System.nanoTime() - mark);
+
+            // Blocking here parks only this file's virtual thread, not a carrier
+            long waitStart = System.nanoTime();
+            List<R> results = new ArrayList<>(pending.size());
+            for (Future<R> future : pending) results.add(future.get());
+            parseMetrics.recordBlocked(System.nanoTime() - waitStart);
+
+            long writeStart = System.nanoTime();
+            writer.write(file, results);
+            writeMetrics.recordItem(System.nanoTime() - writeStart);
+        } catch (InterruptedException e) {
+            pending.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            pending.forEach(future -> future.cancel(true));
+            failures.add(file + ": " + e.getCause().getMessage());
+        } catch (Exception e) {
+            // A parse failure may leave solves of the graphs before it queued
+            pending.forEach(future -> future.cancel(true));
+            failures.add(file + ": " + e.getMessage());
+        }
+    }
+
+    private static ExecutorService newVirtualExecutor() {
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a virtual-thread executor", e);
+        }
+    }
+
+    private static Method virtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.mst.server;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.cache.MSTCache;
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.io.*;
+import com.mst.monitoring.SolveEvent;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+
+/**
+ * Long-running HTTP front end for the MST solvers, so one warmed-up JVM serves many jobs.
+ *
+ * POST /mst   body: a single graph in the GraphInput shape or a {"graphs": [...]} document,
+ *             response: {"results": [...]} in the same format Main writes to output/
+ * GET  /stats throughput, batching and latency statistics
+ */
+public class MSTServer {
+    private static final long CACHE_MAX_EDGES = 5_000_000;
+    private static final long REQUEST_TIMEOUT_SECONDS = 300;
+
+    private final HttpServer httpServer;
+    private final ExecutorService httpExecutor;
+    private final MicroBatcher<IndexedGraph, GraphResult> batcher;
+    private final ServerStats stats = new ServerStats();
+    private final MSTCache cache = new MSTCache(CACHE_MAX_EDGES);
+    private final PrimMST prim = new PrimMST();
+    private final KruskalMST kruskal = new KruskalMST();
+
+    public MSTServer(int port, int workers, int maxBatchSize, long maxDelayMicros) throws IOException {
+        this.batcher = new MicroBatcher<>(this::solve, workers, maxBatchSize, maxDelayMicros, 10_000, stats);
+        this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.httpExecutor = Executors.newCachedThreadPool();
+        httpServer.setExecutor(httpExecutor);
+        httpServer.createContext("/mst", this::handleSolve);
+        httpServer.createContext("/stats", this::handleStats);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxBatchSize = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        long maxDelayMicros = args.length > 3 ? Long.parseLong(args[3]) : 2_000;
+
+        MSTServer server = new MSTServer(port, workers, maxBatchSize, maxDelayMicros);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+
+        System.out.println("🚀 MST server listening on http://127.0.0.1:" + server.getPort());
+        System.out.printf("Workers: %d, batch size: %d, batch delay: %d µs%n", workers, maxBatchSize, maxDelayMicros);
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+        batcher.shutdown();
+        httpExecutor.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public ServerStats getStats() {
+        return stats;
+    }
+
+    private GraphResult solve(IndexedGraph graph) {
+        MSTResult primResult = solveWith("prim", graph, prim::findMST);
+        MSTResult kruskalResult = solveWith("kruskal", graph, kruskal::findMST);
+        InputStats inputStats = new InputStats(graph.getVertexCount(), graph.getEdgeCount());
+        return new GraphResult(graph.getId(), inputStats,
+                JsonUtils.convertToMSTOutput(primResult), JsonUtils.convertToMSTOutput(kruskalResult));
+    }
+
+    private MSTResult solveWith(String algorithm, IndexedGraph graph,
+                                BiFunction<IndexedGraph, SolverWorkspace, MSTResult> solver) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        boolean[] computed = new boolean[1];
+        Graph source = graph.getSource();
+        MSTResult result = source != null
+                ? cache.getOrCompute(algorithm, source, g -> {
+                    computed[0] = true;
+                    return solver.apply(graph, SolverWorkspace.current());
+                })
+                : solver.apply(graph, SolverWorkspace.current());
+        if (event.shouldCommit()) {
+            event.describe(graph, algorithm);
+            event.setCacheHit(source != null && !computed[0]);
+            event.setTotalCost(result.getTotalCostValue());
+            event.commit();
+        }
+        return result;
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 405, "Use POST with a graph JSON body");
+            return;
+        }
+
+        List<IndexedGraph> graphs;
+        try {
+            graphs = JsonUtils.convertToIndexedGraphs(JsonUtils.readInput(exchange.getRequestBody()));
+        } catch (IOException | RuntimeException e) {
+            stats.recordError();
+            sendError(exchange, 400, "Invalid graph input: " + e.getMessage());
+            return;
+        }
+
+        List<CompletableFuture<GraphResult>> futures = new ArrayList<>(graphs.size());
+        for (IndexedGraph graph : graphs) {
+            futures.add(batcher.submit(graph));
+        }
+
+        List<GraphResult> results = new ArrayList<>(graphs.size());
+        try {
+            for (CompletableFuture<GraphResult> future : futures) {
+                results.add(future.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+        } catch (ExecutionException e) {
+            stats.recordError();
+            boolean overloaded = e.getCause() instanceof RejectedExecutionException;
+            sendError(exchange, overloaded ? 503 : 500, String.valueOf(e.getCause().getMessage()));
+            return;
+        } catch (TimeoutException e) {
+            stats.recordError();
+            sendError(exchange, 504, "Timed out waiting for solver");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordError();
+            sendError(exchange, 503, "Server is shutting down");
+            return;
+        }
+
+        stats.recordRequest(graphs.size(), System.nanoTime() - start);
+        sendJson(exchange, 200, new OutputData(results));
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        sendJson(exchange, 200, stats.snapshot(batcher.getQueueDepth()));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, Collections.singletonMap("error", message));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            JsonUtils.writeJson(out, body);
+        }
+    }
+}
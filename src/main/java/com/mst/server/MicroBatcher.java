@@ -0,0 +1,153 @@
+package com.mst.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Collects concurrently submitted jobs into small batches for a fixed worker pool. A batch is
+ * closed when it reaches {@code maxBatchSize} jobs or when {@code maxDelayMicros} have passed
+ * since its first job arrived, and is split across as many workers as are idle.
+ *
+ * Batches are only collected while a worker is idle, so under load jobs wait in the bounded
+ * request queue, not in the pool, and {@link #submit} rejects them once that queue is full.
+ */
+public class MicroBatcher<T, R> {
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final ExecutorService workers;
+    private final Semaphore idleWorkers;
+    private final int workerCount;
+    private final Thread dispatcher;
+    private final Function<T, R> handler;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ServerStats stats;
+    private volatile boolean running = true;
+
+    public MicroBatcher(Function<T, R> handler, int workerCount, int maxBatchSize,
+                        long maxDelayMicros, int queueCapacity, ServerStats stats) {
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.stats = stats;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.idleWorkers = new Semaphore(workerCount);
+        this.workers = Executors.newFixedThreadPool(workerCount, daemonThreads("mst-worker"));
+        this.dispatcher = daemonThreads("mst-batcher").newThread(this::dispatchLoop);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<R> submit(T job) {
+        Pending<T, R> pending = new Pending<>(job);
+        if (!running) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Batcher is shut down"));
+        } else if (!queue.offer(pending)) {
+            stats.recordRejected();
+            pending.future.completeExceptionally(new RejectedExecutionException("Request queue is full"));
+        } else if (!running && queue.remove(pending)) {
+            // Shut down between the check and the offer, after the dispatcher drained the queue
+            pending.future.completeExceptionally(new RejectedExecutionException("Batcher is shut down"));
+        }
+        return pending.future;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+            int permits = 0;
+            int dispatched = 0;
+            try {
+                idleWorkers.acquire();
+                permits = 1;
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                // One chunk per idle worker, so a batch is not confined to a single core
+                while (permits < Math.min(batch.size(), workerCount) && idleWorkers.tryAcquire()) permits++;
+                stats.recordBatch(batch.size());
+                int chunks = permits;
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int end = (chunk + 1) * batch.size() / chunks;
+                    List<Pending<T, R>> slice = batch.subList(dispatched, end);
+                    workers.execute(() -> runBatch(slice));
+                    // The chunk releases its own permit once it has run
+                    permits--;
+                    dispatched = end;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(batch.subList(dispatched, batch.size()), permits);
+                break;
+            } catch (RejectedExecutionException e) {
+                reject(batch.subList(dispatched, batch.size()), permits);
+                break;
+            }
+        }
+
+        List<Pending<T, R>> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        reject(leftover, 0);
+    }
+
+    // Completes jobs that will never reach a worker and returns the worker permits held for them
+    private void reject(List<Pending<T, R>> jobs, int permits) {
+        idleWorkers.release(permits);
+        for (Pending<T, R> pending : jobs) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Batcher is shut down"));
+        }
+    }
+
+    private void runBatch(List<Pending<T, R>> batch) {
+        try {
+            for (Pending<T, R> pending : batch) {
+                try {
+                    pending.future.complete(handler.apply(pending.job));
+                } catch (RuntimeException e) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        } finally {
+            idleWorkers.release();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaults.newThread(runnable);
+            thread.setName(prefix + "-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Pending<T, R> {
+        final T job;
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        Pending(T job) {
+            this.job = job;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mst.server;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ServerStats {
+    private static final int LATENCY_WINDOW = 10_000;
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong graphs = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedJobs = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    // Ring buffer of the most recent request latencies in nanoseconds
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyNext;
+
+    public void recordRequest(int graphCount, long latencyNanos) {
+        requests.incrementAndGet();
+        graphs.addAndGet(graphCount);
+        synchronized (latencies) {
+            latencies[latencyNext] = latencyNanos;
+            latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+            if (latencyCount < LATENCY_WINDOW) latencyCount++;
+        }
+    }
+
+    public void recordBatch(int size) {
+        batches.incrementAndGet();
+        batchedJobs.addAndGet(size);
+    }
+
+    public void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public Map<String, Object> snapshot(int queueDepth) {
+        long[] window;
+        synchronized (latencies) {
+            window = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(window);
+
+        double uptimeSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long batchCount = batches.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("uptime_s", uptimeSeconds);
+        stats.put("requests", requests.get());
+        stats.put("graphs", graphs.get());
+        stats.put("rejected", rejected.get());
+        stats.put("errors", errors.get());
+        stats.put("queue_depth", queueDepth);
+        stats.put("batches", batchCount);
+        stats.put("avg_batch_size", batchCount > 0 ? (double) batchedJobs.get() / batchCount : 0.0);
+        stats.put("throughput_graphs_per_s", uptimeSeconds > 0 ? graphs.get() / uptimeSeconds : 0.0);
+        stats.put("latency_p50_ms", percentile(window, 0.50));
+        stats.put("latency_p95_ms", percentile(window, 0.95));
+        stats.put("latency_p99_ms", percentile(window, 0.99));
+        stats.put("latency_max_ms", window.length > 0 ? window[window.length - 1] / 1_000_000.0 : 0.0);
+        return stats;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mst;
+
+import com.mst.core.IndexedGraph;
+import com.mst.pipeline.BatchPipeline;
+import com.mst.pipeline.StageMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchPipelineTest {
+
+    @Test
+    void testResultsAreWrittenInInputOrder() throws Exception {
+        Random random = new Random(3);
+        Map<String, List<Integer>> written = new ConcurrentHashMap<>();
+        BatchPipeline<Integer> pipeline = new BatchPipeline<>(
+                (file, sink) -> {
+                    int count = Integer.parseInt(file.substring(1));
+                    for (int g = 0; g < count; g++) sink.accept(graph(g));
+                },
+                (file, graph) -> {
+                    // Uneven solve times let later graphs overtake earlier ones between solvers
+                    Thread.sleep(random.nextInt(3));
+                    return graph.getId();
+                },
+                (file, results) -> assertNull(written.put(file, results)),
+                4, 3);
+
+        List<String> files = Arrays.asList("f7", "f0", "f12", "f1", "f5");
+        pipeline.run(files);
+
+        assertTrue(pipeline.getFailures().isEmpty(), pipeline.getFailures().toString());
+        assertEquals(files.size(), written.size());
+        for (String file : files) {
+            List<Integer> expected = new ArrayList<>();
+            for (int g = 0; g < Integer.parseInt(file.substring(1)); g++) expected.add(g);
+            assertEquals(expected, written.get(file), file);
+        }
+
+        List<StageMetrics> metrics = pipeline.getStageMetrics();
+        assertEquals(25, metrics.get(0).getItems());
+        assertEquals(25, metrics.get(1).getItems());
+        assertEquals(5, metrics.get(2).getItems());
+        assertTrue(metrics.get(1).getMaxQueueDepth() <= 3);
+    }
+
+    @Test
+    void testBoundedQueueBlocksTheParser() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger parsed = new AtomicInteger();
+        BatchPipeline<Integer> pipeline = new BatchPipeline<>(
+                (file, sink) -> {
+                    for (int g = 0; g < 50; g++) {
+                        parsed.incrementAndGet();
+                        sink.accept(graph(g));
+                    }
+                },
+                (file, graph) -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return graph.getId();
+                },
+                (file, results) -> { },
+                1, 2);
+
+        Thread runner = new Thread(() -> {
+            try {
+                pipeline.run(Arrays.asList("only"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        runner.start();
+
+        // One graph held by the stalled solver, two in the queue, and the parser stuck handing over the fourth
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (parsed.get() < 4 && System.nanoTime() < deadline) Thread.sleep(1);
+        Thread.sleep(100);
+        assertEquals(4, parsed.get());
+
+        release.countDown();
+        runner.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(runner.isAlive());
+        assertEquals(50, parsed.get());
+        assertTrue(pipeline.getFailures().isEmpty(), pipeline.getFailures().toString());
+        StageMetrics parse = pipeline.getStageMetrics().get(0);
+        assertTrue(parse.getBlockedNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testParserAndSolverFailuresSkipOnlyTheirFiles() throws Exception {
+        Map<String, List<Integer>> written = new ConcurrentHashMap<>();
+        BatchPipeline<Integer> pipeline = new BatchPipeline<>(
+                (file, sink) -> {
+                    sink.accept(graph(1));
+                    if (file.equals("truncated")) throw new IllegalArgumentException("unexpected end of input");
+                    sink.accept(graph(file.equals("poisoned") ? 13 : 2));
+                },
+                (file, graph) -> {
+                    if (graph.getId() == 13) throw new IllegalStateException("cannot solve");
+                    return graph.getId();
+                },
+                (file, results) -> {
+                    if (file.equals("unwritable")) throw new IllegalStateException("disk full");
+                    written.put(file, results);
+                },
+                2, 4);
+
+        pipeline.run(Arrays.asList("good", "truncated", "poisoned", "unwritable", "also-good"));
+
+        assertEquals(Arrays.asList(1, 2), written.get("good"));
+        assertEquals(Arrays.asList(1, 2), written.get("also-good"));
+        assertEquals(2, written.size());
+
+        List<String> failures = pipeline.getFailures();
+        assertTrue(failures.contains("truncated: unexpected end of input"), failures.toString());
+        assertTrue(failures.contains("truncated: output not written because some graphs failed"), failures.toString());
+        assertTrue(failures.contains("graph 13: cannot solve"), failures.toString());
+        assertTrue(failures.contains("poisoned: output not written because some graphs failed"), failures.toString());
+        assertTrue(failures.contains("unwritable: disk full"), failures.toString());
+        assertEquals(5, failures.size(), failures.toString());
+    }
+
+    private static IndexedGraph graph(int id) {
+        return new IndexedGraph(id, new String[]{"A", "B"}, new int[]{0}, new int[]{1}, new int[]{id + 1});
+    }
+}
@@ -0,0 +1,140 @@
+package com.mst;
+
+import com.mst.core.IndexedGraph;
+import com.mst.io.BlockGzipInputStream;
+import com.mst.io.BlockGzipOutputStream;
+import com.mst.io.CompressedIO;
+import com.mst.io.EdgeInput;
+import com.mst.io.EdgeListReader;
+import com.mst.io.GraphInput;
+import com.mst.io.InputData;
+import com.mst.io.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedIOTest {
+    // Deflate data starts after the 18-byte BGZF member header
+    private static final int BLOCK_BODY = 18;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBlockGzipRoundTripIsStandardGzip() throws Exception {
+        // Several batches of blocks, mixing compressible text with incompressible noise
+        Random random = new Random(9);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        while (plain.size() < 3_000_000) {
+            byte[] noise = new byte[random.nextInt(5_000)];
+            random.nextBytes(noise);
+            plain.write(noise);
+            plain.write(("edge " + random.nextInt(1_000) + " weight " + random.nextInt(100) + "\n").repeat(50).getBytes());
+        }
+        byte[] data = plain.toByteArray();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new BlockGzipOutputStream(compressed, pool, Deflater.BEST_SPEED)) {
+            out.write(data, 0, 1_000);
+            out.flush();
+            out.write(data[1_000]);
+            out.write(data, 1_001, data.length - 1_001);
+        }
+        byte[] gz = compressed.toByteArray();
+
+        try (InputStream in = new BlockGzipInputStream(new ByteArrayInputStream(gz), pool)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        assertTrue(BlockGzipInputStream.isBlockGzip(Arrays.copyOfRange(gz, gz.length - 28, gz.length), 28));
+    }
+
+    @Test
+    void testCorruptBlockIsRejected() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new BlockGzipOutputStream(compressed)) {
+            out.write("A,B,1\nB,C,2\n".repeat(10_000).getBytes());
+        }
+        byte[] gz = compressed.toByteArray();
+        gz[BLOCK_BODY + 2] ^= 0x55;
+
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = new BlockGzipInputStream(new ByteArrayInputStream(gz))) {
+                in.readAllBytes();
+            }
+        });
+        byte[] truncated = Arrays.copyOf(compressed.toByteArray(), gz.length - 40);
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = new BlockGzipInputStream(new ByteArrayInputStream(truncated))) {
+                in.readAllBytes();
+            }
+        });
+    }
+
+    @Test
+    void testOpenInputSniffsTheContent() throws Exception {
+        byte[] text = "plain text that is not compressed".getBytes();
+        Path plain = directory.resolve("plain.txt");
+        Files.write(plain, text);
+        Path gzip = directory.resolve("single.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(text);
+        }
+        Path bgzf = directory.resolve("blocks.gz");
+        try (OutputStream out = CompressedIO.openOutput(bgzf.toString())) {
+            out.write(text);
+        }
+
+        assertArrayEquals(text, CompressedIO.readAll(plain.toString()));
+        assertArrayEquals(text, CompressedIO.readAll(gzip.toString()));
+        assertArrayEquals(text, CompressedIO.readAll(bgzf.toString()));
+        assertEquals("roads.csv", CompressedIO.stripGzip("roads.csv.gz"));
+    }
+
+    @Test
+    void testCompressedJsonAndEdgeListDatasets() throws Exception {
+        List<EdgeInput> edges = new ArrayList<>();
+        edges.add(new EdgeInput("A", "B", 4));
+        edges.add(new EdgeInput("B", "C", 1));
+        edges.add(new EdgeInput("A", "C", 2));
+        List<GraphInput> graphs = new ArrayList<>();
+        graphs.add(new GraphInput(1, Arrays.asList("A", "B", "C"), edges));
+        String json = directory.resolve("set.json.gz").toString();
+        JsonUtils.writeJson(json, new InputData(graphs));
+
+        InputData loaded = JsonUtils.readInput(json);
+        assertEquals(3, loaded.getGraphs().get(0).getEdges().size());
+        assertEquals(1, loaded.getGraphs().get(0).getEdges().get(1).getWeight().intValue());
+
+        String csv = directory.resolve("roads.csv.gz").toString();
+        try (OutputStream out = CompressedIO.openOutput(csv)) {
+            out.write("from,to,weight\nA,B,4\nB,C,1\nA,C,2\n".getBytes());
+        }
+        assertTrue(EdgeListReader.supports(csv));
+        IndexedGraph graph = new EdgeListReader(ForkJoinPool.commonPool(), 8).read(csv);
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals("C", graph.getVertexName(2));
+        assertEquals(2, graph.getWeight(2));
+    }
+}
@@ -0,0 +1,145 @@
+package com.mst;
+
+import com.mst.algorithms.ConcurrentUnionFind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentUnionFindTest {
+    private static final int THREADS = 8;
+
+    @Test
+    void testSequentialUnionAndFind() {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(6);
+
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertFalse(sets.union(1, 0));
+        assertTrue(sets.union(1, 3));
+
+        assertTrue(sets.sameSet(0, 2));
+        assertFalse(sets.sameSet(0, 4));
+        assertEquals(3, sets.countSets());
+    }
+
+    @Test
+    void testConcurrentUnionsMatchSequentialPartition() throws Exception {
+        int n = 20_000;
+        int[][] pairs = randomPairs(n, 15_000, 7);
+
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(n);
+        AtomicInteger merges = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = thread; i < pairs.length; i += THREADS) {
+                if (concurrent.union(pairs[i][0], pairs[i][1])) merges.incrementAndGet();
+            }
+        });
+
+        ConcurrentUnionFind sequential = new ConcurrentUnionFind(n, 1);
+        int expectedMerges = 0;
+        for (int[] pair : pairs) {
+            if (sequential.union(pair[0], pair[1])) expectedMerges++;
+        }
+
+        assertEquals(expectedMerges, merges.get(), "Every merge must be reported by exactly one union call");
+        assertEquals(sequential.countSets(), concurrent.countSets());
+        for (int v = 0; v < n; v++) {
+            assertEquals(sequential.find(v) == sequential.find(0), concurrent.sameSet(v, 0));
+            assertEquals(sequential.find(v) == sequential.find(n - 1), concurrent.sameSet(v, n - 1));
+        }
+    }
+
+    @Test
+    void testContendedUnionsOnSameElements() throws Exception {
+        // Every thread merges the same chain, so almost every CAS races with another thread
+        int n = 5_000;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        AtomicInteger merges = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 1; i < n; i++) {
+                int a = thread % 2 == 0 ? i - 1 : n - i;
+                int b = thread % 2 == 0 ? i : n - i - 1;
+                if (sets.union(a, b)) merges.incrementAndGet();
+                sets.find(i);
+            }
+        });
+
+        assertEquals(n - 1, merges.get());
+        assertEquals(1, sets.countSets());
+    }
+
+    @Test
+    void testConcurrentFindsDuringUnionsSeeConsistentSets() throws Exception {
+        int n = 10_000;
+        int[][] pairs = randomPairs(n, 8_000, 11);
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        List<Throwable> errors = new ArrayList<>();
+
+        runConcurrently(thread -> {
+            if (thread % 2 == 0) {
+                for (int i = thread / 2; i < pairs.length; i += THREADS / 2) {
+                    sets.union(pairs[i][0], pairs[i][1]);
+                }
+            } else {
+                Random random = new Random(thread);
+                for (int i = 0; i < 50_000; i++) {
+                    int v = random.nextInt(n);
+                    int root = sets.find(v);
+                    // Sets only ever grow, so a connection once observed must persist
+                    if (!sets.sameSet(v, root)) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError(v + " lost its root " + root));
+                        }
+                    }
+                }
+            }
+        });
+
+        assertTrue(errors.isEmpty(), () -> errors.get(0).getMessage());
+        for (int[] pair : pairs) {
+            assertTrue(sets.sameSet(pair[0], pair[1]));
+        }
+    }
+
+    private static int[][] randomPairs(int n, int count, long seed) {
+        Random random = new Random(seed);
+        int[][] pairs = new int[count][];
+        for (int i = 0; i < count; i++) {
+            pairs[i] = new int[]{random.nextInt(n), random.nextInt(n)};
+        }
+        return pairs;
+    }
+
+    private interface Task {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(Task task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(worker);
+            worker.start();
+        }
+        for (Thread thread : threads) thread.join();
+        if (!failures.isEmpty()) throw new AssertionError(failures.get(0));
+    }
+}
@@ -0,0 +1,212 @@
+package com.mst;
+
+import com.mst.algorithms.ExternalKruskalMST;
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.core.WeightType;
+import com.mst.io.CompressedIO;
+import com.mst.io.EdgeListReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeListReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCsvChunkingDoesNotChangeTheGraph() throws Exception {
+        Random random = new Random(5);
+        StringBuilder csv = new StringBuilder("source,target,weight\n");
+        for (int e = 0; e < 5_000; e++) {
+            csv.append("city").append(random.nextInt(800)).append(", city").append(random.nextInt(800))
+                    .append(',').append(1 + random.nextInt(1_000)).append(e % 7 == 0 ? "\r\n" : "\n");
+            if (e % 1_000 == 0) csv.append("# checkpoint\n");
+        }
+        Path file = write("roads.csv", csv.toString());
+
+        IndexedGraph whole = new EdgeListReader(ForkJoinPool.commonPool(), Integer.MAX_VALUE).read(file.toString());
+        IndexedGraph chunked = new EdgeListReader(new ForkJoinPool(4), 1_000).read(file.toString());
+
+        assertEquals(5_000, whole.getEdgeCount());
+        assertEquals(WeightType.INT, chunked.getWeightType());
+        assertEquals(whole.getVertexCount(), chunked.getVertexCount());
+        for (int v = 0; v < whole.getVertexCount(); v++) {
+            assertEquals(whole.getVertexName(v), chunked.getVertexName(v));
+        }
+        for (int e = 0; e < whole.getEdgeCount(); e++) {
+            assertEquals(whole.getFrom(e), chunked.getFrom(e));
+            assertEquals(whole.getTo(e), chunked.getTo(e));
+            assertEquals(whole.getWeight(e), chunked.getWeight(e));
+        }
+        assertEquals(new KruskalMST().findMST(whole, new SolverWorkspace()).getTotalCostAsLong(),
+                new KruskalMST().findMST(chunked, new SolverWorkspace()).getTotalCostAsLong());
+    }
+
+    @Test
+    void testCsvWidensWeightsAcrossChunks() throws Exception {
+        Path file = write("mixed.csv", "A,B,3\nB,C,12000000000\nC,D,0.5\nA,D,7\n");
+
+        IndexedGraph graph = new EdgeListReader(ForkJoinPool.commonPool(), 8).read(file.toString());
+
+        assertEquals(WeightType.DOUBLE, graph.getWeightType());
+        assertEquals("A", graph.getVertexName(0));
+        assertEquals(3.0, graph.getDoubleWeight(0));
+        assertEquals(1.2e10, graph.getDoubleWeight(1));
+        assertEquals(0.5, graph.getDoubleWeight(2));
+    }
+
+    @Test
+    void testDimacsArcs() throws Exception {
+        Path file = write("tiny.gr", "c sample\np sp 4 10\na 1 2 7\na 2 1 7\na 2 3 1\na 3 2 1\nc middle\n"
+                + "a 3 4 2\na 4 3 2\na 4 1 9\na 1 4 9\na 1 3 4\na 3 1 4\n");
+
+        IndexedGraph graph = new EdgeListReader(ForkJoinPool.commonPool(), 10).read(file.toString());
+
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(5, graph.getEdgeCount());
+        // Each road is kept once, as the arc from its lower id
+        assertEquals(0, graph.getFrom(3));
+        assertEquals(3, graph.getTo(3));
+        assertEquals(9, graph.getWeight(3));
+        assertEquals(7, new KruskalMST().findMST(graph, new SolverWorkspace()).getTotalCostAsLong());
+    }
+
+    @Test
+    void testMetisAdjacencyKeepsEachEdgeOnce() throws Exception {
+        // Square 1-2-3-4 plus diagonal 1-3; vertex 5 is isolated
+        String weighted = "% weighted\n5 5 001\n2 4 3 5 4 1\n1 4 3 2\n2 2 1 5 4 3\n3 3 1 1\n\n";
+        String unweighted = "5 5\n2 3 4\n1 3\n2 1 4\n3 1\n\n";
+
+        IndexedGraph graph = new EdgeListReader(ForkJoinPool.commonPool(), 12).read(write("w.graph", weighted).toString());
+        IndexedGraph plain = new EdgeListReader(ForkJoinPool.commonPool(), 5).read(write("u.metis", unweighted).toString());
+
+        assertEquals(5, graph.getVertexCount());
+        assertEquals(5, graph.getEdgeCount());
+        assertEquals(5, plain.getEdgeCount());
+        assertEquals(2 + 1 + 3, new KruskalMST().findMST(graph, new SolverWorkspace()).getTotalCostAsLong());
+        assertEquals(3, new KruskalMST().findMST(plain, new SolverWorkspace()).getTotalCostAsLong());
+
+        Path wrongCount = write("bad.graph", "3 5\n2\n1 3\n2\n");
+        assertThrows(IllegalArgumentException.class, () -> new EdgeListReader().read(wrongCount.toString()));
+    }
+
+    @Test
+    void testStreamedChunksMatchMappedChunks() throws Exception {
+        Random random = new Random(9);
+        StringBuilder csv = new StringBuilder("# comment\n# another\nsource,target,weight\n");
+        StringBuilder dimacs = new StringBuilder("c one\nc two\nc three\np sp 300 2000\n");
+        for (int e = 0; e < 2_000; e++) {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            int w = 1 + random.nextInt(100);
+            csv.append("stop").append(u).append(',').append("stop").append(v).append(',').append(w).append('\n');
+            dimacs.append("a ").append(u + 1).append(' ').append(v + 1).append(' ').append(w).append('\n');
+        }
+        // METIS ring with one very long adjacency line and no final newline
+        StringBuilder metis = new StringBuilder("% ring\n% plus a hub\n200 397 001\n");
+        for (int v = 1; v <= 200; v++) {
+            if (v == 1) {
+                for (int u = 2; u <= 200; u++) metis.append(u).append(' ').append(u).append(' ');
+            } else {
+                metis.append(1).append(' ').append(v).append(' ');
+                if (v > 2) metis.append(v - 1).append(" 1 ");
+                if (v < 200) metis.append(v + 1).append(" 1");
+            }
+            if (v < 200) metis.append('\n');
+        }
+
+        String[][] files = {{"streamed.csv", csv.toString()}, {"streamed.gr", dimacs.toString()},
+                {"streamed.graph", metis.toString()}};
+        for (String[] file : files) {
+            Path plain = write(file[0], file[1]);
+            String compressed = plain + ".gz";
+            try (OutputStream out = CompressedIO.openOutput(compressed)) {
+                out.write(file[1].getBytes());
+            }
+            IndexedGraph mapped = new EdgeListReader(new ForkJoinPool(3), 700).read(plain.toString());
+            // 40-byte chunks: the header and the hub's adjacency line both span several of them
+            IndexedGraph streamed = new EdgeListReader(new ForkJoinPool(3), 40).read(compressed);
+
+            assertEquals(mapped.getVertexCount(), streamed.getVertexCount(), file[0]);
+            assertEquals(mapped.getEdgeCount(), streamed.getEdgeCount(), file[0]);
+            for (int v = 0; v < mapped.getVertexCount(); v++) {
+                assertEquals(mapped.getVertexName(v), streamed.getVertexName(v));
+            }
+            for (int e = 0; e < mapped.getEdgeCount(); e++) {
+                assertEquals(mapped.getFrom(e), streamed.getFrom(e));
+                assertEquals(mapped.getTo(e), streamed.getTo(e));
+                assertEquals(mapped.getWeight(e), streamed.getWeight(e));
+            }
+        }
+    }
+
+    @Test
+    void testExternalKruskalStreamsFilesIntoTheSameTree() throws Exception {
+        Random random = new Random(17);
+        // Few distinct weights, so most of the order comes from the name-rank tie-break
+        StringBuilder ints = new StringBuilder("from,to,weight\n");
+        StringBuilder longs = new StringBuilder();
+        StringBuilder doubles = new StringBuilder();
+        StringBuilder dimacs = new StringBuilder("p sp 250 3000\n");
+        for (int e = 0; e < 3_000; e++) {
+            int u = random.nextInt(250);
+            int v = random.nextInt(250);
+            int w = random.nextInt(12);
+            ints.append("n").append(u).append(',').append("n").append(v).append(',').append(w).append('\n');
+            longs.append(v).append(',').append(u).append(',').append(w * 10_000_000_000L).append('\n');
+            doubles.append("s").append(u).append(',').append("s").append(v).append(',').append(w / 4.0).append('\n');
+            dimacs.append("a ").append(u + 1).append(' ').append(v + 1).append(' ').append(w).append('\n');
+        }
+        Path compressed = directory.resolve("ints.csv.gz");
+        try (OutputStream out = CompressedIO.openOutput(compressed.toString())) {
+            out.write(ints.toString().getBytes());
+        }
+        Path[] files = {write("ints.csv", ints.toString()), compressed, write("longs.csv", longs.toString()),
+                write("doubles.csv", doubles.toString()), write("roads.gr", dimacs.toString()),
+                write("ring.graph", "4 4 001\n2 5 4 5\n1 5 3 5\n2 5 4 5\n3 5 1 5\n")};
+
+        EdgeListReader reader = new EdgeListReader(new ForkJoinPool(3), 500);
+        ExternalKruskalMST external = new ExternalKruskalMST(400, directory);
+        for (Path file : files) {
+            IndexedGraph graph = reader.read(file.toString());
+            MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+            MSTResult streamed = external.findMST(file.toString(), reader, new SolverWorkspace());
+            String name = file.getFileName().toString();
+
+            assertArrayEquals(expected.getEdgeIndices(), external.getLastInputEdges(), name);
+            assertEquals(expected.getTotalCostValue(), streamed.getTotalCostValue(), name);
+            IndexedGraph tree = streamed.getGraph();
+            assertEquals(graph.getWeightType(), tree.getWeightType(), name);
+            assertEquals(graph.getVertexCount(), tree.getVertexCount(), name);
+            for (int i = 0; i < streamed.getEdgeCount(); i++) {
+                int edge = expected.getEdgeIndex(i);
+                assertEquals(i, streamed.getEdgeIndex(i));
+                assertEquals(graph.getDoubleWeight(edge), tree.getDoubleWeight(i), name);
+                assertEquals(Math.min(graph.getFrom(edge), graph.getTo(edge)), Math.min(tree.getFrom(i), tree.getTo(i)));
+                assertEquals(Math.max(graph.getFrom(edge), graph.getTo(edge)), Math.max(tree.getFrom(i), tree.getTo(i)));
+            }
+            if (graph.getEdgeCount() > 400) assertTrue(external.getLastRunCount() > 1, name);
+        }
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            assertEquals(0, leftovers.filter(file -> file.getFileName().toString().startsWith("mst-run-")).count());
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes());
+        return file;
+    }
+}
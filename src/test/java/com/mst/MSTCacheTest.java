@@ -0,0 +1,162 @@
+package com.mst;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.cache.GraphHasher;
+import com.mst.cache.MSTCache;
+import com.mst.core.Edge;
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MSTCacheTest {
+
+    @Test
+    void testHashIgnoresVertexAndEdgeOrder() {
+        Graph graph = TestGraphFactory.createSampleGraph();
+
+        List<String> vertices = new ArrayList<>(graph.getVertices());
+        Collections.reverse(vertices);
+        List<Edge> edges = new ArrayList<>();
+        for (Edge edge : graph.getEdges()) {
+            edges.add(0, new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+        }
+        Graph reordered = new Graph(42, vertices, edges);
+
+        assertEquals(GraphHasher.hash(graph), GraphHasher.hash(reordered));
+        assertNotEquals(GraphHasher.hash(graph), GraphHasher.hash(TestGraphFactory.create5VertexGraph()));
+    }
+
+    @Test
+    void testPersistentCacheSkipsSolving(@TempDir File directory) {
+        Graph graph = TestGraphFactory.createMediumGraph();
+        KruskalMST kruskal = new KruskalMST();
+
+        MSTCache first = new MSTCache(1_000, directory);
+        MSTResult solved = first.getOrCompute("kruskal", graph, kruskal::findMST);
+        first.getOrCompute("kruskal", graph, kruskal::findMST);
+        assertEquals(1, first.getMisses());
+        assertEquals(1, first.getHits());
+
+        MSTCache second = new MSTCache(1_000, directory);
+        MSTResult reloaded = second.getOrCompute("kruskal", graph, g -> fail("Cached graph must not be re-solved"));
+        assertEquals(1, second.getDiskHits());
+        assertEquals(solved.getTotalCostAsLong(), reloaded.getTotalCostAsLong());
+        assertEquals(solved.getMstEdges(), reloaded.getMstEdges());
+    }
+
+    @Test
+    void testHitsReportNoSolveTime(@TempDir File directory) {
+        Graph graph = TestGraphFactory.createMediumGraph();
+        KruskalMST kruskal = new KruskalMST();
+
+        MSTCache cache = new MSTCache(1_000, directory);
+        MSTResult solved = cache.getOrCompute("kruskal", graph, kruskal::findMST);
+        MSTResult memoryHit = cache.getOrCompute("kruskal", graph, kruskal::findMST);
+        MSTResult diskHit = new MSTCache(1_000, directory).getOrCompute("kruskal", graph, kruskal::findMST);
+
+        assertFalse(solved.isCacheHit());
+        for (MSTResult hit : Arrays.asList(memoryHit, diskHit)) {
+            assertTrue(hit.isCacheHit());
+            assertEquals(0, hit.getExecutionTime());
+            assertEquals(solved.getTotalCostAsLong(), hit.getTotalCostAsLong());
+        }
+        // Hits are copies, so the stored fresh result is never flagged in place
+        assertFalse(solved.isCacheHit());
+    }
+
+    @Test
+    void testStoredEntryForAnotherGraphIsNotTrusted(@TempDir File directory) throws Exception {
+        Graph solvedGraph = TestGraphFactory.createMediumGraph();
+        Graph requested = TestGraphFactory.create5VertexGraph();
+        KruskalMST kruskal = new KruskalMST();
+        new MSTCache(1_000, directory).getOrCompute("kruskal", solvedGraph, kruskal::findMST);
+
+        // Pretend the two graphs' hashes collide by filing the first tree under the second graph's key
+        File[] stored = directory.listFiles();
+        assertEquals(1, stored.length);
+        String name = stored[0].getName().replace(GraphHasher.hash(solvedGraph), GraphHasher.hash(requested));
+        assertTrue(stored[0].renameTo(new File(directory, name)));
+
+        MSTCache cache = new MSTCache(1_000, directory);
+        MSTResult result = cache.getOrCompute("kruskal", requested, kruskal::findMST);
+        assertEquals(0, cache.getDiskHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(kruskal.findMST(requested).getTotalCostAsLong(), result.getTotalCostAsLong());
+    }
+
+    @Test
+    void testPersistentCacheKeepsCostsBeyondIntRange(@TempDir File directory) {
+        Graph graph = new Graph(7, Arrays.asList("A", "B", "C", "D"), Arrays.asList(
+                new Edge("A", "B", 1_500_000_000), new Edge("B", "C", 1_600_000_000),
+                new Edge("C", "D", 1_700_000_000), new Edge("A", "D", Integer.MAX_VALUE)));
+        KruskalMST kruskal = new KruskalMST();
+
+        MSTResult solved = new MSTCache(1_000, directory).getOrCompute("kruskal", graph, kruskal::findMST);
+        MSTCache second = new MSTCache(1_000, directory);
+        MSTResult reloaded = second.getOrCompute("kruskal", graph, g -> fail("Cached graph must not be re-solved"));
+
+        assertEquals(1, second.getDiskHits());
+        assertEquals(4_800_000_000L, solved.getTotalCostAsLong());
+        assertEquals(4_800_000_000L, reloaded.getTotalCostAsLong());
+        assertEquals(solved.getMstEdges(), reloaded.getMstEdges());
+    }
+
+    @Test
+    void testBoundCountsTheGraphsIndexedResultsKeepAlive() {
+        // 10 vertices, 200 edges: each index-backed tree has 9 edges but pins all 200
+        Graph first = denseGraph(1);
+        Graph second = denseGraph(2);
+        IndexedGraph indexed = first.toIndexed();
+        MSTCache cache = new MSTCache(300);
+
+        MSTResult kruskal = cache.getOrCompute("kruskal", first, g -> new KruskalMST().findMST(indexed, new SolverWorkspace()));
+        cache.getOrCompute("prim", first, g -> new PrimMST().findMST(indexed, new SolverWorkspace()));
+        assertTrue(kruskal.hasEdgeIndices());
+        // Both trees share one graph, which is charged once
+        assertEquals(200 + 9 + 9, cache.getCachedEdges());
+        assertEquals(0, cache.getEvictions());
+
+        cache.getOrCompute("kruskal", second, new KruskalMST()::findMST);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(200 + 9, cache.getCachedEdges());
+    }
+
+    private static Graph denseGraph(int seed) {
+        Random random = new Random(seed);
+        List<String> vertices = new ArrayList<>();
+        for (int v = 0; v < 10; v++) vertices.add("V" + v);
+        List<Edge> edges = new ArrayList<>();
+        for (int e = 0; e < 200; e++) {
+            int from = e < 9 ? e + 1 : random.nextInt(10);
+            int to = e < 9 ? e : random.nextInt(10);
+            edges.add(new Edge(vertices.get(from), vertices.get(to), 1 + random.nextInt(100)));
+        }
+        return new Graph(seed, vertices, edges);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        KruskalMST kruskal = new KruskalMST();
+        MSTCache cache = new MSTCache(5);
+
+        cache.getOrCompute("kruskal", TestGraphFactory.create4VertexGraph(), kruskal::findMST);
+        cache.getOrCompute("kruskal", TestGraphFactory.create5VertexGraph(), kruskal::findMST);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+}
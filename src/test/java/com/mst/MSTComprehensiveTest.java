@@ -1,11 +1,49 @@
 package com.mst;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mst.algorithms.BottleneckSpanningTree;
+import com.mst.algorithms.CycleSparsifier;
 import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.ExternalKruskalMST;
+import com.mst.algorithms.KargerKleinTarjanMST;
 import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.ParallelKruskalMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.clustering.Dendrogram;
+import com.mst.clustering.Partition;
+import com.mst.core.Edge;
 import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
 import com.mst.core.MSTResult;
+import com.mst.core.VertexReordering;
+import com.mst.core.WeightType;
+import com.mst.io.EdgeOutput;
+import com.mst.io.EdgeInput;
+import com.mst.io.GraphInput;
+import com.mst.io.IndexedEdgeOutputs;
+import com.mst.io.InputData;
+import com.mst.io.JsonUtils;
+import com.mst.io.MSTOutput;
 import com.mst.util.GraphValidator; // ✅ Правильный импорт
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +59,7 @@ public class MSTComprehensiveTest {
         MSTResult primResult = prim.findMST(graph);
         MSTResult kruskalResult = kruskal.findMST(graph);
 
-        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost(),
+        assertEquals(primResult.getTotalCostAsLong(), kruskalResult.getTotalCostAsLong(),
                 "Both algorithms should produce the same MST cost");
     }
 
@@ -77,7 +115,7 @@ public class MSTComprehensiveTest {
         MSTResult result = prim.findMST(singleNodeGraph);
 
         assertEquals(0, result.getMstEdges().size());
-        assertEquals(0, result.getTotalCost());
+        assertEquals(0, result.getTotalCostAsLong());
     }
 
     @Test
@@ -105,7 +143,513 @@ public class MSTComprehensiveTest {
         MSTResult firstRun = prim.findMST(graph);
         MSTResult secondRun = prim.findMST(graph);
 
-        assertEquals(firstRun.getTotalCost(), secondRun.getTotalCost(),
+        assertEquals(firstRun.getTotalCostAsLong(), secondRun.getTotalCostAsLong(),
                 "Algorithm results should be reproducible");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWorkspaceReuseAcrossGraphSizes() {
+        SolverWorkspace workspace = new SolverWorkspace();
+        PrimMST prim = new PrimMST();
+        KruskalMST kruskal = new KruskalMST();
+
+        Graph large = TestGraphFactory.createLargeGraph();
+        Graph small = TestGraphFactory.create4VertexGraph();
+
+        MSTResult firstLarge = kruskal.findMST(large.toIndexed(), workspace);
+        MSTResult smallResult = prim.findMST(small.toIndexed(), workspace);
+        MSTResult secondLarge = prim.findMST(large.toIndexed(), workspace);
+
+        assertEquals(6, smallResult.getTotalCostAsLong());
+        assertEquals(firstLarge.getTotalCostAsLong(), secondLarge.getTotalCostAsLong());
+        assertEquals(large.getVertexCount() - 1, secondLarge.getMstEdges().size());
+    }
+
+    @Test
+    void testLongWeightsAccumulateBeyondIntRange() {
+        String[] names = {"A", "B", "C", "D"};
+        int[] from = {0, 1, 2, 0};
+        int[] to = {1, 2, 3, 3};
+        long[] weights = {3_000_000_000L, 4_000_000_000L, 5_000_000_000L, 9_000_000_000L};
+        IndexedGraph graph = IndexedGraph.withLongWeights(1, names, from, to, weights);
+
+        MSTResult primResult = new PrimMST().findMST(graph, new SolverWorkspace());
+        MSTResult kruskalResult = new KruskalMST().findMST(graph, new SolverWorkspace());
+
+        assertEquals(12_000_000_000L, primResult.getTotalCostAsLong());
+        assertEquals(12_000_000_000L, kruskalResult.getTotalCostAsLong());
+        assertThrows(ArithmeticException.class, primResult::getTotalCost);
+    }
+
+    @Test
+    void testIntegerWeightsWiderThanLongAreNotTruncated() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE);
+        assertEquals(WeightType.DOUBLE, WeightType.of(huge));
+        assertEquals(WeightType.LONG, WeightType.of(BigInteger.valueOf(Long.MAX_VALUE)));
+        assertEquals(WeightType.INT, WeightType.of(BigInteger.valueOf(-5)));
+
+        GraphInput input = new GraphInput(1, Arrays.asList("A", "B"), Collections.singletonList(new EdgeInput("A", "B", huge)));
+        IndexedGraph graph = JsonUtils.convertToIndexedGraph(input);
+        assertEquals(huge.doubleValue(), graph.getDoubleWeight(0));
+    }
+
+    @Test
+    void testDoubleWeightsMatchBetweenAlgorithms() {
+        String[] names = {"A", "B", "C", "D", "E"};
+        int[] from = {0, 0, 1, 1, 2, 3, 0};
+        int[] to = {1, 2, 2, 3, 4, 4, 4};
+        double[] weights = {0.1, 0.25, -1.5, 2.75, 0.2, 0.3, 7.0};
+        IndexedGraph graph = IndexedGraph.withDoubleWeights(1, names, from, to, weights);
+
+        MSTResult primResult = new PrimMST().findMST(graph, new SolverWorkspace());
+        MSTResult kruskalResult = new KruskalMST().findMST(graph, new SolverWorkspace());
+
+        assertEquals(-0.9, primResult.getTotalCostAsDouble(), 1e-12);
+        assertTrue(primResult.hasSameCost(kruskalResult));
+        assertEquals(4, kruskalResult.getEdgeCount());
+    }
+
+    @Test
+    void testParallelKruskalReturnsSequentialTree() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(3_000, 40_000, 100, 5);
+        MSTResult sequentialResult = new KruskalMST().findMST(graph, new SolverWorkspace());
+        MSTResult parallelResult;
+        try (ParallelKruskalMST parallel = new ParallelKruskalMST(4, 0)) {
+            parallelResult = parallel.findMST(graph, new SolverWorkspace());
+        }
+
+        assertArrayEquals(sequentialResult.getEdgeIndices(), parallelResult.getEdgeIndices());
+        assertEquals(sequentialResult.getTotalCostAsLong(), parallelResult.getTotalCostAsLong());
+    }
+
+    @Test
+    void testParallelKruskalShutsDownOnlyItsOwnPool() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(500, 4_000, 100, 6);
+        ForkJoinPool shared = new ForkJoinPool(2);
+        try {
+            try (ParallelKruskalMST parallel = new ParallelKruskalMST(shared, 0)) {
+                parallel.findMST(graph, new SolverWorkspace());
+            }
+            assertFalse(shared.isShutdown(), "A caller's pool must outlive the solver");
+        } finally {
+            shared.shutdown();
+        }
+
+        ParallelKruskalMST owning = new ParallelKruskalMST(2, 0);
+        owning.findMST(graph, new SolverWorkspace());
+        owning.close();
+        assertThrows(RejectedExecutionException.class, () -> owning.findMST(graph, new SolverWorkspace()));
+    }
+
+    @Test
+    void testParallelKruskalOnDisconnectedGraph() {
+        Graph graph = TestGraphFactory.createDisconnectedGraph();
+        MSTResult sequentialResult = new KruskalMST().findMST(graph);
+        try (ParallelKruskalMST parallel = new ParallelKruskalMST(2, 0)) {
+            assertEquals(sequentialResult.getMstEdges(), parallel.findMST(graph).getMstEdges());
+        }
+    }
+
+    @Test
+    void testTieRanksOrderEdgesByEndpointNamesThenIndex() {
+        Random random = new Random(19);
+        String[] pool = {"b", "a", "ä", "B", "a1", "", "z", "a"};
+        String[] names = new String[300];
+        for (int v = 0; v < names.length; v++) names[v] = pool[random.nextInt(pool.length)] + random.nextInt(40);
+        int[] from = new int[2_000];
+        int[] to = new int[2_000];
+        for (int e = 0; e < from.length; e++) {
+            from[e] = random.nextInt(names.length);
+            to[e] = random.nextInt(names.length);
+        }
+        IndexedGraph graph = new IndexedGraph(1, names, from, to, new int[from.length]);
+
+        // Reference: rank names with a stable object sort, then order edges by (low, high, index)
+        Integer[] byName = new Integer[names.length];
+        for (int v = 0; v < names.length; v++) byName[v] = v;
+        Arrays.sort(byName, Comparator.comparing((Integer v) -> names[v]));
+        int[] nameRank = new int[names.length];
+        for (int i = 0; i < names.length; i++) nameRank[byName[i]] = i;
+        assertArrayEquals(nameRank, IndexedGraph.nameRanks(names));
+
+        Integer[] edges = new Integer[from.length];
+        for (int e = 0; e < edges.length; e++) edges[e] = e;
+        Arrays.sort(edges, Comparator.comparingInt((Integer e) -> Math.min(nameRank[from[e]], nameRank[to[e]]))
+                .thenComparingInt(e -> Math.max(nameRank[from[e]], nameRank[to[e]]))
+                .thenComparingInt(e -> e));
+        for (int r = 0; r < edges.length; r++) {
+            assertEquals(edges[r], graph.edgesByTieRank()[r]);
+            assertEquals(r, graph.tieRanks()[edges[r]]);
+        }
+    }
+
+    @Test
+    void testAllAlgorithmsPickTheSameTreeUnderTies() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(2_000, 30_000, 5, 9);
+
+        MSTResult primResult = new PrimMST().findMST(graph, new SolverWorkspace());
+        MSTResult kruskalResult = new KruskalMST().findMST(graph, new SolverWorkspace());
+        MSTResult parallelResult;
+        try (ParallelKruskalMST parallel = new ParallelKruskalMST(2, 0)) {
+            parallelResult = parallel.findMST(graph, new SolverWorkspace());
+        }
+
+        assertArrayEquals(sortedCopy(kruskalResult.getEdgeIndices()), sortedCopy(primResult.getEdgeIndices()));
+        assertArrayEquals(kruskalResult.getEdgeIndices(), parallelResult.getEdgeIndices());
+    }
+
+    @Test
+    void testCanonicalOutputIgnoresInputOrder() {
+        Graph graph = TestGraphFactory.createMediumGraph();
+        List<String> vertices = new ArrayList<>(graph.getVertices());
+        Collections.reverse(vertices);
+        List<Edge> edges = new ArrayList<>();
+        for (Edge edge : graph.getEdges()) {
+            edges.add(0, new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+        }
+        Graph reordered = new Graph(graph.getId(), vertices, edges);
+
+        MSTOutput original = JsonUtils.convertToMSTOutput(new PrimMST().findMST(graph)).canonical();
+        MSTOutput shuffled = JsonUtils.convertToMSTOutput(new KruskalMST().findMST(reordered)).canonical();
+
+        assertEquals(describe(original), describe(shuffled));
+    }
+
+    @Test
+    void testEdgeViewCarriesWideWeights() {
+        String[] names = {"A", "B", "C"};
+        int[] from = {0, 1, 0};
+        int[] to = {1, 2, 2};
+        IndexedGraph longs = IndexedGraph.withLongWeights(1, names, from, to, new long[]{3_000_000_000L, 4, 5_000_000_000L});
+        IndexedGraph doubles = IndexedGraph.withDoubleWeights(2, names, from, to, new double[]{0.5, 1.25, 2.0});
+
+        List<Edge> longTree = new KruskalMST().findMST(longs, new SolverWorkspace()).getMstEdges();
+        assertEquals(Arrays.asList(4, 3_000_000_000L),
+                Arrays.asList(longTree.get(0).getWeightValue(), longTree.get(1).getWeightValue()));
+        assertThrows(IllegalStateException.class, () -> longTree.get(1).getWeight());
+        assertEquals(4, longTree.get(0).getWeight());
+
+        List<Edge> doubleTree = new KruskalMST().findMST(doubles, new SolverWorkspace()).getMstEdges();
+        assertEquals(Arrays.asList(0.5, 1.25),
+                Arrays.asList(doubleTree.get(0).getWeightValue(), doubleTree.get(1).getWeightValue()));
+        assertEquals(new Edge("B", "A", 0.5), doubleTree.get(0));
+        assertEquals(new Edge("A", "B", 7), new Edge("B", "A", 7.0));
+        assertEquals(new Edge("A", "B", 7).hashCode(), new Edge("B", "A", 7.0).hashCode());
+    }
+
+    @Test
+    void testIndexedOutputSerializesEveryWeightType() throws Exception {
+        String[] names = {"A", "B", "C", "D"};
+        int[] from = {0, 1, 2, 0, 1};
+        int[] to = {1, 2, 3, 3, 3};
+        List<IndexedGraph> graphs = Arrays.asList(
+                new IndexedGraph(1, names, from, to, new int[]{5, -2, 7, 1, 9}),
+                IndexedGraph.withLongWeights(2, names, from, to,
+                        new long[]{3_000_000_000L, 1, 5_000_000_000L, 9_000_000_000L, 2}),
+                IndexedGraph.withDoubleWeights(3, names, from, to, new double[]{0.1, 0.25, -1.5, 2.75, 0.2}));
+
+        for (IndexedGraph graph : graphs) {
+            MSTResult result = new KruskalMST().findMST(graph, new SolverWorkspace());
+            assertTrue(result.hasEdgeIndices());
+            MSTOutput output = JsonUtils.convertToMSTOutput(result);
+            assertTrue(output.getMst_edges() instanceof IndexedEdgeOutputs);
+
+            // The streaming serializer and the list view must describe the same edges
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            JsonUtils.writeJson(json, output);
+            MSTOutput parsed = new ObjectMapper().readValue(json.toByteArray(), MSTOutput.class);
+            assertEquals(describe(output), describe(parsed), "weight type " + graph.getWeightType());
+            assertEquals(result.getTotalCostValue().toString(), parsed.getTotal_cost().toString());
+            for (int i = 0; i < result.getEdgeCount(); i++) {
+                int edge = result.getEdgeIndex(i);
+                assertEquals(graph.getVertexName(graph.getFrom(edge)), parsed.getMst_edges().get(i).getFrom());
+                assertEquals(graph.getVertexName(graph.getTo(edge)), parsed.getMst_edges().get(i).getTo());
+                assertEquals(graph.getDoubleWeight(edge), parsed.getMst_edges().get(i).getWeight().doubleValue());
+            }
+        }
+    }
+
+    @Test
+    void testExternalSortKruskalMatchesInMemoryKruskal(@TempDir Path spillDirectory) throws Exception {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(1_000, 20_000, 50, 13);
+        ExternalKruskalMST external = new ExternalKruskalMST(1_500, spillDirectory);
+
+        MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+        // Run buffers come from the workspace, so solves sharing it must not disturb each other
+        SolverWorkspace workspace = new SolverWorkspace();
+        MSTResult actual = external.findMST(graph, workspace);
+
+        assertArrayEquals(expected.getEdgeIndices(), actual.getEdgeIndices());
+        assertArrayEquals(expected.getEdgeIndices(), new KruskalMST().findMST(graph, workspace).getEdgeIndices());
+        assertArrayEquals(expected.getEdgeIndices(), external.findMST(graph, workspace).getEdgeIndices());
+        assertEquals(14, external.getLastRunCount());
+        assertTrue(external.getLastRecordsRead() < graph.getEdgeCount(), "Merge should stop after V-1 tree edges");
+        try (Stream<Path> leftovers = Files.list(spillDirectory)) {
+            assertEquals(0, leftovers.count(), "Spilled runs must be deleted");
+        }
+    }
+
+    @Test
+    void testReorderedSolvesMapBackToTheSameTree() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(1_500, 12_000, 20, 21);
+        Random random = new Random(5);
+        double[] x = new double[graph.getVertexCount()];
+        double[] y = new double[graph.getVertexCount()];
+        for (int v = 0; v < x.length; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+        MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+
+        VertexReordering[] orderings = {
+                VertexReordering.bfs(graph),
+                VertexReordering.reverseCuthillMcKee(graph),
+                VertexReordering.hilbert(graph, x, y)
+        };
+        for (VertexReordering reordering : orderings) {
+            IndexedGraph reordered = reordering.getReordered();
+            MSTResult prim = reordering.mapBack(new PrimMST().findMST(reordered, new SolverWorkspace()));
+            MSTResult kruskal = reordering.mapBack(new KruskalMST().findMST(reordered, new SolverWorkspace()));
+
+            assertArrayEquals(sortedCopy(expected.getEdgeIndices()), sortedCopy(prim.getEdgeIndices()));
+            assertArrayEquals(expected.getEdgeIndices(), kruskal.getEdgeIndices());
+            assertTrue(prim.hasSameCost(expected));
+        }
+        assertTrue(VertexReordering.averageEdgeSpan(orderings[1].getReordered())
+                < VertexReordering.averageEdgeSpan(graph), "RCM should shrink edge spans");
+    }
+
+    @Test
+    void testSparsifiedDenseGraphKeepsTheSameTree() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(300, 40_000, 10, 17);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        CycleSparsifier.Result sparsified;
+        try {
+            sparsified = new CycleSparsifier(pool, 4, 8).sparsify(graph);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(sparsified.getGraph().getEdgeCount() <= 8 * graph.getVertexCount());
+        assertEquals(graph.getEdgeCount() - sparsified.getGraph().getEdgeCount(), sparsified.getEdgesRemoved());
+
+        MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+        MSTResult kruskal = sparsified.mapBack(new KruskalMST().findMST(sparsified.getGraph(), new SolverWorkspace()));
+        MSTResult prim = sparsified.mapBack(new PrimMST().findMST(sparsified.getGraph(), new SolverWorkspace()));
+
+        assertArrayEquals(expected.getEdgeIndices(), kruskal.getEdgeIndices());
+        assertArrayEquals(sortedCopy(expected.getEdgeIndices()), sortedCopy(prim.getEdgeIndices()));
+        assertSame(graph, kruskal.getGraph());
+    }
+
+    @Test
+    void testConversionEmitsFlightRecorderEvents(@TempDir Path directory) throws Exception {
+        GraphInput input = new GraphInput(7, Arrays.asList("A", "B", "C"), Arrays.asList(
+                new EdgeInput("A", "B", 1), new EdgeInput("B", "C", 2), new EdgeInput("A", "C", 3)));
+        Path dump = directory.resolve("mst.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.mst.GraphConversion");
+            recording.start();
+            JsonUtils.convertToIndexedGraphs(new InputData(Collections.singletonList(input)));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(7, event.getInt("graphId"));
+        assertEquals(3, event.getInt("vertices"));
+        assertEquals(3, event.getInt("edges"));
+        assertEquals(1.0, event.getDouble("density"), 1e-9);
+    }
+
+    @Test
+    void testKargerKleinTarjanMatchesKruskal() {
+        IndexedGraph[] graphs = {
+                TestGraphFactory.randomIndexedGraph(5_000, 40_000, 1_000, 23),
+                TestGraphFactory.randomIndexedGraph(3_000, 60_000, 3, 29),
+                TestGraphFactory.createDisconnectedGraph().toIndexed()
+        };
+        for (IndexedGraph graph : graphs) {
+            MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+            for (long seed = 1; seed <= 3; seed++) {
+                MSTResult actual = new KargerKleinTarjanMST(seed).findMST(graph, new SolverWorkspace());
+                assertArrayEquals(expected.getEdgeIndices(), actual.getEdgeIndices());
+                assertEquals(expected.getTotalCostAsLong(), actual.getTotalCostAsLong());
+            }
+        }
+    }
+
+    @Test
+    void testBottleneckTreeMatchesMinimumSpanningBottleneck() {
+        IndexedGraph[] graphs = {
+                TestGraphFactory.randomIndexedGraph(4_000, 50_000, 1_000_000, 31),
+                TestGraphFactory.randomIndexedGraph(2_000, 30_000, 4, 37),
+                TestGraphFactory.createDisconnectedGraph().toIndexed(),
+                IndexedGraph.withDoubleWeights(1, new String[]{"A", "B", "C", "D"},
+                        new int[]{0, 1, 2, 0, 1}, new int[]{1, 2, 3, 3, 3}, new double[]{0.5, 2.5, -1.0, 3.5, 1.25}),
+                // Two components among many isolated vertices, which contraction has to drop
+                amongIsolatedVertices(TestGraphFactory.randomIndexedGraph(1_000, 8_000, 50, 43), 300_000, 2)
+        };
+        for (IndexedGraph graph : graphs) {
+            MSTResult mst = new KruskalMST().findMST(graph, new SolverWorkspace());
+            MSTResult tree = new BottleneckSpanningTree().findTree(graph, new SolverWorkspace());
+
+            assertEquals(mst.getBottleneckWeight(), tree.getBottleneckWeight());
+            assertEquals(mst.getEdgeCount(), tree.getEdgeCount());
+            int[] parent = new int[graph.getVertexCount()];
+            for (int v = 0; v < parent.length; v++) parent[v] = v;
+            for (int edge : tree.getEdgeIndices()) {
+                int a = root(parent, graph.getFrom(edge));
+                int b = root(parent, graph.getTo(edge));
+                assertNotEquals(a, b, "Bottleneck tree contains a cycle");
+                parent[a] = b;
+            }
+        }
+    }
+
+    @Test
+    void testDendrogramCutsMatchKruskalPrefixes() {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(600, 3_000, 20, 41);
+        MSTResult kruskal = new KruskalMST().findMST(graph, new SolverWorkspace());
+        MSTResult prim = new PrimMST().findMST(graph, new SolverWorkspace());
+        Dendrogram dendrogram = Dendrogram.build(graph);
+        Dendrogram fromPrim = Dendrogram.fromSpanningTree(graph, prim);
+        int n = graph.getVertexCount();
+        assertEquals(kruskal.getEdgeCount(), dendrogram.getMergeCount());
+        assertEquals(n - 1, dendrogram.getSize(dendrogram.getMergeCount() - 1) - 1);
+
+        int[] ks = {1, 2, 3, 7, 50, n - 1, n};
+        List<Partition> cuts = dendrogram.cutAll(ks);
+        for (int i = 0; i < ks.length; i++) {
+            int k = ks[i];
+            // Reference: apply Kruskal's first n-k accepted edges, which are in merge order
+            int[] parent = new int[n];
+            for (int v = 0; v < n; v++) parent[v] = v;
+            for (int m = 0; m < n - k; m++) {
+                int edge = kruskal.getEdgeIndex(m);
+                parent[root(parent, graph.getFrom(edge))] = root(parent, graph.getTo(edge));
+            }
+            Partition cut = cuts.get(i);
+            assertEquals(k, cut.getClusterCount());
+            assertArrayEquals(cut.getLabels(), fromPrim.cut(k).getLabels());
+            int next = 0;
+            int[] labelOfRoot = new int[n];
+            Arrays.fill(labelOfRoot, -1);
+            for (int v = 0; v < n; v++) {
+                int r = root(parent, v);
+                if (labelOfRoot[r] < 0) labelOfRoot[r] = next++;
+                assertEquals(labelOfRoot[r], cut.getLabel(v), "k=" + k + " vertex " + v);
+            }
+            double spacing = k > 1 ? graph.getWeight(kruskal.getEdgeIndex(n - k)) : Double.POSITIVE_INFINITY;
+            assertEquals(spacing, cut.getSeparation());
+            assertEquals(n, Arrays.stream(cut.getClusterSizes()).sum());
+        }
+    }
+
+    @Test
+    void testDendrogramDistanceCutsAndDisconnectedGraphs() {
+        IndexedGraph graph = TestGraphFactory.createDisconnectedGraph().toIndexed();
+        Dendrogram dendrogram = Dendrogram.build(graph);
+        int components = dendrogram.getComponentCount();
+        assertTrue(components > 1);
+        assertEquals(components, dendrogram.cut(1).getClusterCount());
+        assertEquals(Double.POSITIVE_INFINITY, dendrogram.cut(1).getSeparation());
+        assertEquals(graph.getVertexCount(), dendrogram.cutAtDistance(Double.NEGATIVE_INFINITY).getClusterCount());
+        assertEquals(components, dendrogram.cutAtDistance(Double.MAX_VALUE).getClusterCount());
+        assertThrows(IllegalArgumentException.class, () -> dendrogram.cut(graph.getVertexCount() + 1));
+
+        // A-B 1, C-D 2, B-C 5: threshold 2 keeps two clusters, the next link costs 5
+        IndexedGraph line = new IndexedGraph(2, new String[]{"A", "B", "C", "D"},
+                new int[]{0, 2, 1}, new int[]{1, 3, 2}, new int[]{1, 2, 5});
+        Partition zones = Dendrogram.build(line).cutAtDistance(2);
+        assertEquals(Arrays.asList(Arrays.asList("A", "B"), Arrays.asList("C", "D")), zones.getClusters());
+        assertEquals(2.0, zones.getMergeHeight());
+        assertEquals(5.0, zones.getSeparation());
+        int[] order = Dendrogram.build(line).getLeafOrder();
+        assertEquals(1, Math.abs(indexOf(order, 0) - indexOf(order, 1)));
+    }
+
+    @Test
+    void testBucketQueuePrimMatchesHeapPrim() {
+        PrimMST heap = new PrimMST(0);
+        PrimMST bucket = new PrimMST();
+        SolverWorkspace workspace = new SolverWorkspace();
+        // Heavy ties, a wide range inside the limit, and one past it that falls back to the heap
+        for (int maxWeight : new int[]{1, 3, 50, 5000, PrimMST.DEFAULT_MAX_BUCKET_RANGE * 4}) {
+            IndexedGraph graph = TestGraphFactory.randomIndexedGraph(3000, 12000, maxWeight, maxWeight);
+            MSTResult expected = heap.findMST(graph, new SolverWorkspace());
+            MSTResult actual = bucket.findMST(graph, workspace);
+            assertArrayEquals(expected.getEdgeIndices(), actual.getEdgeIndices(), "maxWeight " + maxWeight);
+            assertEquals(expected.getTotalCostAsLong(), actual.getTotalCostAsLong());
+        }
+
+        // Negative weights shift the buckets; the disconnected graph restarts from every component
+        IndexedGraph negative = new IndexedGraph(3, new String[]{"A", "B", "C", "D"},
+                new int[]{0, 1, 2, 0, 1}, new int[]{1, 2, 3, 3, 3}, new int[]{-4, -4, 0, -7, 2});
+        assertArrayEquals(heap.findMST(negative, new SolverWorkspace()).getEdgeIndices(),
+                bucket.findMST(negative, workspace).getEdgeIndices());
+        IndexedGraph disconnected = TestGraphFactory.createDisconnectedGraph().toIndexed();
+        MSTResult forest = bucket.findMST(disconnected, workspace);
+        assertArrayEquals(heap.findMST(disconnected, new SolverWorkspace()).getEdgeIndices(), forest.getEdgeIndices());
+    }
+
+    @Test
+    void testBucketQueuePrimWithManyIsolatedVertices() {
+        // Every isolated vertex starts its own component; the queue must not be rescanned per start
+        int connected = 2_000;
+        IndexedGraph graph = amongIsolatedVertices(TestGraphFactory.randomIndexedGraph(connected, 20_000, 30, 11), 200_000, 1);
+
+        MSTResult expected = new PrimMST(0).findMST(graph, new SolverWorkspace());
+        MSTResult actual = new PrimMST().findMST(graph, new SolverWorkspace());
+        assertEquals(connected - 1, actual.getEdgeCount());
+        assertArrayEquals(expected.getEdgeIndices(), actual.getEdgeIndices());
+        assertEquals(expected.getTotalCostAsLong(), actual.getTotalCostAsLong());
+    }
+
+    // Copies of dense on every `copies`-th vertex slot of a much larger vertex set; the rest stay isolated
+    private static IndexedGraph amongIsolatedVertices(IndexedGraph dense, int vertices, int copies) {
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) names[v] = "V" + v;
+        int m = dense.getEdgeCount();
+        int[] from = new int[m * copies];
+        int[] to = new int[m * copies];
+        int[] weights = new int[m * copies];
+        // Spread the connected vertices so isolated ones come before, between and after them
+        int stride = vertices / dense.getVertexCount();
+        for (int c = 0; c < copies; c++) {
+            for (int e = 0; e < m; e++) {
+                from[c * m + e] = dense.getFrom(e) * stride + c;
+                to[c * m + e] = dense.getTo(e) * stride + c;
+                weights[c * m + e] = dense.getWeight(e);
+            }
+        }
+        return new IndexedGraph(4, names, from, to, weights);
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) if (values[i] == value) return i;
+        return -1;
+    }
+
+    private static int root(int[] parent, int v) {
+        while (parent[v] != v) v = parent[v];
+        return v;
+    }
+
+    private static int[] sortedCopy(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static String describe(MSTOutput output) {
+        StringBuilder text = new StringBuilder();
+        for (EdgeOutput edge : output.getMst_edges()) {
+            text.append(edge.getFrom()).append('-').append(edge.getTo()).append(':').append(edge.getWeight()).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mst;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mst.server.MSTServer;
+import com.mst.server.MicroBatcher;
+import com.mst.server.ServerStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MSTServerTest {
+
+    @Test
+    void testBatchIsSplitAcrossIdleWorkers() throws Exception {
+        // Every job waits for the other three, so this only finishes if one batch runs on four workers
+        CyclicBarrier together = new CyclicBarrier(4);
+        ServerStats stats = new ServerStats();
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(job -> {
+            try {
+                together.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return job * job;
+        }, 4, 4, 5_000_000, 16, stats);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int job = 0; job < 4; job++) futures.add(batcher.submit(job));
+        for (int job = 0; job < 4; job++) assertEquals(job * job, futures.get(job).get(10, TimeUnit.SECONDS));
+
+        Map<String, Object> snapshot = stats.snapshot(batcher.getQueueDepth());
+        assertEquals(1L, snapshot.get("batches"));
+        assertEquals(4.0, snapshot.get("avg_batch_size"));
+        batcher.shutdown();
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFullAndDrainsOnShutdown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ServerStats stats = new ServerStats();
+        MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>(job -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return job;
+        }, 1, 1, 0, 2, stats);
+
+        // The only worker takes the first job and blocks; the next two fill the queue
+        CompletableFuture<Integer> running = batcher.submit(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (batcher.getQueueDepth() > 0 && System.nanoTime() < deadline) Thread.sleep(1);
+        CompletableFuture<Integer> queuedA = batcher.submit(2);
+        CompletableFuture<Integer> queuedB = batcher.submit(3);
+        CompletableFuture<Integer> overflow = batcher.submit(4);
+
+        ExecutionException full = assertThrows(ExecutionException.class, () -> overflow.get(1, TimeUnit.SECONDS));
+        assertTrue(full.getCause() instanceof RejectedExecutionException);
+        assertEquals(1L, stats.snapshot(batcher.getQueueDepth()).get("rejected"));
+        assertEquals(2, batcher.getQueueDepth());
+
+        // Queued jobs are failed, not lost; the job already on a worker still finishes
+        batcher.shutdown();
+        for (CompletableFuture<Integer> queued : List.of(queuedA, queuedB)) {
+            ExecutionException rejected = assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+            assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+        }
+        release.countDown();
+        assertEquals(1, running.get(10, TimeUnit.SECONDS));
+        assertTrue(batcher.submit(5).isCompletedExceptionally());
+    }
+
+    @Test
+    void testStatsPercentilesOverRecentRequests() {
+        ServerStats stats = new ServerStats();
+        for (int i = 1; i <= 100; i++) stats.recordRequest(2, TimeUnit.MILLISECONDS.toNanos(i));
+        stats.recordBatch(3);
+        stats.recordBatch(5);
+        stats.recordError();
+
+        Map<String, Object> snapshot = stats.snapshot(7);
+        assertEquals(100L, snapshot.get("requests"));
+        assertEquals(200L, snapshot.get("graphs"));
+        assertEquals(1L, snapshot.get("errors"));
+        assertEquals(7, snapshot.get("queue_depth"));
+        assertEquals(4.0, snapshot.get("avg_batch_size"));
+        assertEquals(50.0, snapshot.get("latency_p50_ms"));
+        assertEquals(99.0, snapshot.get("latency_p99_ms"));
+        assertEquals(100.0, snapshot.get("latency_max_ms"));
+    }
+
+    @Test
+    void testServerSolvesPostedGraphsAndReportsStats() throws Exception {
+        MSTServer server = new MSTServer(0, 2, 8, 500);
+        server.start();
+        try {
+            String body = "{\"graphs\": ["
+                    + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                    + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 1},"
+                    + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 2}]},"
+                    + "{\"id\": 2, \"nodes\": [\"X\", \"Y\"], \"edges\": [{\"from\": \"X\", \"to\": \"Y\", \"weight\": 9}]}]}";
+            HttpURLConnection solve = open(server, "/mst");
+            solve.setRequestMethod("POST");
+            solve.setDoOutput(true);
+            try (OutputStream out = solve.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(200, solve.getResponseCode());
+            JsonNode results = read(solve.getInputStream()).get("results");
+            assertEquals(2, results.size());
+            assertEquals(1, results.get(0).get("graph_id").asInt());
+            assertEquals(3, results.get(0).get("prim").get("total_cost").asInt());
+            assertEquals(3, results.get(0).get("kruskal").get("total_cost").asInt());
+            assertEquals(9, results.get(1).get("prim").get("total_cost").asInt());
+
+            HttpURLConnection invalid = open(server, "/mst");
+            invalid.setRequestMethod("POST");
+            invalid.setDoOutput(true);
+            try (OutputStream out = invalid.getOutputStream()) {
+                out.write("{\"graphs\": [".getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(400, invalid.getResponseCode());
+            assertEquals(405, open(server, "/mst").getResponseCode());
+
+            JsonNode stats = read(open(server, "/stats").getInputStream());
+            assertEquals(1, stats.get("requests").asInt());
+            assertEquals(2, stats.get("graphs").asInt());
+            assertEquals(1, stats.get("errors").asInt());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static HttpURLConnection open(MSTServer server, String path) throws Exception {
+        return (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+    }
+
+    private static JsonNode read(InputStream in) throws Exception {
+        try (InputStream body = in) {
+            return new ObjectMapper().readTree(body);
+        }
+    }
+}
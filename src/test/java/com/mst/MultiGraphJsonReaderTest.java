@@ -0,0 +1,126 @@
+package com.mst;
+
+import com.mst.core.IndexedGraph;
+import com.mst.io.EdgeInput;
+import com.mst.io.GraphInput;
+import com.mst.io.InputData;
+import com.mst.io.JsonUtils;
+import com.mst.io.MultiGraphJsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiGraphJsonReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testParallelLoadMatchesSequentialParse() throws Exception {
+        // Names with quotes, escapes and brackets must not confuse the structural scan
+        Random random = new Random(17);
+        String[] tricky = {"a\"]}", "b\\\\", "c{[", "d,e", "ünï"};
+        List<GraphInput> graphs = new ArrayList<>();
+        for (int g = 0; g < 12; g++) {
+            int n = 3 + random.nextInt(40);
+            List<String> nodes = new ArrayList<>();
+            for (int v = 0; v < n; v++) nodes.add(tricky[v % tricky.length] + v);
+            List<EdgeInput> edges = new ArrayList<>();
+            for (int v = 1; v < n; v++) {
+                Number weight = g % 3 == 0 ? (Number) (random.nextInt(100) + 0.25) : (Number) (1 + random.nextInt(100));
+                edges.add(new EdgeInput(nodes.get(v), nodes.get(random.nextInt(v)), weight));
+            }
+            graphs.add(new GraphInput(g + 1, nodes, edges));
+        }
+        String file = directory.resolve("many.json").toString();
+        JsonUtils.writeJson(file, new InputData(graphs));
+
+        List<IndexedGraph> expected = JsonUtils.convertToIndexedGraphs(JsonUtils.readInput(file));
+        List<IndexedGraph> actual = new ArrayList<>();
+        int count = new MultiGraphJsonReader(new ForkJoinPool(3)).read(file, graph -> {
+            // A slow consumer holds back delivery but must not reorder it
+            if (actual.size() % 4 == 0) Thread.yield();
+            actual.add(graph);
+        });
+
+        assertEquals(12, count);
+        assertEquals(expected.size(), actual.size());
+        for (int g = 0; g < expected.size(); g++) {
+            IndexedGraph a = expected.get(g);
+            IndexedGraph b = actual.get(g);
+            assertEquals(a.getId(), b.getId());
+            assertEquals(a.getWeightType(), b.getWeightType());
+            assertEquals(a.getVertexCount(), b.getVertexCount());
+            for (int v = 0; v < a.getVertexCount(); v++) assertEquals(a.getVertexName(v), b.getVertexName(v));
+            for (int e = 0; e < a.getEdgeCount(); e++) {
+                assertEquals(a.getFrom(e), b.getFrom(e));
+                assertEquals(a.getTo(e), b.getTo(e));
+                assertEquals(a.getDoubleWeight(e), b.getDoubleWeight(e));
+            }
+        }
+    }
+
+    @Test
+    void testFilesAboveTheInMemoryLimitAreStreamed() throws Exception {
+        Random random = new Random(5);
+        List<GraphInput> graphs = new ArrayList<>();
+        for (int g = 0; g < 9; g++) {
+            List<String> nodes = new ArrayList<>();
+            for (int v = 0; v < 20; v++) nodes.add("N" + v);
+            List<EdgeInput> edges = new ArrayList<>();
+            for (int v = 1; v < 20; v++) edges.add(new EdgeInput(nodes.get(v), nodes.get(random.nextInt(v)), random.nextInt(50)));
+            graphs.add(new GraphInput(g + 1, nodes, edges));
+        }
+        String plain = directory.resolve("big.json").toString();
+        String gzip = directory.resolve("big.json.gz").toString();
+        JsonUtils.writeJson(plain, new InputData(graphs));
+        JsonUtils.writeJson(gzip, new InputData(graphs));
+
+        List<IndexedGraph> expected = new MultiGraphJsonReader().read(plain);
+        for (String file : new String[]{plain, gzip}) {
+            // 256 bytes holds none of these files, so both take the streaming path
+            List<IndexedGraph> streamed = new ArrayList<>();
+            assertEquals(9, new MultiGraphJsonReader(new ForkJoinPool(2), 256).read(file, streamed::add));
+            for (int g = 0; g < expected.size(); g++) {
+                assertEquals(expected.get(g).getId(), streamed.get(g).getId());
+                for (int e = 0; e < expected.get(g).getEdgeCount(); e++) {
+                    assertEquals(expected.get(g).getFrom(e), streamed.get(g).getFrom(e));
+                    assertEquals(expected.get(g).getWeight(e), streamed.get(g).getWeight(e));
+                }
+            }
+        }
+
+        String unrelated = directory.resolve("other.json").toString();
+        Files.write(Paths.get(unrelated), ("{\"other\": [" + "1, ".repeat(200) + "1]}").getBytes());
+        assertThrows(IOException.class, () -> new MultiGraphJsonReader(new ForkJoinPool(1), 256).read(unrelated, g -> { }));
+    }
+
+    @Test
+    void testScanSkipsOtherKeysAndReportsBadInput() throws Exception {
+        String withMetadata = "\uFEFF { \"source\": {\"note\": \"graphs: [\\\"x\\\"]\", \"list\": [1, [2]]}, \"version\": 2,\n"
+                + " \"graphs\" : [ {\"id\": 7, \"nodes\": [\"A\", \"B\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 3}]} ],"
+                + " \"done\": true }";
+        List<IndexedGraph> graphs = new ArrayList<>();
+        new MultiGraphJsonReader().read(withMetadata.getBytes("UTF-8"), graphs::add);
+        assertEquals(1, graphs.size());
+        assertEquals(7, graphs.get(0).getId());
+        assertEquals(3, graphs.get(0).getWeight(0));
+
+        assertEquals(0, new MultiGraphJsonReader().read("{\"graphs\": []}".getBytes(), g -> fail()));
+        assertThrows(IOException.class, () -> new MultiGraphJsonReader().read("{\"other\": []}".getBytes(), g -> { }));
+        assertThrows(IOException.class, () -> new MultiGraphJsonReader().read("{\"graphs\": [{\"id\": 1,".getBytes(), g -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new MultiGraphJsonReader().read(
+                "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\"], \"edges\": [{\"from\": \"A\", \"to\": \"Z\", \"weight\": 1.5}]}]}"
+                        .getBytes(), g -> { }));
+    }
+}
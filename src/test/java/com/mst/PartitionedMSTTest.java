@@ -0,0 +1,170 @@
+package com.mst;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.core.IndexedGraph;
+import com.mst.core.MSTResult;
+import com.mst.distributed.LocalWorkerPool;
+import com.mst.distributed.PartitionWorker;
+import com.mst.distributed.PartitionedMST;
+import com.mst.io.EdgeListReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedMSTTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testInProcessWorkersReproduceKruskal() throws Exception {
+        List<PartitionWorker> workers = new ArrayList<>();
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PartitionWorker worker = new PartitionWorker(0, "127.0.0.1");
+            worker.start();
+            workers.add(worker);
+            addresses.add(new InetSocketAddress("127.0.0.1", worker.getPort()));
+        }
+
+        IndexedGraph[] graphs = {
+                TestGraphFactory.randomIndexedGraph(2_000, 30_000, 1_000, 3),
+                TestGraphFactory.randomIndexedGraph(1_000, 20_000, 3, 5),
+                TestGraphFactory.createDisconnectedGraph().toIndexed(),
+                IndexedGraph.withDoubleWeights(1, new String[]{"A", "B", "C", "D"},
+                        new int[]{0, 1, 2, 0, 1}, new int[]{1, 2, 3, 3, 3}, new double[]{0.5, 2.5, -1.0, 3.5, 1.25})
+        };
+        try (PartitionedMST solver = new PartitionedMST(addresses)) {
+            for (IndexedGraph graph : graphs) {
+                MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+                MSTResult actual = solver.findMST(graph);
+
+                assertArrayEquals(expected.getEdgeIndices(), actual.getEdgeIndices());
+                assertTrue(expected.hasSameCost(actual));
+                assertTrue(solver.getLastMergedEdges() <= addresses.size() * Math.max(graph.getVertexCount() - 1, 0));
+            }
+        } finally {
+            workers.forEach(PartitionWorker::close);
+        }
+    }
+
+    @Test
+    void testSeparateWorkerProcesses() throws Exception {
+        IndexedGraph graph = TestGraphFactory.randomIndexedGraph(3_000, 40_000, 100, 7);
+        MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+
+        try (LocalWorkerPool pool = new LocalWorkerPool(2, "256m");
+             PartitionedMST solver = new PartitionedMST(pool.getAddresses())) {
+            assertArrayEquals(expected.getEdgeIndices(), solver.findMST(graph).getEdgeIndices());
+            // Connections are per solve, so the same workers serve the next graph
+            assertArrayEquals(expected.getEdgeIndices(), solver.findMST(graph).getEdgeIndices());
+        }
+    }
+
+    @Test
+    void testStreamedFilesMatchKruskalOnTheReadGraph() throws Exception {
+        Random random = new Random(17);
+        // Names out of id order and few distinct weights, so the name-rank tie order decides the tree
+        StringBuilder csv = new StringBuilder();
+        for (int e = 0; e < 4_000; e++) {
+            csv.append("v").append(random.nextInt(600)).append(',')
+                    .append("v").append(random.nextInt(600)).append(',')
+                    .append(random.nextInt(4)).append('\n');
+        }
+        StringBuilder fractional = new StringBuilder();
+        for (int e = 0; e < 2_000; e++) {
+            fractional.append("n").append(random.nextInt(300)).append(',')
+                    .append("n").append(random.nextInt(300)).append(',')
+                    .append(random.nextInt(8) / 2.0).append('\n');
+        }
+        Path[] files = {
+                write("ties.csv", csv.toString()),
+                write("fractional.csv", fractional.toString()),
+                write("tiny.csv", "a,b,3\n")
+        };
+
+        EdgeListReader reader = new EdgeListReader();
+        try (LocalWorkerPool pool = new LocalWorkerPool(3, "256m");
+             PartitionedMST solver = new PartitionedMST(pool.getAddresses())) {
+            for (Path file : files) {
+                IndexedGraph graph = reader.read(file.toString());
+                MSTResult expected = new KruskalMST().findMST(graph, new SolverWorkspace());
+                MSTResult actual = solver.findMST(file.toString(), reader);
+
+                int[] inputEdges = solver.getLastInputEdges();
+                assertEquals(expected.getEdgeCount(), inputEdges.length, file.toString());
+                Arrays.sort(inputEdges);
+                int[] expectedEdges = expected.getEdgeIndices().clone();
+                Arrays.sort(expectedEdges);
+                assertArrayEquals(expectedEdges, inputEdges, file.toString());
+                assertTrue(expected.hasSameCost(actual), file.toString());
+                assertEquals(graph.getVertexCount(), actual.getGraph().getVertexCount());
+                assertEquals(graph.getEdgeCount(), solver.getLastEdgeCount());
+                assertTrue(solver.getLastMergedEdges() <= 3 * Math.max(graph.getVertexCount() - 1, 0));
+            }
+        }
+    }
+
+    @Test
+    void testHungWorkerTimesOut() throws Exception {
+        // Accepts and reads but never answers
+        try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             PartitionedMST solver = new PartitionedMST(
+                     List.of(new InetSocketAddress("127.0.0.1", silent.getLocalPort())), 200)) {
+            IndexedGraph graph = TestGraphFactory.randomIndexedGraph(100, 500, 10, 11);
+            UncheckedIOException failure = assertThrows(UncheckedIOException.class, () -> solver.findMST(graph));
+            assertTrue(failure.getCause() instanceof SocketTimeoutException, failure.toString());
+        }
+    }
+
+    @Test
+    void testWorkerRefusesPartitionsBeyondItsBudget() throws Exception {
+        // 32 KiB budget: about a thousand edges
+        PartitionWorker worker = new PartitionWorker(0, "127.0.0.1", 32 << 10);
+        worker.start();
+        try (Socket socket = new Socket("127.0.0.1", worker.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(0x4D535450);
+            out.writeInt(10);
+            out.writeInt(Integer.MAX_VALUE);
+            out.flush();
+            // Closed without allocating or answering
+            assertThrows(EOFException.class, () -> new DataInputStream(socket.getInputStream()).readInt());
+        }
+
+        List<InetSocketAddress> address = List.of(new InetSocketAddress("127.0.0.1", worker.getPort()));
+        try (PartitionedMST solver = new PartitionedMST(address)) {
+            IndexedGraph small = TestGraphFactory.randomIndexedGraph(100, 500, 10, 13);
+            assertArrayEquals(new KruskalMST().findMST(small, new SolverWorkspace()).getEdgeIndices(),
+                    solver.findMST(small).getEdgeIndices());
+            IndexedGraph large = TestGraphFactory.randomIndexedGraph(100, 5_000, 10, 13);
+            assertThrows(UncheckedIOException.class, () -> solver.findMST(large));
+        } finally {
+            worker.close();
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes());
+        return file;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mst;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.analysis.ComplexityFit;
+import com.mst.analysis.MemoryFootprint;
+import com.mst.analysis.RegressionGate;
+import com.mst.core.Graph;
+import com.mst.core.IndexedGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PerformanceAnalysisTest {
+
+    @Test
+    void testFitRecoversELogVGrowth() {
+        Random random = new Random(3);
+        int n = 40;
+        double[] vertices = new double[n];
+        double[] edges = new double[n];
+        double[] times = new double[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = 100 + random.nextInt(5_000);
+            edges[i] = vertices[i] * (2 + random.nextInt(40));
+            double noise = 1 + 0.05 * random.nextGaussian();
+            times[i] = 2e-5 * edges[i] * Math.log(vertices[i]) / Math.log(2) * noise;
+        }
+
+        ComplexityFit fit = ComplexityFit.fit("test", vertices, edges, times);
+
+        assertEquals(ComplexityFit.Model.E_LOG_V, fit.getBestModel());
+        assertEquals(1.0, fit.getEdgeExponent(), 0.05);
+        assertEquals(2e-5, fit.getConstant(ComplexityFit.Model.E_LOG_V), 2e-6);
+    }
+
+    @Test
+    void testGateFlagsConsistentSlowdownOnly() {
+        Random random = new Random(11);
+        int n = 20;
+        double[] baseline = new double[n];
+        double[] slower = new double[n];
+        double[] noisy = new double[n];
+        for (int i = 0; i < n; i++) {
+            baseline[i] = 1 + random.nextInt(50);
+            slower[i] = baseline[i] * 1.3 * (1 + 0.03 * random.nextGaussian());
+            noisy[i] = baseline[i] * (1 + 0.03 * random.nextGaussian());
+        }
+        RegressionGate gate = new RegressionGate(RegressionGate.DEFAULT_ALPHA, RegressionGate.DEFAULT_TOLERANCE);
+
+        RegressionGate.Verdict regression = gate.compare("slower", baseline, slower);
+        assertTrue(regression.isRegression());
+        assertEquals(0.3, regression.getSlowdown(), 0.05);
+        assertTrue(regression.getPValue() < 1e-6);
+
+        assertFalse(gate.compare("same", baseline, noisy).isRegression());
+        assertFalse(gate.compare("faster", slower, baseline).isRegression());
+    }
+
+    @Test
+    void testBaselineMustComeFromTheAnalyzer(@TempDir Path directory) throws Exception {
+        // Main's report times single cold solves, so it is refused rather than paired with warm medians
+        Path main = directory.resolve("main.csv");
+        Files.write(main, Arrays.asList(
+                "Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,"
+                        + "Prim_Operations,Kruskal_Operations,Time_Ratio,Operations_Ratio,Sparsify_Edges_Removed,"
+                        + "Sparsify_Time_ms,Time_Saved_ms,Bottleneck_Weight,Bottleneck_Time_ms,Prim_Cached,Kruskal_Cached",
+                "small_dataset,1,5,7,70.0,16,16,0.125,0.250,40,30,0.500,1.333,0,0.000,0.000,,0.000,false,false"));
+        IOException refused = assertThrows(IOException.class, () -> RegressionGate.loadBaseline(main));
+        assertTrue(refused.getMessage().contains("Prim_Alloc_Bytes"), refused.getMessage());
+
+        Path analyzer = directory.resolve("performance_comparison.csv");
+        Files.write(analyzer, Arrays.asList(
+                "Dataset,GraphID,Vertices,Edges,Density%,Prim_Cost,Kruskal_Cost,Prim_Time_ms,Kruskal_Time_ms,"
+                        + "Prim_Operations,Kruskal_Operations,Prim_Alloc_Bytes,Kruskal_Alloc_Bytes,"
+                        + "Graph_Retained_Bytes,Indexed_Retained_Bytes,GC_Count,GC_Time_ms",
+                "small,1,5,7,70.00,16,16,0.125,0.250,40,30,4096,4096,900,300,0,0",
+                "large,3,900,2000,0.50,1234,1234,4.000,3.000,9000,8000,4096,4096,90000,30000,1,2"));
+
+        Map<String, double[]> baseline = RegressionGate.loadBaseline(analyzer);
+        assertArrayEquals(new double[]{0.125, 0.250}, baseline.get(RegressionGate.key("small", 1)));
+        assertArrayEquals(new double[]{4.0, 3.0},
+                baseline.get(RegressionGate.key("datasets/large_dataset.json.gz", 3)));
+        assertEquals("medium", RegressionGate.datasetName("datasets\\medium_dataset.csv"));
+        assertFalse(baseline.containsKey(RegressionGate.key("small", 2)));
+    }
+
+    @Test
+    void testGatePValueMatchesStudentT() {
+        // log ratios of 0.1 +/- 0.1 over 4 pairs: mean 0.1, sd 0.1155, t = 1.732 with 3 df
+        double[] baseline = {1, 1, 1, 1};
+        double[] current = {Math.exp(0.0), Math.exp(0.2), Math.exp(0.0), Math.exp(0.2)};
+
+        RegressionGate.Verdict verdict = new RegressionGate(0.05, 0).compare("t", baseline, current);
+
+        assertEquals(0.0908, verdict.getPValue(), 1e-3);
+        assertFalse(verdict.isRegression());
+    }
+
+    @Test
+    void testFootprintCountsArraysAndSharedObjectsOnce() {
+        assertEquals(56, MemoryFootprint.retainedBytes(new int[10]));
+        String shared = "abcd";
+        // Outer array 24 B, one String object 24 B plus its 4-byte Latin-1 payload 24 B
+        assertEquals(72, MemoryFootprint.retainedBytes(new Object[]{shared, shared}));
+    }
+
+    @Test
+    void testIndexedGraphIsSmallerThanObjectGraph() {
+        Graph graph = TestGraphFactory.createLargeGraph();
+        long before = MemoryFootprint.retainedBytes(graph, IndexedGraph.class);
+        IndexedGraph indexed = graph.toIndexed();
+
+        assertEquals(before, MemoryFootprint.retainedBytes(graph, IndexedGraph.class), "Boundary must exclude the cache");
+        // The tie order is built with the graph, so it is part of the footprint; the rest still beats the objects
+        long tieOrder = MemoryFootprint.retainedBytes(indexed.tieRanks()) + MemoryFootprint.retainedBytes(indexed.edgesByTieRank());
+        assertTrue(MemoryFootprint.retainedBytes(indexed, Graph.class) - tieOrder < before);
+        assertTrue(MemoryFootprint.allocatedBytes(() -> new KruskalMST().findMST(graph)) > 0);
+    }
+
+    @Test
+    void testFirstSolveOfAFreshGraphAllocatesOnlyTheResult() {
+        SolverWorkspace workspace = new SolverWorkspace();
+        PrimMST prim = new PrimMST();
+        KruskalMST kruskal = new KruskalMST();
+        IndexedGraph warmup = TestGraphFactory.randomIndexedGraph(1_000, 5_000, 50, 1);
+        prim.findMST(warmup, workspace);
+        kruskal.findMST(warmup, workspace);
+
+        // The 999-edge result is about 4 KB; building the tie order inside the solve cost ~150 KB
+        IndexedGraph fresh = TestGraphFactory.randomIndexedGraph(1_000, 5_000, 50, 2);
+        long primBytes = MemoryFootprint.allocatedBytes(() -> prim.findMST(fresh, workspace));
+        long kruskalBytes = MemoryFootprint.allocatedBytes(() -> kruskal.findMST(fresh, workspace));
+        assumeTrue(primBytes >= 0, "Thread allocation counters unavailable");
+        assertTrue(primBytes < 16 << 10, "Prim allocated " + primBytes + " bytes");
+        assertTrue(kruskalBytes < 16 << 10, "Kruskal allocated " + kruskalBytes + " bytes");
+    }
+}
@@ -0,0 +1,83 @@
+package com.mst;
+
+import com.mst.algorithms.KruskalMST;
+import com.mst.algorithms.PrimMST;
+import com.mst.analysis.SensitivityAnalyzer;
+import com.mst.core.Edge;
+import com.mst.core.Graph;
+import com.mst.core.MSTResult;
+import com.mst.io.EdgeSensitivityOutput;
+import com.mst.io.SensitivityOutput;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SensitivityAnalyzerTest {
+
+    @Test
+    void testTreeEdgeMarginsMatchRecomputation() {
+        Graph graph = TestGraphFactory.createLargeGraph();
+        KruskalMST kruskal = new KruskalMST();
+        MSTResult mst = kruskal.findMST(graph);
+
+        SensitivityOutput output = SensitivityAnalyzer.analyze(graph, mst);
+        List<Edge> edges = graph.getEdges();
+
+        for (int e = 0; e < edges.size(); e++) {
+            EdgeSensitivityOutput sensitivity = output.getEdges().get(e);
+            if (!sensitivity.isIn_mst()) continue;
+
+            List<Edge> without = new ArrayList<>(edges);
+            without.remove(e);
+            MSTResult rerun = kruskal.findMST(new Graph(graph.getId(), graph.getVertices(), without));
+
+            if (sensitivity.getReplacement_edge() == null) {
+                assertEquals(mst.getMstEdges().size() - 1, rerun.getMstEdges().size(),
+                        "Edge without replacement must be a bridge");
+            } else {
+                assertEquals(mst.getTotalCostAsLong() + sensitivity.getCost_margin(), rerun.getTotalCostAsLong(),
+                        "Replacement must restore the cheapest spanning tree");
+            }
+        }
+    }
+
+    @Test
+    void testNonTreeEdgeMarginsMatchRecomputation() {
+        Graph graph = TestGraphFactory.createLargeGraph();
+        KruskalMST kruskal = new KruskalMST();
+        MSTResult mst = kruskal.findMST(graph);
+
+        SensitivityOutput output = SensitivityAnalyzer.analyze(graph, mst);
+        List<Edge> edges = graph.getEdges();
+
+        for (int e = 0; e < edges.size(); e++) {
+            EdgeSensitivityOutput sensitivity = output.getEdges().get(e);
+            if (sensitivity.isIn_mst() || sensitivity.getCost_margin() == null) continue;
+
+            long drop = sensitivity.getCost_margin();
+            assertEquals(mst.getTotalCostAsLong(), costWithWeight(kruskal, graph, e, (int) (edges.get(e).getWeight() - drop)));
+            assertEquals(mst.getTotalCostAsLong() - 1, costWithWeight(kruskal, graph, e, (int) (edges.get(e).getWeight() - drop - 1)));
+        }
+    }
+
+    @Test
+    void testPrimForestOnDisconnectedGraph() {
+        Graph graph = TestGraphFactory.createDisconnectedGraph();
+        SensitivityOutput output = SensitivityAnalyzer.analyze(graph, new PrimMST().findMST(graph));
+
+        for (EdgeSensitivityOutput sensitivity : output.getEdges()) {
+            assertTrue(sensitivity.isIn_mst());
+            assertNull(sensitivity.getReplacement_edge());
+        }
+    }
+
+    private long costWithWeight(KruskalMST kruskal, Graph graph, int edgeIndex, int weight) {
+        List<Edge> edges = new ArrayList<>(graph.getEdges());
+        Edge edge = edges.get(edgeIndex);
+        edges.set(edgeIndex, new Edge(edge.getFrom(), edge.getTo(), weight));
+        return kruskal.findMST(new Graph(graph.getId(), graph.getVertices(), edges)).getTotalCostAsLong();
+    }
+}
@@ -21,8 +21,8 @@
             MSTResult primResult = prim.findMST(graph);
             MSTResult kruskalResult = kruskal.findMST(graph);
 
-            assertEquals(6, primResult.getTotalCost());
-            assertEquals(6, kruskalResult.getTotalCost());
+            assertEquals(6, primResult.getTotalCostAsLong());
+            assertEquals(6, kruskalResult.getTotalCostAsLong());
             assertEquals(3, primResult.getMstEdges().size());
             assertTrue(GraphValidator.isAcyclic(primResult.getMstEdges()));
         }
@@ -37,7 +37,7 @@
             MSTResult primResult = prim.findMST(graph);
             MSTResult kruskalResult = kruskal.findMST(graph);
 
-            assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost());
+            assertEquals(primResult.getTotalCostAsLong(), kruskalResult.getTotalCostAsLong());
             assertEquals(4, primResult.getMstEdges().size());
             assertTrue(GraphValidator.connectsAllVertices(primResult.getMstEdges(), graph.getVertices()));
         }
@@ -52,7 +52,7 @@
             MSTResult primResult = prim.findMST(graph);
             MSTResult kruskalResult = kruskal.findMST(graph);
 
-            assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost());
+            assertEquals(primResult.getTotalCostAsLong(), kruskalResult.getTotalCostAsLong());
             assertEquals(5, primResult.getMstEdges().size());
             assertTrue(primResult.isValidMST(graph.getVertexCount()));
         }
@@ -2,6 +2,7 @@ package com.mst;
 
 import com.mst.core.Graph;
 import com.mst.core.Edge;
+import com.mst.core.IndexedGraph;
 import java.util.*;
 
 public class TestGraphFactory {
@@ -133,4 +134,20 @@ public class TestGraphFactory {
         );
         return new Graph(9, vertices, edges);
     }
-}
\ No newline at end of file
+
+    // A random spanning tree plus uniform extra edges, with integer weights in 1..maxWeight
+    public static IndexedGraph randomIndexedGraph(int vertices, int edges, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        String[] names = new String[vertices];
+        for (int v = 0; v < vertices; v++) names[v] = "V" + v;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weights = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            from[e] = e < vertices - 1 ? e + 1 : random.nextInt(vertices);
+            to[e] = e < vertices - 1 ? random.nextInt(e + 1) : random.nextInt(vertices);
+            weights[e] = 1 + random.nextInt(maxWeight);
+        }
+        return new IndexedGraph(1, names, from, to, weights);
+    }
+}
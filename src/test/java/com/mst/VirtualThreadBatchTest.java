@@ -0,0 +1,136 @@
+package com.mst;
+
+import com.mst.core.IndexedGraph;
+import com.mst.pipeline.VirtualThreadBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadBatchTest {
+
+    @Test
+    void testFallsBackToPlatformThreadsWithoutVirtualThreads() throws Exception {
+        boolean available;
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            available = true;
+        } catch (NoSuchMethodException e) {
+            available = false;
+        }
+        assertEquals(available, VirtualThreadBatch.virtualThreadsAvailable());
+        // Set by the java21 profile, whose run must not pass on the platform fallback
+        if (Boolean.getBoolean("mst.requireVirtualThreads")) assertTrue(available, "no virtual threads on this JVM");
+
+        Map<String, List<Integer>> written = new ConcurrentHashMap<>();
+        VirtualThreadBatch<Integer> batch = new VirtualThreadBatch<>(
+                (file, sink) -> {
+                    for (int g = 0; g < 6; g++) sink.accept(graph(g));
+                },
+                (file, graph) -> graph.getId() * 10,
+                written::put,
+                2, 3);
+        assertEquals(available, batch.usesVirtualThreads());
+
+        batch.run(Arrays.asList("a", "b", "c", "d"));
+
+        assertTrue(batch.getFailures().isEmpty(), batch.getFailures().toString());
+        assertEquals(4, written.size());
+        for (List<Integer> results : written.values()) assertEquals(Arrays.asList(0, 10, 20, 30, 40, 50), results);
+        assertEquals(4, batch.getStageMetrics().get(0).getItems());
+        assertEquals(24, batch.getStageMetrics().get(1).getItems());
+        assertEquals(4, batch.getStageMetrics().get(2).getItems());
+    }
+
+    @Test
+    void testFilesInFlightAreCappedBySemaphore() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        VirtualThreadBatch<Integer> batch = new VirtualThreadBatch<>(
+                (file, sink) -> {
+                    int now = active.incrementAndGet();
+                    peak.accumulateAndGet(now, Math::max);
+                    // Hold the file open until a second one is in flight too, or give up after a while
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (active.get() < 2 && System.nanoTime() < deadline) Thread.sleep(1);
+                    Thread.sleep(5);
+                    sink.accept(graph(1));
+                },
+                (file, graph) -> graph.getId(),
+                (file, results) -> active.decrementAndGet(),
+                2, 2);
+
+        List<String> files = new ArrayList<>();
+        for (int f = 0; f < 12; f++) files.add("file" + f);
+        batch.run(files);
+
+        assertTrue(batch.getFailures().isEmpty(), batch.getFailures().toString());
+        assertEquals(2, peak.get());
+        assertEquals(0, active.get());
+    }
+
+    @Test
+    void testGraphsAreSolvedWhileTheFileIsStillBeingParsed() throws Exception {
+        CountDownLatch firstSolved = new CountDownLatch(1);
+        Map<String, List<Integer>> written = new ConcurrentHashMap<>();
+        VirtualThreadBatch<Integer> batch = new VirtualThreadBatch<>(
+                (file, sink) -> {
+                    sink.accept(graph(1));
+                    // Only returns early if the first graph was solved before the parse ended
+                    assertTrue(firstSolved.await(10, TimeUnit.SECONDS), "first graph waited for the whole file");
+                    sink.accept(graph(2));
+                },
+                (file, graph) -> {
+                    firstSolved.countDown();
+                    return graph.getId();
+                },
+                written::put,
+                1, 1);
+
+        batch.run(Arrays.asList("only"));
+
+        assertTrue(batch.getFailures().isEmpty(), batch.getFailures().toString());
+        assertEquals(Arrays.asList(1, 2), written.get("only"));
+    }
+
+    @Test
+    void testFailuresAreRecordedPerFile() throws Exception {
+        Map<String, List<Integer>> written = new ConcurrentHashMap<>();
+        VirtualThreadBatch<Integer> batch = new VirtualThreadBatch<>(
+                (file, sink) -> {
+                    if (file.equals("unreadable")) throw new IllegalArgumentException("bad header");
+                    sink.accept(graph(file.equals("poisoned") ? 13 : 1));
+                },
+                (file, graph) -> {
+                    if (graph.getId() == 13) throw new IllegalStateException("cannot solve");
+                    return graph.getId();
+                },
+                (file, results) -> {
+                    if (file.equals("unwritable")) throw new IllegalStateException("disk full");
+                    written.put(file, results);
+                },
+                2, 4);
+
+        batch.run(Arrays.asList("good", "unreadable", "poisoned", "unwritable"));
+
+        assertEquals(Map.of("good", List.of(1)), written);
+        List<String> failures = batch.getFailures();
+        assertTrue(failures.contains("unreadable: bad header"), failures.toString());
+        assertTrue(failures.contains("poisoned: cannot solve"), failures.toString());
+        assertTrue(failures.contains("unwritable: disk full"), failures.toString());
+        assertEquals(3, failures.size(), failures.toString());
+    }
+
+    private static IndexedGraph graph(int id) {
+        return new IndexedGraph(id, new String[]{"A", "B"}, new int[]{0}, new int[]{1}, new int[]{id + 1});
+    }
+}